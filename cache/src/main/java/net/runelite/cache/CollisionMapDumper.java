@@ -25,7 +25,9 @@
  */
 package net.runelite.cache;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Position;
@@ -35,12 +37,34 @@ import net.runelite.cache.util.KeyProvider;
 import net.runelite.cache.util.XteaKeyManager;
 import org.apache.commons.cli.*;
 
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Collision map dumper
@@ -50,8 +74,21 @@ import java.util.Collection;
  * and replace "mapsquare" with "region" and "key" with "keys".
  * Compile the client with "mvn install -f pom.xml -DskipTests -U".
  * Run "java net.runelite.cache.CollisionMapDumper --cachedir ../cache --xteapath ../keys.json --outputdir ../output"
+ * or with "--outputzip ../collision-map.zip" to write the archive the shortest path plugin reads directly.
+ * <p>
+ * Regions are decoded and built on "--threads" threads (all cores by default) and written in region order as they
+ * finish. The checksums of the archives the map was built from are kept next to the output, in a file with the same
+ * name and ".crc" appended, and the next run only rebuilds the regions around archives that changed since. Pass
+ * "--full" to rebuild every region.
  */
 public class CollisionMapDumper {
+    /**
+     * Bump this whenever the collision of a region is computed differently, so that the next run rebuilds everything
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Store store;
     private final RegionLoader regionLoader;
     private final ObjectManager objectManager;
 
@@ -60,6 +97,7 @@ public class CollisionMapDumper {
     }
 
     public CollisionMapDumper(Store store, RegionLoader regionLoader) {
+        this.store = store;
         this.regionLoader = regionLoader;
         this.objectManager = new ObjectManager(store);
     }
@@ -68,13 +106,23 @@ public class CollisionMapDumper {
         Options options = new Options();
         options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
         options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
-        options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+        OptionGroup outputs = new OptionGroup();
+        outputs.addOption(Option.builder().longOpt("outputdir").hasArg().build());
+        outputs.addOption(Option.builder().longOpt("outputzip").hasArg().build());
+        outputs.setRequired(true);
+        options.addOptionGroup(outputs);
+        options.addOption(Option.builder().longOpt("threads").hasArg().build());
+        options.addOption(Option.builder().longOpt("full").build());
 
         CommandLineParser parser = new DefaultParser();
         CommandLine cmd;
+        int threads;
         try {
             cmd = parser.parse(options, args);
-        } catch (ParseException ex) {
+            threads = cmd.hasOption("threads")
+                    ? Integer.parseInt(cmd.getOptionValue("threads"))
+                    : Runtime.getRuntime().availableProcessors();
+        } catch (ParseException | NumberFormatException ex) {
             System.err.println("Error parsing command line options: " + ex.getMessage());
             System.exit(-1);
             return;
@@ -82,7 +130,9 @@ public class CollisionMapDumper {
 
         final String cacheDirectory = cmd.getOptionValue("cachedir");
         final String xteaJSONPath = cmd.getOptionValue("xteapath");
-        final String outputDirectory = cmd.getOptionValue("outputdir");
+        final boolean zip = cmd.hasOption("outputzip");
+        final File output = new File(cmd.getOptionValue(zip ? "outputzip" : "outputdir"));
+        final File manifestFile = new File(output.getPath() + ".crc");
 
         XteaKeyManager xteaKeyManager = new XteaKeyManager();
         try (FileInputStream fin = new FileInputStream(xteaJSONPath)) {
@@ -90,23 +140,24 @@ public class CollisionMapDumper {
         }
 
         File base = new File(cacheDirectory);
-        File outDir = new File(outputDirectory);
-        outDir.mkdirs();
 
         try (Store store = new Store(base)) {
             store.load();
 
             CollisionMapDumper dumper = new CollisionMapDumper(store, xteaKeyManager);
-            dumper.load();
-
-            Collection<Region> regions = dumper.regionLoader.getRegions();
 
-            int n = 0;
-            int total = regions.size();
+            // Without the output the previous build is gone, and so are the regions the manifest says are up to date
+            CollisionMapManifest previous = null;
+            if (!cmd.hasOption("full") && output.exists() && manifestFile.exists()) {
+                previous = CollisionMapManifest.read(manifestFile);
+            }
 
-            for (Region region : regions) {
-                dumper.makeCollisionMap(region, outputDirectory, ++n, total);
+            CollisionMapManifest manifest;
+            try (RegionOutput out = zip ? new ZipOutput(output) : new DirectoryOutput(output)) {
+                manifest = dumper.build(out, previous, threads);
+                out.finish();
             }
+            manifest.write(manifestFile);
         }
     }
 
@@ -118,48 +169,150 @@ public class CollisionMapDumper {
         return this;
     }
 
-    private ObjectDefinition findObject(int id) {
-        return objectManager.getObject(id);
+    /**
+     * Finds the checksums of the archives every region is built from
+     */
+    public CollisionMapManifest createManifest() {
+        Map<Integer, Integer> regions = new TreeMap<>();
+        for (int regionId = 0; regionId < RegionLoader.MAX_REGION; regionId++) {
+            Archive map = regionLoader.findMapArchive(regionId);
+            Archive land = regionLoader.findLocationsArchive(regionId);
+            if (map == null || land == null) {
+                continue;
+            }
+
+            // The locations can only be read with a key, so a key that was added or changed changes the region
+            int checksum = map.getCrc();
+            checksum = 31 * checksum + land.getCrc();
+            checksum = 31 * checksum + Arrays.hashCode(regionLoader.findKey(regionId));
+            regions.put(regionId, checksum);
+        }
+
+        Archive objects = store.getIndex(IndexType.CONFIGS).getArchive(ConfigType.OBJECT.getId());
+        int objectsChecksum = 31 * FORMAT_VERSION + objects.getCrc();
+        for (Exclusion exclusion : Exclusion.values()) {
+            objectsChecksum = 31 * objectsChecksum + exclusion.id;
+            objectsChecksum = 31 * objectsChecksum + Boolean.hashCode(exclusion.tile);
+        }
+
+        return new CollisionMapManifest(objectsChecksum, regions);
     }
 
-    private void makeCollisionMap(Region region, String outputDirectory, int n, int total) {
-        int baseX = region.getBaseX();
-        int baseY = region.getBaseY();
+    /**
+     * Builds the collision of every region that changed since the previous manifest on a pool of threads, and writes
+     * the regions to the output in ascending order as they finish. Regions that did not change are kept.
+     *
+     * @param previous the manifest of the existing output, or null to build every region
+     * @return the manifest of the new output
+     */
+    public CollisionMapManifest build(RegionOutput output, CollisionMapManifest previous, int threads) throws IOException {
+        CollisionMapManifest manifest = createManifest();
+        Set<Integer> changed = manifest.findChangedRegions(previous);
+        for (int regionId : manifest.findRemovedRegions(previous)) {
+            output.write(regionName(regionId), EMPTY);
+        }
 
-        FlagMap flagMap = new FlagMap(baseX, baseY, baseX + Region.X - 1, baseY + Region.Y - 1);
+        System.out.println("Building " + changed.size() + " of " + manifest.getRegionIds().size() + " regions on " + threads + " threads");
+        if (changed.isEmpty()) {
+            return manifest;
+        }
 
-        addCollisions(flagMap, region);
-        addNeighborCollisions(flagMap, region, -1, -1);
-        addNeighborCollisions(flagMap, region, -1, 0);
-        addNeighborCollisions(flagMap, region, -1, 1);
-        addNeighborCollisions(flagMap, region, 0, -1);
-        addNeighborCollisions(flagMap, region, 0, 1);
-        addNeighborCollisions(flagMap, region, 1, -1);
-        addNeighborCollisions(flagMap, region, 1, 0);
-        addNeighborCollisions(flagMap, region, 1, 1);
+        objectManager.load();
 
-        String name = region.getRegionX() + "_" + region.getRegionY();
+        RegionCache regions = new RegionCache(manifest, changed);
+        ThreadFactoryBuilder naming = new ThreadFactoryBuilder().setNameFormat("collision-map-%d").setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, naming.build());
+        try {
+            // Only a few regions per thread are built ahead of the one being written, which bounds the finished
+            // regions waiting to be written as well as the decoded regions waiting for their neighbours
+            final int window = threads * 4;
+            final Deque<PendingRegion> pending = new ArrayDeque<>();
+            int n = 0;
+            for (int regionId : manifest.getRegionIds()) {
+                CompletableFuture<byte[]> collision = null;
+                if (changed.contains(regionId)) {
+                    collision = CompletableFuture.supplyAsync(() -> makeCollisionMap(regionId, regions), executor);
+                }
+                pending.add(new PendingRegion(regionId, collision));
 
-        byte[] buf = flagMap.toBytes();
-        if (buf.length > 0) {
-            try (FileOutputStream out = new FileOutputStream(outputDirectory + "/" + name)) {
-                out.write(buf, 0, buf.length);
-                System.out.println("Exporting region " + name + " (" + n + " / " + total + ")");
-            } catch (IOException e) {
-                System.out.println("Unable to write compressed output bytes for " + name + ". " + e);
+                while (pending.size() > window) {
+                    n = writePending(output, pending.poll(), n, changed.size());
+                }
             }
+            while (!pending.isEmpty()) {
+                n = writePending(output, pending.poll(), n, changed.size());
+            }
+        } finally {
+            executor.shutdownNow();
         }
+
+        return manifest;
     }
 
-    private void addNeighborCollisions(FlagMap flagMap, Region region, int dx, int dy) {
-        Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
-        if (neighbor == null) {
-            return;
+    private static int writePending(RegionOutput output, PendingRegion region, int n, int total) throws IOException {
+        String name = regionName(region.regionId);
+        if (region.collision == null) {
+            output.keep(name);
+            return n;
         }
-        addCollisions(flagMap, neighbor);
+
+        byte[] buf;
+        try {
+            buf = region.collision.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        }
+
+        output.write(name, buf);
+        if (buf.length > 0) {
+            System.out.println("Exporting region " + name + " (" + (n + 1) + " / " + total + ")");
+        }
+        return n + 1;
+    }
+
+    private static String regionName(int regionId) {
+        return (regionId >> 8) + "_" + (regionId & 0xFF);
     }
 
-    private void addCollisions(FlagMap flagMap, Region region) {
+    private ObjectDefinition findObject(int id) {
+        return objectManager.getObject(id);
+    }
+
+    private byte[] makeCollisionMap(int regionId, RegionCache regions) {
+        int[] neighbors = CollisionMapManifest.neighbors(regionId);
+        try {
+            IndexedRegion region = regions.get(regionId);
+            if (region == null) {
+                return EMPTY;
+            }
+
+            int baseX = region.region.getBaseX();
+            int baseY = region.region.getBaseY();
+
+            FlagMap flagMap = new FlagMap(baseX, baseY, baseX + Region.X - 1, baseY + Region.Y - 1);
+
+            // The region itself goes first, then its neighbours from south-west to north-east
+            addCollisions(flagMap, region);
+            for (int neighborId : neighbors) {
+                IndexedRegion neighbor = neighborId != regionId ? regions.get(neighborId) : null;
+                if (neighbor != null) {
+                    addCollisions(flagMap, neighbor);
+                }
+            }
+
+            return flagMap.toBytes();
+        } finally {
+            for (int neighborId : neighbors) {
+                regions.release(neighborId);
+            }
+        }
+    }
+
+    private void addCollisions(FlagMap flagMap, IndexedRegion indexed) {
+        Region region = indexed.region;
         int baseX = region.getBaseX();
         int baseY = region.getBaseY();
 
@@ -172,11 +325,9 @@ public class CollisionMapDumper {
                     boolean isBridge = (region.getTileSetting(1, localX, localY) & 2) != 0;
                     int tileZ = z + (isBridge ? 1 : 0);
 
-                    for (Location loc : region.getLocations()) {
-                        Position pos = loc.getPosition();
-                        if (pos.getX() != regionX || pos.getY() != regionY || pos.getZ() != tileZ) {
-                            continue;
-                        }
+                    int tileIndex = IndexedRegion.tileIndex(tileZ, localX, localY);
+                    for (int l = indexed.tileStart[tileIndex]; l < indexed.tileStart[tileIndex + 1]; l++) {
+                        Location loc = indexed.locations[l];
 
                         boolean tile = FlagMap.TILE_BLOCKED;
                         Boolean exclusion = Exclusion.matches(loc.getId());
@@ -602,13 +753,257 @@ public class CollisionMapDumper {
             this.tile = tile;
         }
 
-        public static Boolean matches(int id) {
+        private static final Map<Integer, Boolean> TILES = new HashMap<>();
+
+        static {
             for (Exclusion exclusion : values()) {
-                if (exclusion.id == id) {
-                    return exclusion.tile;
+                TILES.putIfAbsent(exclusion.id, exclusion.tile);
+            }
+        }
+
+        public static Boolean matches(int id) {
+            return TILES.get(id);
+        }
+    }
+
+    /**
+     * Where the collision of the regions is written to, one entry per region named "regionX_regionY"
+     */
+    public interface RegionOutput extends Closeable {
+        /**
+         * Writes the collision of a region, or removes the region if the collision is empty
+         */
+        void write(String name, byte[] data) throws IOException;
+
+        /**
+         * Keeps the collision of a region that did not change from the previous output
+         */
+        void keep(String name) throws IOException;
+
+        /**
+         * Called once every region has been written, before the output is closed
+         */
+        void finish() throws IOException;
+    }
+
+    public static class DirectoryOutput implements RegionOutput {
+        private final File directory;
+
+        public DirectoryOutput(File directory) {
+            this.directory = directory;
+            directory.mkdirs();
+        }
+
+        @Override
+        public void write(String name, byte[] data) throws IOException {
+            File file = new File(directory, name);
+            if (data.length == 0) {
+                Files.deleteIfExists(file.toPath());
+            } else {
+                Files.write(file.toPath(), data);
+            }
+        }
+
+        @Override
+        public void keep(String name) {
+            // The file is still there from the previous run
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Streams the regions into a new zip archive, copying the regions that did not change from the existing one.
+     * The new archive replaces the existing one once it is finished, so a failed build leaves the old one in place.
+     */
+    public static class ZipOutput implements RegionOutput {
+        private final File file;
+        private final File temporary;
+        private final ZipFile previous;
+        private final ZipOutputStream out;
+        private boolean finished;
+
+        public ZipOutput(File file) throws IOException {
+            this.file = file;
+            this.temporary = new File(file.getPath() + ".tmp");
+            this.previous = file.exists() ? new ZipFile(file) : null;
+            this.out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+        }
+
+        @Override
+        public void write(String name, byte[] data) throws IOException {
+            if (data.length == 0) {
+                return;
+            }
+            out.putNextEntry(new ZipEntry(name));
+            out.write(data);
+            out.closeEntry();
+        }
+
+        @Override
+        public void keep(String name) throws IOException {
+            ZipEntry entry = previous != null ? previous.getEntry(name) : null;
+            if (entry == null) {
+                return;
+            }
+            try (InputStream in = previous.getInputStream(entry)) {
+                write(name, in.readAllBytes());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            closeStreams();
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            try {
+                closeStreams();
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        }
+
+        private void closeStreams() throws IOException {
+            try {
+                out.close();
+            } finally {
+                if (previous != null) {
+                    previous.close();
                 }
             }
-            return null;
+        }
+    }
+
+    private static class PendingRegion {
+        private final int regionId;
+        /**
+         * The collision being built, or null if the region did not change
+         */
+        private final CompletableFuture<byte[]> collision;
+
+        private PendingRegion(int regionId, CompletableFuture<byte[]> collision) {
+            this.regionId = regionId;
+            this.collision = collision;
+        }
+    }
+
+    /**
+     * The decoded regions shared by the threads building the regions around them. Every region is decoded once and
+     * dropped as soon as the last region that needs it has been built.
+     */
+    private class RegionCache {
+        /**
+         * How many of the regions being built still need each region, only the counts change after construction
+         */
+        private final Map<Integer, AtomicInteger> users = new HashMap<>();
+        private final Map<Integer, CompletableFuture<IndexedRegion>> decoded = new ConcurrentHashMap<>();
+
+        private RegionCache(CollisionMapManifest manifest, Set<Integer> changed) {
+            for (int regionId : changed) {
+                for (int neighborId : CollisionMapManifest.neighbors(regionId)) {
+                    if (manifest.contains(neighborId)) {
+                        users.computeIfAbsent(neighborId, k -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gets a region, decoding it on this thread if no other thread has started to
+         *
+         * @return the region, or null if it does not exist or cannot be decrypted
+         */
+        private IndexedRegion get(int regionId) {
+            if (!users.containsKey(regionId)) {
+                return null;
+            }
+
+            CompletableFuture<IndexedRegion> region = decoded.get(regionId);
+            if (region == null) {
+                CompletableFuture<IndexedRegion> decoding = new CompletableFuture<>();
+                region = decoded.putIfAbsent(regionId, decoding);
+                if (region == null) {
+                    region = decoding;
+                    try {
+                        Region r = regionLoader.decodeRegion(regionId);
+                        decoding.complete(r != null ? new IndexedRegion(r) : null);
+                    } catch (IOException ex) {
+                        // Regions without a valid key are left out, like RegionLoader.loadRegions does
+                        decoding.complete(null);
+                    } catch (RuntimeException ex) {
+                        decoding.completeExceptionally(ex);
+                    }
+                }
+            }
+            return region.join();
+        }
+
+        private void release(int regionId) {
+            AtomicInteger count = users.get(regionId);
+            if (count != null && count.decrementAndGet() == 0) {
+                decoded.remove(regionId);
+            }
+        }
+    }
+
+    /**
+     * A region with its locations grouped by tile, in the order of the region, so that every tile only visits the
+     * locations on it
+     */
+    private static class IndexedRegion {
+        private final Region region;
+        private final Location[] locations;
+        /**
+         * Locations of each tile start at this offset and end where the next tile starts. There is one plane more
+         * than a region has, which is always empty, since the plane above a bridge on the top plane is looked up too.
+         */
+        private final int[] tileStart = new int[(Region.Z + 1) * Region.X * Region.Y + 1];
+
+        private IndexedRegion(Region region) {
+            this.region = region;
+
+            List<Location> all = region.getLocations();
+            int[] tiles = new int[all.size()];
+            for (int i = 0; i < all.size(); i++) {
+                Position pos = all.get(i).getPosition();
+                int localX = pos.getX() - region.getBaseX();
+                int localY = pos.getY() - region.getBaseY();
+                boolean inside = localX >= 0 && localX < Region.X && localY >= 0 && localY < Region.Y
+                        && pos.getZ() >= 0 && pos.getZ() < Region.Z;
+                // Locations outside the region are never on one of its tiles
+                tiles[i] = inside ? tileIndex(pos.getZ(), localX, localY) : -1;
+                if (inside) {
+                    tileStart[tiles[i] + 1]++;
+                }
+            }
+            for (int i = 1; i < tileStart.length; i++) {
+                tileStart[i] += tileStart[i - 1];
+            }
+
+            locations = new Location[tileStart[tileStart.length - 1]];
+            int[] next = Arrays.copyOf(tileStart, tileStart.length - 1);
+            for (int i = 0; i < tiles.length; i++) {
+                if (tiles[i] != -1) {
+                    locations[next[tiles[i]]++] = all.get(i);
+                }
+            }
+        }
+
+        private static int tileIndex(int z, int localX, int localY) {
+            return (z * Region.X + localX) * Region.Y + localY;
         }
     }
 
@@ -0,0 +1,163 @@
+package net.runelite.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.Getter;
+
+/**
+ * The checksums a collision map was built from, so that a rebuild after a game update only has to redo the regions
+ * whose map or locations archives changed.
+ * <p>
+ * The collision of a region also depends on the objects of its eight neighbours, so a region is rebuilt when the
+ * checksum of any region around it changed, and every region is rebuilt when the object definitions changed.
+ */
+public class CollisionMapManifest
+{
+	/**
+	 * Checksum of everything that is shared by all regions, such as the object definitions
+	 */
+	@Getter
+	private final int objectsChecksum;
+	/**
+	 * Checksum of the archives of every region, keyed and ordered by region id
+	 */
+	private final Map<Integer, Integer> regions;
+
+	public CollisionMapManifest(int objectsChecksum, Map<Integer, Integer> regions)
+	{
+		this.objectsChecksum = objectsChecksum;
+		this.regions = Collections.unmodifiableMap(new TreeMap<>(regions));
+	}
+
+	/**
+	 * Ids of the regions in the manifest, in ascending order
+	 */
+	public Set<Integer> getRegionIds()
+	{
+		return regions.keySet();
+	}
+
+	public boolean contains(int regionId)
+	{
+		return regions.containsKey(regionId);
+	}
+
+	/**
+	 * Finds the regions that have to be rebuilt, in ascending order. That is every region if there is no previous
+	 * manifest or the objects changed, otherwise the regions with a changed, added or removed region around them.
+	 */
+	public Set<Integer> findChangedRegions(CollisionMapManifest previous)
+	{
+		if (previous == null || previous.objectsChecksum != objectsChecksum)
+		{
+			return getRegionIds();
+		}
+
+		Set<Integer> changed = new TreeSet<>();
+		for (int regionId : regions.keySet())
+		{
+			for (int neighbor : neighbors(regionId))
+			{
+				if (!Objects.equals(regions.get(neighbor), previous.regions.get(neighbor)))
+				{
+					changed.add(regionId);
+					break;
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Finds the regions of the previous manifest that no longer exist
+	 */
+	public Set<Integer> findRemovedRegions(CollisionMapManifest previous)
+	{
+		if (previous == null)
+		{
+			return Collections.emptySet();
+		}
+
+		Set<Integer> removed = new TreeSet<>(previous.regions.keySet());
+		removed.removeAll(regions.keySet());
+		return removed;
+	}
+
+	/**
+	 * The region and the eight regions around it, with the same ids the dumper looks its neighbours up with
+	 */
+	public static int[] neighbors(int regionId)
+	{
+		int x = regionId >> 8;
+		int y = regionId & 0xFF;
+
+		int[] neighbors = new int[9];
+		int n = 0;
+		for (int dx = -1; dx <= 1; dx++)
+		{
+			for (int dy = -1; dy <= 1; dy++)
+			{
+				neighbors[n++] = ((x + dx) << 8) | (y + dy);
+			}
+		}
+		return neighbors;
+	}
+
+	public static CollisionMapManifest read(File file) throws IOException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+		{
+			String line = reader.readLine();
+			if (line == null)
+			{
+				throw new IOException("Empty collision map manifest " + file);
+			}
+
+			int objectsChecksum = Integer.parseInt(line.trim());
+			Map<Integer, Integer> regions = new TreeMap<>();
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty())
+				{
+					continue;
+				}
+
+				String[] parts = line.split(" ");
+				if (parts.length != 2)
+				{
+					throw new IOException("Malformed collision map manifest line: " + line);
+				}
+				regions.put(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+			}
+			return new CollisionMapManifest(objectsChecksum, regions);
+		}
+		catch (NumberFormatException ex)
+		{
+			throw new IOException("Malformed collision map manifest " + file, ex);
+		}
+	}
+
+	public void write(File file) throws IOException
+	{
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			writer.write(Integer.toString(objectsChecksum));
+			writer.newLine();
+			for (Map.Entry<Integer, Integer> entry : regions.entrySet())
+			{
+				writer.write(entry.getKey() + " " + entry.getValue());
+				writer.newLine();
+			}
+		}
+	}
+}
@@ -123,8 +123,14 @@ public class Archive
 
 	public ArchiveFiles getFiles(byte[] data, int[] keys) throws IOException
 	{
-		byte[] decompressedData = decompress(data, keys);
+		return loadFiles(decompress(data, keys));
+	}
 
+	/**
+	 * Splits the already decompressed contents of this archive into its files
+	 */
+	public ArchiveFiles loadFiles(byte[] decompressedData) throws IOException
+	{
 		ArchiveFiles files = new ArchiveFiles();
 		for (FileData fileEntry : fileData)
 		{
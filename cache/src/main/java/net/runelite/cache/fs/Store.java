@@ -24,6 +24,8 @@
  */
 package net.runelite.cache.fs;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
@@ -33,11 +35,21 @@ import lombok.EqualsAndHashCode;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.jagex.DiskStorage;
 
+/**
+ * A cache, made of indexes of archives.
+ * <p>
+ * {@link #load()} only reads the index metadata. The contents of an archive are read from the storage and
+ * decompressed when they are first asked for with {@link #getArchiveContents} or {@link #getArchiveFiles}, and the
+ * decompressed contents are kept in a cache that is bounded by their total size.
+ */
 @EqualsAndHashCode(of = "indexes")
 public final class Store implements Closeable
 {
+	public static final long DEFAULT_ARCHIVE_CACHE_SIZE = 64L * 1024 * 1024;
+
 	private final Storage storage;
 	private final List<Index> indexes = new ArrayList<>();
+	private volatile Cache<Long, CachedArchive> archiveCache = createArchiveCache(DEFAULT_ARCHIVE_CACHE_SIZE);
 
 	public Store(File folder) throws IOException
 	{
@@ -116,4 +128,70 @@ public final class Store implements Closeable
 		}
 		return null;
 	}
+
+	/**
+	 * Sets the maximum total size of the decompressed archive contents that are kept, and drops the kept contents
+	 */
+	public void setArchiveCacheSize(long bytes)
+	{
+		archiveCache = createArchiveCache(bytes);
+	}
+
+	/**
+	 * Reads and decompresses the contents of an archive that is not encrypted, or returns the kept contents if it
+	 * was decompressed before
+	 *
+	 * @return the decompressed contents, which are shared and must not be modified, or null if the archive is not in
+	 * the storage
+	 */
+	public byte[] getArchiveContents(Archive archive) throws IOException
+	{
+		final Cache<Long, CachedArchive> cache = archiveCache;
+		final long key = (long) archive.getIndex().getId() << 32 | archive.getArchiveId();
+
+		// An archive that was written again has a new crc, so the old contents are not used
+		CachedArchive cached = cache.getIfPresent(key);
+		if (cached != null && cached.crc == archive.getCrc())
+		{
+			return cached.contents;
+		}
+
+		byte[] contents = archive.decompress(storage.loadArchive(archive));
+		if (contents != null)
+		{
+			cache.put(key, new CachedArchive(archive.getCrc(), contents));
+		}
+		return contents;
+	}
+
+	/**
+	 * Splits the contents of an archive that is not encrypted into its files. The files are new on every call, but the
+	 * archive is only read and decompressed when its contents are not kept.
+	 */
+	public ArchiveFiles getArchiveFiles(Archive archive) throws IOException
+	{
+		// A file of an archive with a single file gets the contents array itself, which the caller may modify
+		byte[] contents = getArchiveContents(archive);
+		return archive.loadFiles(contents != null ? contents.clone() : null);
+	}
+
+	private static Cache<Long, CachedArchive> createArchiveCache(long bytes)
+	{
+		return CacheBuilder.newBuilder()
+			.maximumWeight(bytes)
+			.weigher((Long key, CachedArchive cached) -> cached.contents.length)
+			.build();
+	}
+
+	private static final class CachedArchive
+	{
+		private final int crc;
+		private final byte[] contents;
+
+		private CachedArchive(int crc, byte[] contents)
+		{
+			this.crc = crc;
+			this.contents = contents;
+		}
+	}
 }
@@ -30,9 +30,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The sectors of every archive of the cache.
+ * <p>
+ * Reads use positional reads on the file channel and take no lock, so any number of threads can read at once.
+ * Writes are serialized and only ever append new sectors, so they never change the sectors a read is following.
+ */
 public class DataFile implements Closeable
 {
 	private static final Logger logger = LoggerFactory.getLogger(DataFile.class);
@@ -40,10 +47,12 @@ public class DataFile implements Closeable
 	private static final int SECTOR_SIZE = 520;
 
 	private final RandomAccessFile dat;
+	private final FileChannel channel;
 
 	public DataFile(File file) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.channel = dat.getChannel();
 	}
 
 	@Override
@@ -52,7 +61,7 @@ public class DataFile implements Closeable
 		dat.close();
 	}
 
-	public void clear() throws IOException
+	public synchronized void clear() throws IOException
 	{
 		dat.setLength(0L);
 	}
@@ -66,15 +75,17 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
 	{
-		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
+		long sectorCount = channel.size() / SECTOR_SIZE;
+		if (sector <= 0L || sectorCount < (long) sector)
 		{
-			logger.warn("bad read, dat length {}, requested sector {}", dat.length(), sector);
+			logger.warn("bad read, dat length {}, requested sector {}", channel.size(), sector);
 			return null;
 		}
 
 		byte[] readBuffer = new byte[SECTOR_SIZE];
+		ByteBuffer sectorBuffer = ByteBuffer.wrap(readBuffer);
 		ByteBuffer buffer = ByteBuffer.allocate(size);
 
 		for (int part = 0, readBytesCount = 0, nextSector;
@@ -87,7 +98,7 @@ public class DataFile implements Closeable
 				return null;
 			}
 
-			dat.seek(SECTOR_SIZE * sector);
+			long position = (long) SECTOR_SIZE * sector;
 
 			int dataBlockSize = size - readBytesCount;
 			byte headerSize;
@@ -102,7 +113,8 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
+				sectorBuffer.clear().limit(headerSize + dataBlockSize);
+				int i = readFully(channel, sectorBuffer, position);
 				if (i != headerSize + dataBlockSize)
 				{
 					logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
@@ -127,7 +139,8 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
+				sectorBuffer.clear().limit(headerSize + dataBlockSize);
+				int i = readFully(channel, sectorBuffer, position);
 				if (i != headerSize + dataBlockSize)
 				{
 					logger.warn("short read");
@@ -153,7 +166,12 @@ public class DataFile implements Closeable
 				return null;
 			}
 
-			if (nextSector < 0 || dat.length() / SECTOR_SIZE < (long) nextSector)
+			if (nextSector > sectorCount)
+			{
+				// Sectors appended since the read started
+				sectorCount = channel.size() / SECTOR_SIZE;
+			}
+			if (nextSector < 0 || sectorCount < (long) nextSector)
 			{
 				logger.warn("Invalid next sector");
 				return null;
@@ -169,6 +187,27 @@ public class DataFile implements Closeable
 		return buffer.array();
 	}
 
+	/**
+	 * Reads from the position until the buffer is full or the end of the file is reached, without moving the position
+	 * of the channel
+	 *
+	 * @return the number of bytes read
+	 */
+	static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		int total = 0;
+		while (buffer.hasRemaining())
+		{
+			int read = channel.read(buffer, position + total);
+			if (read < 0)
+			{
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
 	{
 		int sector;
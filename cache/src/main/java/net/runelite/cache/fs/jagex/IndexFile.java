@@ -29,11 +29,19 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The index entries of one index, which point each archive at its sectors in the {@link DataFile}.
+ * <p>
+ * Reads use positional reads on the file channel and take no lock. Writes are serialized and write each entry
+ * in a single positional write, so a read sees either the old or the new entry.
+ */
 @EqualsAndHashCode(of = "file")
 public class IndexFile implements Closeable
 {
@@ -45,6 +53,7 @@ public class IndexFile implements Closeable
 	private final int indexFileId;
 	private final File file;
 	private final RandomAccessFile idx;
+	private final FileChannel channel;
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
@@ -52,6 +61,7 @@ public class IndexFile implements Closeable
 		this.indexFileId = indexFileId;
 		this.file = file;
 		this.idx = new RandomAccessFile(file, "rw");
+		this.channel = idx.getChannel();
 	}
 
 	@Override
@@ -60,15 +70,13 @@ public class IndexFile implements Closeable
 		idx.close();
 	}
 
-	public void clear() throws IOException
+	public synchronized void clear() throws IOException
 	{
 		idx.setLength(0L);
 	}
 
 	public synchronized void write(IndexEntry entry) throws IOException
 	{
-		idx.seek(entry.getId() * INDEX_ENTRY_LEN);
-
 		buffer[0] = (byte) (entry.getLength() >> 16);
 		buffer[1] = (byte) (entry.getLength() >> 8);
 		buffer[2] = (byte) entry.getLength();
@@ -77,13 +85,18 @@ public class IndexFile implements Closeable
 		buffer[4] = (byte) (entry.getSector() >> 8);
 		buffer[5] = (byte) entry.getSector();
 
-		idx.write(buffer);
+		ByteBuffer entryBuffer = ByteBuffer.wrap(buffer);
+		long position = (long) entry.getId() * INDEX_ENTRY_LEN;
+		while (entryBuffer.hasRemaining())
+		{
+			channel.write(entryBuffer, position + entryBuffer.position());
+		}
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	public IndexEntry read(int id) throws IOException
 	{
-		idx.seek(id * INDEX_ENTRY_LEN);
-		int i = idx.read(buffer);
+		byte[] buffer = new byte[INDEX_ENTRY_LEN];
+		int i = DataFile.readFully(channel, ByteBuffer.wrap(buffer), (long) id * INDEX_ENTRY_LEN);
 		if (i != INDEX_ENTRY_LEN)
 		{
 			logger.debug("short read for id {} on index {}: {}", id, indexFileId, i);
@@ -102,8 +115,8 @@ public class IndexFile implements Closeable
 		return new IndexEntry(this, id, sector, length);
 	}
 
-	public synchronized int getIndexCount() throws IOException
+	public int getIndexCount() throws IOException
 	{
-		return (int) (idx.length() / INDEX_ENTRY_LEN);
+		return (int) (channel.size() / INDEX_ENTRY_LEN);
 	}
 }
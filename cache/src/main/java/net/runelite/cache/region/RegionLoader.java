@@ -38,18 +38,20 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
 import net.runelite.cache.util.KeyProvider;
 
 @Slf4j
 public class RegionLoader
 {
-	private static final int MAX_REGION = 32768;
+	public static final int MAX_REGION = 32768;
 
 	private final Store store;
 	private final Index index;
 	private final KeyProvider keyProvider;
 
 	private final Map<Integer, Region> regions = new HashMap<>();
+	private Map<Integer, Archive> archivesByName;
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -81,13 +83,29 @@ public class RegionLoader
 	}
 
 	public Region loadRegionFromArchive(int i) throws IOException
+	{
+		Region region = decodeRegion(i);
+		if (region != null)
+		{
+			regions.put(i, region);
+		}
+
+		return region;
+	}
+
+	/**
+	 * Decodes a region without keeping it in this loader, so that several threads can decode regions at once
+	 *
+	 * @return the region, or null if the region has no archives
+	 */
+	public Region decodeRegion(int i) throws IOException
 	{
 		int x = i >> 8;
 		int y = i & 0xFF;
 
 		Storage storage = store.getStorage();
-		Archive map = index.findArchiveByName("m" + x + "_" + y);
-		Archive land = index.findArchiveByName("l" + x + "_" + y);
+		Archive map = findMapArchive(i);
+		Archive land = findLocationsArchive(i);
 
 		assert (map == null) == (land == null);
 
@@ -111,11 +129,38 @@ public class RegionLoader
 			region.loadLocations(locDef);
 		}
 
-		regions.put(i, region);
-
 		return region;
 	}
 
+	public Archive findMapArchive(int i)
+	{
+		return findArchive("m" + (i >> 8) + "_" + (i & 0xFF));
+	}
+
+	public Archive findLocationsArchive(int i)
+	{
+		return findArchive("l" + (i >> 8) + "_" + (i & 0xFF));
+	}
+
+	public int[] findKey(int i)
+	{
+		return keyProvider.getKey(i);
+	}
+
+	private synchronized Archive findArchive(String name)
+	{
+		// Looking every region up by scanning the index is quadratic, so the archives are hashed by name once
+		if (archivesByName == null)
+		{
+			archivesByName = new HashMap<>();
+			for (Archive archive : index.getArchives())
+			{
+				archivesByName.putIfAbsent(archive.getNameHash(), archive);
+			}
+		}
+		return archivesByName.get(Djb2.hash(name));
+	}
+
 	public Region loadRegion(int id, MapDefinition map, LocationsDefinition locs)
 	{
 		Region r = new Region(id);
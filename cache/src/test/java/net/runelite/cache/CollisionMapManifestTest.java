@@ -0,0 +1,103 @@
+package net.runelite.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class CollisionMapManifestTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static int region(int x, int y)
+	{
+		return (x << 8) | y;
+	}
+
+	private static Map<Integer, Integer> grid()
+	{
+		Map<Integer, Integer> regions = new HashMap<>();
+		for (int x = 40; x < 50; x++)
+		{
+			for (int y = 50; y < 60; y++)
+			{
+				regions.put(region(x, y), x * 1000 + y);
+			}
+		}
+		return regions;
+	}
+
+	@Test
+	public void testNoPreviousManifest()
+	{
+		CollisionMapManifest manifest = new CollisionMapManifest(1, grid());
+		assertEquals(100, manifest.findChangedRegions(null).size());
+		assertTrue(manifest.findRemovedRegions(null).isEmpty());
+	}
+
+	@Test
+	public void testObjectsChanged()
+	{
+		CollisionMapManifest previous = new CollisionMapManifest(1, grid());
+		CollisionMapManifest manifest = new CollisionMapManifest(2, grid());
+		assertEquals(100, manifest.findChangedRegions(previous).size());
+	}
+
+	@Test
+	public void testUnchanged()
+	{
+		CollisionMapManifest previous = new CollisionMapManifest(1, grid());
+		CollisionMapManifest manifest = new CollisionMapManifest(1, grid());
+		assertTrue(manifest.findChangedRegions(previous).isEmpty());
+	}
+
+	@Test
+	public void testChangedRegionRebuildsNeighbors()
+	{
+		CollisionMapManifest previous = new CollisionMapManifest(1, grid());
+		Map<Integer, Integer> regions = grid();
+		regions.put(region(45, 55), 0);
+		CollisionMapManifest manifest = new CollisionMapManifest(1, regions);
+
+		Set<Integer> changed = manifest.findChangedRegions(previous);
+		assertEquals(9, changed.size());
+		for (int dx = -1; dx <= 1; dx++)
+		{
+			for (int dy = -1; dy <= 1; dy++)
+			{
+				assertTrue(changed.contains(region(45 + dx, 55 + dy)));
+			}
+		}
+	}
+
+	@Test
+	public void testRemovedRegion()
+	{
+		CollisionMapManifest previous = new CollisionMapManifest(1, grid());
+		Map<Integer, Integer> regions = grid();
+		regions.remove(region(40, 50));
+		CollisionMapManifest manifest = new CollisionMapManifest(1, regions);
+
+		assertEquals(Set.of(region(40, 50)), manifest.findRemovedRegions(previous));
+		assertEquals(Set.of(region(40, 51), region(41, 50), region(41, 51)), manifest.findChangedRegions(previous));
+	}
+
+	@Test
+	public void testReadWrite() throws IOException
+	{
+		File file = folder.newFile();
+		CollisionMapManifest manifest = new CollisionMapManifest(-12345, grid());
+		manifest.write(file);
+
+		CollisionMapManifest read = CollisionMapManifest.read(file);
+		assertEquals(manifest.getObjectsChecksum(), read.getObjectsChecksum());
+		assertEquals(manifest.getRegionIds(), read.getRegionIds());
+		assertTrue(read.findChangedRegions(manifest).isEmpty());
+	}
+}
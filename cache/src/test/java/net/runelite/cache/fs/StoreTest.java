@@ -151,4 +151,37 @@ public class StoreTest
 			}
 		}
 	}
+
+	@Test
+	public void testArchiveCache() throws IOException
+	{
+		try (Store store = new Store(folder.newFolder()))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			archive.setFileData(new FileData[]{new FileData()});
+			saveArchive(store, archive, "first".getBytes());
+
+			byte[] contents = store.getArchiveContents(archive);
+			Assert.assertArrayEquals("first".getBytes(), contents);
+			Assert.assertSame(contents, store.getArchiveContents(archive));
+
+			// Files get their own copy of the kept contents
+			ArchiveFiles files = store.getArchiveFiles(archive);
+			files.findFile(0).getContents()[0] = 0;
+			Assert.assertArrayEquals("first".getBytes(), store.getArchiveContents(archive));
+
+			// Writing the archive again changes its crc, so the kept contents are not used
+			saveArchive(store, archive, "second".getBytes());
+			Assert.assertArrayEquals("second".getBytes(), store.getArchiveContents(archive));
+		}
+	}
+
+	private static void saveArchive(Store store, Archive archive, byte[] data) throws IOException
+	{
+		Container container = new Container(archive.getCompression(), -1);
+		container.compress(data, null);
+		archive.setCrc(container.crc);
+		store.getStorage().saveArchive(archive, container.data);
+	}
 }
@@ -25,19 +25,30 @@
 package net.runelite.cache.fs.jagex;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.index.FileData;
+import org.junit.Ignore;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Rule;
 import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class DiskStorageTest
 {
+	private static final Logger logger = LoggerFactory.getLogger(DiskStorageTest.class);
+
 	@Rule
 	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
 
@@ -101,4 +112,96 @@ public class DiskStorageTest
 		}
 	}
 
+	@Test
+	public void testConcurrentLoad() throws Exception
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+			Storage storage = store.getStorage();
+
+			List<Archive> archives = allArchives(store);
+			List<byte[]> expected = new ArrayList<>(archives.size());
+			for (Archive archive : archives)
+			{
+				expected.add(storage.loadArchive(archive));
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+			try
+			{
+				List<Future<byte[]>> loaded = new ArrayList<>(archives.size());
+				for (Archive archive : archives)
+				{
+					loaded.add(executor.submit(() -> storage.loadArchive(archive)));
+				}
+
+				for (int i = 0; i < archives.size(); i++)
+				{
+					assertArrayEquals(expected.get(i), loaded.get(i).get());
+				}
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	@Test
+	@Ignore
+	public void benchmarkConcurrentLoad() throws Exception
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+			Storage storage = store.getStorage();
+			List<Archive> archives = allArchives(store);
+
+			for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2)
+			{
+				ExecutorService executor = Executors.newFixedThreadPool(threads);
+				try
+				{
+					// The first rounds warm up the page cache and the JIT
+					long best = Long.MAX_VALUE;
+					long bytes = 0;
+					for (int round = 0; round < 5; round++)
+					{
+						long start = System.nanoTime();
+						List<Future<byte[]>> loaded = new ArrayList<>(archives.size());
+						for (Archive archive : archives)
+						{
+							loaded.add(executor.submit(() -> storage.loadArchive(archive)));
+						}
+
+						bytes = 0;
+						for (Future<byte[]> data : loaded)
+						{
+							byte[] b = data.get();
+							bytes += b != null ? b.length : 0;
+						}
+						best = Math.min(best, System.nanoTime() - start);
+					}
+
+					logger.info("{} threads: {} archives, {} bytes in {} ms ({} MB/s)",
+						threads, archives.size(), bytes, best / 1_000_000L, bytes * 1000L / Math.max(1L, best));
+				}
+				finally
+				{
+					executor.shutdownNow();
+				}
+			}
+		}
+	}
+
+	private static List<Archive> allArchives(Store store)
+	{
+		List<Archive> archives = new ArrayList<>();
+		for (Index index : store.getIndexes())
+		{
+			archives.addAll(index.getArchives());
+		}
+		return archives;
+	}
 }
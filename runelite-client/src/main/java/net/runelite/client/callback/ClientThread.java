@@ -25,13 +25,18 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
 
 import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
@@ -40,8 +45,16 @@ import java.util.function.BooleanSupplier;
 @Slf4j
 public class ClientThread
 {
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokesAtTickEnd = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<Invocation> invokes = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<Invocation> invokesAtTickEnd = new ConcurrentLinkedQueue<>();
+
+	@Getter
+	private final ClientThreadMetrics metrics = new ClientThreadMetrics();
+
+	/**
+	 * Time the tasks of one frame may take before the rest are deferred to the next frame, or 0 for no limit
+	 */
+	private volatile long frameBudgetNanos;
 
 	protected ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 	public Future<?> scheduledFuture;
@@ -51,11 +64,7 @@ public class ClientThread
 
 	public void invoke(Runnable r)
 	{
-		invoke(() ->
-		{
-			r.run();
-			return true;
-		});
+		invoke(asSupplier(r), r);
 	}
 
 	/**
@@ -71,7 +80,7 @@ public class ClientThread
 			return method.call();
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
-		invoke(task);
+		invoke(asSupplier(task), method);
 		try {
 			return task.get(10000, TimeUnit.MILLISECONDS);
 		} catch (InterruptedException | TimeoutException | ExecutionException e) {
@@ -106,7 +115,7 @@ public class ClientThread
 			}
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
-		invoke(task);
+		invoke(asSupplier(task), method);
 		try {
 			return Optional.ofNullable(task.get(10000, TimeUnit.MILLISECONDS));
 		} catch (InterruptedException | TimeoutException | ExecutionException e) {
@@ -122,6 +131,98 @@ public class ClientThread
 		}
 	}
 
+	/**
+	 * Run a batch of methods in one turn of the client thread, returning their results in order. The batch is
+	 * empty if any method failed or the client thread did not run it in time.
+	 * @param methods
+	 * @return
+	 * @param <T>
+	 */
+	public <T> Optional<List<T>> runOnClientThreadBatch(List<? extends Callable<? extends T>> methods) {
+		final CompletableFuture<List<T>> batch = invokeBatch(methods);
+		try {
+			return Optional.of(batch.get(10000, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException | TimeoutException | ExecutionException e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+				return Optional.empty();
+			}
+			batch.cancel(true);
+			if (!Microbot.isDebug()) {
+				log.error("Exception during batch execution: {}: {}\n{}", e.getClass().getSimpleName(), e.getMessage(),e);
+			}
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Runs a batch of methods in one turn of the client thread, so that a script reading many values waits for one
+	 * frame instead of one frame per value. The batch is never split by the frame budget.
+	 * <p>
+	 * The future completes with the results in the order of the methods. If a method throws, the rest of the batch
+	 * still runs and the future completes exceptionally with the first exception.
+	 */
+	public <T> CompletableFuture<List<T>> invokeBatch(List<? extends Callable<? extends T>> methods)
+	{
+		final CompletableFuture<List<T>> future = new CompletableFuture<>();
+		final Runnable batch = () ->
+		{
+			if (future.isDone())
+			{
+				return;
+			}
+
+			final List<T> results = new ArrayList<>(methods.size());
+			Exception failure = null;
+			for (Callable<? extends T> method : methods)
+			{
+				try
+				{
+					results.add(method.call());
+				}
+				catch (Exception e)
+				{
+					results.add(null);
+					if (failure == null)
+					{
+						failure = e;
+					}
+					else
+					{
+						failure.addSuppressed(e);
+					}
+				}
+			}
+
+			if (failure != null)
+			{
+				future.completeExceptionally(failure);
+			}
+			else
+			{
+				future.complete(Collections.unmodifiableList(results));
+			}
+		};
+
+		invoke(asSupplier(batch), methods.isEmpty() ? batch : methods.get(0));
+		return future;
+	}
+
+	/**
+	 * Sets the time the queued tasks may take per frame. Once a frame has used up its budget, the remaining tasks
+	 * wait for the next frame. At least one task runs every frame, and tasks run at tick end are not limited.
+	 * @param budget the budget, or {@link Duration#ZERO} to run every queued task every frame
+	 */
+	public void setFrameBudget(Duration budget)
+	{
+		frameBudgetNanos = Math.max(0, budget.toNanos());
+	}
+
+	public Duration getFrameBudget()
+	{
+		return Duration.ofNanos(frameBudgetNanos);
+	}
+
 	/**
 	 * Run a method on the client thread, returning the result.
 	 * @param method
@@ -138,17 +239,22 @@ public class ClientThread
 	 * If r returns false, r will be ran again, at a later point
 	 */
 	public void invoke(BooleanSupplier r)
+	{
+		invoke(r, r);
+	}
+
+	private void invoke(BooleanSupplier r, Object caller)
 	{
 		if (client.isClientThread())
 		{
 			if (!r.getAsBoolean())
 			{
-				invokes.add(r);
+				invokeLater(r, caller);
 			}
 			return;
 		}
 
-		invokeLater(r);
+		invokeLater(r, caller);
 	}
 
 	/**
@@ -157,45 +263,65 @@ public class ClientThread
 	 */
 	public void invokeLater(Runnable r)
 	{
-		invokeLater(() ->
-		{
-			r.run();
-			return true;
-		});
+		invokeLater(asSupplier(r), r);
 	}
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		invokeLater(r, r);
+	}
+
+	private void invokeLater(BooleanSupplier r, Object caller)
+	{
+		invokes.add(new Invocation(r, ClientThreadMetrics.callerOf(caller)));
+		metrics.queued();
 	}
 
 	public void invokeAtTickEnd(Runnable r)
 	{
-		invokesAtTickEnd.add(() ->
-		{
-			r.run();
-			return true;
-		});
+		invokesAtTickEnd.add(new Invocation(asSupplier(r), ClientThreadMetrics.callerOf(r)));
 	}
 
 	void invoke()
 	{
-		invokeList(invokes);
+		invokeList(invokes, true);
 	}
 
 	void invokeTickEnd()
 	{
-		invokeList(invokesAtTickEnd);
+		invokeList(invokesAtTickEnd, false);
 	}
 
-	private void invokeList(ConcurrentLinkedQueue<BooleanSupplier> invokes)
+	private static BooleanSupplier asSupplier(Runnable r)
+	{
+		return () ->
+		{
+			r.run();
+			return true;
+		};
+	}
+
+	private void invokeList(ConcurrentLinkedQueue<Invocation> invokes, boolean frame)
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
+		final long budget = frame ? frameBudgetNanos : 0;
+		final long frameStart = System.nanoTime();
+		long now = frameStart;
+		int tasks = 0;
+		boolean deferred = false;
+		Iterator<Invocation> ir = invokes.iterator();
 		while (ir.hasNext())
 		{
-			BooleanSupplier r = ir.next();
+			if (budget > 0 && tasks > 0 && now - frameStart >= budget)
+			{
+				deferred = true;
+				break;
+			}
+
+			Invocation invocation = ir.next();
+			BooleanSupplier r = invocation.task;
 			boolean remove = true;
+			final long start = now;
 			try
 			{
 				remove = r.getAsBoolean();
@@ -208,14 +334,51 @@ public class ClientThread
 			{
 				log.error("Exception in invoke", e);
 			}
+			now = System.nanoTime();
+			tasks++;
+			metrics.executed(invocation.caller, invocation.waited(start), now - start);
+
 			if (remove)
 			{
 				ir.remove();
+				if (frame)
+				{
+					metrics.dequeued();
+				}
 			}
 			else
 			{
 				log.trace("Deferring task {}", r);
 			}
 		}
+
+		if (frame)
+		{
+			metrics.frame(tasks, now - frameStart, deferred);
+		}
+	}
+
+	private static final class Invocation
+	{
+		private final BooleanSupplier task;
+		private final String caller;
+		private long queuedAt;
+
+		private Invocation(BooleanSupplier task, String caller)
+		{
+			this.task = task;
+			this.caller = caller;
+			this.queuedAt = System.nanoTime();
+		}
+
+		/**
+		 * Time between queueing and the first run, tasks which are run again have not waited
+		 */
+		private long waited(long start)
+		{
+			long waited = queuedAt != 0 ? start - queuedAt : 0;
+			queuedAt = 0;
+			return waited;
+		}
 	}
 }
@@ -0,0 +1,168 @@
+package net.runelite.client.callback;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Queue depth, wait time and execution time of the tasks run by {@link ClientThread}, grouped by the class that
+ * submitted them.
+ * <p>
+ * Tasks are only executed on the client thread, so the execution counters have a single writer; the queue depth is
+ * updated by every thread that submits a task.
+ */
+public class ClientThreadMetrics
+{
+	private static final String LAMBDA_SUFFIX = "$$Lambda";
+
+	private static final ClassValue<String> CALLER_NAMES = new ClassValue<>()
+	{
+		@Override
+		protected String computeValue(Class<?> type)
+		{
+			String name = type.getName();
+			int lambda = name.indexOf(LAMBDA_SUFFIX);
+			return lambda != -1 ? name.substring(0, lambda) : name;
+		}
+	};
+
+	private final Map<String, Caller> callers = new ConcurrentHashMap<>();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final LongAdder deferredFrames = new LongAdder();
+
+	/**
+	 * Number of tasks run in the last frame
+	 */
+	@Getter
+	private volatile int lastFrameTasks;
+	/**
+	 * Time spent running tasks in the last frame
+	 */
+	@Getter
+	private volatile long lastFrameNanos;
+
+	/**
+	 * The name a task is reported under, which is the class that declared the lambda or the class of the task
+	 */
+	static String callerOf(Object task)
+	{
+		return CALLER_NAMES.get(task.getClass());
+	}
+
+	void queued()
+	{
+		queueDepth.incrementAndGet();
+	}
+
+	void dequeued()
+	{
+		queueDepth.decrementAndGet();
+	}
+
+	void executed(String caller, long waitNanos, long executionNanos)
+	{
+		callers.computeIfAbsent(caller, Caller::new).record(waitNanos, executionNanos);
+	}
+
+	void frame(int tasks, long nanos, boolean deferred)
+	{
+		lastFrameTasks = tasks;
+		lastFrameNanos = nanos;
+		if (deferred)
+		{
+			deferredFrames.increment();
+		}
+	}
+
+	/**
+	 * Number of tasks waiting for the next frame
+	 */
+	public int getQueueDepth()
+	{
+		return queueDepth.get();
+	}
+
+	/**
+	 * Number of frames that ran out of budget and left tasks for the next frame
+	 */
+	public long getDeferredFrames()
+	{
+		return deferredFrames.sum();
+	}
+
+	/**
+	 * The statistics of every caller, with the most total execution time first
+	 */
+	public List<CallerStats> getCallers()
+	{
+		List<CallerStats> stats = new ArrayList<>(callers.size());
+		for (Caller caller : callers.values())
+		{
+			stats.add(caller.snapshot());
+		}
+		stats.sort(Comparator.comparingLong(CallerStats::getTotalExecutionNanos).reversed());
+		return stats;
+	}
+
+	public void reset()
+	{
+		callers.clear();
+		deferredFrames.reset();
+	}
+
+	@Value
+	public static class CallerStats
+	{
+		String caller;
+		long count;
+		long totalWaitNanos;
+		long totalExecutionNanos;
+		long maxExecutionNanos;
+
+		public long getAverageWaitNanos()
+		{
+			return count == 0 ? 0 : totalWaitNanos / count;
+		}
+
+		public long getAverageExecutionNanos()
+		{
+			return count == 0 ? 0 : totalExecutionNanos / count;
+		}
+	}
+
+	private static class Caller
+	{
+		private final String name;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder waitNanos = new LongAdder();
+		private final LongAdder executionNanos = new LongAdder();
+		private volatile long maxExecutionNanos;
+
+		Caller(String name)
+		{
+			this.name = name;
+		}
+
+		void record(long wait, long execution)
+		{
+			count.increment();
+			waitNanos.add(wait);
+			executionNanos.add(execution);
+			if (execution > maxExecutionNanos)
+			{
+				maxExecutionNanos = execution;
+			}
+		}
+
+		CallerStats snapshot()
+		{
+			return new CallerStats(name, count.sum(), waitNanos.sum(), executionNanos.sum(), maxExecutionNanos);
+		}
+	}
+}
@@ -26,8 +26,6 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,14 +33,31 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.util.HandlerStats;
 import net.runelite.client.util.ReflectUtil;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
@@ -53,6 +68,9 @@ import org.slf4j.MarkerFactory;
 public class EventBus
 {
 	private static final Marker DEDUPLICATE = MarkerFactory.getMarker("DEDUPLICATE");
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparingDouble(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
 
 	@Value
 	public static class Subscriber
@@ -62,6 +80,15 @@ public class EventBus
 		private final float priority;
 		@EqualsAndHashCode.Exclude
 		private final Consumer<Object> lambda;
+		/**
+		 * The {@link Subscribe#lane()} this subscriber runs on, or null to run on the posting thread
+		 */
+		@Nullable
+		private final String lane;
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		@Getter(AccessLevel.NONE)
+		private final HandlerStats stats;
 
 		void invoke(final Object arg) throws Exception
 		{
@@ -78,8 +105,21 @@ public class EventBus
 
 	private final Consumer<Throwable> exceptionHandler;
 
+	/**
+	 * Subscribers of every event class, in the order they are called. The map and its arrays are never modified
+	 * once published; registering and unregistering copy them and only rebuild the arrays of the affected classes.
+	 */
 	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	private volatile Map<Class<?>, Subscriber[]> subscribers = Collections.emptyMap();
+
+	private final Map<String, EventLane> lanes = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether the subscribers are profiled, see {@link #getSubscriberStats()}
+	 */
+	@Getter
+	@Setter
+	private volatile boolean timingEnabled;
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -98,10 +138,7 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Map<Class<?>, Subscriber[]> updated = new HashMap<>(subscribers);
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -158,26 +195,35 @@ public class EventBus
 					log.warn("Unable to create lambda for method {}", method, e);
 				}
 
-				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
+				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda, lane(sub.lane()),
+					new HandlerStats(clazz.getName() + "." + method.getName(), parameterClazz.getSimpleName()));
+				add(updated, parameterClazz, subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
 
-		subscribers = builder.build();
+		subscribers = updated;
+	}
+
+	public <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
+	{
+		return register(clazz, subFn, priority, "");
 	}
 
-	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
+	/**
+	 * Registers a subscriber function for one event class
+	 *
+	 * @param lane the {@link Subscribe#lane()} to run the function on, or an empty string to run it on the posting thread
+	 */
+	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority, String lane)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Map<Class<?>, Subscriber[]> updated = new HashMap<>(subscribers);
 
-		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
+		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn, lane(lane),
+			new HandlerStats(functionName(subFn), clazz.getSimpleName()));
+		add(updated, clazz, sub);
 
-		subscribers = builder.build();
+		subscribers = updated;
 
 		return sub;
 	}
@@ -189,10 +235,7 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		remove(s -> s.getObject() == object);
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -202,30 +245,239 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		remove(s -> s == sub);
 	}
 
 	/**
 	 * Posts provided event to all registered subscribers. Subscriber calls are invoked immediately,
-	 * ordered by priority then their declaring class' name.
+	 * ordered by priority then their declaring class' name. Subscribers with a {@link Subscribe#lane()}
+	 * are queued on their lane instead.
 	 *
 	 * @param event event to post
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Subscriber[] subs = subscribers.getOrDefault(event.getClass(), NO_SUBSCRIBERS);
+		for (final Subscriber subscriber : subs)
+		{
+			if (subscriber.lane == null)
+			{
+				dispatch(subscriber, event);
+			}
+			else
+			{
+				final EventLane lane = lanes.get(subscriber.lane);
+				if (lane != null)
+				{
+					lane.execute(() ->
+					{
+						// the subscriber may have been unregistered while the event was queued
+						if (isRegistered(subscriber, event.getClass()))
+						{
+							dispatch(subscriber, event);
+						}
+					});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits for the events which were already posted to be handled by the subscribers on every lane
+	 *
+	 * @return true if every lane finished before the timeout
+	 */
+	public boolean awaitLanes(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (EventLane lane : lanes.values())
+		{
+			if (!lane.drain(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The profile of every subscriber which was called while timing was enabled, with the most total time first
+	 */
+	public List<HandlerStats.Snapshot> getSubscriberStats()
+	{
+		final List<HandlerStats.Snapshot> stats = new ArrayList<>();
+		for (Subscriber[] subs : subscribers.values())
 		{
-			try
+			for (Subscriber subscriber : subs)
 			{
-				subscriber.invoke(event);
+				final HandlerStats.Snapshot snapshot = subscriber.stats.snapshot();
+				if (snapshot.getCount() > 0)
+				{
+					stats.add(snapshot);
+				}
 			}
-			catch (Exception e)
+		}
+		stats.sort(Comparator.comparingLong(HandlerStats.Snapshot::getEstimatedTotalNanos).reversed());
+		return stats;
+	}
+
+	public void resetSubscriberStats()
+	{
+		for (Subscriber[] subs : subscribers.values())
+		{
+			for (Subscriber subscriber : subs)
 			{
-				exceptionHandler.accept(e);
+				subscriber.stats.reset();
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	private boolean isRegistered(final Subscriber subscriber, final Class<?> eventClass)
+	{
+		for (Subscriber registered : subscribers.getOrDefault(eventClass, NO_SUBSCRIBERS))
+		{
+			if (registered == subscriber)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void dispatch(final Subscriber subscriber, final Object event)
+	{
+		if (!timingEnabled)
+		{
+			invoke(subscriber, event);
+			return;
+		}
+
+		final HandlerStats.Sample sample = subscriber.stats.begin();
+		invoke(subscriber, event);
+		if (sample != null)
+		{
+			sample.end();
+		}
+	}
+
+	private void invoke(final Subscriber subscriber, final Object event)
+	{
+		try
+		{
+			subscriber.invoke(event);
+		}
+		catch (Exception e)
+		{
+			exceptionHandler.accept(e);
+		}
+	}
+
+	private String lane(String name)
+	{
+		if (name.isEmpty())
+		{
+			return null;
+		}
+
+		lanes.computeIfAbsent(name, EventLane::new);
+		return name;
+	}
+
+	/**
+	 * Names a subscriber function after the class declaring it, rather than the generated lambda class
+	 */
+	private static String functionName(Object subFn)
+	{
+		final String name = subFn.getClass().getName();
+		final int lambda = name.indexOf("$$Lambda");
+		return lambda == -1 ? name + ".accept" : name.substring(0, lambda) + ".lambda";
+	}
+
+	private static void add(Map<Class<?>, Subscriber[]> map, Class<?> clazz, Subscriber subscriber)
+	{
+		final Subscriber[] subs = map.getOrDefault(clazz, NO_SUBSCRIBERS);
+		final Subscriber[] updated = Arrays.copyOf(subs, subs.length + 1);
+		updated[subs.length] = subscriber;
+		// stable, so subscribers with the same priority and class keep their registration order
+		Arrays.sort(updated, SUBSCRIBER_ORDER);
+		map.put(clazz, updated);
+	}
+
+	private void remove(Predicate<Subscriber> filter)
+	{
+		Map<Class<?>, Subscriber[]> updated = null;
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			final Subscriber[] subs = entry.getValue();
+			int removed = 0;
+			for (Subscriber subscriber : subs)
+			{
+				if (filter.test(subscriber))
+				{
+					removed++;
+				}
+			}
+
+			if (removed == 0)
+			{
+				continue;
+			}
+
+			if (updated == null)
+			{
+				updated = new HashMap<>(subscribers);
+			}
+
+			if (removed == subs.length)
+			{
+				updated.remove(entry.getKey());
+				continue;
+			}
+
+			final Subscriber[] remaining = new Subscriber[subs.length - removed];
+			int i = 0;
+			for (Subscriber subscriber : subs)
+			{
+				if (!filter.test(subscriber))
+				{
+					remaining[i++] = subscriber;
+				}
+			}
+			updated.put(entry.getKey(), remaining);
+		}
+
+		if (updated != null)
+		{
+			subscribers = updated;
+			stopIdleLanes();
+		}
+	}
+
+	/**
+	 * Stops the lanes which no longer have a subscriber, they are started again if one registers
+	 */
+	private void stopIdleLanes()
+	{
+		final Set<String> used = new HashSet<>();
+		for (Subscriber[] subs : subscribers.values())
+		{
+			for (Subscriber subscriber : subs)
+			{
+				if (subscriber.lane != null)
+				{
+					used.add(subscriber.lane);
+				}
+			}
+		}
+
+		lanes.values().removeIf(lane ->
+		{
+			if (used.contains(lane.getName()))
+			{
+				return false;
+			}
+			lane.shutdown();
+			return true;
+		});
+	}
+}
@@ -0,0 +1,88 @@
+package net.runelite.client.eventbus;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.Getter;
+
+/**
+ * A single daemon thread which runs the subscribers of one {@link Subscribe#lane()}, in the order
+ * their events were posted.
+ */
+class EventLane
+{
+	@Getter
+	private final String name;
+	private final ExecutorService executor;
+
+	EventLane(String name)
+	{
+		this.name = name;
+		this.executor = Executors.newSingleThreadExecutor(r ->
+		{
+			Thread thread = new Thread(r, "EventBus lane " + name);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Queues the task, unless the lane was already shut down because its last subscriber was unregistered
+	 */
+	void execute(Runnable task)
+	{
+		try
+		{
+			executor.execute(task);
+		}
+		catch (RejectedExecutionException e)
+		{
+			// the lane has no subscribers left
+		}
+	}
+
+	/**
+	 * Stops the lane thread once the queued events are handled
+	 */
+	void shutdown()
+	{
+		executor.shutdown();
+	}
+
+	/**
+	 * Waits for the events which were already posted to this lane to be handled
+	 *
+	 * @return true if they were handled before the timeout
+	 */
+	boolean drain(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		try
+		{
+			executor.submit(() ->
+			{
+			}).get(timeout, unit);
+			return true;
+		}
+		catch (RejectedExecutionException e)
+		{
+			return executor.awaitTermination(timeout, unit);
+		}
+		catch (TimeoutException e)
+		{
+			return false;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -43,4 +43,13 @@ public @interface Subscribe
 	 * @return
 	 */
 	float priority() default 0;
+
+	/**
+	 * Name of the lane the subscriber runs on. Subscribers without a lane run immediately on the thread which
+	 * posted the event. Subscribers with a lane run on that lane's own thread, one event at a time and in the
+	 * order the events were posted, so they must not touch client state which is only safe to read on the
+	 * client thread.
+	 * @return
+	 */
+	String lane() default "";
 }
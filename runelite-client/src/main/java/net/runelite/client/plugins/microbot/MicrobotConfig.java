@@ -7,6 +7,7 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Units;
 
 @ConfigGroup(MicrobotConfig.configGroup)
 public interface MicrobotConfig extends Config
@@ -138,5 +139,69 @@ public interface MicrobotConfig extends Config
 		return false;
 	}
 
+	String keyShowClientThreadMetrics = "showClientThreadMetrics";
+	@ConfigItem(
+		keyName = keyShowClientThreadMetrics,
+		name = "Show Client Thread Metrics",
+		description = "Display the queue depth, wait time and execution time of the tasks scripts run on the client thread",
+		position = 3,
+		section = generalSection
+	)
+	default boolean showClientThreadMetrics() {
+		return false;
+	}
+
+	String keyClientThreadFrameBudget = "clientThreadFrameBudget";
+	@ConfigItem(
+		keyName = keyClientThreadFrameBudget,
+		name = "Client Thread Frame Budget",
+		description = "Time the queued client thread tasks may take per frame before the rest wait for the next frame, 0 for no limit",
+		position = 4,
+		section = generalSection
+	)
+	@Units(Units.MILLISECONDS)
+	default int clientThreadFrameBudget() {
+		return 0;
+	}
+
+	String keySharedScriptScheduler = "sharedScriptScheduler";
+	@ConfigItem(
+		keyName = keySharedScriptScheduler,
+		name = "Shared Script Threads",
+		description = "Run the loops of scripts started from now on in one shared thread pool instead of a pool per script.<br>" +
+				"Uses far fewer threads when many scripts are enabled, but scripts that block for long can delay each other.<br>" +
+				"The pool has twice as many threads as CPU cores, at least 8. Scripts started once that many share it get their own pool",
+		position = 5,
+		section = generalSection
+	)
+	default boolean sharedScriptScheduler() {
+		return false;
+	}
+
+	String keyShowScriptMetrics = "showScriptMetrics";
+	@ConfigItem(
+		keyName = keyShowScriptMetrics,
+		name = "Show Script Metrics",
+		description = "Display the thread count and the loop latency and CPU time of every script",
+		position = 6,
+		section = generalSection
+	)
+	default boolean showScriptMetrics() {
+		return false;
+	}
+
+	String keyProfileHandlers = "profileHandlers";
+	@ConfigItem(
+		keyName = keyProfileHandlers,
+		name = "Profile Event Handlers",
+		description = "Record the call count, latency and allocation of every event subscriber and overlay, and display the slowest.<br>" +
+				"Turning it off writes the profile to .runelite/profiles as CSV. Samples also show up in JFR recordings",
+		position = 7,
+		section = generalSection
+	)
+	default boolean profileHandlers() {
+		return false;
+	}
+
 
 }
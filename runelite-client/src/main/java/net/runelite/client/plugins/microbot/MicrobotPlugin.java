@@ -3,6 +3,9 @@ package net.runelite.client.plugins.microbot;
 import ch.qos.logback.classic.LoggerContext;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,7 +16,9 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.*;
 import net.runelite.api.events.*;
+import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteProperties;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.eventbus.EventBus;
@@ -27,16 +32,22 @@ import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchOve
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginConfigurationDescriptor;
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginListPanel;
 import net.runelite.client.plugins.microbot.ui.MicrobotTopLevelConfigPanel;
+import net.runelite.client.plugins.microbot.util.GameEventSignal;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2RunePouch;
+import net.runelite.client.plugins.microbot.util.overlay.ClientThreadOverlay;
 import net.runelite.client.plugins.microbot.util.overlay.GembagOverlay;
+import net.runelite.client.plugins.microbot.util.overlay.HandlerProfilerOverlay;
+import net.runelite.client.plugins.microbot.util.overlay.ScriptMetricsOverlay;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.reflection.Rs2Reflection;
 import net.runelite.client.plugins.microbot.util.shop.Rs2Shop;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
+import net.runelite.client.plugins.microbot.util.widget.WidgetIndex;
 import net.runelite.client.plugins.microbot.util.cache.Rs2CacheManager;
 import net.runelite.client.plugins.microbot.util.cache.Rs2VarbitCache;
 import net.runelite.client.plugins.microbot.util.cache.Rs2SkillCache;
@@ -50,13 +61,19 @@ import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.OverlayMenuEntry;
+import net.runelite.client.ui.overlay.OverlayRenderer;
 
 import javax.inject.Inject;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.nio.file.Files;
+import net.runelite.client.util.HandlerStats;
 import net.runelite.client.util.ImageUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +90,9 @@ import org.slf4j.LoggerFactory;
 public class MicrobotPlugin extends Plugin
 {
 
+	private static final File PROFILES_DIR = new File(RuneLite.RUNELITE_DIR, "profiles");
+	private static final DateTimeFormatter PROFILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
 	@Inject
 	private Provider<MicrobotPluginListPanel> pluginListPanelProvider;
 
@@ -108,7 +128,19 @@ public class MicrobotPlugin extends Plugin
 	@Inject
 	private PouchOverlay pouchOverlay;
 	@Inject
+	private ClientThreadOverlay clientThreadOverlay;
+	@Inject
+	private ScriptMetricsOverlay scriptMetricsOverlay;
+	@Inject
+	private HandlerProfilerOverlay handlerProfilerOverlay;
+	@Inject
+	private OverlayRenderer overlayRenderer;
+	@Inject
+	private ClientThread clientThread;
+	@Inject
 	private EventBus eventBus;
+	@Inject
+	private GameEventSignal gameEventSignal;
 	private GameChatAppender gameChatAppender;
 	
 	// Widget change tracking for overlay cache invalidation
@@ -150,6 +182,11 @@ public class MicrobotPlugin extends Plugin
 
 		Microbot.pauseAllScripts.set(false);
 
+		clientThread.setFrameBudget(Duration.ofMillis(microbotConfig.clientThreadFrameBudget()));
+		eventBus.register(gameEventSignal);
+		ScriptExecutor.setShared(microbotConfig.sharedScriptScheduler());
+		setHandlerProfiling(microbotConfig.profileHandlers());
+
 		MicrobotPluginListPanel pluginListPanel = pluginListPanelProvider.get();
 		pluginListPanel.addFakePlugin(new MicrobotPluginConfigurationDescriptor(
 			"Microbot", "Microbot client settings",
@@ -183,6 +220,9 @@ public class MicrobotPlugin extends Plugin
 			overlayManager.add(microbotOverlay);
 			overlayManager.add(gembagOverlay);
 			overlayManager.add(pouchOverlay);
+			overlayManager.add(clientThreadOverlay);
+			overlayManager.add(scriptMetricsOverlay);
+			overlayManager.add(handlerProfilerOverlay);
 			microbotOverlay.cacheButton.hookMouseListener();
 		}
 	}
@@ -192,8 +232,13 @@ public class MicrobotPlugin extends Plugin
 		overlayManager.remove(microbotOverlay);
 		overlayManager.remove(gembagOverlay);
 		overlayManager.remove(pouchOverlay);
+		overlayManager.remove(clientThreadOverlay);
+		overlayManager.remove(scriptMetricsOverlay);
+		overlayManager.remove(handlerProfilerOverlay);
+		setHandlerProfiling(false);
 		microbotOverlay.cacheButton.unhookMouseListener();
 		clientToolbar.removeNavigation(navButton);
+		eventBus.unregister(gameEventSignal);
 		if (gameChatAppender.isStarted()) gameChatAppender.stop();
 		
 		// Shutdown the cache system
@@ -318,6 +363,8 @@ public class MicrobotPlugin extends Plugin
 		   //Rs2CacheManager.emptyCacheState(); // should not be nessary here, handled in ClientShutdown event, 
 		   // and we also handle correct cache loading in onRuneScapeProfileChanged event
 		   Microbot.loggedIn = false;
+		   WorldSnapshot.clear();
+		   WidgetIndex.clear();
 		   Rs2CacheManager.unregisterEventHandlers();
 		   Microbot.setLastKnownRegions(null);		   
 	   }
@@ -427,6 +474,15 @@ public class MicrobotPlugin extends Plugin
 						gameChatAppender.stop();
 					}
 					break;
+				case MicrobotConfig.keyClientThreadFrameBudget:
+					clientThread.setFrameBudget(Duration.ofMillis(microbotConfig.clientThreadFrameBudget()));
+					break;
+				case MicrobotConfig.keySharedScriptScheduler:
+					ScriptExecutor.setShared(microbotConfig.sharedScriptScheduler());
+					break;
+				case MicrobotConfig.keyProfileHandlers:
+					setHandlerProfiling(microbotConfig.profileHandlers());
+					break;
 				default:
 					break;
 			}
@@ -451,6 +507,7 @@ public class MicrobotPlugin extends Plugin
 		
 		// Mark that widget layout has changed for cache invalidation
 		widgetLayoutChanged = true;
+		WidgetIndex.groupLoaded(Microbot.getClient(), event.getGroupId());
 		log.debug("Widget {} loaded, layout changed", event.getGroupId());
 	}
 
@@ -459,9 +516,17 @@ public class MicrobotPlugin extends Plugin
 	{
 		// Mark that widget layout has changed for cache invalidation
 		widgetLayoutChanged = true;
+		WidgetIndex.groupClosed(event.getGroupId());
 		log.debug("Widget {} closed, layout changed", event.getGroupId());
 	}
 
+	@Subscribe
+	public void onScriptPostFired(ScriptPostFired event)
+	{
+		// Scripts rebuild the contents of open interfaces, which the widget index does not see
+		WidgetIndex.scriptFired(event.getScriptId());
+	}
+
 	@Subscribe
 	public void onHitsplatApplied(HitsplatApplied event)
 	{
@@ -520,6 +585,9 @@ public class MicrobotPlugin extends Plugin
 	{		
 		// Cache loading is now handled properly during login/profile changes
 		// No need to call loadInitialCacheFromCurrentConfig on every tick
+		WorldSnapshot.capture(Microbot.getClient());
+		// Interface text and visibility sent by the server during the tick
+		WidgetIndex.tick();
 	}
 
 	@Subscribe(priority = 100)
@@ -555,6 +623,37 @@ public class MicrobotPlugin extends Plugin
 		}
 	}
 	
+	/**
+	 * Turns the profiling of the event subscribers and overlays on or off.
+	 * Turning it off writes the profile recorded so far to a CSV file, and clears it.
+	 */
+	private void setHandlerProfiling(boolean enabled) {
+		final boolean wasEnabled = eventBus.isTimingEnabled();
+		eventBus.setTimingEnabled(enabled);
+		overlayRenderer.setTimingEnabled(enabled);
+		if (enabled || !wasEnabled) {
+			return;
+		}
+
+		final List<HandlerStats.Snapshot> stats = handlerProfilerOverlay.getHandlerStats();
+		eventBus.resetSubscriberStats();
+		overlayRenderer.resetOverlayStats();
+		if (stats.isEmpty()) {
+			return;
+		}
+
+		final File file = new File(PROFILES_DIR, "handlers-" + PROFILE_TIMESTAMP.format(LocalDateTime.now()) + ".csv");
+		try {
+			Files.createDirectories(PROFILES_DIR.toPath());
+			try (Writer writer = Files.newBufferedWriter(file.toPath())) {
+				HandlerStats.writeCsv(writer, stats);
+			}
+			log.info("Wrote the event handler profile to {}", file);
+		} catch (IOException e) {
+			log.warn("Unable to write the event handler profile to {}", file, e);
+		}
+	}
+
 	/**
 	 * Shuts down the cache system and cleans up resources.
 	 */
@@ -1,7 +1,5 @@
 package net.runelite.client.plugins.microbot;
 
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
@@ -16,23 +14,12 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import java.time.Duration;
 import java.time.LocalTime;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import org.jetbrains.annotations.NotNull;
 
 @Slf4j
 public abstract class Script extends Global implements IScript {
-	protected ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10,
-		new ThreadFactory() {
-			private final AtomicInteger threadNumber = new AtomicInteger(1);
-			@Override
-			public Thread newThread(@NotNull Runnable r) {
-				Thread t = new Thread(r);
-				t.setName(Script.this.getClass().getSimpleName() + "-" + threadNumber.getAndIncrement());
-				return t;
-			}
-		});
+	protected ScheduledExecutorService scheduledExecutorService = new ScriptExecutor(getClass().getSimpleName());
     protected ScheduledFuture<?> scheduledFuture;
     protected ScheduledFuture<?> mainScheduledFuture;
 	@Deprecated(since = "1.9.7 - Blocking events are now handling turning off the level up dialog", forRemoval = true)
@@ -0,0 +1,407 @@
+package net.runelite.client.plugins.microbot;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The executor a {@link Script} schedules its loops on.
+ * <p>
+ * By default every script gets its own thread pool, like before, but the pool is only created when the script
+ * schedules its first task. With {@link #setShared(boolean)} enabled, scripts that start afterwards run on one bounded
+ * pool shared by every script instead, which keeps the thread count down when many scripts are registered. Each
+ * script still only cancels its own tasks: {@link #shutdown()} stops its periodic tasks and {@link #shutdownNow()}
+ * cancels all of them, without touching the tasks of other scripts.
+ * <p>
+ * Script loops block in {@code sleep} and {@code sleepUntil}, so each script on the shared pool can hold a thread for
+ * as long as its loop runs. Once as many scripts share the pool as it has threads, further scripts get their own pool
+ * again, and a warning is logged when every shared thread is busy.
+ * <p>
+ * Both modes record, per script, how late each loop started compared to its schedule, how long it ran and how much CPU
+ * time it used.
+ */
+@Slf4j
+public class ScriptExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final int POOL_SIZE = 10;
+    private static final int SHARED_POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final long SATURATION_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private static final Set<ScriptExecutor> executors = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private static volatile boolean shared;
+    private static volatile ScheduledThreadPoolExecutor sharedPool;
+    private static final AtomicInteger sharedScripts = new AtomicInteger();
+    private static volatile long lastSaturationWarning = System.nanoTime() - SATURATION_WARNING_INTERVAL_NANOS;
+
+    @Getter
+    private final String name;
+    private final Stats scriptStats;
+    private final Set<Future<?>> futures = ConcurrentHashMap.newKeySet();
+    private volatile ScheduledExecutorService delegate;
+    private volatile boolean ownsDelegate;
+    // Whether this script is counted in sharedScripts
+    private boolean sharing;
+    private volatile boolean shutdown;
+
+    public ScriptExecutor(String name) {
+        this.name = name;
+        this.scriptStats = stats.computeIfAbsent(name, Stats::new);
+        synchronized (executors) {
+            executors.add(this);
+        }
+    }
+
+    /**
+     * Whether scripts that schedule their first task from now on use the shared pool
+     */
+    public static void setShared(boolean shared) {
+        ScriptExecutor.shared = shared;
+    }
+
+    public static boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * The statistics of every script that ran a task, with the most CPU time first
+     */
+    public static List<ScriptStats> getStats() {
+        List<ScriptStats> result = new ArrayList<>(stats.size());
+        for (Stats script : stats.values()) {
+            if (script.runs.sum() > 0) {
+                result.add(script.snapshot());
+            }
+        }
+        result.sort(Comparator.comparingLong(ScriptStats::getCpuNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Number of live threads in the JVM
+     */
+    public static int getThreadCount() {
+        return THREAD_MX_BEAN.getThreadCount();
+    }
+
+    /**
+     * Number of threads in the pools of the scripts, shared and not shared
+     */
+    public static int getScriptThreadCount() {
+        int count = sharedPool != null ? sharedPool.getPoolSize() : 0;
+        synchronized (executors) {
+            for (ScriptExecutor executor : executors) {
+                if (executor.ownsDelegate && executor.delegate instanceof ThreadPoolExecutor) {
+                    count += ((ThreadPoolExecutor) executor.delegate).getPoolSize();
+                }
+            }
+        }
+        return count;
+    }
+
+    public static void resetStats() {
+        stats.values().forEach(Stats::reset);
+    }
+
+    private static ScheduledThreadPoolExecutor sharedPool() {
+        if (sharedPool == null) {
+            synchronized (ScriptExecutor.class) {
+                if (sharedPool == null) {
+                    AtomicInteger threadNumber = new AtomicInteger(1);
+                    ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(SHARED_POOL_SIZE, r -> {
+                        Thread thread = new Thread(r, "Script-shared-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    pool.setKeepAliveTime(60, TimeUnit.SECONDS);
+                    pool.allowCoreThreadTimeOut(true);
+                    pool.setRemoveOnCancelPolicy(true);
+                    sharedPool = pool;
+                }
+            }
+        }
+        return sharedPool;
+    }
+
+    private ScheduledExecutorService delegate() {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        if (delegate == null) {
+            synchronized (this) {
+                if (delegate == null) {
+                    if (shared && sharedScripts.incrementAndGet() <= SHARED_POOL_SIZE) {
+                        sharing = true;
+                        delegate = sharedPool();
+                    } else {
+                        if (shared) {
+                            sharedScripts.decrementAndGet();
+                            log.warn("The {} shared script threads are each taken by a script, {} runs on its own pool",
+                                    SHARED_POOL_SIZE, name);
+                        }
+                        AtomicInteger threadNumber = new AtomicInteger(1);
+                        ownsDelegate = true;
+                        delegate = Executors.newScheduledThreadPool(POOL_SIZE,
+                                r -> new Thread(r, name + "-" + threadNumber.getAndIncrement()));
+                    }
+                }
+            }
+        }
+        return delegate;
+    }
+
+    private synchronized void leaveSharedPool() {
+        if (sharing) {
+            sharing = false;
+            sharedScripts.decrementAndGet();
+        }
+    }
+
+    private <F extends Future<?>> F track(F future) {
+        futures.removeIf(Future::isDone);
+        futures.add(future);
+        return future;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Task task = new Task(command, unit.toNanos(delay), 0);
+        return track(delegate().schedule(task, delay, unit));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Task task = new Task(null, unit.toNanos(delay), 0);
+        return track(delegate().schedule(() -> task.call(callable), delay, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Task task = new Task(command, unit.toNanos(initialDelay), unit.toNanos(period));
+        return track(delegate().scheduleAtFixedRate(task, initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Task task = new Task(command, unit.toNanos(initialDelay), -unit.toNanos(delay));
+        return track(delegate().scheduleWithFixedDelay(task, initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the periodic tasks of this script and rejects new ones; delayed tasks still run, like
+     * {@link ScheduledThreadPoolExecutor#shutdown()}
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (ownsDelegate) {
+            delegate.shutdown();
+            return;
+        }
+        leaveSharedPool();
+        for (Future<?> future : futures) {
+            if (future instanceof RunnableScheduledFuture && ((RunnableScheduledFuture<?>) future).isPeriodic()) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Cancels every task of this script and interrupts the running ones. Only the tasks of a dedicated pool are
+     * returned, the cancelled tasks of a shared pool are not.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        if (ownsDelegate) {
+            return delegate.shutdownNow();
+        }
+        leaveSharedPool();
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        if (!shutdown) {
+            return false;
+        }
+        if (ownsDelegate) {
+            return delegate.isTerminated();
+        }
+        return futures.stream().allMatch(Future::isDone);
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        if (ownsDelegate) {
+            return delegate.awaitTermination(timeout, unit);
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Future<?> future : futures) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return isTerminated();
+            }
+            try {
+                future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException | TimeoutException ignored) {
+                // only completion matters
+            }
+        }
+        return isTerminated();
+    }
+
+    /**
+     * Logs a warning, at most once a minute, when a task takes the last idle thread of the shared pool
+     */
+    private static void checkSaturation() {
+        final ScheduledThreadPoolExecutor pool = sharedPool;
+        if (pool == null || pool.getActiveCount() < SHARED_POOL_SIZE) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (now - lastSaturationWarning < SATURATION_WARNING_INTERVAL_NANOS) {
+            return;
+        }
+        lastSaturationWarning = now;
+        log.warn("All {} shared script threads are busy, other script loops wait until one is free", SHARED_POOL_SIZE);
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Records the statistics of one task of the script. The period is positive for fixed rate tasks, negative for
+     * fixed delay tasks and 0 for one-shot tasks.
+     */
+    private class Task implements Runnable {
+        private final Runnable command;
+        private final long period;
+        private long expectedStart;
+
+        private Task(Runnable command, long delay, long period) {
+            this.command = command;
+            this.period = period;
+            this.expectedStart = System.nanoTime() + delay;
+        }
+
+        @Override
+        public void run() {
+            try {
+                call(Executors.callable(command));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                // a Runnable cannot throw a checked exception
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private <V> V call(Callable<V> callable) throws Exception {
+            final Thread thread = Thread.currentThread();
+            final String threadName = thread.getName();
+            if (!ownsDelegate) {
+                thread.setName(name + "-" + threadName);
+                checkSaturation();
+            }
+            final long start = System.nanoTime();
+            final long startCpu = cpuTime();
+            try {
+                return callable.call();
+            } finally {
+                final long end = System.nanoTime();
+                scriptStats.record(Math.max(0, start - expectedStart), end - start, cpuTime() - startCpu);
+                expectedStart = period > 0 ? expectedStart + period : end - period;
+                if (!ownsDelegate) {
+                    thread.setName(threadName);
+                }
+            }
+        }
+    }
+
+    @Value
+    public static class ScriptStats {
+        String name;
+        long runs;
+        long totalLagNanos;
+        long maxLagNanos;
+        long totalRunNanos;
+        long maxRunNanos;
+        long cpuNanos;
+
+        /**
+         * Average time a loop started after it was due
+         */
+        public long getAverageLagNanos() {
+            return runs == 0 ? 0 : totalLagNanos / runs;
+        }
+
+        public long getAverageRunNanos() {
+            return runs == 0 ? 0 : totalRunNanos / runs;
+        }
+    }
+
+    private static class Stats {
+        private final String name;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder lagNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private volatile long maxLagNanos;
+        private volatile long maxRunNanos;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long lag, long run, long cpu) {
+            runs.increment();
+            lagNanos.add(lag);
+            runNanos.add(run);
+            cpuNanos.add(cpu);
+            if (lag > maxLagNanos) {
+                maxLagNanos = lag;
+            }
+            if (run > maxRunNanos) {
+                maxRunNanos = run;
+            }
+        }
+
+        void reset() {
+            runs.reset();
+            lagNanos.reset();
+            runNanos.reset();
+            cpuNanos.reset();
+            maxLagNanos = 0;
+            maxRunNanos = 0;
+        }
+
+        ScriptStats snapshot() {
+            return new ScriptStats(name, runs.sum(), lagNanos.sum(), maxLagNanos, runNanos.sum(), maxRunNanos, cpuNanos.sum());
+        }
+    }
+}
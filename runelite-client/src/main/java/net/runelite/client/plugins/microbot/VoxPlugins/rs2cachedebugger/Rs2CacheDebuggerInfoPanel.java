@@ -100,7 +100,7 @@ public class Rs2CacheDebuggerInfoPanel extends Overlay {
      */
     private void addCacheStatistics() {
         Rs2Cache<Integer,Rs2NpcModel> npcCache = Rs2NpcCache.getInstance();
-        Rs2Cache<String,Rs2ObjectModel> objectCache = Rs2ObjectCache.getInstance();
+        Rs2Cache<Long,Rs2ObjectModel> objectCache = Rs2ObjectCache.getInstance();
         Rs2Cache<String,Rs2GroundItemModel> groundItemCache = Rs2GroundItemCache.getInstance();
         
         panelComponent.getChildren().add(LineComponent.builder()
@@ -64,7 +64,9 @@ import net.runelite.client.plugins.microbot.pluginscheduler.ui.SchedulerPanel;
 import net.runelite.client.plugins.microbot.pluginscheduler.ui.SchedulerWindow;
 import net.runelite.client.plugins.microbot.pluginscheduler.ui.Antiban.AntibanDialogWindow;
 import net.runelite.client.plugins.microbot.pluginscheduler.ui.util.SchedulerUIUtils;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerPluginUtil;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.TimeTriggerIndex;
 import net.runelite.client.plugins.microbot.qualityoflife.QoLPlugin;
 import net.runelite.client.plugins.microbot.util.antiban.enums.Activity;
 import net.runelite.client.plugins.microbot.util.antiban.enums.ActivityIntensity;
@@ -111,6 +113,11 @@ public class SchedulerPlugin extends Plugin {
     private NavigationButton navButton;
     private SchedulerPanel panel;
     private ScheduledFuture<?> updateTask;
+    // wakes the scheduler up exactly when the next start trigger time is reached
+    private ScheduledFuture<?> triggerWakeupTask;
+    private ZonedDateTime triggerWakeupTime;
+    private final TimeTriggerIndex<PluginScheduleEntry> startTriggerIndex =
+            new TimeTriggerIndex<>(PluginScheduleEntry::hasStableStartTrigger);
     private SchedulerWindow schedulerWindow;
     @Inject
     private SchedulerInfoOverlay overlay;
@@ -197,6 +204,7 @@ public class SchedulerPlugin extends Plugin {
                 // Only run scheduling logic if fully initialized
                 if (currentState.isSchedulerActive()) {
                     checkSchedule();
+                    scheduleTriggerWakeup();
                 } else if (currentState == SchedulerState.INITIALIZING
                         || currentState == SchedulerState.UNINITIALIZED) {
                     // Retry initialization check if not already checking
@@ -313,6 +321,10 @@ public class SchedulerPlugin extends Plugin {
             updateTask.cancel(false);
             updateTask = null;
         }
+        if (triggerWakeupTask != null) {
+            triggerWakeupTask.cancel(false);
+            triggerWakeupTask = null;
+        }
 
         if (schedulerWindow != null) {
             schedulerWindow.dispose(); // This will stop the timer
@@ -855,36 +867,14 @@ public class SchedulerPlugin extends Plugin {
      * Schedules the next plugin to run if none is running
      */
     private void scheduleNextPlugin() {
-        // Check if a non-default plugin is coming up soon
-        boolean prioritizeNonDefaultPlugins = config.prioritizeNonDefaultPlugins();
-        int nonDefaultPluginLookAheadMinutes = config.nonDefaultPluginLookAheadMinutes();
-        
-        if (prioritizeNonDefaultPlugins) {
-            // Look for any upcoming non-default plugin within the configured time window
-            PluginScheduleEntry upcomingNonDefault = getNextScheduledPlugin(false, 
-                                                                                Duration.ofMinutes(nonDefaultPluginLookAheadMinutes))
-                .filter(plugin -> !plugin.isDefault())
-                .orElse(null);
-                
-            // If we found an upcoming non-default plugin, check if it's already due to run
-            if (upcomingNonDefault != null && !upcomingNonDefault.isDueToRun()) {
-                // Get the next plugin that's due to run now
-                Optional<PluginScheduleEntry> nextDuePlugin = getNextScheduledPlugin(true, null);
-                
-                // If the next due plugin is a default plugin, don't start it
-                // Instead, wait for the non-default plugin
-                if (nextDuePlugin.isPresent() && nextDuePlugin.get().isDefault()) {
-                    log.info("\nNot starting default plugin '{}' because non-default plugin '{}' is scheduled within {}[configured] minutes",
-                        nextDuePlugin.get().getCleanName(),
-                        upcomingNonDefault.getCleanName(),
-                        nonDefaultPluginLookAheadMinutes);
-                    return;
-                }
-            }
+        // No plugin can be due while all start trigger times are still in the future
+        if (!startTriggerIndex.hasPendingEntries(scheduledPlugins)) {
+            return;
         }
-        
-        // Get the next plugin that's due to run
-        Optional<PluginScheduleEntry> selected = getNextScheduledPlugin(true, null);
+        // Get the next plugin that's due to run, holding back default plugins
+        // while a non-default plugin is coming up soon
+        Optional<PluginScheduleEntry> selected = SchedulerPluginUtil.selectPluginToStart(scheduledPlugins,
+                config.prioritizeNonDefaultPlugins(), config.nonDefaultPluginLookAheadMinutes());
         if (selected.isEmpty()) {
             return;
         }
@@ -903,6 +893,28 @@ public class SchedulerPlugin extends Plugin {
         }
     }
 
+    /**
+     * Schedules a check of the schedule for the moment the next start trigger time is reached,
+     * so plugins start on time instead of on the next run of the main loop
+     */
+    private void scheduleTriggerWakeup() {
+        ZonedDateTime next = startTriggerIndex.getNextTriggerTime(scheduledPlugins).orElse(null);
+        if (next == null || next.equals(triggerWakeupTime)) {
+            return;
+        }
+        if (triggerWakeupTask != null) {
+            triggerWakeupTask.cancel(false);
+        }
+        triggerWakeupTime = next;
+        long delay = Math.max(0, Duration.between(SchedulerClock.now(), next).toMillis());
+        triggerWakeupTask = executorService.schedule(() -> SwingUtilities.invokeLater(() -> {
+            triggerWakeupTime = null;
+            if (currentState.isSchedulerActive()) {
+                checkSchedule();
+            }
+        }), delay, TimeUnit.MILLISECONDS);
+    }
+
   
     public void startPluginScheduleEntry(PluginScheduleEntry scheduledPlugin) {
         
@@ -1557,22 +1569,8 @@ public class SchedulerPlugin extends Plugin {
     }
 
     /**
-     * Core method to find the next plugin based on various criteria.
-     * This uses sortPluginScheduleEntries with weighted selection to handle
-     * randomizable plugins.
-     * 
-     * The selection priority depends on the timeWindow parameter:
-     * 
-     * When timeWindow is NULL (immediate execution context):
-     * 1. Plugins that are due to run NOW get priority over priority level
-     * 2. Within due/not-due groups: later sort by  scheduler group, earliest timing, over all groups, 
-     * ->> find the group with the erlist timing(has a plugin which is upcomming next)
-     * 3. Sorted using the enhanced sortPluginScheduleEntries method
-     * 
-     * When timeWindow is PROVIDED (looking ahead context):
-     * 1. Highest priority plugins get priority (regardless of due-to-run status)
-     * 2. Within sch groups: earliest timing and due-to-run status via sorting
-     * 3. Sorted using the enhanced sortPluginScheduleEntries method
+     * Finds the next plugin based on various criteria.
+     * See {@link SchedulerPluginUtil#selectNextScheduledPlugin(List, boolean, Duration)} for the selection rules.
      * 
      * @param isDueToRun If true, only returns plugins that are due to run now
      * @param timeWindow If not null, limits to plugins triggered within this time
@@ -1582,99 +1580,7 @@ public class SchedulerPlugin extends Plugin {
      */
     public Optional<PluginScheduleEntry> getNextScheduledPlugin(boolean isDueToRun, 
                                                                 Duration timeWindow) {
-
-        if (scheduledPlugins.isEmpty()) {
-            return Optional.empty();
-        }
-        // Apply filters based on parameters
-        List<PluginScheduleEntry> filteredPlugins = scheduledPlugins.stream()
-                .filter(PluginScheduleEntry::isEnabled)
-                .filter(plugin -> {
-                    // Filter by whether it's due to run now if requested
-                    if (isDueToRun && !plugin.isDueToRun()) {
-                        log.debug("Plugin '{}' is not due to run", plugin.getCleanName());
-                        return false;
-                    }
-                    if (plugin.isStopInitiated()) {
-                        log.debug("Plugin '{}' has stop initiated", plugin.getCleanName());
-                        return false;
-                    }
-
-                    // Filter by time window if specified
-                    if (timeWindow != null) {
-                        Optional<ZonedDateTime> nextStartTime = plugin.getCurrentStartTriggerTime();
-                        if (!nextStartTime.isPresent()) {
-                            log.debug("Plugin '{}' has no trigger time", plugin.getCleanName());
-                            return false;
-                        }
-
-                        ZonedDateTime cutoffTime = ZonedDateTime.now(ZoneId.systemDefault()).plus(timeWindow);
-                        if (nextStartTime.get().isAfter(cutoffTime)) {
-                            log.debug("Plugin '{}' trigger time is after cutoff", plugin.getCleanName());
-                            return false;
-                        }
-                    }
-
-                    // Must have a valid next trigger time
-                    return plugin.getCurrentStartTriggerTime().isPresent();
-                })
-                .collect(Collectors.toList());
-
-        if (filteredPlugins.isEmpty()) {            
-            return Optional.empty();
-        }                
-        // Different prioritization logic based on whether we're looking within a time window
-        List<PluginScheduleEntry> candidatePlugins;        
-        if (timeWindow != null) {
-
-            //TODO when we add scheduler groups, we need to filter by group name here
-            // When looking within a time window, we want to prioritize by priority first
-            // and then by earliest start time within that priority group
-            // This ensures we see the highest priority plugins that are coming up next
-            
-            // When looking within a time window, prioritize by priority first (user wants to see what's coming up)
-            // Find the highest priority plugins within the time window
-            int highestPriority = filteredPlugins.stream()
-                    .mapToInt(PluginScheduleEntry::getPriority)
-                    .max()
-                    .orElse(0);
-
-            candidatePlugins = filteredPlugins.stream()
-                    .filter(p -> p.getPriority() == highestPriority)
-                    .collect(Collectors.toList());
-
-        } else {
-            // When no time window, prioritize due-to-run status over priority (for immediate execution)
-            List<PluginScheduleEntry> duePlugins = filteredPlugins.stream()
-                    .filter(PluginScheduleEntry::isDueToRun)
-                    .collect(Collectors.toList());            
-            List<PluginScheduleEntry> notDuePlugins = filteredPlugins.stream()
-                    .filter(p -> !p.isDueToRun())
-                    .collect(Collectors.toList());            
-            // Choose the appropriate group - prefer due plugins when available
-            List<PluginScheduleEntry> candidateGroup = !duePlugins.isEmpty() ? duePlugins : notDuePlugins;            
-            
-            candidatePlugins = candidateGroup; 
-            // NOTE: not filtering by priority here, later we want to implement, scheuler groups, but need to think about how to handle that
-            // what is a scheduler group? -> which attrribute we add to a PluginScheduleEntry? within a group, plugins can have different priorities
-            // i think scheduler groups, could be string identifiers, like "combat", "skilling", "questing" etc.
-            //candidatePlugins = candidateGroup.stream()
-            //        .filter(p -> p.getScheulderGroup().toLowerCast().contains(groupName.toLowerCase()))
-            //        .collect(Collectors.toList());
-        }        
-        // Sort the candidate plugins with weighted selection
-        // This handles both randomizable and non-randomizable plugins
-        List<PluginScheduleEntry> sortedCandidates = SchedulerPluginUtil.sortPluginScheduleEntries(candidatePlugins, true);
-        //log.debug("Sorted candidate plugins: {}", sortedCandidates.stream()
-         //       .map((entry) -> {return "name: "+entry.getCleanName() + "next start: " + entry.getNextRunDisplay();})
-          //      .collect(Collectors.joining(", ")));
-        // The first plugin after sorting is our selected plugin
-        if (!sortedCandidates.isEmpty()) {
-            PluginScheduleEntry selectedPlugin = sortedCandidates.get(0);
-            return Optional.of(selectedPlugin);
-        }
-
-        return Optional.empty();
+        return SchedulerPluginUtil.selectNextScheduledPlugin(scheduledPlugins, isDueToRun, timeWindow);
     }
 
     /**
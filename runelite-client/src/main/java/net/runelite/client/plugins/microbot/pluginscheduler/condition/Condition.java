@@ -1,7 +1,6 @@
 package net.runelite.client.plugins.microbot.pluginscheduler.condition;
 
 import java.time.Duration;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 
@@ -22,6 +21,7 @@ import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
 import net.runelite.api.events.StatChanged;
 import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
 /**
  * Base interface for script execution conditions.
@@ -69,7 +69,7 @@ public interface Condition {
         // Try to get trigger time and calculate duration
         Optional<ZonedDateTime> triggerTime = getCurrentTriggerTime();
         if (triggerTime.isPresent()) {
-            ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+            ZonedDateTime now = SchedulerClock.now();
             Duration duration = Duration.between(now, triggerTime.get());
             
             // Ensure we don't return negative durations
@@ -93,7 +93,7 @@ public interface Condition {
     default Optional<ZonedDateTime> getCurrentTriggerTime() {
         // If the condition is already satisfied, return a time 1 second in the past
         if (isSatisfied()) {
-            return Optional.of(ZonedDateTime.now(ZoneId.systemDefault()).minusSeconds(1));
+            return Optional.of(SchedulerClock.now().minusSeconds(1));
         }
         // Default implementation for non-time conditions that aren't satisfied
         return Optional.empty();
@@ -136,6 +136,27 @@ public interface Condition {
         reset(true);
     }
 
+    /**
+     * Gets the events this condition handles. The ConditionManager and logical conditions only
+     * dispatch matching events to it. Conditions that do not override this receive every event.
+     *
+     * @return The event interest of this condition
+     */
+    default ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.ALL;
+    }
+
+    /**
+     * Checks if the result of {@link #isSatisfied()} can only change after one of the events of
+     * {@link #getEventInterest()}, or after a reset, pause or resume. Logical conditions cache the
+     * satisfied state of subtrees made only of such conditions until one of their events arrives.
+     * <p>
+     * Conditions that read the clock or poll game state must return false, which is the default.
+     */
+    default boolean isEventDriven() {
+        return false;
+    }
+
     default void onGameStateChanged(GameStateChanged gameStateChanged) {
         // This event handler is called whenever the game state changes
         // Useful for conditions that depend on the game state (e.g., logged in, logged out)
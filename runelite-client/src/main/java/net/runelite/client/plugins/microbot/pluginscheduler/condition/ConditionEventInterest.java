@@ -0,0 +1,186 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.condition;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.runelite.api.Skill;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+
+/**
+ * Describes which events a condition depends on, so events are only dispatched to the conditions that handle them.
+ * <p>
+ * An interest lists event classes and, for events that carry a key, optionally the keys the condition cares about:
+ * <ul>
+ *   <li>{@link ItemContainerChanged}: the container id</li>
+ *   <li>{@link StatChanged}: the skill, see {@link #skillKey(Skill)}</li>
+ *   <li>{@link VarbitChanged}: the varbit or varplayer id, see {@link #varbitKey(int)} and {@link #varpKey(int)}</li>
+ * </ul>
+ * An event class without keys matches every event of that class. Interests are immutable.
+ */
+public final class ConditionEventInterest {
+    /**
+     * Key of events that carry no key
+     */
+    public static final int NO_KEY = Integer.MIN_VALUE;
+
+    /**
+     * Matches every event, used by conditions that do not declare their interest
+     */
+    public static final ConditionEventInterest ALL = new ConditionEventInterest(true, Collections.emptyMap());
+
+    /**
+     * Matches no event, for conditions that are not driven by events at all
+     */
+    public static final ConditionEventInterest NONE = new ConditionEventInterest(false, Collections.emptyMap());
+
+    private final boolean all;
+    // event class -> keys, or null for every key
+    private final Map<Class<?>, Set<Integer>> keys;
+
+    private ConditionEventInterest(boolean all, Map<Class<?>, Set<Integer>> keys) {
+        this.all = all;
+        this.keys = keys;
+    }
+
+    /**
+     * Creates an interest in every event of the given classes
+     */
+    public static ConditionEventInterest of(Class<?>... eventTypes) {
+        ConditionEventInterest interest = NONE;
+        for (Class<?> eventType : eventTypes) {
+            interest = interest.with(eventType);
+        }
+        return interest;
+    }
+
+    /**
+     * Adds every event of the given class
+     */
+    public ConditionEventInterest with(Class<?> eventType) {
+        if (all || (keys.containsKey(eventType) && keys.get(eventType) == null)) {
+            return this;
+        }
+        Map<Class<?>, Set<Integer>> copy = new HashMap<>(keys);
+        copy.put(eventType, null);
+        return new ConditionEventInterest(false, copy);
+    }
+
+    /**
+     * Adds the events of the given class that carry one of the keys
+     */
+    public ConditionEventInterest with(Class<?> eventType, int... eventKeys) {
+        if (all || (keys.containsKey(eventType) && keys.get(eventType) == null)) {
+            return this;
+        }
+        Set<Integer> merged = new HashSet<>();
+        if (keys.containsKey(eventType)) {
+            merged.addAll(keys.get(eventType));
+        }
+        for (int key : eventKeys) {
+            merged.add(key);
+        }
+        Map<Class<?>, Set<Integer>> copy = new HashMap<>(keys);
+        copy.put(eventType, Collections.unmodifiableSet(merged));
+        return new ConditionEventInterest(false, copy);
+    }
+
+    /**
+     * Combines two interests, matching every event either of them matches
+     */
+    public ConditionEventInterest union(ConditionEventInterest other) {
+        if (all || other == NONE) {
+            return this;
+        }
+        if (other.all || this == NONE) {
+            return other;
+        }
+        ConditionEventInterest result = this;
+        for (Map.Entry<Class<?>, Set<Integer>> entry : other.keys.entrySet()) {
+            if (entry.getValue() == null) {
+                result = result.with(entry.getKey());
+            } else {
+                result = result.with(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether this interest matches every event
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * The event classes of this interest, empty for {@link #ALL}
+     */
+    public Set<Class<?>> getEventTypes() {
+        return Collections.unmodifiableSet(keys.keySet());
+    }
+
+    /**
+     * The keys of an event class, or null when every event of the class matches
+     */
+    public Set<Integer> getKeys(Class<?> eventType) {
+        return keys.get(eventType);
+    }
+
+    /**
+     * Checks if an event matches this interest
+     */
+    public boolean matches(Object event) {
+        if (all) {
+            return true;
+        }
+        if (!keys.containsKey(event.getClass())) {
+            return false;
+        }
+        Set<Integer> eventKeys = keys.get(event.getClass());
+        return eventKeys == null || eventKeys.contains(keyOf(event));
+    }
+
+    /**
+     * Gets the key an event is routed by, or {@link #NO_KEY} for events without a key
+     */
+    public static int keyOf(Object event) {
+        if (event instanceof ItemContainerChanged) {
+            return ((ItemContainerChanged) event).getContainerId();
+        }
+        if (event instanceof StatChanged) {
+            return skillKey(((StatChanged) event).getSkill());
+        }
+        if (event instanceof VarbitChanged) {
+            VarbitChanged varbitChanged = (VarbitChanged) event;
+            return varbitChanged.getVarbitId() != -1
+                    ? varbitKey(varbitChanged.getVarbitId())
+                    : varpKey(varbitChanged.getVarpId());
+        }
+        return NO_KEY;
+    }
+
+    public static int skillKey(Skill skill) {
+        return skill.ordinal();
+    }
+
+    public static int varbitKey(int varbitId) {
+        return varbitId;
+    }
+
+    /**
+     * Varplayer keys are negative so they never collide with varbit keys
+     */
+    public static int varpKey(int varpId) {
+        return -varpId - 1;
+    }
+
+    @Override
+    public String toString() {
+        return all ? "ConditionEventInterest[ALL]" : "ConditionEventInterest" + keys;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import lombok.Getter;
@@ -43,6 +44,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.en
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.resource.ResourceCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.SingleTriggerTimeCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.TriggerTimeCache;
 
 /**
  * Manages hierarchical logical conditions for plugins, handling both user-defined and plugin-defined conditions.
@@ -156,6 +158,7 @@ public class ConditionManager implements AutoCloseable {
      */
     public void setPluginCondition(LogicalCondition condition) {
         pluginCondition = condition;
+        TriggerTimeCache.invalidateAll();
     }
     
     /**
@@ -631,6 +634,7 @@ public class ConditionManager implements AutoCloseable {
      */
     public void setUserLogicalCondition(LogicalCondition logicalCondition) {
         this.userLogicalCondition = logicalCondition;
+        TriggerTimeCache.invalidateAll();
     }
 
     /**
@@ -1329,217 +1333,114 @@ public class ConditionManager implements AutoCloseable {
                     .orElse(0.0);
         }
     }
+    /**
+     * Dispatches an event to the plugin and user condition structures. The logical conditions only
+     * forward it to the conditions whose {@link Condition#getEventInterest()} matches it, so the cost
+     * of an event depends on the number of interested conditions rather than on all conditions.
+     *
+     * @param event The event to dispatch
+     * @param handler Calls the event handler of a condition
+     */
+    private <T> void dispatchEvent(T event, BiConsumer<Condition, T> handler) {
+        dispatchEvent(pluginCondition, event, handler);
+        dispatchEvent(userLogicalCondition, event, handler);
+    }
+
+    private <T> void dispatchEvent(LogicalCondition root, T event, BiConsumer<Condition, T> handler) {
+        if (root == null) {
+            return;
+        }
+        try {
+            handler.accept(root, event);
+        } catch (Exception e) {
+            log.error("Error in condition {} during {} event: {}",
+                root.getDescription(), event.getClass().getSimpleName(), e.getMessage(), e);
+        }
+    }
+
     @Subscribe(priority = -1)
-    public void onGameStateChanged(GameStateChanged gameStateChanged){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGameStateChanged(gameStateChanged);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GameStateChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    public void onGameStateChanged(GameStateChanged gameStateChanged) {
+        dispatchEvent(gameStateChanged, Condition::onGameStateChanged);
     }
 
     @Subscribe(priority = -1)
     public void onStatChanged(StatChanged event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onStatChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during StatChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-                e.printStackTrace();
-            }
-        }        
+        dispatchEvent(event, Condition::onStatChanged);
     }
-   
-    
+
     @Subscribe(priority = -1)
     public void onItemContainerChanged(ItemContainerChanged event) {
-         // Propagate event to all conditions
-         for (Condition condition : getConditions( )) {
-            try {
-                condition.onItemContainerChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemContainerChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatchEvent(event, Condition::onItemContainerChanged);
     }
+
     @Subscribe(priority = -1)
     public void onGameTick(GameTick gameTick) {
-        // Propagate event to all conditions        
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGameTick(gameTick);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GameTick event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }      
+        dispatchEvent(gameTick, Condition::onGameTick);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectSpawned(GroundObjectSpawned event) {
-        // Propagate event to all conditions
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-        if (pluginCondition != null) {
-            try {
-                pluginCondition.onGroundObjectSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in plugin condition during GroundItemSpawned event: {}", 
-                    e.getMessage(), e);
-            }
-        }
+        dispatchEvent(event, Condition::onGroundObjectSpawned);
     }
 
     @Subscribe(priority = -1)
     public void onGroundObjectDespawned(GroundObjectDespawned event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onGroundObjectDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during GroundItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatchEvent(event, Condition::onGroundObjectDespawned);
     }
 
     @Subscribe(priority = -1)
     public void onMenuOptionClicked(MenuOptionClicked event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onMenuOptionClicked(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during MenuOptionClicked event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatchEvent(event, Condition::onMenuOptionClicked);
     }
 
     @Subscribe(priority = -1)
     public void onChatMessage(ChatMessage event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onChatMessage(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ChatMessage event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+        dispatchEvent(event, Condition::onChatMessage);
     }
 
     @Subscribe(priority = -1)
     public void onHitsplatApplied(HitsplatApplied event) {
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onHitsplatApplied(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during HitsplatApplied event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }
-       
+        dispatchEvent(event, Condition::onHitsplatApplied);
     }
+
     @Subscribe(priority = -1)
-	public void onVarbitChanged(VarbitChanged event)
-	{
-		for (Condition condition :getConditions( )) {
-            try {
-                condition.onVarbitChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during VarbitChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-	}
+    public void onVarbitChanged(VarbitChanged event) {
+        dispatchEvent(event, Condition::onVarbitChanged);
+    }
+
     @Subscribe(priority = -1)
-    void onNpcChanged(NpcChanged event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onNpcChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    void onNpcChanged(NpcChanged event) {
+        dispatchEvent(event, Condition::onNpcChanged);
     }
+
     @Subscribe(priority = -1)
-    void onNpcSpawned(NpcSpawned npcSpawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcSpawned(npcSpawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
-        
+    void onNpcSpawned(NpcSpawned npcSpawned) {
+        dispatchEvent(npcSpawned, Condition::onNpcSpawned);
     }
+
     @Subscribe(priority = -1)
-    void onNpcDespawned(NpcDespawned npcDespawned){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onNpcDespawned(npcDespawned);
-            } catch (Exception e) {
-                log.error("Error in condition {} during NpcDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }        
+    void onNpcDespawned(NpcDespawned npcDespawned) {
+        dispatchEvent(npcDespawned, Condition::onNpcDespawned);
     }
+
     @Subscribe(priority = -1)
-    void onInteractingChanged(InteractingChanged event){
-        for (Condition condition : getConditions( )) {
-            try {
-                condition.onInteractingChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during InteractingChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onInteractingChanged(InteractingChanged event) {
+        dispatchEvent(event, Condition::onInteractingChanged);
     }
+
     @Subscribe(priority = -1)
-    void onItemSpawned(ItemSpawned event){        
-        List<Condition> allConditions = getConditions();            
-        // Proceed with normal processing
-        for (Condition condition : allConditions) {            
-            try {                
-                condition.onItemSpawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemSpawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onItemSpawned(ItemSpawned event) {
+        dispatchEvent(event, Condition::onItemSpawned);
     }
+
     @Subscribe(priority = -1)
-    void onItemDespawned(ItemDespawned event){
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onItemDespawned(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during ItemDespawned event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+    void onItemDespawned(ItemDespawned event) {
+        dispatchEvent(event, Condition::onItemDespawned);
     }
+
     @Subscribe(priority = -1)
     void onAnimationChanged(AnimationChanged event) {
-        for (Condition condition :getConditions( )) {
-            try {
-                condition.onAnimationChanged(event);
-            } catch (Exception e) {
-                log.error("Error in condition {} during AnimationChanged event: {}", 
-                    condition.getDescription(), e.getMessage(), e);
-            }
-        }       
+        dispatchEvent(event, Condition::onAnimationChanged);
     }
 
     /**
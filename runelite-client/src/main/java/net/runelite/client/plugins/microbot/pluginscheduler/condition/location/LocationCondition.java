@@ -13,6 +13,7 @@ import net.runelite.api.events.GameTick;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
@@ -59,6 +60,11 @@ public abstract class LocationCondition implements Condition {
         updateLocationStatus();
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.of(GameTick.class);
+    }
+
     /**
      * Updates the satisfaction status based on the player's current location.
      * Each subclass will implement its own location check logic.
@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.plugins.microbot.breakhandler.BreakHandlerScript;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 
 /**
@@ -134,6 +135,14 @@ public class LockCondition implements Condition {
         return ConditionType.LOGICAL;
     }
     
+    /**
+     * Locks are changed manually and do not handle any event
+     */
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.NONE;
+    }
+
     @Override
     public void reset(boolean randomize) {
         // Reset does nothing by default - lock state is controlled manually
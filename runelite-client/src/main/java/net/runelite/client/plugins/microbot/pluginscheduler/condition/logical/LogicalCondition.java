@@ -2,14 +2,24 @@ package net.runelite.client.plugins.microbot.pluginscheduler.condition.logical;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.*;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.enums.UpdateOption;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
@@ -22,6 +32,10 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeC
  * 2. Use the propagateEvent() helper to forward the event to all child conditions
  * 
  * This ensures proper event propagation through the condition hierarchy.
+ * <p>
+ * Events are only propagated to the children whose {@link Condition#getEventInterest()} matches them,
+ * using an index by event class and key that is rebuilt when any condition tree changes. Subtrees made
+ * only of event driven conditions cache their satisfied state until one of their events arrives.
  */
 @Slf4j
 @EqualsAndHashCode(callSuper = false)
@@ -33,7 +47,23 @@ public abstract class LogicalCondition implements Condition {
         }
     }
     @Getter
-    protected List<Condition> conditions = new ArrayList<>();
+    protected List<Condition> conditions = new ConditionList();
+
+    /**
+     * Bumped on every change to the children of any logical condition, invalidating all event routes
+     */
+    private static volatile int structureVersion;
+
+    /**
+     * Bumped by {@link #invalidateCachedStates()}, invalidating all cached satisfied states
+     */
+    private static volatile int stateVersion;
+
+    private transient volatile EventRoutes eventRoutes;
+    private transient volatile boolean stateDirty = true;
+    private transient volatile boolean cachedState;
+    private transient volatile int cachedStateVersion = -1;
+    private transient volatile int cachedStructureVersion = -1;
     
     public LogicalCondition addCondition(Condition condition) {
         //check if the condition is already in the list, with .equals()
@@ -52,7 +82,7 @@ public abstract class LogicalCondition implements Condition {
         return ConditionType.LOGICAL;
     }
      /**
-     * Helper method to propagate any event to all child conditions.
+     * Helper method to propagate any event to the child conditions interested in it.
      * This centralizes the propagation logic to avoid code duplication.
      * 
      * @param <T> The event type
@@ -60,7 +90,12 @@ public abstract class LogicalCondition implements Condition {
      * @param eventHandler The method reference to the appropriate event handler
      */
     protected <T> void propagateEvent(T event, PropagationHandler<T> eventHandler) {
-        for (Condition condition : conditions) {
+        List<Condition> targets = eventRoutes().route(event);
+        if (targets.isEmpty()) {
+            return;
+        }
+        stateDirty = true;
+        for (Condition condition : targets) {
             try {
                 eventHandler.handle(condition, event);
             } catch (Exception e) {
@@ -71,6 +106,226 @@ public abstract class LogicalCondition implements Condition {
             }
         }
     }
+
+    /**
+     * The union of the event interests of all children
+     */
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return eventRoutes().interest;
+    }
+
+    /**
+     * A logical condition is event driven when all of its children are
+     */
+    @Override
+    public boolean isEventDriven() {
+        return eventRoutes().eventDriven;
+    }
+
+    /**
+     * Returns the cached satisfied state when this subtree is event driven and none of its events arrived
+     * since it was computed, otherwise runs the evaluation and caches its result.
+     *
+     * @param evaluation Computes the satisfied state from the children
+     * @return The satisfied state
+     */
+    protected boolean cachedSatisfied(BooleanSupplier evaluation) {
+        if (!isEventDriven()) {
+            return evaluation.getAsBoolean();
+        }
+        int states = stateVersion;
+        int structure = structureVersion;
+        if (!stateDirty && cachedStateVersion == states && cachedStructureVersion == structure) {
+            return cachedState;
+        }
+        // cleared before evaluating, so an event arriving meanwhile marks the result dirty again
+        stateDirty = false;
+        boolean satisfied = evaluation.getAsBoolean();
+        cachedState = satisfied;
+        cachedStateVersion = states;
+        cachedStructureVersion = structure;
+        return satisfied;
+    }
+
+    /**
+     * Invalidates the cached satisfied state of every logical condition.
+     * Event driven conditions call this when their state changes outside of an event, like on reset.
+     */
+    public static void invalidateCachedStates() {
+        stateVersion++;
+    }
+
+    /**
+     * Gets a version that changes whenever the children of any logical condition change or cached states are invalidated
+     */
+    public static int getConditionVersion() {
+        return structureVersion + stateVersion;
+    }
+
+    private EventRoutes eventRoutes() {
+        EventRoutes routes = eventRoutes;
+        int version = structureVersion;
+        if (routes == null || routes.version != version) {
+            routes = new EventRoutes(new ArrayList<>(conditions), version);
+            eventRoutes = routes;
+        }
+        return routes;
+    }
+
+    /**
+     * Index from event class and key to the children interested in the event
+     */
+    private static final class EventRoutes {
+        private final int version;
+        private final ConditionEventInterest interest;
+        private final boolean eventDriven;
+        private final List<Condition> everyEvent = new ArrayList<>();
+        private final Map<Class<?>, List<Condition>> anyKey = new HashMap<>();
+        private final Map<Class<?>, Map<Integer, List<Condition>>> byKey = new HashMap<>();
+
+        private EventRoutes(List<Condition> children, int version) {
+            this.version = version;
+            ConditionEventInterest union = ConditionEventInterest.NONE;
+            boolean allEventDriven = true;
+            for (Condition child : children) {
+                ConditionEventInterest childInterest = child.getEventInterest();
+                union = union.union(childInterest);
+                allEventDriven &= child.isEventDriven();
+                if (childInterest.isAll()) {
+                    everyEvent.add(child);
+                    continue;
+                }
+                for (Class<?> eventType : childInterest.getEventTypes()) {
+                    Set<Integer> keys = childInterest.getKeys(eventType);
+                    if (keys == null) {
+                        anyKey.computeIfAbsent(eventType, k -> new ArrayList<>()).add(child);
+                    } else {
+                        Map<Integer, List<Condition>> routes = byKey.computeIfAbsent(eventType, k -> new HashMap<>());
+                        for (Integer key : keys) {
+                            routes.computeIfAbsent(key, k -> new ArrayList<>()).add(child);
+                        }
+                    }
+                }
+            }
+            this.interest = union;
+            this.eventDriven = allEventDriven;
+        }
+
+        private List<Condition> route(Object event) {
+            Class<?> eventType = event.getClass();
+            List<Condition> unkeyed = anyKey.getOrDefault(eventType, Collections.emptyList());
+            Map<Integer, List<Condition>> routes = byKey.get(eventType);
+            List<Condition> keyed = routes == null
+                    ? Collections.emptyList()
+                    : routes.getOrDefault(ConditionEventInterest.keyOf(event), Collections.emptyList());
+            if (everyEvent.isEmpty() && keyed.isEmpty()) {
+                return unkeyed;
+            }
+            if (everyEvent.isEmpty() && unkeyed.isEmpty()) {
+                return keyed;
+            }
+            List<Condition> targets = new ArrayList<>(everyEvent.size() + unkeyed.size() + keyed.size());
+            targets.addAll(everyEvent);
+            targets.addAll(unkeyed);
+            targets.addAll(keyed);
+            return targets;
+        }
+    }
+
+    /**
+     * Child list that bumps the structure version on every change, so event routes and cached
+     * states are rebuilt even when the list is changed through {@link #getConditions()}
+     */
+    private static final class ConditionList extends ArrayList<Condition> {
+        private static void changed() {
+            structureVersion++;
+        }
+
+        @Override
+        public boolean add(Condition condition) {
+            changed();
+            return super.add(condition);
+        }
+
+        @Override
+        public void add(int index, Condition condition) {
+            changed();
+            super.add(index, condition);
+        }
+
+        @Override
+        public Condition set(int index, Condition condition) {
+            changed();
+            return super.set(index, condition);
+        }
+
+        @Override
+        public Condition remove(int index) {
+            changed();
+            return super.remove(index);
+        }
+
+        @Override
+        public boolean remove(Object condition) {
+            changed();
+            return super.remove(condition);
+        }
+
+        @Override
+        public void clear() {
+            changed();
+            super.clear();
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Condition> collection) {
+            changed();
+            return super.addAll(collection);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Condition> collection) {
+            changed();
+            return super.addAll(index, collection);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection) {
+            changed();
+            return super.removeAll(collection);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> collection) {
+            changed();
+            return super.retainAll(collection);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Condition> filter) {
+            changed();
+            return super.removeIf(filter);
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Condition> operator) {
+            changed();
+            super.replaceAll(operator);
+        }
+
+        @Override
+        public void sort(Comparator<? super Condition> comparator) {
+            changed();
+            super.sort(comparator);
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            changed();
+            super.removeRange(fromIndex, toIndex);
+        }
+    }
     
     /**
      * Functional interface for event propagation handling
@@ -393,6 +648,7 @@ public abstract class LogicalCondition implements Condition {
     }
     
     public void softReset() { 
+        invalidateCachedStates();
         if (isSatisfied()){
             for (Condition condition : conditions) {
                 condition.reset();
@@ -401,6 +657,7 @@ public abstract class LogicalCondition implements Condition {
     }
     
     public void softReset(boolean randomize) {
+        invalidateCachedStates();
         if (isSatisfied()){
             for (Condition condition : conditions) {
                 condition.reset(randomize);
@@ -412,6 +669,7 @@ public abstract class LogicalCondition implements Condition {
         for (Condition condition : conditions) {
             condition.reset();
         }
+        invalidateCachedStates();
     
     }
     
@@ -420,13 +678,14 @@ public abstract class LogicalCondition implements Condition {
         for (Condition condition : conditions) {
             condition.reset(randomize);
         }
-        
+        invalidateCachedStates();
     }
 
     public void hardReset(){
         for (Condition condition : conditions) {
             condition.hardReset();
         }    
+        invalidateCachedStates();
     }
     /**
      * Adds a condition to a specific position in the condition tree
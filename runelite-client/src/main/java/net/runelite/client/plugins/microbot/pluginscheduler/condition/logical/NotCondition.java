@@ -2,17 +2,17 @@ package net.runelite.client.plugins.microbot.pluginscheduler.condition.logical;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import net.runelite.api.events.ItemContainerChanged;
-import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.*;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.DayOfWeekCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.IntervalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.SingleTriggerTimeCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeWindowCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 
@@ -59,6 +59,91 @@ public class NotCondition implements Condition {
     public void onItemContainerChanged(ItemContainerChanged event) {
         condition.onItemContainerChanged(event);
     }
+
+    @Override
+    public void onGameStateChanged(GameStateChanged event) {
+        condition.onGameStateChanged(event);
+    }
+
+    @Override
+    public void onGameTick(GameTick event) {
+        condition.onGameTick(event);
+    }
+
+    @Override
+    public void onNpcChanged(NpcChanged event) {
+        condition.onNpcChanged(event);
+    }
+
+    @Override
+    public void onNpcSpawned(NpcSpawned event) {
+        condition.onNpcSpawned(event);
+    }
+
+    @Override
+    public void onNpcDespawned(NpcDespawned event) {
+        condition.onNpcDespawned(event);
+    }
+
+    @Override
+    public void onGroundObjectSpawned(GroundObjectSpawned event) {
+        condition.onGroundObjectSpawned(event);
+    }
+
+    @Override
+    public void onGroundObjectDespawned(GroundObjectDespawned event) {
+        condition.onGroundObjectDespawned(event);
+    }
+
+    @Override
+    public void onItemSpawned(ItemSpawned event) {
+        condition.onItemSpawned(event);
+    }
+
+    @Override
+    public void onItemDespawned(ItemDespawned event) {
+        condition.onItemDespawned(event);
+    }
+
+    @Override
+    public void onMenuOptionClicked(MenuOptionClicked event) {
+        condition.onMenuOptionClicked(event);
+    }
+
+    @Override
+    public void onChatMessage(ChatMessage event) {
+        condition.onChatMessage(event);
+    }
+
+    @Override
+    public void onHitsplatApplied(HitsplatApplied event) {
+        condition.onHitsplatApplied(event);
+    }
+
+    @Override
+    public void onVarbitChanged(VarbitChanged event) {
+        condition.onVarbitChanged(event);
+    }
+
+    @Override
+    public void onInteractingChanged(InteractingChanged event) {
+        condition.onInteractingChanged(event);
+    }
+
+    @Override
+    public void onAnimationChanged(AnimationChanged event) {
+        condition.onAnimationChanged(event);
+    }
+
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return condition.getEventInterest();
+    }
+
+    @Override
+    public boolean isEventDriven() {
+        return condition.isEventDriven();
+    }
     
     @Override
     public void reset() {
@@ -138,7 +223,7 @@ public class NotCondition implements Condition {
                     IntervalCondition intervalCondition = (IntervalCondition) condition;
                     // Calculate when the next interval would start after the current one
                     // This is our best estimate of when the NOT condition would become satisfied again
-                    ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+                    ZonedDateTime now = SchedulerClock.now();
                     return Optional.of(now.plus(intervalCondition.getInterval()));
                 }
                 
@@ -159,7 +244,7 @@ public class NotCondition implements Condition {
         // For non-TimeCondition, use the default behavior
         // If the NOT is satisfied, return time in the past
         if (isSatisfied()) {
-            return Optional.of(ZonedDateTime.now(ZoneId.systemDefault()).minusSeconds(1));
+            return Optional.of(SchedulerClock.now().minusSeconds(1));
         }
         
         // If the NOT is not satisfied, we can't determine when it will become satisfied
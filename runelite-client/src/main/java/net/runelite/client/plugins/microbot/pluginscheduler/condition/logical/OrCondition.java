@@ -21,7 +21,7 @@ public class OrCondition extends LogicalCondition {
     @Override
     public boolean isSatisfied() {
         if (conditions.isEmpty()) return true;
-        return conditions.stream().anyMatch(Condition::isSatisfied);
+        return cachedSatisfied(() -> conditions.stream().anyMatch(Condition::isSatisfied));
     }
     
     /**
@@ -219,6 +219,7 @@ public class OrCondition extends LogicalCondition {
         for (Condition condition : conditions) {
             condition.pause();
         }
+        invalidateCachedStates();
                 
         
     }
@@ -228,7 +229,8 @@ public class OrCondition extends LogicalCondition {
         // Resume all child conditions
         for (Condition condition : conditions) {
             condition.resume();
-        }        
+        }
+        invalidateCachedStates();
         
     }
 }
\ No newline at end of file
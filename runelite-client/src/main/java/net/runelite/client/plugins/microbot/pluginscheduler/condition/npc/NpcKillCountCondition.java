@@ -9,6 +9,7 @@ import net.runelite.api.events.InteractingChanged;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -353,6 +354,7 @@ public class NpcKillCountCondition extends NpcCondition {
         satisfied = false;
         currentKillCount = 0;
         interactingNpcIndices.clear();
+        LogicalCondition.invalidateCachedStates();
     }
     
     @Override
@@ -368,6 +370,19 @@ public class NpcKillCountCondition extends NpcCondition {
         return Math.min(100.0, (currentKillCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.of(InteractingChanged.class, NpcDespawned.class);
+    }
+
+    /**
+     * The kill count only changes on the tracked events or on reset
+     */
+    @Override
+    public boolean isEventDriven() {
+        return true;
+    }
+
     // NOTE: This approach tracks player interactions with NPCs
     // It may need adjustment based on how interaction events fire in the game
     @Subscribe
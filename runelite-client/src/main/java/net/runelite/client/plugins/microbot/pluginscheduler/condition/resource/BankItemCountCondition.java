@@ -8,6 +8,7 @@ import lombok.Getter;
 import net.runelite.api.InventoryID;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -140,6 +141,11 @@ public class BankItemCountCondition extends ResourceCondition {
         return Math.min(100.0, (currentItemCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return super.getEventInterest().with(ItemContainerChanged.class, InventoryID.BANK.getId());
+    }
+
     @Override
     @Subscribe
     public void onItemContainerChanged(ItemContainerChanged event) {
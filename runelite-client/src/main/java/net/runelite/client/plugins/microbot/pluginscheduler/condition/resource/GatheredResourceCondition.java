@@ -14,6 +14,7 @@ import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.StatChanged;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -347,6 +348,15 @@ public class GatheredResourceCondition extends ResourceCondition {
         return Math.min(100.0, (currentGatheredCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return super.getEventInterest()
+                .with(AnimationChanged.class)
+                .with(InteractingChanged.class)
+                .with(StatChanged.class, relevantSkills.stream().mapToInt(ConditionEventInterest::skillKey).toArray())
+                .with(ItemContainerChanged.class, InventoryID.INVENTORY.getId());
+    }
+
     @Override
     public void onAnimationChanged(AnimationChanged event) {
         // Check if this is our player
@@ -9,6 +9,7 @@ import lombok.Getter;
 import net.runelite.api.InventoryID;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -300,6 +301,11 @@ public class InventoryItemCountCondition extends ResourceCondition {
         return Math.min(100.0, (currentItemCount * 100.0) / currentTargetCount);
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return super.getEventInterest().with(ItemContainerChanged.class, InventoryID.INVENTORY.getId());
+    }
+
     @Override
     public void onItemContainerChanged(ItemContainerChanged event) {
         // Skip processing if paused
@@ -17,6 +17,7 @@ import net.runelite.api.events.ItemDespawned;
 import net.runelite.api.events.ItemSpawned;
 
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -437,6 +438,17 @@ public class LootItemCondition extends ResourceCondition {
         return Math.min(100.0, ratio * 100.0);
     }    
 
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return super.getEventInterest()
+                .with(ItemSpawned.class)
+                .with(ItemDespawned.class)
+                .with(GroundObjectSpawned.class)
+                .with(GroundObjectDespawned.class)
+                .with(GameStateChanged.class)
+                .with(ItemContainerChanged.class, InventoryID.INVENTORY.getId());
+    }
+
         /**
      * Called when an item spawns on the ground - we check if it matches our target item
      */
@@ -8,6 +8,7 @@ import net.runelite.api.InventoryID;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.AndCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.OrCondition;
@@ -430,6 +431,11 @@ public class ProcessItemCondition extends ResourceCondition {
         
         return Math.min(100.0, (processedCount * 100.0) / currentTargetCount);
     }
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return super.getEventInterest().with(ItemContainerChanged.class, InventoryID.INVENTORY.getId());
+    }
+
      @Override
     public void onItemContainerChanged(ItemContainerChanged event) {
         // Skip updates if paused
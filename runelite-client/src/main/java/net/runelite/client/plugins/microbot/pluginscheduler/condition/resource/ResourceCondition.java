@@ -7,6 +7,7 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
@@ -357,6 +358,11 @@ public abstract class ResourceCondition implements Condition {
         }
     }
     
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.of(GameTick.class);
+    }
+
     /**
      * Handles the GameTick event from RuneLite's event system.
      * Updates player position and processes any accumulated item events.
@@ -10,6 +10,7 @@ import net.runelite.api.events.StatChanged;
 import net.runelite.client.game.SkillIconManager;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.util.ImageUtil;
 
 import javax.swing.*;
@@ -299,6 +300,14 @@ public abstract class SkillCondition implements Condition {
             
         });
     }
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        ConditionEventInterest interest = ConditionEventInterest.of(GameStateChanged.class);
+        return isTotal()
+                ? interest.with(StatChanged.class)
+                : interest.with(StatChanged.class, ConditionEventInterest.skillKey(skill));
+    }
+
     @Override
     public void onGameStateChanged(GameStateChanged gameStateChanged) {
         if (gameStateChanged.getGameState() == GameState.LOGGED_IN) {
@@ -5,9 +5,9 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.plugins.microbot.questhelper.requirements.zone.Zone;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
@@ -506,7 +506,7 @@ public class IntervalCondition extends TimeCondition {
             sb.append("Last reset: ").append(lastValidResetTime.format(formatter)).append("\n");
             
             // Calculate time since the last reset
-            Duration sinceLastReset = Duration.between(lastValidResetTime, LocalDateTime.now());
+            Duration sinceLastReset = Duration.between(lastValidResetTime, SchedulerClock.localNow());
             long seconds = sinceLastReset.getSeconds();
             sb.append("Time since last reset: ")
               .append(String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60))
@@ -594,7 +594,7 @@ public class IntervalCondition extends TimeCondition {
             sb.append("    Last Reset: ").append(lastValidResetTime.format(dateTimeFormatter)).append("\n");
             
             // Add time since last reset
-            Duration sinceLastReset = Duration.between(lastValidResetTime, LocalDateTime.now());
+            Duration sinceLastReset = Duration.between(lastValidResetTime, SchedulerClock.localNow());
             long seconds = sinceLastReset.getSeconds();
             sb.append("    Time Since Reset: ")
               .append(String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60))
@@ -609,7 +609,7 @@ public class IntervalCondition extends TimeCondition {
     public void reset(boolean randomize) {
         updateValidReset();
         setNextTriggerTime(calculateNextTriggerTime());
-        this.lastValidResetTime = LocalDateTime.now();
+        this.lastValidResetTime = SchedulerClock.localNow();
         // Reset initial delay condition if it exists
         if (initialDelayCondition != null) {
             initialDelayCondition.reset(false);
@@ -621,7 +621,7 @@ public class IntervalCondition extends TimeCondition {
     public void hardReset() {
         // Reset the condition state
         this.currentValidResetCount = 0;
-        this.lastValidResetTime = LocalDateTime.now();
+        this.lastValidResetTime = SchedulerClock.localNow();
         
         // Reset initial delay condition if it exists
         if (initialDelayCondition != null) {
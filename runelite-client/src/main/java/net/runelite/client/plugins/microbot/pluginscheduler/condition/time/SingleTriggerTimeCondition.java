@@ -4,10 +4,9 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.GameTick;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
@@ -62,7 +61,7 @@ public class SingleTriggerTimeCondition extends TimeCondition {
      * @return A new SingleTriggerTimeCondition
      */
     public static SingleTriggerTimeCondition afterDelay(long delaySeconds) {
-        ZonedDateTime triggerTime = ZonedDateTime.now(ZoneId.systemDefault())
+        ZonedDateTime triggerTime = SchedulerClock.now()
                 .plusSeconds(delaySeconds);        
         return new SingleTriggerTimeCondition(triggerTime ,Duration.ofSeconds(delaySeconds), 1);
     }
@@ -207,7 +206,7 @@ public class SingleTriggerTimeCondition extends TimeCondition {
             return;
         }
         currentValidResetCount++;   
-        lastValidResetTime = LocalDateTime.now();    
+        lastValidResetTime = SchedulerClock.localNow();    
         log.debug("SingleTriggerTimeCondition reset, will trigger again at: {}", 
                 getNextTriggerTimeWithPause().orElse(getNow()).format(FORMATTER));
     }
@@ -215,8 +214,8 @@ public class SingleTriggerTimeCondition extends TimeCondition {
     public void hardReset() {
         // Reset the condition state
         this.currentValidResetCount = 0;
-        this.lastValidResetTime = LocalDateTime.now();
-        setNextTriggerTime(ZonedDateTime.now(ZoneId.systemDefault())
+        this.lastValidResetTime = SchedulerClock.localNow();
+        setNextTriggerTime(SchedulerClock.now()
                 .plusSeconds(definedDelay.getSeconds()));
     }
 
@@ -231,7 +230,7 @@ public class SingleTriggerTimeCondition extends TimeCondition {
         
         // Calculate time progress as percentage
         long totalSeconds = java.time.Duration.between(
-                ZonedDateTime.now().withSecond(0).withNano(0), getNextTriggerTimeWithPause().orElse(getNow())).getSeconds();
+                SchedulerClock.now().withSecond(0).withNano(0), getNextTriggerTimeWithPause().orElse(getNow())).getSeconds();
         long secondsRemaining = java.time.Duration.between(now, getNextTriggerTimeWithPause().orElse(getNow())).getSeconds();
         
         if (totalSeconds <= 0) {
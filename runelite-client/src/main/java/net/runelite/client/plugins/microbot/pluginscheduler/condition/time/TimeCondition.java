@@ -7,13 +7,15 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.GameTick;
 
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -39,8 +41,12 @@ public abstract class TimeCondition implements Condition {
     @Getter
     protected transient Duration totalPauseDuration = Duration.ZERO;
     
-    @Setter
     private transient ZonedDateTime nextTriggerTime;
+
+    /**
+     * Bumped whenever the trigger time of any time condition changes, see {@link #getTriggerVersion()}
+     */
+    private static volatile int triggerVersion;
     
     /**
      * Calculates the current pause duration without unpausing the condition.
@@ -89,6 +95,24 @@ public abstract class TimeCondition implements Condition {
         
         return Optional.of(nextTriggerTime);
     }
+    /**
+     * Sets the next trigger time, without any pause adjustment
+     */
+    public void setNextTriggerTime(ZonedDateTime nextTriggerTime) {
+        if (!Objects.equals(this.nextTriggerTime, nextTriggerTime)) {
+            this.nextTriggerTime = nextTriggerTime;
+            triggerVersion++;
+        }
+    }
+
+    /**
+     * Gets a version that changes whenever the trigger time of any time condition is set, or a time condition
+     * is paused or resumed. Precomputed trigger times stay valid while this version is unchanged.
+     */
+    public static int getTriggerVersion() {
+        return triggerVersion;
+    }
+
     public TimeCondition() {
         // Default constructor
         this(0);                
@@ -100,16 +124,16 @@ public abstract class TimeCondition implements Condition {
      */
     public TimeCondition(final long maximumNumberOfRepeats) {
         this.maximumNumberOfRepeats = maximumNumberOfRepeats;
-        lastValidResetTime = LocalDateTime.now();
+        lastValidResetTime = SchedulerClock.localNow();
     }
     /**
      * Gets the current date and time in the system default time zone with maximum precision.
-     * Uses the most precise clock available in the system for consistent timing.
+     * Uses the clock of the scheduler, see {@link SchedulerClock}, so the condition can be evaluated in virtual time.
      * 
      * @return The current ZonedDateTime with nanosecond precision
      */
     protected ZonedDateTime getNow() {
-        return ZonedDateTime.now(ZoneId.systemDefault());
+        return SchedulerClock.now();
     }
     
     @Override
@@ -126,6 +150,7 @@ public abstract class TimeCondition implements Condition {
         if (!isPaused) {
             isPaused = true;
             pauseStartTime = getNow();
+            triggerVersion++;
             log.debug("Time condition paused at: {}", pauseStartTime);
         }
     }
@@ -148,6 +173,7 @@ public abstract class TimeCondition implements Condition {
             
             // Call the subclass implementation to handle specific adjustments
             onResume(pauseDuration);
+            triggerVersion++;
             
             log.debug("Time condition resumed at: {}, pause duration: {}, total pause duration: {}", 
                     pauseEndTime, formatDuration(pauseDuration), formatDuration(totalPauseDuration));
@@ -217,6 +243,14 @@ public abstract class TimeCondition implements Condition {
     }
       
     
+    /**
+     * Time conditions are only checked on game ticks, and are never event driven since they depend on the clock
+     */
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        return ConditionEventInterest.of(GameTick.class);
+    }
+
     /**
      * Default GameTick handler that subclasses can override
      */    
@@ -252,7 +286,7 @@ public abstract class TimeCondition implements Condition {
     public void hardReset() {
         // Reset the condition state completely
         this.currentValidResetCount = 0;
-        this.lastValidResetTime = LocalDateTime.now();
+        this.lastValidResetTime = SchedulerClock.localNow();
         this.totalPauseDuration = Duration.ZERO;
         
         // Ensure not paused
@@ -260,6 +294,7 @@ public abstract class TimeCondition implements Condition {
             isPaused = false;
             pauseStartTime = null;
         }
+        triggerVersion++;
         
         // Call normal reset with randomization
         reset(true);
@@ -268,7 +303,9 @@ public abstract class TimeCondition implements Condition {
     void updateValidReset() {        
         if (isSatisfied()) {
             this.currentValidResetCount++;
-            this.lastValidResetTime = LocalDateTime.now();                            
+            this.lastValidResetTime = SchedulerClock.localNow();
+            // the count limits how often the condition can trigger again
+            triggerVersion++;
         }
         
     }
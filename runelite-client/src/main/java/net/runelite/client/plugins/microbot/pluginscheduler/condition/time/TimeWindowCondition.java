@@ -10,6 +10,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionT
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.enums.RepeatCycle;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.ui.TimeConditionPanelUtil;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -143,7 +144,7 @@ public class TimeWindowCondition extends TimeCondition {
         this.repeatCycle = repeatCycle;
         this.repeatIntervalUnit = Math.max(1, repeatIntervalUnit); // Ensure positive interval
         this.zoneId = ZoneId.systemDefault(); // Initialize with system default
-        this.lastValidResetTime = LocalDateTime.now();
+        this.lastValidResetTime = SchedulerClock.localNow();
         transientNumberOfResetsWithinDailyInterval = 0;
         this.randomizerValue = 0;
         this.useRandomization = false;
@@ -206,7 +207,7 @@ public class TimeWindowCondition extends TimeCondition {
      * Calculate the next window start and end times based on current time and reset settings
      */
     private void calculateNextWindow(LocalDateTime lastValidTime) {
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();
 
 
@@ -265,7 +266,7 @@ public class TimeWindowCondition extends TimeCondition {
      * Calculates window for ONE_TIME repeat cycle
      */
     private void calculateOneTimeWindow(LocalDateTime referenceTime) {
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();
         LocalDateTime todayStartDateTime = LocalDateTime.of(nowLocal.toLocalDate(), startTime);
         LocalDateTime todayEndDateTime = LocalDateTime.of(nowLocal.toLocalDate(), endTime);
@@ -298,7 +299,7 @@ public class TimeWindowCondition extends TimeCondition {
      * Calculates window for sub-day repeat cycles (MINUTES, HOURS)
      */
     private void calculateCycleWindow(LocalDateTime referenceTime) {
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         // First, determine the bounds of today's overall window
         LocalDate today = now.toLocalDate();
         LocalDateTime currentDayWindowStart = LocalDateTime.of(today, startTime);
@@ -459,7 +460,7 @@ public class TimeWindowCondition extends TimeCondition {
      */
     private LocalDateTime calculateNextStartWindow( LocalDateTime referenceTime) {
         LocalDateTime nextStartTime;
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());        
+        ZonedDateTime now = SchedulerClock.now(getZoneId());        
         LocalDateTime nowLocal = now.toLocalDateTime();
         LocalDate today = now.toLocalDate();
         LocalDateTime currentDayWindowStart = LocalDateTime.of(today, startTime);
@@ -519,7 +520,7 @@ public class TimeWindowCondition extends TimeCondition {
         if (!canTriggerAgain()) {
             return false;
         }
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();
         LocalDate today = now.toLocalDate();
         LocalDate dayBefore = today.minusDays(1);
@@ -568,7 +569,7 @@ public class TimeWindowCondition extends TimeCondition {
             return 0.0;
         }
         
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();
         LocalDateTime currentStartDateTime = getNextTriggerTimeWithPause().get().toLocalDateTime();
         // Calculate total window duration in seconds
@@ -723,7 +724,7 @@ public class TimeWindowCondition extends TimeCondition {
     public void hardReset() {
         this.currentValidResetCount = 0;
         resume();
-        this.lastValidResetTime = LocalDateTime.now();
+        this.lastValidResetTime = SchedulerClock.localNow();
         this.setNextTriggerTime(null);
         
         this.currentEndDateTime = null;
@@ -745,8 +746,8 @@ public class TimeWindowCondition extends TimeCondition {
     public void reset(boolean randomize) {        
         // Store current time as the reset reference
         log.debug("Last reset time: {}", lastValidResetTime);
-        this.lastValidResetTime = LocalDateTime.now();                                
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        this.lastValidResetTime = SchedulerClock.localNow();                                
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();        
         // If we are have a current window and we are within the window or after it, we need to force an advance
         Optional<ZonedDateTime>    currentZoneStartDateTime =     getNextTriggerTimeWithPause();
@@ -801,7 +802,7 @@ public class TimeWindowCondition extends TimeCondition {
         if (getNextTriggerTimeWithPause().orElse(null) == null || currentEndDateTime == null || !canTriggerAgain()) {
             return Optional.empty();
         }
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime currentStartDateTime = getNextTriggerTimeWithPause().get().toLocalDateTime();
         // If the condition is already satisfied (we're in the window), return the current time
         if (isSatisfied()) {
@@ -828,7 +829,7 @@ public class TimeWindowCondition extends TimeCondition {
         
         LocalDateTime lastDateTime = LocalDateTime.of( endDate, endTime);
         if (canTrigger ) {
-            ZonedDateTime now = ZonedDateTime.now(getZoneId());
+            ZonedDateTime now = SchedulerClock.now(getZoneId());
             LocalDateTime nowLocal = now.toLocalDateTime();
             return nowLocal.isBefore(lastDateTime);
         }
@@ -1004,7 +1005,7 @@ public class TimeWindowCondition extends TimeCondition {
         sb.append("Status: ").append(satisfied ? "Active (in time window)" : "Inactive (outside time window)").append("\n");
         
         // Current window information
-        ZonedDateTime now = ZonedDateTime.now(getZoneId());
+        ZonedDateTime now = SchedulerClock.now(getZoneId());
         LocalDateTime nowLocal = now.toLocalDateTime();
         
         if (getNextTriggerTimeWithPause() != null && currentEndDateTime != null) {
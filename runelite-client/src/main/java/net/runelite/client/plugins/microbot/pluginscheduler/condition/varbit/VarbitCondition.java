@@ -7,10 +7,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionEventInterest;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.ConditionType;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 /**
@@ -352,6 +355,22 @@ public class VarbitCondition implements Condition {
         }
     }
     
+    /**
+     * Only changes of the tracked variable are dispatched, plus game state changes since the value reads as -1 when logged out
+     */
+    @Override
+    public ConditionEventInterest getEventInterest() {
+        int key = varType == VarType.VARBIT
+                ? ConditionEventInterest.varbitKey(varId)
+                : ConditionEventInterest.varpKey(varId);
+        return ConditionEventInterest.of(GameStateChanged.class).with(VarbitChanged.class, key);
+    }
+
+    @Override
+    public boolean isEventDriven() {
+        return true;
+    }
+
     @Override
     public boolean isSatisfied() {
         updateCurrentValue();
@@ -477,6 +496,7 @@ public class VarbitCondition implements Condition {
         }
         
         this.satisfied = checkSatisfied();
+        LogicalCondition.invalidateCachedStates();
     }
     
     @Override
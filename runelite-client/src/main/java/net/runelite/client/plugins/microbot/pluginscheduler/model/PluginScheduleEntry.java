@@ -17,6 +17,7 @@ import java.util.function.Supplier;
 
 import org.lwjgl.opencl.CL;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -40,6 +41,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.enums
 import net.runelite.client.plugins.microbot.pluginscheduler.config.ScheduleEntryConfigManager;
 import net.runelite.client.plugins.microbot.pluginscheduler.event.PluginScheduleEntrySoftStopEvent;
 import net.runelite.client.plugins.microbot.pluginscheduler.serialization.ScheduledSerializer;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.TriggerTimeCache;
 
 @Data
 @AllArgsConstructor
@@ -62,7 +64,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.serialization.Schedu
  *   <li>Plugin configuration and watchdog management</li>
  * </ul>
  */
-public class PluginScheduleEntry implements AutoCloseable {
+public class PluginScheduleEntry implements AutoCloseable, ScheduleCandidate {
     // Static formatter for time display
     public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"); 
@@ -126,6 +128,9 @@ public class PluginScheduleEntry implements AutoCloseable {
     final private ConditionManager stopConditionManager;
     final private ConditionManager startConditionManager;    
     private transient boolean stopInitiated = false;    
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient TriggerTimeCache startTriggerCache;
 
     private boolean allowRandomScheduling = true; // Whether this plugin can be randomly scheduled
     private int runCount = 0; // Track how many times this plugin has been run
@@ -316,6 +321,7 @@ public class PluginScheduleEntry implements AutoCloseable {
             return; // No change in enabled state
         }
         this.enabled = enabled;
+        TriggerTimeCache.invalidateAll();
         if (!enabled) {
             stopConditionManager.unregisterEventsAndPauseWatchdogs();
             startConditionManager.unregisterEventsAndPauseWatchdogs();
@@ -925,7 +931,21 @@ public class PluginScheduleEntry implements AutoCloseable {
         if (startConditionManager == null) {
             return Optional.empty();
         }
-        return startConditionManager.getCurrentTriggerTime();
+        // not created by the constructor when the entry is deserialized
+        if (startTriggerCache == null) {
+            startTriggerCache = new TriggerTimeCache();
+        }
+        return startTriggerCache.get(startConditionManager::getCurrentTriggerTime, this::hasStableStartTrigger);
+    }
+
+    /**
+     * Checks if the start trigger time only changes when the start conditions are edited, reset, paused or resumed,
+     * which holds when they are all time conditions and none of them is paused
+     */
+    public boolean hasStableStartTrigger() {
+        return startConditionManager != null
+                && startConditionManager.hasOnlyTimeConditions()
+                && !startConditionManager.hasAnyPausedConditions();
     }
     
     /**
@@ -0,0 +1,37 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.model;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * The view of a schedule entry that the scheduler uses to select the next plugin to run.
+ * Implemented by {@link PluginScheduleEntry}, and by the simulated entries of the schedule simulator,
+ * so both go through the same selection logic in
+ * {@link net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerPluginUtil}.
+ */
+public interface ScheduleCandidate {
+    String getName();
+
+    String getCleanName();
+
+    boolean isEnabled();
+
+    boolean isRunning();
+
+    boolean isDueToRun();
+
+    boolean isStopInitiated();
+
+    /**
+     * Gets the next time when any start condition is expected to trigger
+     */
+    Optional<ZonedDateTime> getCurrentStartTriggerTime();
+
+    int getPriority();
+
+    boolean isDefault();
+
+    boolean isAllowRandomScheduling();
+
+    int getRunCount();
+}
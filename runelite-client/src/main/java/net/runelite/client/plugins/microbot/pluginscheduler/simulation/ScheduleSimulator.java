@@ -0,0 +1,502 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.simulation;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.Condition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LockCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.DayOfWeekCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.IntervalCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeWindowCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry.StopReason;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.ScheduleCandidate;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerPluginUtil;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.TimeTriggerIndex;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.TriggerTimeCache;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays plugin schedules in virtual time, without a client, to see what a set of schedule entries
+ * will do over days or weeks.
+ * <p>
+ * The simulator runs the selection logic of the scheduler ({@link SchedulerPluginUtil#selectPluginToStart},
+ * the same code {@code SchedulerPlugin.scheduleNextPlugin()} uses) against {@link SimulatedPlugin}s that
+ * carry real start and stop conditions. The time conditions read the virtual clock through
+ * {@link SchedulerClock}, and the clock jumps from one trigger time to the next, so a week replays in
+ * milliseconds. What the plugins do while running is synthetic: a plugin finishes after its run duration
+ * and can hold a {@link LockCondition} for part of its run.
+ * <p>
+ * The virtual clock is installed for the thread that creates the simulator, so conditions must be created
+ * after the simulator on the same thread, and the simulator must be closed:
+ * <pre>
+ * try (ScheduleSimulator simulator = new ScheduleSimulator(start)) {
+ *     simulator.add(new SimulatedPlugin("Woodcutting", new IntervalCondition(Duration.ofHours(2))));
+ *     ScheduleSimulator.Result result = simulator.run(Duration.ofDays(7));
+ * }
+ * </pre>
+ */
+@Slf4j
+public class ScheduleSimulator implements AutoCloseable {
+    private static final Duration MIN_STEP = Duration.ofSeconds(1);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("EEE HH:mm:ss");
+
+    public enum DecisionType {
+        START,
+        STOP,
+        HOLD
+    }
+
+    /**
+     * A start, stop or hold-back decision of the scheduler
+     */
+    @Value
+    public static class Decision {
+        ZonedDateTime time;
+        DecisionType type;
+        String plugin;
+        String reason;
+    }
+
+    @Value
+    public static class Result {
+        Duration simulatedDuration;
+        int steps;
+        int starts;
+        int stops;
+        double wallMillis;
+        List<Decision> timeline;
+    }
+
+    /**
+     * A schedule entry with real start and stop conditions and a synthetic run
+     */
+    public static class SimulatedPlugin implements ScheduleCandidate {
+        @Getter
+        private final String name;
+        @Getter
+        private final Condition startCondition;
+        @Getter
+        private Condition stopCondition;
+        private Duration runDuration;
+        private LockCondition lock;
+        private Duration lockDuration = Duration.ZERO;
+        @Getter
+        private int priority;
+        private boolean isDefault;
+        @Getter
+        private boolean allowRandomScheduling = true;
+        @Getter
+        private boolean enabled = true;
+
+        @Getter
+        private boolean running;
+        private ZonedDateTime runStartTime;
+        @Getter
+        private int runCount;
+        private final TriggerTimeCache startTriggerCache = new TriggerTimeCache();
+
+        public SimulatedPlugin(String name, Condition startCondition) {
+            this.name = name;
+            this.startCondition = startCondition;
+            // same rule as PluginScheduleEntry: a 1 second interval makes a default plugin
+            if (startCondition instanceof IntervalCondition
+                    && ((IntervalCondition) startCondition).getInterval().getSeconds() <= 1) {
+                this.isDefault = true;
+            }
+        }
+
+        /**
+         * Stops the plugin once the condition is satisfied, like the user stop conditions of a schedule entry
+         */
+        public SimulatedPlugin stopWhen(Condition stopCondition) {
+            this.stopCondition = stopCondition;
+            return this;
+        }
+
+        /**
+         * The plugin reports itself finished after running for this long
+         */
+        public SimulatedPlugin finishesAfter(Duration runDuration) {
+            this.runDuration = runDuration;
+            return this;
+        }
+
+        /**
+         * The plugin holds a lock for the first part of every run, which keeps the stop conditions from stopping it
+         */
+        public SimulatedPlugin locksFor(Duration lockDuration) {
+            this.lock = new LockCondition("Simulated critical operation");
+            this.lockDuration = lockDuration;
+            return this;
+        }
+
+        public SimulatedPlugin priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public SimulatedPlugin defaultPlugin(boolean isDefault) {
+            this.isDefault = isDefault;
+            return this;
+        }
+
+        public SimulatedPlugin allowRandomScheduling(boolean allowRandomScheduling) {
+            this.allowRandomScheduling = allowRandomScheduling;
+            return this;
+        }
+
+        public SimulatedPlugin enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        @Override
+        public String getCleanName() {
+            return name;
+        }
+
+        @Override
+        public boolean isDefault() {
+            return isDefault;
+        }
+
+        @Override
+        public boolean isStopInitiated() {
+            // stops take effect immediately in the simulation
+            return false;
+        }
+
+        @Override
+        public boolean isDueToRun() {
+            return !running && startCondition != null && startCondition.isSatisfied();
+        }
+
+        @Override
+        public Optional<ZonedDateTime> getCurrentStartTriggerTime() {
+            if (startCondition == null) {
+                return Optional.empty();
+            }
+            return startTriggerCache.get(startCondition::getCurrentTriggerTime, this::hasStableStartTrigger);
+        }
+
+        /**
+         * Same rule as {@link net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry#hasStableStartTrigger()}
+         */
+        public boolean hasStableStartTrigger() {
+            return startCondition instanceof TimeCondition && !((TimeCondition) startCondition).isPaused();
+        }
+
+        private void start(ZonedDateTime now) {
+            running = true;
+            runStartTime = now;
+            if (stopCondition != null) {
+                stopCondition.reset();
+            }
+            if (lock != null && !lockDuration.isZero()) {
+                lock.lock();
+            }
+        }
+
+        /**
+         * Gets the reason the plugin stops at this time, or null while it keeps running
+         */
+        private StopReason checkStop(ZonedDateTime now) {
+            Duration elapsed = Duration.between(runStartTime, now);
+            if (lock != null && lock.isLocked() && elapsed.compareTo(lockDuration) >= 0) {
+                lock.unlock();
+            }
+            if (runDuration != null && elapsed.compareTo(runDuration) >= 0) {
+                return StopReason.PLUGIN_FINISHED;
+            }
+            if (stopCondition != null && stopCondition.isSatisfied() && (lock == null || !lock.isLocked())) {
+                return StopReason.SCHEDULED_STOP;
+            }
+            return null;
+        }
+
+        private void stop(StopReason reason) {
+            running = false;
+            if (lock != null) {
+                lock.unlock();
+            }
+            // like PluginScheduleEntry, an interrupted run continues later on the same start trigger
+            if (reason != StopReason.INTERRUPTED) {
+                runCount++;
+                if (startCondition != null) {
+                    startCondition.reset();
+                }
+            }
+        }
+
+        /**
+         * The next time something can change for this plugin, used to skip the idle time in between
+         */
+        private Optional<ZonedDateTime> getNextEventTime(ZonedDateTime now, Duration lookAhead, Duration maxStep) {
+            ZonedDateTime next = null;
+            if (running) {
+                if (runDuration != null) {
+                    next = earliest(next, runStartTime.plus(runDuration), now);
+                }
+                if (lock != null && lock.isLocked()) {
+                    next = earliest(next, runStartTime.plus(lockDuration), now);
+                }
+                if (stopCondition != null) {
+                    next = earliest(next, stopCondition.getCurrentTriggerTime().orElse(null), now);
+                }
+            } else if (enabled) {
+                ZonedDateTime trigger = getCurrentStartTriggerTime().orElse(null);
+                next = earliest(next, trigger, now);
+                if (trigger != null && !trigger.isAfter(now) && trigger.isAfter(now.minus(maxStep)) && !isDueToRun()) {
+                    // reached a trigger time the conditions do not accept yet, check again shortly
+                    next = earliest(next, now.plus(MIN_STEP), now);
+                }
+                if (trigger != null && !isDefault) {
+                    next = earliest(next, trigger.minus(lookAhead), now);
+                }
+            }
+            return Optional.ofNullable(next);
+        }
+    }
+
+    /**
+     * The earlier of two times, ignoring times that are not after now
+     */
+    private static ZonedDateTime earliest(ZonedDateTime current, ZonedDateTime candidate, ZonedDateTime now) {
+        if (candidate == null || !candidate.isAfter(now)) {
+            return current;
+        }
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static final class VirtualClock extends Clock {
+        private final ZoneId zone;
+        private Instant instant;
+
+        private VirtualClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            // shares the current instant, the simulator only advances the installed clock
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private final VirtualClock clock;
+    private final Thread owner;
+    private final List<SimulatedPlugin> plugins = new ArrayList<>();
+    private final List<Decision> timeline = new ArrayList<>();
+    private final TimeTriggerIndex<SimulatedPlugin> startTriggerIndex = new TimeTriggerIndex<>(SimulatedPlugin::hasStableStartTrigger);
+    private boolean prioritizeNonDefaultPlugins = true;
+    private int nonDefaultPluginLookAheadMinutes = 1;
+    private Duration maxStep = Duration.ofMinutes(15);
+
+    /**
+     * Creates a simulator and installs its virtual clock, set to the start time, for the current thread
+     *
+     * @param start The virtual time the simulation starts at
+     */
+    public ScheduleSimulator(ZonedDateTime start) {
+        this.clock = new VirtualClock(start.toInstant(), start.getZone());
+        this.owner = Thread.currentThread();
+        SchedulerClock.setThreadClock(clock);
+    }
+
+    /**
+     * Same as the scheduler options of the same name
+     */
+    public ScheduleSimulator prioritizeNonDefaultPlugins(boolean prioritize, int lookAheadMinutes) {
+        this.prioritizeNonDefaultPlugins = prioritize;
+        this.nonDefaultPluginLookAheadMinutes = lookAheadMinutes;
+        return this;
+    }
+
+    /**
+     * The largest virtual time step, which bounds how late conditions without a trigger time are noticed
+     */
+    public ScheduleSimulator maxStep(Duration maxStep) {
+        this.maxStep = maxStep;
+        return this;
+    }
+
+    public ScheduleSimulator add(SimulatedPlugin plugin) {
+        plugins.add(plugin);
+        return this;
+    }
+
+    public ZonedDateTime getNow() {
+        return ZonedDateTime.now(clock);
+    }
+
+    /**
+     * Runs the schedule for the given amount of virtual time. Can be called again to continue the simulation.
+     *
+     * @param duration The virtual time to simulate
+     * @return The decisions and timing of this run
+     */
+    public Result run(Duration duration) {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("The schedule simulator must run on the thread that created it");
+        }
+        long startNanos = System.nanoTime();
+        int firstDecision = timeline.size();
+        ZonedDateTime end = getNow().plus(duration);
+        Duration lookAhead = Duration.ofMinutes(nonDefaultPluginLookAheadMinutes);
+        SimulatedPlugin current = null;
+        String heldBack = null;
+        int steps = 0;
+
+        for (SimulatedPlugin plugin : plugins) {
+            if (plugin.isRunning()) {
+                current = plugin;
+            }
+        }
+
+        while (getNow().isBefore(end)) {
+            steps++;
+            ZonedDateTime now = getNow();
+
+            if (current != null) {
+                StopReason reason = current.checkStop(now);
+                if (reason == null && current.isDefault() && prioritizeNonDefaultPlugins) {
+                    // same check as SchedulerPlugin.checkCurrentPlugin()
+                    Optional<SimulatedPlugin> upcoming = SchedulerPluginUtil.selectNextScheduledPlugin(plugins, true, lookAhead);
+                    if (upcoming.isPresent() && !upcoming.get().isDefault()) {
+                        reason = StopReason.INTERRUPTED;
+                    }
+                }
+                if (reason != null) {
+                    current.stop(reason);
+                    timeline.add(new Decision(now, DecisionType.STOP, current.getName(), reason.getDescription()));
+                    current = null;
+                }
+            }
+
+            // same gate as SchedulerPlugin.scheduleNextPlugin()
+            if (current == null && startTriggerIndex.hasPendingEntries(plugins)) {
+                Optional<SimulatedPlugin> selected = SchedulerPluginUtil.selectPluginToStart(plugins,
+                        prioritizeNonDefaultPlugins, nonDefaultPluginLookAheadMinutes);
+                if (selected.isPresent()) {
+                    current = selected.get();
+                    current.start(now);
+                    heldBack = null;
+                    timeline.add(new Decision(now, DecisionType.START, current.getName(),
+                            "priority " + current.getPriority() + (current.isDefault() ? ", default" : "")));
+                } else {
+                    Optional<SimulatedPlugin> due = SchedulerPluginUtil.selectNextScheduledPlugin(plugins, true, null);
+                    if (due.isPresent() && !due.get().getName().equals(heldBack)) {
+                        heldBack = due.get().getName();
+                        timeline.add(new Decision(now, DecisionType.HOLD, heldBack, "non-default plugin scheduled within "
+                                + nonDefaultPluginLookAheadMinutes + " minutes"));
+                    }
+                }
+            }
+
+            ZonedDateTime next = now.plus(maxStep);
+            for (SimulatedPlugin plugin : plugins) {
+                Optional<ZonedDateTime> eventTime = plugin.getNextEventTime(now, lookAhead, maxStep);
+                if (eventTime.isPresent() && eventTime.get().isBefore(next)) {
+                    next = eventTime.get();
+                }
+            }
+            ZonedDateTime minimum = now.plus(MIN_STEP);
+            if (next.isBefore(minimum)) {
+                next = minimum;
+            }
+            if (next.isAfter(end)) {
+                next = end;
+            }
+            clock.instant = next.toInstant();
+        }
+
+        List<Decision> decisions = Collections.unmodifiableList(new ArrayList<>(timeline.subList(firstDecision, timeline.size())));
+        int starts = (int) decisions.stream().filter(d -> d.getType() == DecisionType.START).count();
+        int stops = (int) decisions.stream().filter(d -> d.getType() == DecisionType.STOP).count();
+        return new Result(duration, steps, starts, stops, (System.nanoTime() - startNanos) / 1_000_000.0, decisions);
+    }
+
+    /**
+     * Gets all decisions made since the simulator was created
+     */
+    public List<Decision> getTimeline() {
+        return Collections.unmodifiableList(timeline);
+    }
+
+    /**
+     * Formats the decisions of a result as a table
+     */
+    public static String formatTimeline(Result result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %-6s %-24s %s\n", "Time", "Type", "Plugin", "Reason"));
+        for (Decision decision : result.getTimeline()) {
+            sb.append(String.format("%-14s %-6s %-24s %s\n", decision.getTime().format(TIME_FORMATTER),
+                    decision.getType(), decision.getPlugin(), decision.getReason()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        SchedulerClock.clearThreadClock();
+    }
+
+    /**
+     * Replays a week of a typical mixed schedule and logs the timeline and the timing.
+     * Serves as a regression check of the scheduler selection logic and as a benchmark of its speed.
+     *
+     * @return The result of the simulated week
+     */
+    public static Result run() {
+        ZonedDateTime start = ZonedDateTime.now(ZoneId.systemDefault())
+                .with(DayOfWeek.MONDAY).toLocalDate().atStartOfDay(ZoneId.systemDefault());
+        try (ScheduleSimulator simulator = new ScheduleSimulator(start)) {
+            simulator.prioritizeNonDefaultPlugins(true, 5);
+            simulator.add(new SimulatedPlugin("Default task", new IntervalCondition(Duration.ofSeconds(1))));
+            simulator.add(new SimulatedPlugin("Evening questing", new TimeWindowCondition(LocalTime.of(18, 0), LocalTime.of(20, 0)))
+                    .stopWhen(new IntervalCondition(Duration.ofMinutes(90)))
+                    .priority(2));
+            simulator.add(new SimulatedPlugin("Woodcutting", new IntervalCondition(Duration.ofHours(3)))
+                    .finishesAfter(Duration.ofMinutes(40))
+                    .priority(1));
+            simulator.add(new SimulatedPlugin("Weekend bossing", new DayOfWeekCondition(0, 2, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))
+                    .finishesAfter(Duration.ofMinutes(50))
+                    .locksFor(Duration.ofMinutes(10))
+                    .stopWhen(new IntervalCondition(Duration.ofMinutes(30)))
+                    .priority(3)
+                    .allowRandomScheduling(false));
+
+            Result result = simulator.run(Duration.ofDays(7));
+            log.info("Schedule simulation of {} from {}: {} steps, {} starts, {} stops in {} ms\n{}",
+                    SchedulerPluginUtil.formatDuration(result.getSimulatedDuration()), start.format(TIME_FORMATTER),
+                    result.getSteps(), result.getStarts(), result.getStops(),
+                    String.format("%.2f", result.getWallMillis()), formatTimeline(result));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.util;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * The time source of the plugin scheduler and its time conditions.
+ * <p>
+ * By default this is the system clock. A thread can install its own clock with
+ * {@link #setThreadClock(Clock)}, so the scheduler logic can be replayed in virtual time
+ * (see {@link net.runelite.client.plugins.microbot.pluginscheduler.simulation.ScheduleSimulator})
+ * without affecting the live scheduler running on other threads.
+ */
+public final class SchedulerClock {
+    private static final ThreadLocal<Clock> THREAD_CLOCK = new ThreadLocal<>();
+
+    private SchedulerClock() {
+    }
+
+    /**
+     * Gets the clock of the current thread, or the system clock when none is installed
+     */
+    public static Clock getClock() {
+        Clock clock = THREAD_CLOCK.get();
+        return clock != null ? clock : Clock.systemDefaultZone();
+    }
+
+    /**
+     * Installs a clock for the current thread. Must be removed with {@link #clearThreadClock()}.
+     */
+    public static void setThreadClock(Clock clock) {
+        THREAD_CLOCK.set(clock);
+    }
+
+    /**
+     * Removes the clock of the current thread, restoring the system clock
+     */
+    public static void clearThreadClock() {
+        THREAD_CLOCK.remove();
+    }
+
+    /**
+     * The current time in the system default time zone
+     */
+    public static ZonedDateTime now() {
+        return now(ZoneId.systemDefault());
+    }
+
+    /**
+     * The current time in the given time zone
+     */
+    public static ZonedDateTime now(ZoneId zoneId) {
+        return ZonedDateTime.now(getClock().withZone(zoneId));
+    }
+
+    /**
+     * The current local date and time in the system default time zone
+     */
+    public static LocalDateTime localNow() {
+        return LocalDateTime.now(getClock().withZone(ZoneId.systemDefault()));
+    }
+}
@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.swing.SwingUtilities;
 
@@ -30,6 +31,7 @@ import net.runelite.client.plugins.microbot.pluginscheduler.SchedulerPlugin;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LockCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
 import net.runelite.client.plugins.microbot.pluginscheduler.model.PluginScheduleEntry;
+import net.runelite.client.plugins.microbot.pluginscheduler.model.ScheduleCandidate;
 import net.runelite.client.plugins.microbot.util.antiban.AntibanPlugin;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2Antiban;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
@@ -156,7 +158,7 @@ public class SchedulerPluginUtil{
      * @param plugins List of plugins to check
      * @return true if all plugins have the same trigger time
      */
-    public static boolean isAllSameTimestamp(List<PluginScheduleEntry> plugins) {
+    public static boolean isAllSameTimestamp(List<? extends ScheduleCandidate> plugins) {
         if (plugins == null || plugins.size() <= 1) {
             return true; // Empty or single-element list has same timestamps by definition
         }
@@ -185,7 +187,7 @@ public class SchedulerPluginUtil{
      * @param plugins List of plugins to select from
      * @return The selected plugin
      */
-    public static PluginScheduleEntry selectPluginWeighted(List<PluginScheduleEntry> plugins) {
+    public static <T extends ScheduleCandidate> T selectPluginWeighted(List<T> plugins) {
         // Return the only plugin if there's just one
         if (plugins.size() == 1) {
             return plugins.get(0);
@@ -194,7 +196,7 @@ public class SchedulerPluginUtil{
         // Calculate weights - plugins with lower run counts get higher weights
         // Find the maximum run count
         int maxRuns = plugins.stream()
-                .mapToInt(PluginScheduleEntry::getRunCount)
+                .mapToInt(ScheduleCandidate::getRunCount)
                 .max()
                 .orElse(0);
 
@@ -244,7 +246,7 @@ public class SchedulerPluginUtil{
      *                default status
      * @return A list sorted by weighted run count
      */
-    public static List<PluginScheduleEntry> applyWeightedSorting(List<PluginScheduleEntry> plugins) {
+    public static <T extends ScheduleCandidate> List<T> applyWeightedSorting(List<T> plugins) {
         if (plugins.size() <= 1) {
             return new ArrayList<>(plugins);
         }
@@ -254,7 +256,7 @@ public class SchedulerPluginUtil{
 
         // First, find the maximum run count
         int maxRuns = plugins.stream()
-                .mapToInt(PluginScheduleEntry::getRunCount)
+                .mapToInt(ScheduleCandidate::getRunCount)
                 .max()
                 .orElse(0);
 
@@ -262,10 +264,10 @@ public class SchedulerPluginUtil{
         maxRuns = maxRuns + 1;
 
         // Calculate weights for each plugin
-        final Map<PluginScheduleEntry, Double> weights = new HashMap<>();
+        final Map<T, Double> weights = new HashMap<>();
         double totalWeight = 0;
 
-        for (PluginScheduleEntry plugin : plugins) {
+        for (T plugin : plugins) {
             // Weight = (maxRuns + 1) - plugin's run count
             double weight = maxRuns - plugin.getRunCount() + 1;
             weights.put(plugin, weight);
@@ -273,7 +275,7 @@ public class SchedulerPluginUtil{
         }
 
         // Create weighted comparison
-        Comparator<PluginScheduleEntry> weightedComparator = (p1, p2) -> {
+        Comparator<T> weightedComparator = (p1, p2) -> {
             // Higher weight (fewer runs) should come first
             double weight1 = weights.getOrDefault(p1, 0.0);
             double weight2 = weights.getOrDefault(p2, 0.0);
@@ -293,12 +295,12 @@ public class SchedulerPluginUtil{
         };
 
         // Sort plugins based on weight
-        List<PluginScheduleEntry> sortedPlugins = new ArrayList<>(plugins);
+        List<T> sortedPlugins = new ArrayList<>(plugins);
         sortedPlugins.sort(weightedComparator);
 
         if (log.isDebugEnabled()) {
             for (int i = 0; i < sortedPlugins.size(); i++) {
-                PluginScheduleEntry plugin = sortedPlugins.get(i);
+                T plugin = sortedPlugins.get(i);
                 double weight = weights.get(plugin);
                 double weightPercentage = (weight / totalWeight) * 100.0;
                 log.debug("Weighted sorting position {}: '{}' with weight {:.2f}/{:.2f} ({:.2f}%) (run count: {})",
@@ -486,13 +488,13 @@ public class SchedulerPluginUtil{
      *                               randomizable plugins
      * @return A sorted copy of the input list
      */
-    public static List<PluginScheduleEntry> sortPluginScheduleEntries(List<PluginScheduleEntry> plugins,
+    public static <T extends ScheduleCandidate> List<T> sortPluginScheduleEntries(List<T> plugins,
             boolean applyWeightedSelection) {
         if (plugins == null || plugins.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<PluginScheduleEntry> sortedPlugins = new ArrayList<>(plugins);
+        List<T> sortedPlugins = new ArrayList<>(plugins);
 
         // First, sort by all the stable criteria
         sortedPlugins.sort((p1, p2) -> {
@@ -574,8 +576,8 @@ public class SchedulerPluginUtil{
 
         // Now we need to look for groups of randomizable plugins at the same priority,
         // default status, and similar timing for weighted selection
-        List<PluginScheduleEntry> result = new ArrayList<>();
-        List<PluginScheduleEntry> randomizableGroup = new ArrayList<>();
+        List<T> result = new ArrayList<>();
+        List<T> randomizableGroup = new ArrayList<>();
         Integer currentPriority = null;
         boolean currentDefault = false;
         ZonedDateTime currentTimeGroup = null;
@@ -584,7 +586,7 @@ public class SchedulerPluginUtil{
         // Iterate through sorted plugins to find groups with the same priority,
         // default status, and similar timing
         for (int i = 0; i < sortedPlugins.size(); i++) {
-            PluginScheduleEntry current = sortedPlugins.get(i);
+            T current = sortedPlugins.get(i);
 
             // Skip non-randomizable plugins (they're already properly sorted by time)
             if (!current.isAllowRandomScheduling()) {
@@ -649,10 +651,151 @@ public class SchedulerPluginUtil{
      * Overloaded method that calls sortPluginScheduleEntries without weighted
      * selection by default
      */
-    public static List<PluginScheduleEntry> sortPluginScheduleEntries(List<PluginScheduleEntry> plugins) {
+    public static <T extends ScheduleCandidate> List<T> sortPluginScheduleEntries(List<T> plugins) {
         return sortPluginScheduleEntries(plugins, false);
     }
 
+    /**
+     * Core method to find the next plugin based on various criteria.
+     * This uses sortPluginScheduleEntries with weighted selection to handle
+     * randomizable plugins.
+     * 
+     * The selection priority depends on the timeWindow parameter:
+     * 
+     * When timeWindow is NULL (immediate execution context):
+     * 1. Plugins that are due to run NOW get priority over priority level
+     * 2. Within due/not-due groups: earliest timing, then priority
+     * 3. Sorted using the enhanced sortPluginScheduleEntries method
+     * 
+     * When timeWindow is PROVIDED (looking ahead context):
+     * 1. Highest priority plugins get priority (regardless of due-to-run status)
+     * 2. Within that priority: earliest timing and due-to-run status via sorting
+     * 3. Sorted using the enhanced sortPluginScheduleEntries method
+     * 
+     * @param plugins    The scheduled plugins to select from
+     * @param isDueToRun If true, only returns plugins that are due to run now
+     * @param timeWindow If not null, limits to plugins triggered within this time
+     *                   window and changes prioritization to favor priority over due-status
+     * @return Optional containing the next plugin to run, or empty if none match
+     *         criteria
+     */
+    public static <T extends ScheduleCandidate> Optional<T> selectNextScheduledPlugin(List<T> plugins,
+            boolean isDueToRun, Duration timeWindow) {
+        if (plugins == null || plugins.isEmpty()) {
+            return Optional.empty();
+        }
+        // Apply filters based on parameters
+        List<T> filteredPlugins = plugins.stream()
+                .filter(ScheduleCandidate::isEnabled)
+                .filter(plugin -> {
+                    // Filter by whether it's due to run now if requested
+                    if (isDueToRun && !plugin.isDueToRun()) {
+                        log.debug("Plugin '{}' is not due to run", plugin.getCleanName());
+                        return false;
+                    }
+                    if (plugin.isStopInitiated()) {
+                        log.debug("Plugin '{}' has stop initiated", plugin.getCleanName());
+                        return false;
+                    }
+
+                    // Filter by time window if specified
+                    if (timeWindow != null) {
+                        Optional<ZonedDateTime> nextStartTime = plugin.getCurrentStartTriggerTime();
+                        if (!nextStartTime.isPresent()) {
+                            log.debug("Plugin '{}' has no trigger time", plugin.getCleanName());
+                            return false;
+                        }
+
+                        ZonedDateTime cutoffTime = SchedulerClock.now().plus(timeWindow);
+                        if (nextStartTime.get().isAfter(cutoffTime)) {
+                            log.debug("Plugin '{}' trigger time is after cutoff", plugin.getCleanName());
+                            return false;
+                        }
+                    }
+
+                    // Must have a valid next trigger time
+                    return plugin.getCurrentStartTriggerTime().isPresent();
+                })
+                .collect(Collectors.toList());
+
+        if (filteredPlugins.isEmpty()) {
+            return Optional.empty();
+        }
+        // Different prioritization logic based on whether we're looking within a time window
+        List<T> candidatePlugins;
+        if (timeWindow != null) {
+            // When looking within a time window, prioritize by priority first (user wants to see what's coming up)
+            // Find the highest priority plugins within the time window
+            int highestPriority = filteredPlugins.stream()
+                    .mapToInt(ScheduleCandidate::getPriority)
+                    .max()
+                    .orElse(0);
+
+            candidatePlugins = filteredPlugins.stream()
+                    .filter(p -> p.getPriority() == highestPriority)
+                    .collect(Collectors.toList());
+        } else {
+            // When no time window, prioritize due-to-run status over priority (for immediate execution)
+            List<T> duePlugins = filteredPlugins.stream()
+                    .filter(ScheduleCandidate::isDueToRun)
+                    .collect(Collectors.toList());
+            List<T> notDuePlugins = filteredPlugins.stream()
+                    .filter(p -> !p.isDueToRun())
+                    .collect(Collectors.toList());
+            // Choose the appropriate group - prefer due plugins when available
+            candidatePlugins = !duePlugins.isEmpty() ? duePlugins : notDuePlugins;
+        }
+        // Sort the candidate plugins with weighted selection
+        // This handles both randomizable and non-randomizable plugins
+        List<T> sortedCandidates = sortPluginScheduleEntries(candidatePlugins, true);
+
+        // The first plugin after sorting is our selected plugin
+        if (!sortedCandidates.isEmpty()) {
+            return Optional.of(sortedCandidates.get(0));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Selects the plugin the scheduler should start now, if any.
+     * When non-default plugins are prioritized, a due default plugin is held back while a non-default
+     * plugin is scheduled within the look-ahead window, so the default plugin does not block it.
+     * 
+     * @param plugins                          The scheduled plugins to select from
+     * @param prioritizeNonDefaultPlugins      Whether upcoming non-default plugins hold back default plugins
+     * @param nonDefaultPluginLookAheadMinutes The look-ahead window for upcoming non-default plugins
+     * @return Optional containing the plugin to start, or empty if none should be started now
+     */
+    public static <T extends ScheduleCandidate> Optional<T> selectPluginToStart(List<T> plugins,
+            boolean prioritizeNonDefaultPlugins, int nonDefaultPluginLookAheadMinutes) {
+        if (prioritizeNonDefaultPlugins) {
+            // Look for any upcoming non-default plugin within the configured time window
+            T upcomingNonDefault = selectNextScheduledPlugin(plugins, false,
+                    Duration.ofMinutes(nonDefaultPluginLookAheadMinutes))
+                    .filter(plugin -> !plugin.isDefault())
+                    .orElse(null);
+
+            // If we found an upcoming non-default plugin, check if it's already due to run
+            if (upcomingNonDefault != null && !upcomingNonDefault.isDueToRun()) {
+                // Get the next plugin that's due to run now
+                Optional<T> nextDuePlugin = selectNextScheduledPlugin(plugins, true, null);
+
+                // If the next due plugin is a default plugin, don't start it
+                // Instead, wait for the non-default plugin
+                if (nextDuePlugin.isPresent() && nextDuePlugin.get().isDefault()) {
+                    log.info("\nNot starting default plugin '{}' because non-default plugin '{}' is scheduled within {}[configured] minutes",
+                            nextDuePlugin.get().getCleanName(),
+                            upcomingNonDefault.getCleanName(),
+                            nonDefaultPluginLookAheadMinutes);
+                    return Optional.empty();
+                }
+            }
+        }
+
+        // Get the next plugin that's due to run
+        return selectNextScheduledPlugin(plugins, true, null);
+    }
+
   
 
     public static  Optional<Duration> getScheduleInterval(PluginScheduleEntry plugin) {
@@ -0,0 +1,123 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.util;
+
+import net.runelite.client.plugins.microbot.pluginscheduler.model.ScheduleCandidate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Priority queue of the upcoming start trigger times of the schedule entries.
+ * <p>
+ * The index is rebuilt when the entries change or when any condition is edited or reset (see
+ * {@link TriggerTimeCache#getVersion()}), and otherwise only moves entries out of the queue as their trigger
+ * time is reached. This lets the scheduler skip the selection of the next plugin while every trigger time is
+ * still in the future, and wake up exactly when the earliest one is reached.
+ */
+public class TimeTriggerIndex<T extends ScheduleCandidate> {
+    private static final class Trigger<T> {
+        private final ZonedDateTime time;
+        private final T entry;
+
+        private Trigger(ZonedDateTime time, T entry) {
+            this.time = time;
+            this.entry = entry;
+        }
+    }
+
+    private final Predicate<T> stableTrigger;
+    private final PriorityQueue<Trigger<T>> upcoming = new PriorityQueue<>(Comparator.comparing(trigger -> trigger.time));
+    // entries whose trigger was reached or can change without notice, checked on every selection
+    private final List<T> pending = new ArrayList<>();
+    private final List<T> indexedEntries = new ArrayList<>();
+    private int indexedVersion;
+    private boolean built;
+
+    /**
+     * @param stableTrigger Whether the trigger time of an entry only changes when its conditions are edited,
+     *                      reset, paused or resumed. Other entries are never skipped.
+     */
+    public TimeTriggerIndex(Predicate<T> stableTrigger) {
+        this.stableTrigger = stableTrigger;
+    }
+
+    /**
+     * Gets the earliest trigger time that is still in the future
+     */
+    public synchronized Optional<ZonedDateTime> getNextTriggerTime(List<T> entries) {
+        update(entries);
+        Trigger<T> next = upcoming.peek();
+        return next == null ? Optional.empty() : Optional.of(next.time);
+    }
+
+    /**
+     * Checks if any entry may be due to run, because its trigger time was reached or can change without notice.
+     * When this returns false, no entry can be due before {@link #getNextTriggerTime(List)}.
+     */
+    public synchronized boolean hasPendingEntries(List<T> entries) {
+        update(entries);
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Forces a rebuild, for changes to entries that do not go through their conditions
+     */
+    public synchronized void invalidate() {
+        built = false;
+    }
+
+    private void update(List<T> entries) {
+        ZonedDateTime now = SchedulerClock.now();
+        if (!built || indexedVersion != TriggerTimeCache.getVersion() || !isIndexed(entries)) {
+            rebuild(entries, now);
+            return;
+        }
+        while (!upcoming.isEmpty() && !upcoming.peek().time.isAfter(now)) {
+            pending.add(upcoming.poll().entry);
+        }
+    }
+
+    private boolean isIndexed(List<T> entries) {
+        if (entries.size() != indexedEntries.size()) {
+            return false;
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i) != indexedEntries.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rebuild(List<T> entries, ZonedDateTime now) {
+        upcoming.clear();
+        pending.clear();
+        indexedEntries.clear();
+        indexedEntries.addAll(entries);
+        indexedVersion = TriggerTimeCache.getVersion();
+        built = true;
+
+        for (T entry : entries) {
+            if (!entry.isEnabled()) {
+                continue;
+            }
+            if (entry.isRunning() || !stableTrigger.test(entry)) {
+                pending.add(entry);
+                continue;
+            }
+            Optional<ZonedDateTime> trigger = entry.getCurrentStartTriggerTime();
+            if (trigger.isEmpty()) {
+                continue;
+            }
+            if (trigger.get().isAfter(now)) {
+                upcoming.add(new Trigger<>(trigger.get(), entry));
+            } else {
+                pending.add(entry);
+            }
+        }
+    }
+}
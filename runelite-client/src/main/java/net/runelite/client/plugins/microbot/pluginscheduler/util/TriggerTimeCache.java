@@ -0,0 +1,77 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.util;
+
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.logical.LogicalCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeCondition;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds the precomputed next trigger time of a condition structure, so the scheduler checks and the panel
+ * refreshes do not recompute it from the conditions every time they ask.
+ * <p>
+ * A future trigger time of a stable structure (only time conditions, none paused) is kept until it is reached,
+ * or until a condition is edited, reset, paused or resumed, which changes {@link #getVersion()}.
+ * Trigger times that were already reached, and those of structures with other conditions, can change without
+ * notice and are recomputed at most once per {@link #RECHECK_INTERVAL}.
+ */
+public final class TriggerTimeCache {
+    /**
+     * How long a trigger time that can change without notice is reused, the interval of the scheduler loop
+     */
+    public static final Duration RECHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private static volatile int version;
+
+    private Optional<ZonedDateTime> triggerTime;
+    private int triggerVersion;
+    private ZonedDateTime validUntil;
+
+    /**
+     * Gets a version that changes whenever any condition structure or trigger time changes
+     */
+    public static int getVersion() {
+        return version + TimeCondition.getTriggerVersion() + LogicalCondition.getConditionVersion();
+    }
+
+    /**
+     * Invalidates every cached trigger time, for changes the condition versions do not cover,
+     * like replacing a whole condition structure or enabling a schedule entry
+     */
+    public static void invalidateAll() {
+        version++;
+    }
+
+    /**
+     * Gets the cached trigger time, recomputing it when it is no longer valid
+     *
+     * @param compute Computes the trigger time from the conditions
+     * @param stable  Whether the trigger time only changes when the conditions are edited, reset, paused or resumed
+     * @return The next trigger time
+     */
+    public synchronized Optional<ZonedDateTime> get(Supplier<Optional<ZonedDateTime>> compute, BooleanSupplier stable) {
+        ZonedDateTime now = SchedulerClock.now();
+        int currentVersion = getVersion();
+        if (triggerTime != null && triggerVersion == currentVersion && now.isBefore(validUntil)) {
+            return triggerTime;
+        }
+
+        triggerTime = compute.get();
+        triggerVersion = currentVersion;
+        ZonedDateTime recheck = now.plus(RECHECK_INTERVAL);
+        validUntil = triggerTime.isPresent() && triggerTime.get().isAfter(recheck) && stable.getAsBoolean()
+                ? triggerTime.get()
+                : recheck;
+        return triggerTime;
+    }
+
+    /**
+     * Drops the cached trigger time of this structure
+     */
+    public synchronized void invalidate() {
+        triggerTime = null;
+    }
+}
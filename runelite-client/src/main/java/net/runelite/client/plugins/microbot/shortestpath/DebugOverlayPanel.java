@@ -75,6 +75,11 @@ public class DebugOverlayPanel extends OverlayPanel {
         String time = String.format("%.2fms", milliTime);
         components.add(makeLine("Time:", time));
 
+        if (stats.isReplan()) {
+            String replan = String.format("%.2fms", stats.getReplanLatencyNanos() / 1000000.0);
+            components.add(makeLine("Replan:", replan));
+        }
+
         return super.render(graphics);
     }
 
@@ -0,0 +1,18 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public enum PathfinderAlgorithm {
+	BREADTH_FIRST("Breadth-first"),
+	BIDIRECTIONAL_A_STAR("Bidirectional A*"),
+	INCREMENTAL("Incremental (D* Lite)"),
+	HIERARCHICAL("Hierarchical (HPA*)");
+
+	private final String type;
+
+	@Override
+	public String toString() {
+		return type;
+	}
+}
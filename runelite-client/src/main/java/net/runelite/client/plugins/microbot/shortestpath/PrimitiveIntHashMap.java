@@ -206,8 +206,8 @@ public class PrimitiveIntHashMap<V> {
                     }
 
                     if (bInd >= newBucket.length) {
+                        // Keep going, the rest of the old buckets still has to be moved over
                         growBucket(bucketIndex)[newBucket.length] = oldBucket[ind];
-                        return;
                     }
                 }
             }
@@ -353,6 +353,23 @@ public interface ShortestPathConfig extends Config {
         return 5;
     }
 
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "Breadth-first explores outwards from the start until the target is found.<br>" +
+                    "Bidirectional A* searches from both the start and the target towards each other,<br>" +
+                    "which explores far fewer tiles on long routes while finding paths of the same cost.<br>" +
+                    "Incremental searches backwards from the target and keeps its search when the path is<br>" +
+                    "recalculated for the same target, so only the changed part has to be searched again.<br>" +
+                    "Hierarchical plans the route from region to region first and then only searches the tiles<br>" +
+                    "of the regions along that route, which keeps long walks well within the cutoff",
+            position = 28,
+            section = sectionSettings
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm() {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
     @ConfigSection(
             name = "Display",
             description = "Options for displaying the path on the world map, minimap and scene tiles",
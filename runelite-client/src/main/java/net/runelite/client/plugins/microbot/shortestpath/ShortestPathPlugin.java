@@ -28,9 +28,14 @@ import lombok.Setter;
 import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.WorldMap;
@@ -46,7 +51,10 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathDependencies;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathQueryService;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderBenchmark;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.SplitFlagMap;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
@@ -88,6 +96,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     private static final String PLUGIN_MESSAGE_START = "start";
     private static final String PLUGIN_MESSAGE_TARGET = "target";
 	private static final String PLUGIN_MESSAGE_CONFIG_OVERRIDE = "config";
+    private static final String PLUGIN_MESSAGE_BENCHMARK = "benchmark";
+    private static final int BENCHMARK_ITERATIONS = 5;
+    private static final int PATH_QUERY_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
     private static final String CLEAR = "Clear";
     private static final String PATH = ColorUtil.wrapWithColorTag("Path", JagexColors.MENU_TARGET);
     private static final String SET = "Set";
@@ -184,6 +195,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     @Getter
     public static PathfinderConfig pathfinderConfig;
     @Getter
+    public static volatile PathQueryService pathQueryService;
+    // The vars, items and skills the cached path queries depend on
+    private PathDependencies pathDependencies;
+    @Getter
     @Setter
     public static boolean startPointSet = false;
     @Setter
@@ -202,6 +217,11 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
         List<Restriction> restrictions = Restriction.loadAllFromResources();
         pathfinderConfig = new PathfinderConfig(map, transports, restrictions, client, config);
+        pathfinderConfig.loadLandmarkTable();
+        pathfinderConfig.precomputeRegionGraph();
+        pathDependencies = new PathDependencies(transports, restrictions);
+        pathQueryService = new PathQueryService(pathfinderConfig, client, PATH_QUERY_THREADS);
+        clientThread.invokeLater(this::updatePathDependencies);
 
         panel = injector.getInstance(ShortestPathPanel.class);
         final BufferedImage icon = ImageUtil.loadImageResource(ShortestPathPlugin.class, "panel_icon.png");
@@ -243,6 +263,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         panel = null;
 
         shortestPathScript.shutdown();
+        if (pathQueryService != null) {
+            pathQueryService.shutdown();
+            pathQueryService = null;
+        }
 
         exit();
         keyManager.unregisterKeyListener(this);
@@ -259,7 +283,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
     public void restartPathfinding(WorldPoint start, Set<WorldPoint> ends, boolean canReviveFiltered) {
         ExecutorService executor;
+        final Pathfinder previous;
         synchronized (pathfinderMutex) {
+            previous = pathfinder;
             if (pathfinder != null) {
                 pathfinder.cancel();
                 pathfinderFuture.cancel(true);
@@ -280,7 +306,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
                 if (ends.isEmpty()) {
                     setTarget(null);
                 } else {
-                    pathfinder = new Pathfinder(pathfinderConfig, start, ends);
+                    pathfinder = previous != null ? previous.replan(pathfinderConfig, start, ends) : new Pathfinder(pathfinderConfig, start, ends);
                     pathfinderFuture = finalExecutor.submit(pathfinder);
                 }
             }
@@ -340,8 +366,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
             return;
         }
 
-        // Transport option changed; rerun pathfinding
-        if (TRANSPORT_OPTIONS_REGEX.matcher(event.getKey()).find()) {
+        // Transport or search option changed; rerun pathfinding
+        if (TRANSPORT_OPTIONS_REGEX.matcher(event.getKey()).find() || "pathfinderAlgorithm".equals(event.getKey())) {
+            pathfinderConfig.precomputeRegionGraph();
+            invalidatePathQueries();
             if (pathfinder != null) {
                 restartPathfinding(pathfinder.getStart(), pathfinder.getTargets());
             }
@@ -369,6 +397,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
                     ShortestPathPlugin.configOverride.put(key, configOverride.get(key));
 				}
 				cacheConfigValues();
+				invalidatePathQueries();
 			}
 
 			if (objStart == null && objTarget == null) {
@@ -420,7 +449,16 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		} else if (PLUGIN_MESSAGE_CLEAR.equals(action)) {
 			ShortestPathPlugin.configOverride.clear();
 			cacheConfigValues();
+			invalidatePathQueries();
 			setTarget(null);
+		} else if (PLUGIN_MESSAGE_BENCHMARK.equals(action)) {
+			getClientThread().invokeLater(() -> {
+				pathfinderConfig.refresh();
+				ExecutorService executor = pathfindingExecutor;
+				if (executor != null) {
+					executor.submit(() -> PathfinderBenchmark.run(pathfinderConfig, BENCHMARK_ITERATIONS));
+				}
+			});
 		}
 	}
 
@@ -444,6 +482,67 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		pathStyle = override("pathStyle", config.pathStyle());
 	}
 
+    // The cached path queries only depend on the vars, items and levels that transports and restrictions check
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        PathQueryService service = pathQueryService;
+        if (service != null && pathDependencies.isRelevantVar(event.getVarbitId(), event.getVarpId())) {
+            service.dependencyChanged(PathQueryService.Dependency.VARS);
+        }
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        PathQueryService service = pathQueryService;
+        if (service == null) {
+            return;
+        }
+        final int containerId = event.getContainerId();
+        if (containerId == InventoryID.INV || containerId == InventoryID.WORN) {
+            service.updateDependency(PathQueryService.Dependency.ITEMS, carriedItemState());
+        } else if (containerId == InventoryID.BANK) {
+            service.updateDependency(PathQueryService.Dependency.BANK, pathDependencies.itemState(client, event.getItemContainer()));
+        }
+    }
+
+    @Subscribe
+    public void onStatChanged(StatChanged event) {
+        PathQueryService service = pathQueryService;
+        if (service != null && pathDependencies.isRelevantSkill(event.getSkill())) {
+            service.updateDependency(PathQueryService.Dependency.SKILLS, pathDependencies.skillState(client));
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGGED_IN) {
+            updatePathDependencies();
+        }
+    }
+
+    /**
+     * Reports the carried items and levels, which only drops cached paths if they changed since the last report
+     */
+    private void updatePathDependencies() {
+        PathQueryService service = pathQueryService;
+        if (service != null) {
+            service.updateDependency(PathQueryService.Dependency.ITEMS, carriedItemState());
+            service.updateDependency(PathQueryService.Dependency.SKILLS, pathDependencies.skillState(client));
+        }
+    }
+
+    private long carriedItemState() {
+        return pathDependencies.itemState(client,
+                client.getItemContainer(InventoryID.INV), client.getItemContainer(InventoryID.WORN));
+    }
+
+    private static void invalidatePathQueries() {
+        PathQueryService service = pathQueryService;
+        if (service != null) {
+            service.invalidate();
+        }
+    }
+
     @Subscribe
     public void onMenuOpened(MenuOpened event) {
         lastMenuOpenedPoint = client.getMouseCanvasPosition();
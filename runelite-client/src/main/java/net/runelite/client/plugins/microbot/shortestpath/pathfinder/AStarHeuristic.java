@@ -0,0 +1,249 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admissible distance estimates for the A* searches.
+ * <p>
+ * Walking moves one tile per unit of cost, so the Chebyshev distance is a lower bound for a walk on the same plane.
+ * A single transport can move the player across the map (or to another plane) though, so the straight line estimate
+ * is capped by the cheapest way a transport could bring the player next to the target (or away from the start).
+ * <p>
+ * When a {@link LandmarkTable} is available, the triangle inequality with the landmark distances gives a much
+ * tighter bound for routes across the map. The landmark distances are kept per region, so these bounds are not
+ * consistent and the searches have to reopen nodes when they find a cheaper way to them.
+ */
+class AStarHeuristic {
+    private final int start;
+    private final int[] targets;
+
+    // Lowest (transport cost + distance from its destination to any target) over all usable transports
+    private final int transportToTarget;
+    // Lowest (distance from the start to a transport origin + transport cost) over all usable transports
+    private final int transportFromStart;
+
+    private final LandmarkTable landmarks;
+    // Lower bound of the distance from each landmark to the closest target
+    private int[] targetMinFrom;
+    // Upper bound of the distance from the furthest target to each landmark, or INCOMPLETE
+    private int[] targetMaxTo;
+    // Upper bound of (distance from each landmark to the start or a teleport destination - teleport cost), or INCOMPLETE
+    private int[] startMaxFrom;
+    // Lower bound of (distance from the start or a teleport destination to each landmark + teleport cost)
+    private int[] startMinTo;
+    // Lowest (teleport cost + estimate from its destination) over teleports registered away from the start
+    private int teleportToTarget = Integer.MAX_VALUE;
+    // Teleport destinations without a step or transport leading onto them, sorted
+    private int[] unanchoredDestinations;
+    // Tiles away from the start with teleports but without a step or transport leading off them, sorted
+    private int[] unanchoredOrigins;
+
+    AStarHeuristic(PathfinderConfig config, int start, Set<Integer> targets) {
+        this.start = start;
+        this.targets = targets.stream().mapToInt(Integer::intValue).toArray();
+
+        long toTarget = Integer.MAX_VALUE;
+        long fromStart = Integer.MAX_VALUE;
+        // Teleport destination and cost pairs, with the origin for teleports away from the start
+        List<int[]> teleports = new ArrayList<>();
+        List<int[]> remoteTeleports = new ArrayList<>();
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            final long originDistance = distance(start, origin);
+            for (Transport transport : entry.getValue()) {
+                if (transport.getDestination() == null) {
+                    continue;
+                }
+                final int cost = transportCost(config, transport);
+                if (cost < 0) {
+                    continue;
+                }
+                final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                toTarget = Math.min(toTarget, cost + minDistance(destination, this.targets));
+                fromStart = Math.min(fromStart, originDistance + cost);
+                if (TransportType.isTeleport(transport.getType())) {
+                    teleports.add(new int[]{destination, cost});
+                    if (origin != start) {
+                        remoteTeleports.add(new int[]{destination, cost, origin});
+                    }
+                }
+            }
+        }
+
+        transportToTarget = (int) Math.min(toTarget, Integer.MAX_VALUE);
+        transportFromStart = (int) Math.min(fromStart, Integer.MAX_VALUE);
+
+        landmarks = config.getLandmarkTable();
+        if (landmarks != null) {
+            initLandmarks(teleports, remoteTeleports);
+        }
+    }
+
+    /**
+     * Prepares the per landmark bounds of the start and targets. Each bound is only used when every tile it covers is
+     * known to be reachable in the landmark graph, since the region upper bounds say nothing about other tiles.
+     */
+    private void initLandmarks(List<int[]> teleports, List<int[]> remoteTeleports) {
+        final LandmarkTable.LandmarkGraph graph = landmarks.getGraph();
+        final int count = landmarks.getLandmarkCount();
+        targetMinFrom = new int[count];
+        targetMaxTo = new int[count];
+        startMaxFrom = new int[count];
+        startMinTo = new int[count];
+
+        boolean targetsLeavable = true;
+        for (int target : targets) {
+            targetsLeavable &= graph.hasOutgoingEdge(target);
+        }
+        boolean startsEnterable = graph.hasIncomingEdge(start);
+        List<Integer> unanchored = new ArrayList<>();
+        for (int[] teleport : teleports) {
+            if (!graph.hasIncomingEdge(teleport[0])) {
+                startsEnterable = false;
+                unanchored.add(teleport[0]);
+            }
+        }
+        unanchoredDestinations = unanchored.stream().mapToInt(Integer::intValue).sorted().toArray();
+        unanchored.clear();
+        for (int[] teleport : remoteTeleports) {
+            if (!graph.hasOutgoingEdge(teleport[2])) {
+                unanchored.add(teleport[2]);
+            }
+        }
+        unanchoredOrigins = unanchored.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        final int startRegion = landmarks.regionPlaneOf(start);
+        for (int i = 0; i < count; i++) {
+            long minFrom = Integer.MAX_VALUE;
+            long maxTo = 0;
+            for (int target : targets) {
+                final int targetRegion = landmarks.regionPlaneOf(target);
+                minFrom = Math.min(minFrom, lowerBound(landmarks.getMinFrom(i, targetRegion)));
+                maxTo = targetsLeavable ? Math.max(maxTo, upperBound(landmarks.getMaxTo(i, targetRegion))) : Integer.MAX_VALUE;
+            }
+            targetMinFrom[i] = (int) minFrom;
+            targetMaxTo[i] = maxTo >= Integer.MAX_VALUE ? LandmarkTable.INCOMPLETE : (int) maxTo;
+
+            int maxFrom = landmarks.getMaxFrom(i, startRegion);
+            boolean complete = startsEnterable && maxFrom != LandmarkTable.INCOMPLETE;
+            long minTo = lowerBound(landmarks.getMinTo(i, startRegion));
+            for (int[] teleport : teleports) {
+                final int destinationRegion = landmarks.regionPlaneOf(teleport[0]);
+                final int destinationMaxFrom = landmarks.getMaxFrom(i, destinationRegion);
+                complete &= destinationMaxFrom != LandmarkTable.INCOMPLETE;
+                maxFrom = Math.max(maxFrom, destinationMaxFrom - teleport[1]);
+                minTo = Math.min(minTo, lowerBound(landmarks.getMinTo(i, destinationRegion)) + teleport[1]);
+            }
+            startMaxFrom[i] = complete ? Math.max(maxFrom, 0) : LandmarkTable.INCOMPLETE;
+            startMinTo[i] = (int) minTo;
+        }
+
+        for (int[] teleport : remoteTeleports) {
+            teleportToTarget = (int) Math.min(teleportToTarget, (long) teleport[1] + toTarget(teleport[0]));
+        }
+    }
+
+    /**
+     * The cost of travelling with a transport as used by {@link CollisionMap#getNeighbors},
+     * or -1 if the transport is skipped by the current configuration.
+     */
+    static int transportCost(PathfinderConfig config, Transport transport) {
+        if (TransportType.isTeleport(transport.getType())) {
+            if (config.isIgnoreTeleportAndItems()) {
+                return -1;
+            }
+            return config.getDistanceBeforeUsingTeleport() + transport.getDuration();
+        }
+        return transport.getDuration();
+    }
+
+    /** Lower bound of the cost from the packed point to the closest target */
+    int toTarget(int packedPoint) {
+        int estimate = (int) Math.min(minDistance(packedPoint, targets), transportToTarget);
+        if (landmarks == null || packedPoint == start) {
+            return estimate;
+        }
+
+        // Teleports are registered on the start tile, which an optimal path never comes back to
+        final int region = landmarks.regionPlaneOf(packedPoint);
+        final boolean anchored = !contains(unanchoredDestinations, packedPoint);
+        for (int i = 0; i < targetMinFrom.length; i++) {
+            final int maxFrom = landmarks.getMaxFrom(i, region);
+            if (anchored && maxFrom != LandmarkTable.INCOMPLETE) {
+                estimate = Math.max(estimate, targetMinFrom[i] - maxFrom);
+            }
+            if (targetMaxTo[i] != LandmarkTable.INCOMPLETE) {
+                estimate = Math.max(estimate, lowerBound(landmarks.getMinTo(i, region)) - targetMaxTo[i]);
+            }
+        }
+        return Math.min(estimate, teleportToTarget);
+    }
+
+    /** Lower bound of the cost from the start to the packed point */
+    int fromStart(int packedPoint) {
+        int estimate = (int) Math.min(distance(start, packedPoint), transportFromStart);
+        if (landmarks == null || packedPoint == start || isTarget(packedPoint)) {
+            return estimate;
+        }
+
+        final int region = landmarks.regionPlaneOf(packedPoint);
+        final boolean anchored = !contains(unanchoredOrigins, packedPoint);
+        for (int i = 0; i < startMaxFrom.length; i++) {
+            if (startMaxFrom[i] != LandmarkTable.INCOMPLETE) {
+                estimate = Math.max(estimate, lowerBound(landmarks.getMinFrom(i, region)) - startMaxFrom[i]);
+            }
+            final int maxTo = landmarks.getMaxTo(i, region);
+            if (anchored && maxTo != LandmarkTable.INCOMPLETE) {
+                estimate = Math.max(estimate, startMinTo[i] - maxTo);
+            }
+        }
+        return estimate;
+    }
+
+    private boolean isTarget(int packedPoint) {
+        for (int target : targets) {
+            if (target == packedPoint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Unreachable regions are treated as unknown, so that a disconnected target still gets a usable estimate
+    private static int lowerBound(int distance) {
+        return distance == LandmarkTable.UNREACHABLE ? 0 : distance;
+    }
+
+    private static long upperBound(int distance) {
+        return distance == LandmarkTable.INCOMPLETE ? Integer.MAX_VALUE : distance;
+    }
+
+    private static boolean contains(int[] sorted, int packedPoint) {
+        return sorted.length > 0 && Arrays.binarySearch(sorted, packedPoint) >= 0;
+    }
+
+    private static long minDistance(int packedPoint, int[] targets) {
+        long min = Integer.MAX_VALUE;
+        for (int target : targets) {
+            min = Math.min(min, distance(packedPoint, target));
+        }
+        return min;
+    }
+
+    // Points on different planes can only be connected by a transport, which the transport bounds already cover
+    private static long distance(int a, int b) {
+        if (WorldPointUtil.unpackWorldPlane(a) != WorldPointUtil.unpackWorldPlane(b)) {
+            return Integer.MAX_VALUE;
+        }
+        return WorldPointUtil.distanceBetween2D(a, b);
+    }
+}
@@ -3,12 +3,12 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
-import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 
@@ -67,17 +67,19 @@ public class CollisionMap {
         return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
-    private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
-        final int x = WorldPointUtil.unpackWorldX(startPacked);
-        final int y = WorldPointUtil.unpackWorldY(startPacked);
-        final int plane = WorldPointUtil.unpackWorldPlane(startPacked);
-        return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
-    }
-
     // This is only safe if pathfinding is single-threaded
     private final List<Node> neighbors = new ArrayList<>(16);
     private final boolean[] traversable = new boolean[8];
 
+    // Neighbours found by the last call to the packed getNeighbors, also only safe if pathfinding is single-threaded
+    private int[] neighborPositions = new int[16];
+    private int[] neighborCosts = new int[16];
+    private boolean[] neighborTransports = new boolean[16];
+
+    // Set once per search, as looking up the player location for every expanded node is far too slow
+    private boolean inToaPuzzleRoom;
+    private boolean skipTeleports;
+
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
             new WorldPoint(3141, 3457, 0),
@@ -99,26 +101,76 @@ public class CollisionMap {
             new WorldPoint(3672, 3862, 0)
     );
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<Integer> targets) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
+    // Sorted packed copy of ignoreCollision for the hotpath
+    private static final int[] IGNORE_COLLISION_PACKED = ignoreCollision.stream()
+            .mapToInt(WorldPointUtil::packWorldPoint)
+            .sorted()
+            .distinct()
+            .toArray();
+
+    static boolean isCollisionIgnored(int packedPoint) {
+        return Arrays.binarySearch(IGNORE_COLLISION_PACKED, packedPoint) >= 0;
+    }
+
+    /**
+     * Whether the search avoids the moving floor tiles of the ToA puzzle room. The pathfinder sets this at the
+     * start of each search.
+     */
+    public void setInToaPuzzleRoom(boolean inToaPuzzleRoom) {
+        this.inToaPuzzleRoom = inToaPuzzleRoom;
+    }
 
+    /**
+     * Whether {@link #getNeighbors} leaves out the teleports registered on a tile. The incremental search handles
+     * teleports as steps from its own start and sets this while it searches.
+     */
+    void setSkipTeleports(boolean skipTeleports) {
+        this.skipTeleports = skipTeleports;
+    }
+
+    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<Integer> targets) {
         neighbors.clear();
 
-        Set<Transport> transports = config.getTransports().getOrDefault(WorldPointUtil.unpackWorldPoint(node.packedPosition), Collections.emptySet());
+        final int count = getNeighbors(node.packedPosition, node.cost, visited, config, targets);
+        for (int i = 0; i < count; i++) {
+            if (neighborTransports[i]) {
+                neighbors.add(new TransportNode(neighborPositions[i], node, neighborCosts[i] - node.cost));
+            } else {
+                neighbors.add(new Node(neighborPositions[i], node, neighborCosts[i]));
+            }
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Allocation free version of {@link #getNeighbors(Node, VisitedTiles, PathfinderConfig, Set)}.
+     * The neighbours are kept in this map until the next call and can be read back with {@link #getNeighborPosition},
+     * {@link #getNeighborCost} and {@link #isNeighborTransport}.
+     *
+     * @return the number of neighbours found
+     */
+    public int getNeighbors(int packedPosition, int cost, VisitedTiles visited, PathfinderConfig config, Set<Integer> targets) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
+
+        int count = 0;
+
+        Set<Transport> transports = config.getTransportsPacked().getOrDefault(packedPosition, Collections.emptySet());
 
         // Transports are pre-filtered by PathfinderConfig.refreshTransports
         // Thus any transports in the list are guaranteed to be valid per the user's settings
         for (Transport transport : transports) {
             //START microbot variables
-            if (visited.get(transport.getDestination())) continue;
+            final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+            if (visited.get(destination)) continue;
 
             if (TransportType.isTeleport(transport.getType())) {
-                if (config.isIgnoreTeleportAndItems()) continue;
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
+                if (skipTeleports || config.isIgnoreTeleportAndItems()) continue;
+                count = addNeighbor(count, destination, cost + config.getDistanceBeforeUsingTeleport() + transport.getDuration(), true);
             } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration()));
+                count = addNeighbor(count, destination, cost + transport.getDuration(), true);
             }
             //END microbot variables
         }
@@ -151,15 +203,15 @@ public class CollisionMap {
             traversable[7] = ne(x, y, z);
         }
 
+        final boolean collisionIgnored = isCollisionIgnored(packedPosition);
         for (int i = 0; i < traversable.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
+            int neighborPacked = WorldPointUtil.packWorldPoint(x + d.x, y + d.y, z);
             if (visited.get(neighborPacked)) continue;
-            if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
-            if (config.getCustomRestrictions().contains(neighborPacked)) continue;
+            if (config.isRestricted(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            if (collisionIgnored) {
+                count = addNeighbor(count, neighborPacked, cost + 1, false);
                 continue;
             }
 
@@ -167,7 +219,7 @@ public class CollisionMap {
              * This piece of code is designed to allow web walker to be used in toa puzzle room
              * it will dodge specific tiles in the sequence room
              */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
+            if (inToaPuzzleRoom) { //toa puzzle room
                 if (!targets.contains(neighborPacked)) {
                     WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(WorldPointUtil.unpackWorldPoint(neighborPacked));
                     if (globalWorldPoint != null) {
@@ -180,20 +232,144 @@ public class CollisionMap {
             }
 
             if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
+                count = addNeighbor(count, neighborPacked, cost + 1, false);
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
-                Set<Transport> neighborTransports = config.getTransports().getOrDefault(WorldPointUtil.unpackWorldPoint(neighborPacked), Collections.emptySet());
+                Set<Transport> neighborTransports = config.getTransportsPacked().getOrDefault(neighborPacked, Collections.emptySet());
                 for (Transport transport : neighborTransports) {
-                    if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
+                    if (transport.getOrigin() == null) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    final int origin = WorldPointUtil.packWorldPoint(transport.getOrigin());
+                    if (visited.get(origin)) {
+                        continue;
+                    }
+                    count = addNeighbor(count, origin, cost + WorldPointUtil.distanceBetween(packedPosition, origin), false);
                 }
             }
         }
 
-        return neighbors;
+        return count;
+    }
+
+    public int getNeighborPosition(int index) {
+        return neighborPositions[index];
+    }
+
+    public int getNeighborCost(int index) {
+        return neighborCosts[index];
+    }
+
+    public boolean isNeighborTransport(int index) {
+        return neighborTransports[index];
+    }
+
+    private int addNeighbor(int count, int packedPosition, int cost, boolean transport) {
+        if (count == neighborPositions.length) {
+            // Only tiles with many transports (e.g. all teleports on the start tile) need more room
+            neighborPositions = Arrays.copyOf(neighborPositions, count * 2);
+            neighborCosts = Arrays.copyOf(neighborCosts, count * 2);
+            neighborTransports = Arrays.copyOf(neighborTransports, count * 2);
+        }
+        neighborPositions[count] = packedPosition;
+        neighborCosts[count] = cost;
+        neighborTransports[count] = transport;
+        return count + 1;
+    }
+
+    // This is only safe if pathfinding is single-threaded
+    private final List<Node> predecessors = new ArrayList<>(16);
+
+    /**
+     * The reverse of {@link #getNeighbors}: returns the nodes from which the given node can be reached in one step.
+     * The returned nodes point towards the given node and their cost is the cost of the node plus the step cost,
+     * which is what a search running backwards from the targets needs.
+     */
+    public List<Node> getPredecessors(Node node, VisitedTiles visited, PathfinderConfig config,
+                                      PrimitiveIntHashMap<List<IncomingTransport>> incomingTransports) {
+        predecessors.clear();
+
+        final int count = getPredecessors(node.packedPosition, node.cost, visited, config, incomingTransports);
+        for (int i = 0; i < count; i++) {
+            predecessors.add(new Node(neighborPositions[i], node, neighborCosts[i]));
+        }
+
+        return predecessors;
+    }
+
+    /**
+     * Allocation free version of {@link #getPredecessors(Node, VisitedTiles, PathfinderConfig, PrimitiveIntHashMap)}.
+     * The predecessors replace the neighbours kept in this map and are read back the same way.
+     *
+     * @return the number of predecessors found
+     */
+    public int getPredecessors(int packedPosition, int cost, VisitedTiles visited, PathfinderConfig config,
+                               PrimitiveIntHashMap<List<IncomingTransport>> incomingTransports) {
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
+
+        int count = 0;
+
+        for (IncomingTransport transport : incomingTransports.getOrDefault(packedPosition, Collections.emptyList())) {
+            if (visited.get(transport.origin)) continue;
+            count = addNeighbor(count, transport.origin, cost + transport.cost, true);
+        }
+
+        // Walking onto a restricted tile is never allowed, only transports may lead there
+        if (config.isRestricted(packedPosition)) {
+            return count;
+        }
+
+        // A blocked tile with transports can be entered from a cardinal neighbour, e.g. fairy ring
+        boolean blockedTransport = false;
+        if (isBlocked(x, y, z)) {
+            for (Transport transport : config.getTransportsPacked().getOrDefault(packedPosition, Collections.emptySet())) {
+                if (transport.getOrigin() != null) {
+                    blockedTransport = true;
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+            OrdinalDirection d = ORDINAL_VALUES[i];
+            final int px = x - d.x;
+            final int py = y - d.y;
+            final int predecessorPacked = WorldPointUtil.packWorldPoint(px, py, z);
+            if (visited.get(predecessorPacked)) continue;
+
+            if (isCollisionIgnored(predecessorPacked)
+                    || isTraversable(px, py, z, i)
+                    || (blockedTransport && Math.abs(d.x + d.y) == 1)) {
+                count = addNeighbor(count, predecessorPacked, cost + 1, false);
+            }
+        }
+
+        return count;
+    }
+
+    // Single direction version of the traversable checks in getNeighbors
+    boolean isTraversable(int x, int y, int z, int direction) {
+        if (isBlocked(x, y, z)) {
+            OrdinalDirection d = ORDINAL_VALUES[direction];
+            if (isBlocked(x + d.x, y + d.y, z)) {
+                return false;
+            }
+            return d.x == 0 || d.y == 0 || (!isBlocked(x + d.x, y, z) && !isBlocked(x, y + d.y, z));
+        }
+
+        switch (direction) {
+            case 0: return w(x, y, z);
+            case 1: return e(x, y, z);
+            case 2: return s(x, y, z);
+            case 3: return n(x, y, z);
+            case 4: return sw(x, y, z);
+            case 5: return se(x, y, z);
+            case 6: return nw(x, y, z);
+            case 7: return ne(x, y, z);
+            default: return false;
+        }
     }
 }
@@ -0,0 +1,14 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+/**
+ * A transport seen from its destination, used to walk the transport graph backwards.
+ */
+class IncomingTransport {
+    final int origin;
+    final int cost;
+
+    IncomingTransport(int origin, int cost) {
+        this.origin = origin;
+        this.cost = cost;
+    }
+}
@@ -0,0 +1,621 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Search state that is kept between searches to the same targets, so that a new search only repairs what changed
+ * since the previous one instead of starting over.
+ * <p>
+ * This is D* Lite without a heuristic, i.e. LPA* rooted at the targets. It searches backwards from the targets and
+ * keeps for each tile the cost of the best path from it to a target (g) and a one step lookahead of that cost (rhs).
+ * A start that has moved only has to be settled, which costs nothing when it is inside the part of the map that was
+ * searched before. Changed restrictions are repaired by updating the tiles that can step onto them.
+ * <p>
+ * Teleports are steps from the current start, like the teleports the other searches register on the start tile.
+ * Any other change to the transports starts the search over.
+ */
+class IncrementalSearch {
+    private static final int INFINITY = Integer.MAX_VALUE;
+    // Searches that grow beyond this many tiles start over rather than keep growing
+    private static final int MAX_TILES = 1 << 22;
+
+    private final PathfinderConfig config;
+    private final int[] targets;
+    private final Set<Integer> targetSet;
+    private final boolean targetInWilderness;
+
+    private final TileCosts costs = new TileCosts(1 << 16);
+    private final KeyQueue queue = new KeyQueue(4096);
+    private boolean initialized = false;
+    private long transportSignature;
+    private int[] restrictedPoints;
+    private int start = WorldPointUtil.UNDEFINED;
+    // Teleport destinations usable from the start, sorted, with the cost of the cheapest teleport to each
+    private int[] teleportDestinations;
+    private int[] teleportCosts;
+    private PrimitiveIntHashMap<List<IncomingTransport>> incomingTransports;
+
+    // Set for the duration of a search
+    private CollisionMap map;
+    private VisitedTiles unvisited;
+    private int[] predecessorPositions = new int[16];
+    private int[] predecessorCosts = new int[16];
+
+    private int expandedTiles;
+    private boolean repaired;
+
+    IncrementalSearch(PathfinderConfig config, int[] targets, Set<Integer> targetSet, boolean targetInWilderness) {
+        this.config = config;
+        this.targets = targets;
+        this.targetSet = targetSet;
+        this.targetInWilderness = targetInWilderness;
+    }
+
+    /** The number of tiles expanded by the last search */
+    int getExpandedTiles() {
+        return expandedTiles;
+    }
+
+    /** Whether the last search repaired the previous search tree rather than starting over */
+    boolean isRepaired() {
+        return repaired;
+    }
+
+    /**
+     * Searches from the given start, repairing the state of the previous search where possible.
+     *
+     * @return the last node of the path to the closest target, or null if there is no path or the search was cancelled
+     */
+    synchronized Node search(int newStart, BooleanSupplier cancelled) {
+        expandedTiles = 0;
+        map = config.getMap();
+        if (unvisited == null) {
+            // Nothing is ever marked as visited, the empty set only keeps the search on the map
+            unvisited = new VisitedTiles(map);
+        }
+
+        map.setSkipTeleports(true);
+        try {
+            final long signature = transportSignature();
+            repaired = initialized && signature == transportSignature;
+            if (!repaired) {
+                reset(newStart, signature);
+            } else {
+                repairRestrictions();
+                if (newStart != start) {
+                    // The teleports move from the old start to the new one
+                    final int oldStart = start;
+                    start = newStart;
+                    updateTile(oldStart);
+                    updateTile(newStart);
+                }
+            }
+
+            if (!settleStart(cancelled)) {
+                return null;
+            }
+            return getCost(start) == INFINITY ? null : buildPath();
+        } finally {
+            map.setSkipTeleports(false);
+        }
+    }
+
+    private void reset(int newStart, long signature) {
+        costs.clear();
+        queue.clear();
+        start = newStart;
+        transportSignature = signature;
+        restrictedPoints = config.getRestrictedPointsSorted();
+        incomingTransports = getIncomingTransports();
+        initTeleports();
+        for (int target : targets) {
+            final int slot = costs.insert(target);
+            costs.rhs[slot] = 0;
+            queueIfInconsistent(slot);
+        }
+        initialized = true;
+    }
+
+    /**
+     * Runs the backwards search until the cost of the start is known.
+     *
+     * @return false if the search was cancelled or has grown too large, in which case it starts over next time
+     */
+    private boolean settleStart(BooleanSupplier cancelled) {
+        while (!queue.isEmpty()) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            if (costs.size() > MAX_TILES) {
+                initialized = false;
+                return false;
+            }
+
+            final int startSlot = costs.find(start);
+            final int startKey = startSlot < 0 ? INFINITY : Math.min(costs.g[startSlot], costs.rhs[startSlot]);
+            final boolean startConsistent = startSlot < 0 || costs.g[startSlot] == costs.rhs[startSlot];
+            if (queue.peekKey() >= startKey && startConsistent) {
+                break;
+            }
+
+            final int position = queue.peekPosition();
+            final int key = queue.peekKey();
+            queue.poll();
+            final int slot = costs.find(position);
+            if (costs.queuedKey[slot] != key) {
+                continue; // The tile was queued again with another key after this entry
+            }
+            costs.queuedKey[slot] = INFINITY;
+            ++expandedTiles;
+
+            if (costs.g[slot] > costs.rhs[slot]) {
+                // The cost has dropped, which can only lower the lookahead of the tiles that step onto this one
+                final int cost = costs.rhs[slot];
+                costs.g[slot] = cost;
+                final int count = getPredecessors(position, cost);
+                for (int i = 0; i < count; i++) {
+                    final int predecessor = predecessorPositions[i];
+                    if (isTarget(predecessor)) {
+                        continue;
+                    }
+                    int predecessorSlot = costs.find(predecessor);
+                    if (predecessorSlot < 0) {
+                        predecessorSlot = costs.insert(predecessor);
+                    }
+                    if (predecessorCosts[i] < costs.rhs[predecessorSlot]) {
+                        costs.rhs[predecessorSlot] = predecessorCosts[i];
+                        queueIfInconsistent(predecessorSlot);
+                    }
+                }
+            } else {
+                // The cost has risen, so every tile whose lookahead went through this one has to look again
+                final int oldCost = costs.g[slot];
+                costs.g[slot] = INFINITY;
+                final int count = getPredecessors(position, oldCost);
+                updateTile(position);
+                for (int i = 0; i < count; i++) {
+                    final int predecessorSlot = costs.find(predecessorPositions[i]);
+                    if (predecessorSlot >= 0 && costs.rhs[predecessorSlot] == predecessorCosts[i]) {
+                        updateTile(predecessorPositions[i]);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the tiles that can step onto the given tile into the predecessor buffers, since the neighbour buffers
+     * of the collision map are reused by {@link #updateTile}. The costs include the given cost of the tile.
+     */
+    private int getPredecessors(int position, int cost) {
+        int count = map.getPredecessors(position, cost, unvisited, config, incomingTransports);
+        final int teleport = Arrays.binarySearch(teleportDestinations, position);
+        final int total = teleport >= 0 && start != position ? count + 1 : count;
+        if (total > predecessorPositions.length) {
+            predecessorPositions = Arrays.copyOf(predecessorPositions, total * 2);
+            predecessorCosts = Arrays.copyOf(predecessorCosts, total * 2);
+        }
+
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            final int predecessor = map.getNeighborPosition(i);
+            if (config.avoidWilderness(predecessor, position, targetInWilderness)) {
+                continue;
+            }
+            predecessorPositions[added] = predecessor;
+            predecessorCosts[added] = map.getNeighborCost(i);
+            ++added;
+        }
+        if (total > count) {
+            predecessorPositions[added] = start;
+            predecessorCosts[added] = cost + teleportCosts[teleport];
+            ++added;
+        }
+        return added;
+    }
+
+    /** Recomputes the lookahead of the tile from its neighbours and queues it when it no longer matches its cost */
+    private void updateTile(int position) {
+        if (isTarget(position)) {
+            return;
+        }
+
+        int slot = costs.find(position);
+        if (slot < 0) {
+            slot = costs.insert(position);
+        }
+
+        int best = INFINITY;
+        final int count = map.getNeighbors(position, 0, unvisited, config, targetSet);
+        for (int i = 0; i < count; i++) {
+            final int neighbor = map.getNeighborPosition(i);
+            if (config.avoidWilderness(position, neighbor, targetInWilderness)) {
+                continue;
+            }
+            final int cost = getCost(neighbor);
+            if (cost != INFINITY) {
+                best = Math.min(best, map.getNeighborCost(i) + cost);
+            }
+        }
+        if (position == start) {
+            for (int i = 0; i < teleportDestinations.length; i++) {
+                final int cost = getCost(teleportDestinations[i]);
+                if (cost != INFINITY) {
+                    best = Math.min(best, teleportCosts[i] + cost);
+                }
+            }
+        }
+
+        costs.rhs[slot] = best;
+        queueIfInconsistent(slot);
+    }
+
+    /** Queues a tile whose cost does not match its lookahead, and takes a consistent tile off the queue */
+    private void queueIfInconsistent(int slot) {
+        if (costs.g[slot] == costs.rhs[slot]) {
+            costs.queuedKey[slot] = INFINITY;
+            return;
+        }
+        final int key = Math.min(costs.g[slot], costs.rhs[slot]);
+        if (costs.queuedKey[slot] != key) {
+            costs.queuedKey[slot] = key;
+            queue.add(costs.keys[slot], key);
+        }
+    }
+
+    private int getCost(int position) {
+        final int slot = costs.find(position);
+        return slot < 0 ? INFINITY : costs.g[slot];
+    }
+
+    /**
+     * Follows the cheapest steps from the start to a target. The costs are consistent along the way once the start
+     * is settled, so there is always a step whose cost plus the cost of the next tile is the remaining cost.
+     */
+    private Node buildPath() {
+        Node node = new Node(start, null, 0);
+        int position = start;
+        int steps = 0;
+        while (!isTarget(position)) {
+            final int remaining = getCost(position);
+            int next = WorldPointUtil.UNDEFINED;
+            int nextStep = INFINITY;
+            final int count = map.getNeighbors(position, 0, unvisited, config, targetSet);
+            for (int i = 0; i < count; i++) {
+                final int neighbor = map.getNeighborPosition(i);
+                if (config.avoidWilderness(position, neighbor, targetInWilderness)) {
+                    continue;
+                }
+                final int cost = getCost(neighbor);
+                if (cost != INFINITY && map.getNeighborCost(i) + cost == remaining) {
+                    next = neighbor;
+                    nextStep = map.getNeighborCost(i);
+                    break;
+                }
+            }
+            if (next == WorldPointUtil.UNDEFINED && position == start) {
+                for (int i = 0; i < teleportDestinations.length; i++) {
+                    final int cost = getCost(teleportDestinations[i]);
+                    if (cost != INFINITY && teleportCosts[i] + cost == remaining) {
+                        next = teleportDestinations[i];
+                        nextStep = teleportCosts[i];
+                        break;
+                    }
+                }
+            }
+            if (next == WorldPointUtil.UNDEFINED || ++steps > costs.size()) {
+                // Should not happen with settled costs, but never loop on a broken tree
+                initialized = false;
+                return null;
+            }
+            node = new Node(next, node, node.cost + nextStep);
+            position = next;
+        }
+        return node;
+    }
+
+    /** Updates the tiles that can walk onto a tile whose restriction has changed */
+    private void repairRestrictions() {
+        final int[] current = config.getRestrictedPointsSorted();
+        if (current == restrictedPoints) {
+            return;
+        }
+
+        final int[] previous = restrictedPoints;
+        restrictedPoints = current;
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < current.length) {
+            final int changed;
+            if (j >= current.length || (i < previous.length && previous[i] < current[j])) {
+                changed = previous[i++];
+            } else if (i >= previous.length || current[j] < previous[i]) {
+                changed = current[j++];
+            } else {
+                ++i;
+                ++j;
+                continue;
+            }
+
+            final int x = WorldPointUtil.unpackWorldX(changed);
+            final int y = WorldPointUtil.unpackWorldY(changed);
+            final int z = WorldPointUtil.unpackWorldPlane(changed);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx != 0 || dy != 0) {
+                        updateTile(WorldPointUtil.packWorldPoint(x + dx, y + dy, z));
+                    }
+                }
+            }
+        }
+    }
+
+    // Transports grouped by destination, without the teleports which are handled as steps from the start
+    private PrimitiveIntHashMap<List<IncomingTransport>> getIncomingTransports() {
+        PrimitiveIntHashMap<List<IncomingTransport>> incoming = new PrimitiveIntHashMap<>(config.getTransports().size());
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            for (Transport transport : entry.getValue()) {
+                if (transport.getDestination() == null || TransportType.isTeleport(transport.getType())) {
+                    continue;
+                }
+                List<IncomingTransport> transports = new ArrayList<>(1);
+                transports.add(new IncomingTransport(origin, transport.getDuration()));
+                // Appends to the existing list when the destination is already known
+                incoming.put(WorldPointUtil.packWorldPoint(transport.getDestination()), transports);
+            }
+        }
+        return incoming;
+    }
+
+    private void initTeleports() {
+        final PrimitiveIntHashMap<Integer> cheapest = new PrimitiveIntHashMap<>(64);
+        final List<Integer> destinations = new ArrayList<>();
+        if (!config.isIgnoreTeleportAndItems()) {
+            for (Transport teleport : config.getUsableTeleports()) {
+                if (teleport.getDestination() == null || teleport.getMaxWildernessLevel() < 0) {
+                    continue;
+                }
+                final int destination = WorldPointUtil.packWorldPoint(teleport.getDestination());
+                final int cost = config.getDistanceBeforeUsingTeleport() + teleport.getDuration();
+                final Integer known = cheapest.get(destination);
+                if (known == null) {
+                    destinations.add(destination);
+                }
+                if (known == null || cost < known) {
+                    cheapest.put(destination, cost);
+                }
+            }
+        }
+
+        teleportDestinations = destinations.stream().mapToInt(Integer::intValue).sorted().toArray();
+        teleportCosts = new int[teleportDestinations.length];
+        for (int i = 0; i < teleportDestinations.length; i++) {
+            teleportCosts[i] = cheapest.get(teleportDestinations[i]);
+        }
+    }
+
+    /**
+     * A summary of everything besides the restrictions that decides which steps exist and what they cost.
+     * The transports are rebuilt on every refresh, so they are compared by content. Teleports are left out where
+     * they have been registered on a tile, since the searches move them to their own start.
+     */
+    private long transportSignature() {
+        long signature = 0;
+        long count = 0;
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            for (Transport transport : entry.getValue()) {
+                if (TransportType.isTeleport(transport.getType())) {
+                    continue;
+                }
+                signature += mix(origin, transport);
+                ++count;
+            }
+        }
+        for (Transport teleport : config.getUsableTeleports()) {
+            signature += mix(WorldPointUtil.UNDEFINED, teleport) * 31;
+            ++count;
+        }
+        signature = signature * 31 + count;
+        signature = signature * 31 + config.getDistanceBeforeUsingTeleport();
+        signature = signature * 31 + (config.isIgnoreTeleportAndItems() ? 1 : 0);
+        signature = signature * 31 + (config.isAvoidWilderness() ? 1 : 0);
+        return signature;
+    }
+
+    private static long mix(int origin, Transport transport) {
+        long hash = origin;
+        hash = hash * 31 + WorldPointUtil.packWorldPoint(transport.getDestination());
+        hash = hash * 31 + transport.getDuration();
+        hash = hash * 31 + transport.getMaxWildernessLevel();
+        hash = hash * 31 + (transport.getType() == null ? -1 : transport.getType().ordinal());
+        // Spread the bits so that the sum does not cancel out similar transports
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private boolean isTarget(int position) {
+        for (int target : targets) {
+            if (target == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cost (g), lookahead (rhs) and queued key of every tile the search has seen, in an open addressing table
+     */
+    private static class TileCosts {
+        private static final int EMPTY = WorldPointUtil.UNDEFINED;
+
+        private int[] keys;
+        private int[] g;
+        private int[] rhs;
+        private int[] queuedKey;
+        private int size;
+
+        private TileCosts(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            g = new int[capacity];
+            rhs = new int[capacity];
+            queuedKey = new int[capacity];
+            size = 0;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private int find(int key) {
+            final int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        /** Adds a tile that is not in the table yet, with an unknown cost and lookahead */
+        private int insert(int key) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            final int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            g[slot] = INFINITY;
+            rhs[slot] = INFINITY;
+            queuedKey[slot] = INFINITY;
+            ++size;
+            return slot;
+        }
+
+        private void grow() {
+            final int[] oldKeys = keys;
+            final int[] oldG = g;
+            final int[] oldRhs = rhs;
+            final int[] oldQueuedKey = queuedKey;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    final int slot = insert(oldKeys[i]);
+                    g[slot] = oldG[i];
+                    rhs[slot] = oldRhs[i];
+                    queuedKey[slot] = oldQueuedKey[i];
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            final int hash = key * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Binary heap of tiles by key. Tiles are queued again when their key changes and the outdated entries are
+     * skipped when they come up, since they no longer match the queued key in {@link TileCosts}.
+     */
+    private static class KeyQueue {
+        private int[] positions;
+        private int[] keys;
+        private int size;
+
+        private KeyQueue(int capacity) {
+            positions = new int[capacity];
+            keys = new int[capacity];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private int peekPosition() {
+            return positions[0];
+        }
+
+        private int peekKey() {
+            return keys[0];
+        }
+
+        private void add(int position, int key) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                positions[i] = positions[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            positions[i] = position;
+            keys[i] = key;
+        }
+
+        private void poll() {
+            final int last = --size;
+            if (last == 0) {
+                return;
+            }
+            final int position = positions[last];
+            final int key = keys[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && keys[child + 1] < keys[child]) {
+                    ++child;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                positions[i] = positions[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            positions[i] = position;
+            keys[i] = key;
+        }
+    }
+}
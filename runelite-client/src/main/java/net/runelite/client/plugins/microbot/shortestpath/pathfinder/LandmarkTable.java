@@ -0,0 +1,524 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.RuneLite;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Precomputed walking distances from and to a handful of landmarks spread over the map, used for ALT
+ * (A*, landmarks and triangle inequality) lower bounds in {@link AStarHeuristic}.
+ * <p>
+ * Storing a distance for every tile would take hundreds of megabytes, so the table only keeps the lowest and highest
+ * distance of every region plane. The distances are for a superset of the graph searched by {@link Pathfinder}: every
+ * walkable step and every transport with a fixed origin, regardless of requirements or restrictions, and without
+ * teleports. The upper bounds are only usable for regions where every tile that can be entered (or left) was reached,
+ * which {@link #getMaxFrom} and {@link #getMaxTo} report as {@link #INCOMPLETE}.
+ * <p>
+ * The table is built offline with {@link #main} and shipped next to {@code collision-map.zip}. It is keyed by a
+ * fingerprint of the collision flags and the transport data, so a table built for another map or other transports is
+ * ignored and rebuilt in the background.
+ */
+@Slf4j
+public class LandmarkTable {
+    public static final String RESOURCE_NAME = "landmarks.dat";
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int INCOMPLETE = -1;
+
+    private static final int MAGIC = 0x4C4D4B31; // LMK1
+    private static final File CACHE_FILE = new File(RuneLite.CACHE_DIR, "shortest-path-" + RESOURCE_NAME);
+
+    // Towns near the edges of the map, so that most routes run roughly towards or away from one of them
+    private static final WorldPoint[] LANDMARKS = {
+            new WorldPoint(3222, 3218, 0), // Lumbridge
+            new WorldPoint(3687, 3502, 0), // Port Phasmatys
+            new WorldPoint(2643, 3676, 0), // Rellekka
+            new WorldPoint(2852, 2955, 0), // Shilo Village
+            new WorldPoint(3263, 6065, 0), // Prifddinas
+            new WorldPoint(1744, 3517, 0), // Hosidius
+            new WorldPoint(1680, 3140, 0), // Civitas illa Fortis
+            new WorldPoint(3286, 3930, 0), // Rogues' Castle
+    };
+
+    @Getter
+    private final int fingerprint;
+    private final int[] landmarks;
+    private final int[] regionPlaneIndex;
+    // Indexed by [landmark][region plane]
+    private final int[][] minFrom, maxFrom, minTo, maxTo;
+    @Getter
+    private final LandmarkGraph graph;
+
+    private LandmarkTable(int fingerprint, int[] landmarks, LandmarkGraph graph,
+                          int[][] minFrom, int[][] maxFrom, int[][] minTo, int[][] maxTo) {
+        this.fingerprint = fingerprint;
+        this.landmarks = landmarks;
+        this.graph = graph;
+        this.regionPlaneIndex = graph.regionPlaneIndex;
+        this.minFrom = minFrom;
+        this.maxFrom = maxFrom;
+        this.minTo = minTo;
+        this.maxTo = maxTo;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    public WorldPoint getLandmark(int landmark) {
+        return WorldPointUtil.unpackWorldPoint(landmarks[landmark]);
+    }
+
+    /** The region plane of the packed point for the distance lookups, or -1 if it is not on the collision map */
+    public int regionPlaneOf(int packedPoint) {
+        final int region = graph.regionIndex(packedPoint);
+        if (region < 0) {
+            return -1;
+        }
+        return regionPlaneIndex[region * 4 + WorldPointUtil.unpackWorldPlane(packedPoint)];
+    }
+
+    /** Lower bound of the distance from the landmark to any tile of the region plane, or {@link #UNREACHABLE} */
+    public int getMinFrom(int landmark, int regionPlane) {
+        return regionPlane < 0 ? UNREACHABLE : minFrom[landmark][regionPlane];
+    }
+
+    /** Upper bound of the distance from the landmark to any tile of the region plane that can be entered, or {@link #INCOMPLETE} */
+    public int getMaxFrom(int landmark, int regionPlane) {
+        return regionPlane < 0 ? INCOMPLETE : maxFrom[landmark][regionPlane];
+    }
+
+    /** Lower bound of the distance from any tile of the region plane to the landmark, or {@link #UNREACHABLE} */
+    public int getMinTo(int landmark, int regionPlane) {
+        return regionPlane < 0 ? UNREACHABLE : minTo[landmark][regionPlane];
+    }
+
+    /** Upper bound of the distance from any tile of the region plane that can be left to the landmark, or {@link #INCOMPLETE} */
+    public int getMaxTo(int landmark, int regionPlane) {
+        return regionPlane < 0 ? INCOMPLETE : maxTo[landmark][regionPlane];
+    }
+
+    /**
+     * Loads the shipped table, or the table cached by an earlier rebuild, if it was built for the given transports.
+     * Otherwise the table is rebuilt, which takes a while, and cached for the next start.
+     */
+    public static LandmarkTable load(SplitFlagMap map, Map<WorldPoint, Set<Transport>> transports) {
+        final LandmarkGraph graph = new LandmarkGraph(new CollisionMap(map), map.getRegionMapPlaneCounts(), transports);
+        final int fingerprint = fingerprint(map, transports);
+
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (in != null) {
+                LandmarkTable table = read(in, graph, fingerprint);
+                if (table != null) {
+                    return table;
+                }
+                log.info("Shipped landmark table was built for other transports");
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read the shipped landmark table", e);
+        }
+
+        if (CACHE_FILE.exists()) {
+            try (InputStream in = new FileInputStream(CACHE_FILE)) {
+                LandmarkTable table = read(in, graph, fingerprint);
+                if (table != null) {
+                    return table;
+                }
+            } catch (IOException e) {
+                log.warn("Unable to read the cached landmark table", e);
+            }
+        }
+
+        LandmarkTable table = build(graph, fingerprint);
+        try {
+            table.write(CACHE_FILE);
+        } catch (IOException e) {
+            log.warn("Unable to cache the landmark table", e);
+        }
+        return table;
+    }
+
+    static LandmarkTable build(LandmarkGraph graph, int fingerprint) {
+        final long startNanos = System.nanoTime();
+        final int regionPlanes = graph.regionPlaneCount;
+        final int[] packedLandmarks = new int[LANDMARKS.length];
+        final int[][] minFrom = new int[LANDMARKS.length][];
+        final int[][] maxFrom = new int[LANDMARKS.length][];
+        final int[][] minTo = new int[LANDMARKS.length][];
+        final int[][] maxTo = new int[LANDMARKS.length][];
+
+        final int[] distances = new int[graph.tileCount];
+        final boolean[] hasIncoming = new boolean[graph.tileCount];
+        final boolean[] hasOutgoing = new boolean[graph.tileCount];
+        graph.findEdgeEnds(hasIncoming, hasOutgoing);
+
+        for (int i = 0; i < LANDMARKS.length; i++) {
+            packedLandmarks[i] = WorldPointUtil.packWorldPoint(LANDMARKS[i]);
+            minFrom[i] = new int[regionPlanes];
+            maxFrom[i] = new int[regionPlanes];
+            minTo[i] = new int[regionPlanes];
+            maxTo[i] = new int[regionPlanes];
+
+            graph.distances(packedLandmarks[i], false, distances);
+            summarize(graph, distances, hasIncoming, minFrom[i], maxFrom[i]);
+            graph.distances(packedLandmarks[i], true, distances);
+            summarize(graph, distances, hasOutgoing, minTo[i], maxTo[i]);
+        }
+
+        log.info("Built landmark table for {} landmarks in {}ms", LANDMARKS.length, (System.nanoTime() - startNanos) / 1_000_000);
+        return new LandmarkTable(fingerprint, packedLandmarks, graph, minFrom, maxFrom, minTo, maxTo);
+    }
+
+    // Reduces the tile distances to the lowest and highest distance of every region plane
+    private static void summarize(LandmarkGraph graph, int[] distances, boolean[] required, int[] min, int[] max) {
+        for (int regionPlane = 0; regionPlane < graph.regionPlaneCount; regionPlane++) {
+            final int from = regionPlane * REGION_SIZE * REGION_SIZE;
+            final int to = from + REGION_SIZE * REGION_SIZE;
+            int lowest = UNREACHABLE;
+            int highest = 0;
+            boolean complete = true;
+            for (int tile = from; tile < to; tile++) {
+                final int distance = distances[tile];
+                if (distance == UNREACHABLE) {
+                    complete &= !required[tile];
+                } else {
+                    lowest = Math.min(lowest, distance);
+                    highest = Math.max(highest, distance);
+                }
+            }
+            min[regionPlane] = lowest;
+            max[regionPlane] = complete && lowest != UNREACHABLE ? highest : INCOMPLETE;
+        }
+    }
+
+    /**
+     * A fingerprint of everything the table depends on: the format, the landmarks, the layout and flags of the
+     * collision map and the transports (with origin, destination, type and duration) from {@link Transport#loadAllFromResources}.
+     */
+    public static int fingerprint(SplitFlagMap map, Map<WorldPoint, Set<Transport>> transports) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+            for (Transport transport : entry.getValue()) {
+                lines.add(entry.getKey() + " " + transport.getDestination() + " " + transport.getType() + " " + transport.getDuration());
+            }
+        }
+        Collections.sort(lines);
+
+        int hash = MAGIC;
+        hash = 31 * hash + Arrays.hashCode(LANDMARKS);
+        hash = 31 * hash + Arrays.hashCode(map.getRegionMapPlaneCounts());
+        hash = 31 * hash + Long.hashCode(map.flagsChecksum());
+        hash = 31 * hash + lines.hashCode();
+        return hash;
+    }
+
+    private static LandmarkTable read(InputStream in, LandmarkGraph graph, int fingerprint) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        if (data.readInt() != MAGIC || data.readInt() != fingerprint || data.readInt() != graph.regionPlaneCount) {
+            return null;
+        }
+
+        final int landmarkCount = data.readInt();
+        final int[] packedLandmarks = new int[landmarkCount];
+        final int[][] minFrom = new int[landmarkCount][graph.regionPlaneCount];
+        final int[][] maxFrom = new int[landmarkCount][graph.regionPlaneCount];
+        final int[][] minTo = new int[landmarkCount][graph.regionPlaneCount];
+        final int[][] maxTo = new int[landmarkCount][graph.regionPlaneCount];
+        for (int i = 0; i < landmarkCount; i++) {
+            packedLandmarks[i] = data.readInt();
+            for (int regionPlane = 0; regionPlane < graph.regionPlaneCount; regionPlane++) {
+                minFrom[i][regionPlane] = data.readInt();
+                maxFrom[i][regionPlane] = data.readInt();
+                minTo[i][regionPlane] = data.readInt();
+                maxTo[i][regionPlane] = data.readInt();
+            }
+        }
+        return new LandmarkTable(fingerprint, packedLandmarks, graph, minFrom, maxFrom, minTo, maxTo);
+    }
+
+    public void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        // Write to a temporary file first so that a partially written table is never loaded
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+            data.writeInt(MAGIC);
+            data.writeInt(fingerprint);
+            data.writeInt(graph.regionPlaneCount);
+            data.writeInt(landmarks.length);
+            for (int i = 0; i < landmarks.length; i++) {
+                data.writeInt(landmarks[i]);
+                for (int regionPlane = 0; regionPlane < graph.regionPlaneCount; regionPlane++) {
+                    data.writeInt(minFrom[i][regionPlane]);
+                    data.writeInt(maxFrom[i][regionPlane]);
+                    data.writeInt(minTo[i][regionPlane]);
+                    data.writeInt(maxTo[i][regionPlane]);
+                }
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Builds the landmark table for the shipped collision map and transports.
+     * The only argument is the output file, usually {@code src/main/resources/.../shortestpath/landmarks.dat}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: LandmarkTable <output file>");
+            System.exit(1);
+        }
+
+        SplitFlagMap map = SplitFlagMap.fromResources();
+        Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
+        LandmarkGraph graph = new LandmarkGraph(new CollisionMap(map), map.getRegionMapPlaneCounts(), transports);
+        build(graph, fingerprint(map, transports)).write(new File(args[0]));
+    }
+
+    /**
+     * The graph the landmark distances are computed on. Tiles are numbered by region plane so that each region plane
+     * covers a consecutive range of {@code REGION_SIZE * REGION_SIZE} tiles.
+     */
+    static class LandmarkGraph {
+        // Same order as the directions in CollisionMap
+        private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+        private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+        private final CollisionMap map;
+        private final SplitFlagMap.RegionExtent extents;
+        private final int widthInclusive;
+        private final int regionCount;
+        private final int regionPlaneCount;
+        private final int tileCount;
+        // Index of the first tile for [region * 4 + plane], or -1 if the region has no such plane
+        private final int[] regionPlaneIndex;
+
+        private final Set<Integer> transportOrigins = new HashSet<>();
+        private final Set<Integer> transportDestinations = new HashSet<>();
+        // Packed destination and cost pairs by packed origin, and packed origin and cost pairs by packed destination
+        private final Map<Integer, int[]> outgoingTransports = new HashMap<>();
+        private final Map<Integer, int[]> incomingTransports = new HashMap<>();
+        private final int maxCost;
+
+        LandmarkGraph(CollisionMap map, byte[] planes, Map<WorldPoint, Set<Transport>> transports) {
+            this.map = map;
+            this.extents = SplitFlagMap.getRegionExtents();
+            this.widthInclusive = extents.getWidth() + 1;
+            this.regionCount = planes.length;
+
+            regionPlaneIndex = new int[regionCount * 4];
+            int regionPlanes = 0;
+            for (int region = 0; region < regionCount; region++) {
+                for (int plane = 0; plane < 4; plane++) {
+                    regionPlaneIndex[region * 4 + plane] = plane < planes[region] ? regionPlanes++ : -1;
+                }
+            }
+            regionPlaneCount = regionPlanes;
+            tileCount = regionPlanes * REGION_SIZE * REGION_SIZE;
+
+            int highestCost = 1;
+            Map<Integer, List<Integer>> outgoing = new HashMap<>();
+            Map<Integer, List<Integer>> incoming = new HashMap<>();
+            for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+                if (entry.getKey() == null) {
+                    continue; // Teleports are only usable from the start and are accounted for by the heuristic
+                }
+                final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+                transportOrigins.add(origin);
+                for (Transport transport : entry.getValue()) {
+                    if (transport.getDestination() == null || TransportType.isTeleport(transport.getType())) {
+                        continue;
+                    }
+                    final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                    final int cost = Math.max(transport.getDuration(), 0);
+                    transportDestinations.add(destination);
+                    outgoing.computeIfAbsent(origin, k -> new ArrayList<>()).addAll(Arrays.asList(destination, cost));
+                    incoming.computeIfAbsent(destination, k -> new ArrayList<>()).addAll(Arrays.asList(origin, cost));
+                    highestCost = Math.max(highestCost, cost);
+                }
+            }
+            outgoing.forEach((origin, pairs) -> outgoingTransports.put(origin, pairs.stream().mapToInt(Integer::intValue).toArray()));
+            incoming.forEach((destination, pairs) -> incomingTransports.put(destination, pairs.stream().mapToInt(Integer::intValue).toArray()));
+            maxCost = highestCost;
+        }
+
+        int regionIndex(int packedPoint) {
+            final int regionX = WorldPointUtil.unpackWorldX(packedPoint) / REGION_SIZE - extents.getMinX();
+            final int regionY = WorldPointUtil.unpackWorldY(packedPoint) / REGION_SIZE - extents.getMinY();
+            if (regionX < 0 || regionY < 0 || regionX >= widthInclusive) {
+                return -1;
+            }
+            final int region = regionX + regionY * widthInclusive;
+            return region < regionCount ? region : -1;
+        }
+
+        int tileIndex(int packedPoint) {
+            final int region = regionIndex(packedPoint);
+            if (region < 0) {
+                return -1;
+            }
+            final int regionPlane = regionPlaneIndex[region * 4 + WorldPointUtil.unpackWorldPlane(packedPoint)];
+            if (regionPlane < 0) {
+                return -1;
+            }
+            final int x = WorldPointUtil.unpackWorldX(packedPoint) % REGION_SIZE;
+            final int y = WorldPointUtil.unpackWorldY(packedPoint) % REGION_SIZE;
+            return (regionPlane * REGION_SIZE + y) * REGION_SIZE + x;
+        }
+
+        // A superset of the walking steps in CollisionMap.getNeighbors
+        private boolean canStep(int x, int y, int z, int direction) {
+            if (CollisionMap.isCollisionIgnored(WorldPointUtil.packWorldPoint(x, y, z)) || map.isTraversable(x, y, z, direction)) {
+                return true;
+            }
+            // The transport starts from a blocked adjacent tile, e.g. fairy ring
+            final int nx = x + DX[direction];
+            final int ny = y + DY[direction];
+            return direction < 4 && map.isBlocked(nx, ny, z) && transportOrigins.contains(WorldPointUtil.packWorldPoint(nx, ny, z));
+        }
+
+        /** Whether any step or transport leads onto the tile, i.e. whether a search could arrive on it */
+        boolean hasIncomingEdge(int packedPoint) {
+            if (transportDestinations.contains(packedPoint)) {
+                return true;
+            }
+            final int x = WorldPointUtil.unpackWorldX(packedPoint);
+            final int y = WorldPointUtil.unpackWorldY(packedPoint);
+            final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+            for (int direction = 0; direction < DX.length; direction++) {
+                final int px = x - DX[direction];
+                final int py = y - DY[direction];
+                if (tileIndex(WorldPointUtil.packWorldPoint(px, py, z)) >= 0 && canStep(px, py, z, direction)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Whether any step or transport leads off the tile, i.e. whether a search could continue from it */
+        boolean hasOutgoingEdge(int packedPoint) {
+            if (outgoingTransports.containsKey(packedPoint)) {
+                return true;
+            }
+            final int x = WorldPointUtil.unpackWorldX(packedPoint);
+            final int y = WorldPointUtil.unpackWorldY(packedPoint);
+            final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+            for (int direction = 0; direction < DX.length; direction++) {
+                if (tileIndex(WorldPointUtil.packWorldPoint(x + DX[direction], y + DY[direction], z)) >= 0 && canStep(x, y, z, direction)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void findEdgeEnds(boolean[] hasIncoming, boolean[] hasOutgoing) {
+            for (int index = 0; index < regionPlaneIndex.length; index++) {
+                if (regionPlaneIndex[index] < 0) {
+                    continue;
+                }
+                final int region = index / 4;
+                final int minX = (region % widthInclusive + extents.getMinX()) * REGION_SIZE;
+                final int minY = (region / widthInclusive + extents.getMinY()) * REGION_SIZE;
+                for (int y = minY; y < minY + REGION_SIZE; y++) {
+                    for (int x = minX; x < minX + REGION_SIZE; x++) {
+                        final int packedPoint = WorldPointUtil.packWorldPoint(x, y, index % 4);
+                        final int tile = tileIndex(packedPoint);
+                        hasIncoming[tile] = hasIncomingEdge(packedPoint);
+                        hasOutgoing[tile] = hasOutgoingEdge(packedPoint);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Dijkstra's algorithm with a bucket queue from the landmark over all tiles, following the edges backwards
+         * when {@code reverse} is set to get the distances to the landmark instead.
+         */
+        void distances(int landmark, boolean reverse, int[] distances) {
+            Arrays.fill(distances, UNREACHABLE);
+            final int landmarkTile = tileIndex(landmark);
+            if (landmarkTile < 0) {
+                log.warn("Landmark {} is not on the collision map", WorldPointUtil.toString(landmark));
+                return;
+            }
+
+            // Costs are at most maxCost, so maxCost + 1 buckets hold every distance still in the queue
+            final int[][] buckets = new int[maxCost + 1][64];
+            final int[] sizes = new int[maxCost + 1];
+            int queued = 1;
+            distances[landmarkTile] = 0;
+            buckets[0][sizes[0]++] = landmark;
+
+            for (int distance = 0; queued > 0; distance++) {
+                final int bucket = distance % buckets.length;
+                // Steps with a cost of 0 add to the current bucket while it is processed
+                for (int i = 0; i < sizes[bucket]; i++) {
+                    final int packedPoint = buckets[bucket][i];
+                    queued--;
+                    if (distances[tileIndex(packedPoint)] != distance) {
+                        continue; // Already reached with a lower distance
+                    }
+
+                    final int x = WorldPointUtil.unpackWorldX(packedPoint);
+                    final int y = WorldPointUtil.unpackWorldY(packedPoint);
+                    final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+                    for (int direction = 0; direction < DX.length; direction++) {
+                        final int neighbor;
+                        final boolean step;
+                        if (reverse) {
+                            neighbor = WorldPointUtil.packWorldPoint(x - DX[direction], y - DY[direction], z);
+                            step = tileIndex(neighbor) >= 0 && canStep(x - DX[direction], y - DY[direction], z, direction);
+                        } else {
+                            neighbor = WorldPointUtil.packWorldPoint(x + DX[direction], y + DY[direction], z);
+                            step = tileIndex(neighbor) >= 0 && canStep(x, y, z, direction);
+                        }
+                        if (step) {
+                            queued += relax(neighbor, distance + 1, distances, buckets, sizes);
+                        }
+                    }
+
+                    int[] transports = (reverse ? incomingTransports : outgoingTransports).get(packedPoint);
+                    if (transports != null) {
+                        for (int t = 0; t < transports.length; t += 2) {
+                            if (tileIndex(transports[t]) >= 0) {
+                                queued += relax(transports[t], distance + transports[t + 1], distances, buckets, sizes);
+                            }
+                        }
+                    }
+                }
+                sizes[bucket] = 0;
+            }
+        }
+
+        // Returns 1 if the tile was queued with the new distance
+        private int relax(int packedPoint, int distance, int[] distances, int[][] buckets, int[] sizes) {
+            final int tile = tileIndex(packedPoint);
+            if (distance >= distances[tile]) {
+                return 0;
+            }
+            distances[tile] = distance;
+            final int bucket = distance % buckets.length;
+            if (sizes[bucket] == buckets[bucket].length) {
+                buckets[bucket] = Arrays.copyOf(buckets[bucket], buckets[bucket].length * 2);
+            }
+            buckets[bucket][sizes[bucket]++] = packedPoint;
+            return 1;
+        }
+    }
+}
@@ -19,7 +19,7 @@ public class Node {
     }
 
     public Node(WorldPoint position, Node previous) {
-        this(position, previous, cost(position, previous));
+        this(WorldPointUtil.packWorldPoint(position), previous);
     }
 
     public Node(int packedPosition, Node previous, int cost) {
@@ -84,18 +84,4 @@ public class Node {
 
         return previousCost + travelTime;
     }
-
-    private static int cost(WorldPoint worldPoint, Node previous) {
-        int previousCost = 0;
-        int travelTime = 0;
-
-        if (previous != null) {
-            previousCost = previous.cost;
-            // Travel wait time in TransportNode and distance is compared as if the player is walking 1 tile/tick.
-            // TODO: reduce the distance if the player is currently running and has enough run energy for the distance?
-            travelTime = WorldPointUtil.distanceBetween(previous.packedPosition, WorldPointUtil.packWorldPoint(worldPoint));
-        }
-
-        return previousCost + travelTime;
-    }
 }
@@ -0,0 +1,189 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * Struct of arrays storage for the nodes of a search. A node is referred to by its index, so a search only
+ * allocates when the arrays grow, rather than a {@link Node} for every tile it visits.
+ * The path to the chosen node is turned into {@link Node} objects once the search is done.
+ */
+class NodeStore {
+    static final int NO_PARENT = -1;
+
+    private int[] positions;
+    private int[] parents;
+    private int[] costs;
+    private int size;
+
+    NodeStore(int initialCapacity) {
+        positions = new int[initialCapacity];
+        parents = new int[initialCapacity];
+        costs = new int[initialCapacity];
+    }
+
+    /**
+     * @return the index of the new node
+     */
+    int add(int packedPosition, int parent, int cost) {
+        if (size == positions.length) {
+            final int capacity = size * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        positions[size] = packedPosition;
+        parents[size] = parent;
+        costs[size] = cost;
+        return size++;
+    }
+
+    int getPosition(int index) {
+        return positions[index];
+    }
+
+    int getParent(int index) {
+        return parents[index];
+    }
+
+    int getCost(int index) {
+        return costs[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Builds the chain of {@link Node} objects from the first node to the given one
+     */
+    Node toNode(int index) {
+        int length = 0;
+        for (int i = index; i != NO_PARENT; i = parents[i]) {
+            length++;
+        }
+
+        final int[] chain = new int[length];
+        for (int i = index; i != NO_PARENT; i = parents[i]) {
+            chain[--length] = i;
+        }
+
+        Node node = null;
+        for (int i : chain) {
+            node = new Node(positions[i], node, costs[i]);
+        }
+        return node;
+    }
+
+    /**
+     * First in, first out queue of node indices
+     */
+    static class IndexQueue {
+        private int[] indices;
+        private int head;
+        private int tail;
+
+        IndexQueue(int initialCapacity) {
+            indices = new int[initialCapacity];
+        }
+
+        void add(int index) {
+            if (tail == indices.length) {
+                if (head > 0) {
+                    // Reuse the space of the polled indices before growing
+                    System.arraycopy(indices, head, indices, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                }
+                if (tail == indices.length) {
+                    indices = Arrays.copyOf(indices, indices.length * 2);
+                }
+            }
+            indices[tail++] = index;
+        }
+
+        int peek() {
+            return indices[head];
+        }
+
+        int poll() {
+            return indices[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        void clear() {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    /**
+     * Binary heap of node indices with the cheapest node of the store first
+     */
+    class CostQueue {
+        private int[] heap;
+        private int size;
+
+        CostQueue(int initialCapacity) {
+            heap = new int[initialCapacity];
+        }
+
+        void add(int index) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (costs[heap[parent]] <= costs[index]) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = index;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        int poll() {
+            final int result = heap[0];
+            final int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && costs[heap[child + 1]] < costs[heap[child]]) {
+                    child++;
+                }
+                if (costs[last] <= costs[heap[child]]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return result;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.api.gameval.VarbitID;
+import net.runelite.client.plugins.microbot.shortestpath.Restriction;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.TransportVarPlayer;
+import net.runelite.client.plugins.microbot.shortestpath.TransportVarbit;
+import net.runelite.client.plugins.microbot.util.cache.strategy.simple.QuestUpdateStrategy;
+import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
+import net.runelite.client.plugins.microbot.util.magic.Runes;
+import net.runelite.client.plugins.microbot.util.magic.Rs2Staff;
+import net.runelite.client.plugins.microbot.util.magic.Rs2Tome;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The game state the usable transports and restrictions depend on, so the {@link PathQueryService} only drops the
+ * cached paths whose inputs actually changed.
+ * <p>
+ * Built once from all transports and restrictions. Varbits and varplayers are relevant when a requirement checks them
+ * or when they track quest progress, the rune pouch or the spirit tree patches. Items are relevant when a requirement
+ * needs them, when they pay for a transport, or when they provide runes for a teleport spell.
+ */
+public class PathDependencies {
+    // Varbits checked by the usable transports outside of the transport requirements
+    private static final int[] EXTRA_VARBITS = {
+            VarbitID.LUMBRIDGE_DIARY_ELITE_COMPLETE,
+            VarbitID.FARMING_TRANSMIT_A,
+            VarbitID.FARMING_TRANSMIT_B,
+            VarbitID.FARMING_TRANSMIT_F,
+            VarbitID.RUNE_POUCH_TYPE_1,
+            VarbitID.RUNE_POUCH_TYPE_2,
+            VarbitID.RUNE_POUCH_TYPE_3,
+            VarbitID.RUNE_POUCH_TYPE_4,
+            VarbitID.RUNE_POUCH_QUANTITY_1,
+            VarbitID.RUNE_POUCH_QUANTITY_2,
+            VarbitID.RUNE_POUCH_QUANTITY_3,
+            VarbitID.RUNE_POUCH_QUANTITY_4
+    };
+
+    private final Set<Integer> varbits = new HashSet<>();
+    private final Set<Integer> varplayers = new HashSet<>();
+    private final Set<Integer> items = new HashSet<>();
+    private final Set<String> currencies = new HashSet<>();
+    private final EnumSet<Skill> skills = EnumSet.noneOf(Skill.class);
+    // Currencies are named rather than given by id, so the relevance of other items is looked up once
+    private final Map<Integer, Boolean> relevantItems = new ConcurrentHashMap<>();
+
+    public PathDependencies(Map<WorldPoint, Set<Transport>> transports, Collection<Restriction> restrictions) {
+        for (Set<Transport> origin : transports.values()) {
+            for (Transport transport : origin) {
+                for (TransportVarbit varbit : transport.getVarbits()) {
+                    varbits.add(varbit.getVarbitId());
+                }
+                for (TransportVarPlayer varplayer : transport.getVarplayers()) {
+                    varplayers.add(varplayer.getVarplayerId());
+                }
+                for (Set<Integer> alternatives : transport.getItemIdRequirements()) {
+                    items.addAll(alternatives);
+                }
+                if (transport.getCurrencyAmount() > 0) {
+                    currencies.add(transport.getCurrencyName().toLowerCase());
+                }
+                addSkills(transport.getSkillLevels());
+            }
+        }
+        for (Restriction restriction : restrictions) {
+            for (TransportVarbit varbit : restriction.getVarbits()) {
+                varbits.add(varbit.getVarbitId());
+            }
+            for (TransportVarPlayer varplayer : restriction.getVarplayers()) {
+                varplayers.add(varplayer.getVarplayerId());
+            }
+            for (Set<Integer> alternatives : restriction.getItemIdRequirements()) {
+                items.addAll(alternatives);
+            }
+            addSkills(restriction.getSkillLevels());
+        }
+
+        for (int varbit : EXTRA_VARBITS) {
+            varbits.add(varbit);
+        }
+        items.add(ItemID.DRAMEN_STAFF);
+        items.add(ItemID.LUNAR_MOONCLAN_LIMINAL_STAFF);
+        for (Runes rune : Runes.values()) {
+            items.add(rune.getItemId());
+        }
+        for (Rs2Staff staff : Rs2Staff.values()) {
+            items.add(staff.getItemID());
+        }
+        for (Rs2Tome tome : Rs2Tome.values()) {
+            items.add(tome.getItemID());
+        }
+        for (int pouch : RunePouchType.getPouchIds()) {
+            items.add(pouch);
+        }
+    }
+
+    private void addSkills(int[] levels) {
+        final Skill[] all = Skill.values();
+        for (int i = 0; i < levels.length && i < all.length; i++) {
+            if (levels[i] > 0) {
+                skills.add(all[i]);
+            }
+        }
+    }
+
+    /**
+     * Checks if a changed varbit or varplayer can change the usable transports, quest progress included
+     *
+     * @param varbitId   the changed varbit, or -1 if a varplayer changed without a varbit
+     * @param varplayerId the varplayer holding the change
+     */
+    public boolean isRelevantVar(int varbitId, int varplayerId) {
+        if (varbitId != -1) {
+            return varbits.contains(varbitId) || QuestUpdateStrategy.getQuestByVarbit(varbitId) != null;
+        }
+        return varplayers.contains(varplayerId) || QuestUpdateStrategy.getQuestByVarPlayer(varplayerId) != null;
+    }
+
+    /**
+     * A hash of the relevant items and their quantities in the containers. Items which are not relevant can come and
+     * go without changing it.
+     */
+    public long itemState(Client client, ItemContainer... containers) {
+        long state = 1;
+        for (ItemContainer container : containers) {
+            state = 31 * state;
+            if (container == null) {
+                continue;
+            }
+            for (Item item : container.getItems()) {
+                if (item.getId() > 0 && isRelevantItem(client, item.getId())) {
+                    state = 31 * (31 * state + item.getId()) + item.getQuantity();
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * A hash of the boosted levels of the skills that transports or restrictions require
+     */
+    public long skillState(Client client) {
+        long state = 1;
+        for (Skill skill : skills) {
+            state = 31 * state + client.getBoostedSkillLevel(skill);
+        }
+        return state;
+    }
+
+    public boolean isRelevantSkill(Skill skill) {
+        return skills.contains(skill);
+    }
+
+    private boolean isRelevantItem(Client client, int itemId) {
+        if (items.contains(itemId)) {
+            return true;
+        }
+        if (currencies.isEmpty()) {
+            return false;
+        }
+        return relevantItems.computeIfAbsent(itemId,
+                id -> currencies.contains(client.getItemDefinition(id).getName().toLowerCase()));
+    }
+}
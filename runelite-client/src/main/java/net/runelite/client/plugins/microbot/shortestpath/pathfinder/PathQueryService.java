@@ -0,0 +1,397 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers path queries from scripts on a small pool of search threads, rather than on the thread that asks.
+ * <p>
+ * Each search thread refreshes its own {@link PathfinderConfig}, so that the usable transports never change under a
+ * search running on another thread, and gets its own {@link CollisionMap} from it. Single target queries from the
+ * same start that are waiting for a thread are answered by one breadth-first search that keeps going until it has
+ * found all of their targets.
+ * <p>
+ * Results are cached with the state of the {@link Dependency dependencies} they were searched in. The plugin reports
+ * the dependencies through {@link #updateDependency} when the relevant vars, items or levels change, which only drops
+ * the cached results that depend on them, so a bank change keeps the paths searched without bank items.
+ * {@link #invalidate()} drops everything, for config changes. Queries from the client thread are searched inline,
+ * since refreshing a config has to wait for the client thread.
+ */
+@Slf4j
+public class PathQueryService {
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * The game state that changes the usable transports
+     */
+    public enum Dependency {
+        /** Varbits and varplayers of transport requirements and quest progress */
+        VARS,
+        /** Relevant items in the inventory and equipment */
+        ITEMS,
+        /** Relevant items in the bank, only used by bank item queries */
+        BANK,
+        /** Levels of the skills transports require */
+        SKILLS
+    }
+
+    private final PathfinderConfig baseConfig;
+    private final Client client;
+    private final ExecutorService executor;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    // Bumped on every invalidation, refreshed configs and cached results belong to the generation they were made in
+    private final AtomicInteger generation = new AtomicInteger();
+    // Last reported state of every dependency, guarded by the cache
+    private final long[] dependencyStates = new long[Dependency.values().length];
+
+    // Guarded by itself
+    private final Map<QueryKey, Result> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<QueryKey, Result> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    // Batches that are waiting for a search thread and still accept targets, guarded by itself
+    private final Map<BatchKey, Batch> pendingBatches = new HashMap<>();
+
+    public PathQueryService(PathfinderConfig baseConfig, Client client, int threadCount) {
+        this.baseConfig = baseConfig;
+        this.client = client;
+        ThreadFactoryBuilder naming = new ThreadFactoryBuilder().setNameFormat("shortest-path-query-%d").setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(threadCount, naming.build());
+    }
+
+    /**
+     * Finds the path from the start to the target. The path ends on the tile closest to the target if the target
+     * cannot be reached.
+     */
+    public CompletableFuture<Result> query(WorldPoint start, WorldPoint target, boolean useBankItems) {
+        final int packedStart = WorldPointUtil.packWorldPoint(start);
+        final int packedTarget = WorldPointUtil.packWorldPoint(target);
+        Result cached = getCached(packedStart, Set.of(packedTarget), useBankItems, false);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Bank item queries refresh the transports for their target, so they cannot share a search
+        BatchKey batchKey = new BatchKey(packedStart, useBankItems, useBankItems ? packedTarget : WorldPointUtil.UNDEFINED);
+        if (client.isClientThread()) {
+            Batch batch = new Batch(start, useBankItems);
+            CompletableFuture<Result> result = batch.add(target);
+            runBatch(batch);
+            return result;
+        }
+
+        synchronized (pendingBatches) {
+            Batch batch = pendingBatches.get(batchKey);
+            if (batch == null) {
+                final Batch newBatch = new Batch(start, useBankItems);
+                pendingBatches.put(batchKey, newBatch);
+                try {
+                    executor.execute(() -> {
+                        // Stop accepting targets once the search is about to start
+                        synchronized (pendingBatches) {
+                            pendingBatches.remove(batchKey, newBatch);
+                        }
+                        runBatch(newBatch);
+                    });
+                } catch (RejectedExecutionException e) {
+                    pendingBatches.remove(batchKey);
+                    return CompletableFuture.failedFuture(e);
+                }
+                batch = newBatch;
+            }
+            return batch.add(target);
+        }
+    }
+
+    /**
+     * Finds the path from the start to the closest of the targets, in a single search that stops at that target.
+     * The path ends on the tile closest to any target if none of them can be reached.
+     */
+    public CompletableFuture<Result> queryNearest(WorldPoint start, Collection<WorldPoint> targets, boolean useBankItems) {
+        final int packedStart = WorldPointUtil.packWorldPoint(start);
+        final Set<Integer> packedTargets = new HashSet<>(targets.size());
+        for (WorldPoint target : targets) {
+            packedTargets.add(WorldPointUtil.packWorldPoint(target));
+        }
+        Result cached = getCached(packedStart, packedTargets, useBankItems, true);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (client.isClientThread()) {
+            return CompletableFuture.completedFuture(searchNearest(packedStart, packedTargets, useBankItems));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> searchNearest(packedStart, packedTargets, useBankItems), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for {@link #query}, or returns {@link Result#NONE} if the search failed
+     */
+    public Result findPath(WorldPoint start, WorldPoint target, boolean useBankItems) {
+        return await(query(start, target, useBankItems));
+    }
+
+    /**
+     * Waits for {@link #queryNearest}, or returns {@link Result#NONE} if the search failed
+     */
+    public Result findNearestPath(WorldPoint start, Collection<WorldPoint> targets, boolean useBankItems) {
+        return await(queryNearest(start, targets, useBankItems));
+    }
+
+    private static Result await(CompletableFuture<Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            log.warn("Path query failed", e);
+            return Result.NONE;
+        }
+    }
+
+    /**
+     * Reports the current state of a dependency, like a hash of the relevant items. Drops the cached results which
+     * depend on it and makes the search threads refresh their config, unless the state is unchanged.
+     */
+    public void updateDependency(Dependency dependency, long state) {
+        synchronized (cache) {
+            if (dependencyStates[dependency.ordinal()] == state) {
+                return;
+            }
+            dependencyStates[dependency.ordinal()] = state;
+            final long withoutBank = dependencyState(false);
+            final long withBank = dependencyState(true);
+            cache.keySet().removeIf(key -> key.dependencyState != (key.useBankItems ? withBank : withoutBank));
+        }
+    }
+
+    /**
+     * Reports a change of a dependency that has no cheap state of its own, like a var
+     */
+    public void dependencyChanged(Dependency dependency) {
+        synchronized (cache) {
+            updateDependency(dependency, dependencyStates[dependency.ordinal()] + 1);
+        }
+    }
+
+    /**
+     * Drops the cached results and makes every search thread refresh its config before the next search
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (pendingBatches) {
+            for (Batch batch : pendingBatches.values()) {
+                batch.cancel();
+            }
+            pendingBatches.clear();
+        }
+        invalidate();
+    }
+
+    private Result getCached(int start, Set<Integer> targets, boolean useBankItems, boolean nearest) {
+        synchronized (cache) {
+            return cache.get(new QueryKey(start, targets, useBankItems, nearest, generation.get(), dependencyState(useBankItems)));
+        }
+    }
+
+    private void putCached(QueryKey key, Result result) {
+        synchronized (cache) {
+            // Results of an outdated config are dropped rather than cached under a state nobody asks for
+            if (key.generation != generation.get() || key.dependencyState != dependencyState(key.useBankItems)) {
+                return;
+            }
+            cache.put(key, result);
+        }
+    }
+
+    /**
+     * The combined state of the dependencies of a query, must hold the cache lock
+     */
+    private long dependencyState(boolean useBankItems) {
+        long state = 1;
+        for (Dependency dependency : Dependency.values()) {
+            if (dependency != Dependency.BANK || useBankItems) {
+                state = 31 * state + dependencyStates[dependency.ordinal()];
+            }
+        }
+        return state;
+    }
+
+    private void runBatch(Batch batch) {
+        try {
+            final Worker worker = workers.get();
+            final List<WorldPoint> targets = new ArrayList<>(batch.results.keySet());
+            worker.prepare(batch.useBankItems, targets.size() == 1 ? targets.get(0) : null);
+
+            final int packedStart = WorldPointUtil.packWorldPoint(batch.start);
+            final Set<Integer> packedTargets = new HashSet<>(targets.size());
+            for (WorldPoint target : targets) {
+                packedTargets.add(WorldPointUtil.packWorldPoint(target));
+            }
+            Pathfinder pathfinder = new Pathfinder(worker.config, packedStart, packedTargets);
+            pathfinder.setSearchAllTargets(targets.size() > 1);
+            pathfinder.run();
+
+            for (WorldPoint target : targets) {
+                Result result = targets.size() > 1
+                        ? new Result(pathfinder.getPath(target), pathfinder.getPathCost(target), pathfinder.isTargetReached(target))
+                        : new Result(pathfinder.getPath(), pathfinder.getPathCost(), pathfinder.isTargetReached());
+                putCached(worker.key(packedStart, Set.of(WorldPointUtil.packWorldPoint(target)), false), result);
+                batch.results.get(target).complete(result);
+            }
+            log.debug("Path query from {} answered {} targets in {}", batch.start, targets.size(), pathfinder.getStats());
+        } catch (Exception e) {
+            for (CompletableFuture<Result> result : batch.results.values()) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private Result searchNearest(int start, Set<Integer> targets, boolean useBankItems) {
+        final Worker worker = workers.get();
+        worker.prepare(useBankItems, null);
+        Pathfinder pathfinder = new Pathfinder(worker.config, start, targets);
+        pathfinder.run();
+
+        Result result = new Result(pathfinder.getPath(), pathfinder.getPathCost(), pathfinder.isTargetReached());
+        putCached(worker.key(start, targets, true), result);
+        return result;
+    }
+
+    /**
+     * The config of one search thread, refreshed when the generation, the dependencies of the query or the refresh
+     * options have changed
+     */
+    private class Worker {
+        private PathfinderConfig config;
+        private int refreshedGeneration = -1;
+        private long refreshedState;
+        private boolean refreshedUseBankItems;
+        private WorldPoint refreshedTarget;
+
+        /**
+         * Refreshes the config when needed
+         */
+        private void prepare(boolean useBankItems, WorldPoint target) {
+            if (config == null
+                    || config.getLandmarkTable() != baseConfig.getLandmarkTable()
+                    || config.getCustomRestrictions() != baseConfig.getCustomRestrictions()) {
+                config = new PathfinderConfig(baseConfig);
+                refreshedGeneration = -1;
+            }
+
+            // Only the bank item transports are filtered for the target
+            final WorldPoint refreshTarget = useBankItems ? target : null;
+            // Read before refreshing, a change during the refresh makes the results outdated rather than missed
+            final int currentGeneration;
+            final long currentState;
+            synchronized (cache) {
+                currentGeneration = generation.get();
+                currentState = dependencyState(useBankItems);
+            }
+            if (currentGeneration != refreshedGeneration
+                    || currentState != refreshedState
+                    || useBankItems != refreshedUseBankItems
+                    || !Objects.equals(refreshTarget, refreshedTarget)) {
+                config.setUseBankItems(useBankItems);
+                config.refresh(refreshTarget);
+                refreshedGeneration = currentGeneration;
+                refreshedState = currentState;
+                refreshedUseBankItems = useBankItems;
+                refreshedTarget = refreshTarget;
+            }
+        }
+
+        /**
+         * The cache key of a query answered with the config as it was last refreshed
+         */
+        private QueryKey key(int start, Set<Integer> targets, boolean nearest) {
+            return new QueryKey(start, targets, refreshedUseBankItems, nearest, refreshedGeneration, refreshedState);
+        }
+    }
+
+    /**
+     * Single target queries from the same start that are searched together
+     */
+    private static class Batch {
+        private final WorldPoint start;
+        private final boolean useBankItems;
+        private final Map<WorldPoint, CompletableFuture<Result>> results = new LinkedHashMap<>();
+
+        private Batch(WorldPoint start, boolean useBankItems) {
+            this.start = start;
+            this.useBankItems = useBankItems;
+        }
+
+        private CompletableFuture<Result> add(WorldPoint target) {
+            return results.computeIfAbsent(target, t -> new CompletableFuture<>());
+        }
+
+        private void cancel() {
+            for (CompletableFuture<Result> result : results.values()) {
+                result.cancel(false);
+            }
+        }
+    }
+
+    @Value
+    private static class BatchKey {
+        int start;
+        boolean useBankItems;
+        int target;
+    }
+
+    @Value
+    private static class QueryKey {
+        int start;
+        Set<Integer> targets;
+        boolean useBankItems;
+        boolean nearest;
+        int generation;
+        long dependencyState;
+    }
+
+    @Value
+    public static class Result {
+        public static final Result NONE = new Result(Collections.emptyList(), -1, false);
+
+        /**
+         * The path from the start, which ends on the tile closest to the target when the target was not reached.
+         * Results are shared through the cache, so the path cannot be modified.
+         */
+        List<WorldPoint> path;
+        /** The cost of the path in ticks of walking, or -1 if there is no path */
+        int cost;
+        boolean targetReached;
+
+        public Result(List<WorldPoint> path, int cost, boolean targetReached) {
+            this.path = Collections.unmodifiableList(path);
+            this.cost = cost;
+            this.targetReached = targetReached;
+        }
+    }
+}
@@ -3,7 +3,11 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,20 +21,35 @@ public class Pathfinder implements Runnable {
 
     private final int start;
     private final Set<Integer> targets;
+    // Copy of the targets to check them without boxing
+    private final int[] targetPositions;
 
     private final PathfinderConfig config;
     private final CollisionMap map;
     private final boolean targetInWilderness;
+    @Getter
+    private final PathfinderAlgorithm algorithm;
 
+    // The breadth-first search refers to its nodes by their index in the store rather than allocating Node objects
+    // Starts small for the many short queries, like reachability checks, and doubles for the long searches
+    private final NodeStore nodes = new NodeStore(1024);
     // Capacities should be enough to store all nodes without requiring the queue to grow
     // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
+    private final NodeStore.IndexQueue boundary = new NodeStore.IndexQueue(4096);
+    private final NodeStore.CostQueue pending = nodes.new CostQueue(256);
     private final VisitedTiles visited;
+    // Kept by the pathfinders that replan for the same targets with the incremental algorithm
+    private final IncrementalSearch incrementalSearch;
+    // Sorted clusters the breadth-first search is kept to while refining a hierarchical search, or null
+    private int[] corridor;
 
     private volatile List<WorldPoint> path = Collections.emptyList();
     private boolean pathNeedsUpdate = false;
     private volatile Node bestLastNode;
+    // Set when the search has to find every target rather than the closest one
+    private boolean searchAllTargets = false;
+    // The best node for each target after searching for all targets, in the order of targetPositions
+    private volatile Node[] targetNodes;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -41,14 +60,32 @@ public class Pathfinder implements Runnable {
     private int wildernessLevel;
 
     public Pathfinder(PathfinderConfig config, int start, Set<Integer> targets) {
+        this(config, start, targets, config.getAlgorithm());
+    }
+
+    public Pathfinder(PathfinderConfig config, int start, Set<Integer> targets, PathfinderAlgorithm algorithm) {
+        this(config, start, targets, algorithm, null);
+    }
+
+    private Pathfinder(PathfinderConfig config, int start, Set<Integer> targets, PathfinderAlgorithm algorithm,
+                       IncrementalSearch incrementalSearch) {
         stats = new PathfinderStats();
         this.config = config;
+        this.algorithm = algorithm;
         this.map = config.getMap();
         this.start = start;
         this.targets = targets;
+        targetPositions = targets.stream().mapToInt(Integer::intValue).toArray();
         visited = new VisitedTiles(map);
         targetInWilderness = PathfinderConfig.isInWildernessPackedPoint(targets);
         wildernessLevel = 31;
+        if (algorithm != PathfinderAlgorithm.INCREMENTAL) {
+            this.incrementalSearch = null;
+        } else if (incrementalSearch != null) {
+            this.incrementalSearch = incrementalSearch;
+        } else {
+            this.incrementalSearch = new IncrementalSearch(config, targetPositions, targets, targetInWilderness);
+        }
         log.debug("Created Pathfinder src={} dst={} config={}",
                 WorldPointUtil.toString(this.start),
                 WorldPointUtil.toString(this.targets),
@@ -64,6 +101,21 @@ public class Pathfinder implements Runnable {
         this(config, start, Set.of(target));
     }
 
+    /**
+     * Creates the pathfinder for a new search, e.g. after the player has moved off the path. With the incremental
+     * algorithm a search to the same targets with the same config repairs the search of this pathfinder rather than
+     * starting over. This pathfinder should be cancelled first, the new search waits for it to stop.
+     */
+    public Pathfinder replan(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets) {
+        final int packedStart = WorldPointUtil.packWorldPoint(start);
+        final Set<Integer> packedTargets = targets.stream().map(WorldPointUtil::packWorldPoint).collect(Collectors.toSet());
+        if (incrementalSearch != null && config == this.config && config.getAlgorithm() == PathfinderAlgorithm.INCREMENTAL
+                && packedTargets.equals(this.targets)) {
+            return new Pathfinder(config, packedStart, this.targets, PathfinderAlgorithm.INCREMENTAL, incrementalSearch);
+        }
+        return new Pathfinder(config, packedStart, packedTargets);
+    }
+
     public WorldPoint getStart() {
         return WorldPointUtil.unpackWorldPoint(start);
     }
@@ -103,19 +155,89 @@ public class Pathfinder implements Runnable {
         return path;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, targets);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+    /**
+     * The cost of the current best path in ticks of walking, or -1 if there is no path
+     */
+    public int getPathCost() {
+        Node lastNode = bestLastNode;
+        return lastNode == null ? -1 : lastNode.cost;
+    }
+
+    /**
+     * Whether the current best path ends on one of the targets rather than the closest tile found
+     */
+    public boolean isTargetReached() {
+        Node lastNode = bestLastNode;
+        return lastNode != null && targets.contains(lastNode.packedPosition);
+    }
+
+    /**
+     * Keeps the breadth-first search going until every target has been reached rather than stopping at the closest
+     * one, so that a single search answers the path to each of the targets. Has to be set before {@link #run()}.
+     */
+    public void setSearchAllTargets(boolean searchAllTargets) {
+        this.searchAllTargets = searchAllTargets;
+    }
+
+    /**
+     * The path to the given target after searching for all targets, or to the closest tile found when the target
+     * was not reached
+     */
+    public List<WorldPoint> getPath(WorldPoint target) {
+        Node node = getTargetNode(target);
+        return node == null ? Collections.emptyList() : node.getPath();
+    }
+
+    /**
+     * The cost of the path to the given target after searching for all targets, or -1 if there is no path
+     */
+    public int getPathCost(WorldPoint target) {
+        Node node = getTargetNode(target);
+        return node == null ? -1 : node.cost;
+    }
+
+    /**
+     * Whether the path to the given target after searching for all targets ends on the target itself
+     */
+    public boolean isTargetReached(WorldPoint target) {
+        Node node = getTargetNode(target);
+        return node != null && node.packedPosition == WorldPointUtil.packWorldPoint(target);
+    }
+
+    private Node getTargetNode(WorldPoint target) {
+        if (!done && !cancelled) throw new IllegalStateException("Pathfinder is not done");
+        final Node[] lastNodes = targetNodes;
+        if (lastNodes == null) {
+            return null;
+        }
+        final int packedTarget = WorldPointUtil.packWorldPoint(target);
+        for (int i = 0; i < targetPositions.length; i++) {
+            if (targetPositions[i] == packedTarget) {
+                return lastNodes[i];
+            }
+        }
+        return null;
+    }
+
+    private void addNeighbors(int node) {
+        final int position = nodes.getPosition(node);
+        final int count = map.getNeighbors(position, nodes.getCost(node), visited, config, targets);
+        for (int i = 0; i < count; i++) {
+            final int neighbor = map.getNeighborPosition(i);
+            if (config.avoidWilderness(position, neighbor, targetInWilderness)) {
+                continue;
+            }
+            if (corridor != null && !RegionGraph.inCorridor(corridor, neighbor)) {
                 continue;
             }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
+            visited.set(neighbor);
+            final int index = nodes.add(neighbor, node, map.getNeighborCost(i));
+            if (map.isNeighborTransport(i)) {
+                pending.add(index);
                 ++stats.transportsChecked;
             } else {
-                boundary.addLast(neighbor);
+                boundary.add(index);
                 ++stats.nodesChecked;
             }
         }
@@ -124,23 +246,61 @@ public class Pathfinder implements Runnable {
     @Override
     public void run() {
         stats.start();
-        boundary.addFirst(new Node(start, null));
 
+        WorldPoint playerLocation = Rs2Player.getWorldLocation();
+        final boolean inToaPuzzleRoom = playerLocation != null && playerLocation.getRegionID() == 14162;
+        map.setInToaPuzzleRoom(inToaPuzzleRoom);
+
+        // The backward searches stop at the closest target, so searching for all targets is breadth-first only
+        if (algorithm == PathfinderAlgorithm.BIDIRECTIONAL_A_STAR && !searchAllTargets && canSearchBackwards(inToaPuzzleRoom)) {
+            runBidirectional();
+        } else if (algorithm == PathfinderAlgorithm.INCREMENTAL && !searchAllTargets && canSearchBackwards(inToaPuzzleRoom)) {
+            runIncremental();
+        } else if (algorithm == PathfinderAlgorithm.HIERARCHICAL && !searchAllTargets && canSearchBackwards(inToaPuzzleRoom)) {
+            runHierarchical();
+        } else {
+            runBreadthFirst();
+        }
+
+        done = !cancelled;
+
+        clearSearch();
+
+        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+
+        log.debug("Pathfinding completed DstNode={} src={} dst={} Stats={}",
+                bestLastNode == null ? "null" : WorldPointUtil.toString(bestLastNode.packedPosition),
+                WorldPointUtil.toString(start),
+                WorldPointUtil.toString(targets),
+                getStats().toString());
+    }
+
+    private void clearSearch() {
+        boundary.clear();
+        visited.clear();
+        pending.clear();
+        nodes.clear();
+    }
+
+    private void runBreadthFirst() {
+        boundary.add(nodes.add(start, NodeStore.NO_PARENT, 0));
+
+        int bestNode = NodeStore.NO_PARENT;
         int bestDistance = Integer.MAX_VALUE;
         long bestHeuristic = Integer.MAX_VALUE;
+        final TargetProgress progress = searchAllTargets ? new TargetProgress() : null;
         long cutoffDurationMillis = config.getCalculationCutoffMillis();
         long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
 
         config.refreshTeleports(start, 31);
         while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
+            final int node;
+            if (!pending.isEmpty() && (boundary.isEmpty() || nodes.getCost(pending.peek()) < nodes.getCost(boundary.peek()))) {
                 node = pending.poll();
             } else {
-                node = boundary.removeFirst();
+                node = boundary.poll();
             }
+            final int position = nodes.getPosition(node);
 
             if (wildernessLevel > 0) {
                 // We don't need to remove teleports when going from 20 to 21 or higher,
@@ -151,37 +311,42 @@ public class Pathfinder implements Runnable {
 
                 // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
                 // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(position)) {
                     wildernessLevel = 29;
                     update = true;
                 }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
+                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(position)) {
                     wildernessLevel = 19;
                     update = true;
                 }
-                if (wildernessLevel > 0 && !PathfinderConfig.isInWilderness(node.packedPosition)) {
+                if (wildernessLevel > 0 && !PathfinderConfig.isInWilderness(position)) {
                     wildernessLevel = 0;
                     update = true;
                 }
                 if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+                    config.refreshTeleports(position, wildernessLevel);
                 }
             }
 
-            if (targets.contains(node.packedPosition)) {
-                bestLastNode = node;
-                pathNeedsUpdate = true;
+            if (progress != null) {
+                if (progress.visit(node, position)) {
+                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+                }
+                if (progress.isComplete()) {
+                    break;
+                }
+            } else if (isTarget(position)) {
+                bestNode = node;
                 break;
             }
 
-            for (int target : targets) {
-                int distance = WorldPointUtil.distanceBetween(node.packedPosition, target);
-                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, target, 2);
+            for (int target : targetPositions) {
+                int distance = WorldPointUtil.distanceBetween(position, target);
+                long heuristic = distance + (long) WorldPointUtil.distanceBetween(position, target, 2);
 
                 if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
 
-                    bestLastNode = node;
-                    pathNeedsUpdate = true;
+                    bestNode = node;
                     bestDistance = distance;
                     bestHeuristic = heuristic;
                     cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
@@ -195,24 +360,330 @@ public class Pathfinder implements Runnable {
             addNeighbors(node);
         }
 
-        done = !cancelled;
+        if (progress != null) {
+            targetNodes = progress.toNodes();
+        }
 
-        boundary.clear();
-        visited.clear();
-        pending.clear();
+        // Only the chosen path is turned into Node objects
+        if (bestNode != NodeStore.NO_PARENT) {
+            bestLastNode = nodes.toNode(bestNode);
+            pathNeedsUpdate = true;
+        }
+    }
 
-        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    private boolean isTarget(int packedPosition) {
+        for (int target : targetPositions) {
+            if (target == packedPosition) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        log.debug("Pathfinding completed DstNode={} src={} dst={} Stats={}",
-                bestLastNode == null ? "null" : WorldPointUtil.toString(bestLastNode.packedPosition),
-                WorldPointUtil.toString(start),
-                WorldPointUtil.toString(targets),
-                getStats().toString());
+    /**
+     * The searches that run backwards from the targets, or plan ahead over regions, only know the teleports available
+     * at the start. Starting in
+     * the Wilderness makes teleports available part way through the path, and the ToA puzzle room depends on live
+     * ground objects, so both fall back to the breadth-first search.
+     */
+    private boolean canSearchBackwards(boolean inToaPuzzleRoom) {
+        return !inToaPuzzleRoom && !PathfinderConfig.isInWilderness(start);
+    }
+
+    /**
+     * Bidirectional A* where each direction orders its nodes by the cost so far plus its own estimate of the rest.
+     * The landmark estimates are admissible but not consistent, so a node is expanded again whenever a cheaper way to
+     * it is found. Nodes that cannot lead to a path cheaper than the best meeting point found so far are pruned, and
+     * the search stops once the cheapest open node of either direction can no longer improve on it.
+     */
+    private void runBidirectional() {
+        if (targets.contains(start)) {
+            bestLastNode = new Node(start, null);
+            pathNeedsUpdate = true;
+            return;
+        }
+
+        config.refreshTeleports(start, 0);
+
+        final AStarHeuristic heuristic = new AStarHeuristic(config, start, targets);
+        final PrimitiveIntHashMap<List<IncomingTransport>> incomingTransports = getIncomingTransports();
+        // Nodes are reopened, so nothing is ever marked as visited; the empty set still keeps the search on the map
+        final VisitedTiles unvisited = new VisitedTiles(map);
+        final PrimitiveIntHashMap<Node> forwardNodes = new PrimitiveIntHashMap<>(4096);
+        final PrimitiveIntHashMap<Node> backwardNodes = new PrimitiveIntHashMap<>(4096);
+        final Queue<SearchNode> forward = new PriorityQueue<>(4096);
+        final Queue<SearchNode> backward = new PriorityQueue<>(4096);
+
+        Node startNode = new Node(start, null);
+        forwardNodes.put(start, startNode);
+        forward.add(new SearchNode(startNode, heuristic.toTarget(start)));
+        for (int target : targets) {
+            Node targetNode = new Node(target, null, 0);
+            backwardNodes.put(target, targetNode);
+            backward.add(new SearchNode(targetNode, heuristic.fromStart(target)));
+        }
+
+        long bestCost = Long.MAX_VALUE;
+        Node meetForward = null;
+        Node meetBackward = null;
+        int bestHeuristic = Integer.MAX_VALUE;
+        boolean cutoff = false;
+        long cutoffDurationMillis = config.getCalculationCutoffMillis();
+        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+
+        while (!cancelled && !forward.isEmpty() && !backward.isEmpty()) {
+            if (bestCost <= Math.max(forward.peek().key, backward.peek().key)) {
+                break;
+            }
+
+            if (forward.size() <= backward.size()) {
+                Node node = forward.poll().node;
+                if (forwardNodes.get(node.packedPosition) != node) {
+                    continue; // A cheaper way to this node was found after it was queued
+                }
+
+                int estimate = heuristic.toTarget(node.packedPosition);
+                if (estimate < bestHeuristic) {
+                    bestHeuristic = estimate;
+                    bestLastNode = node;
+                    pathNeedsUpdate = true;
+                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+                }
+
+                for (Node neighbor : map.getNeighbors(node, unvisited, config, targets)) {
+                    if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+                        continue;
+                    }
+                    Node known = forwardNodes.get(neighbor.packedPosition);
+                    if (known != null && known.cost <= neighbor.cost) {
+                        continue;
+                    }
+                    forwardNodes.put(neighbor.packedPosition, neighbor);
+                    if (neighbor instanceof TransportNode) {
+                        ++stats.transportsChecked;
+                    } else {
+                        ++stats.nodesChecked;
+                    }
+
+                    Node other = backwardNodes.get(neighbor.packedPosition);
+                    if (other != null && (long) neighbor.cost + other.cost < bestCost) {
+                        bestCost = (long) neighbor.cost + other.cost;
+                        meetForward = neighbor;
+                        meetBackward = other;
+                    }
+
+                    long key = (long) neighbor.cost + heuristic.toTarget(neighbor.packedPosition);
+                    if (key < bestCost) {
+                        forward.add(new SearchNode(neighbor, key));
+                    }
+                }
+            } else {
+                Node node = backward.poll().node;
+                if (backwardNodes.get(node.packedPosition) != node) {
+                    continue;
+                }
+
+                for (Node predecessor : map.getPredecessors(node, unvisited, config, incomingTransports)) {
+                    if (config.avoidWilderness(predecessor.packedPosition, node.packedPosition, targetInWilderness)) {
+                        continue;
+                    }
+                    Node known = backwardNodes.get(predecessor.packedPosition);
+                    if (known != null && known.cost <= predecessor.cost) {
+                        continue;
+                    }
+                    backwardNodes.put(predecessor.packedPosition, predecessor);
+                    ++stats.nodesChecked;
+
+                    Node other = forwardNodes.get(predecessor.packedPosition);
+                    if (other != null && (long) predecessor.cost + other.cost < bestCost) {
+                        bestCost = (long) predecessor.cost + other.cost;
+                        meetForward = other;
+                        meetBackward = predecessor;
+                    }
+
+                    long key = (long) predecessor.cost + heuristic.fromStart(predecessor.packedPosition);
+                    if (key < bestCost) {
+                        backward.add(new SearchNode(predecessor, key));
+                    }
+                }
+            }
+
+            if (System.currentTimeMillis() > cutoffTimeMillis) {
+                cutoff = true;
+                break;
+            }
+        }
+
+        if (meetForward == null && !cancelled && !cutoff) {
+            // There is no path, so walk towards the closest reachable tile like the breadth-first search does
+            runBreadthFirst();
+            return;
+        }
+
+        if (meetForward != null) {
+            // Append the backward half of the path, whose nodes point towards the target
+            Node node = meetForward;
+            for (Node next = meetBackward; next.previous != null; next = next.previous) {
+                node = new Node(next.previous.packedPosition, node, node.cost + next.cost - next.previous.cost);
+            }
+            bestLastNode = node;
+            pathNeedsUpdate = true;
+        }
+    }
+
+    /**
+     * Repairs the search of the previous pathfinder to the same targets, or starts a new one. Like the bidirectional
+     * search it walks towards the closest reachable tile when the targets cannot be reached.
+     */
+    private void runIncremental() {
+        final Node lastNode = incrementalSearch.search(start, () -> cancelled);
+        stats.nodesChecked += incrementalSearch.getExpandedTiles();
+        stats.replan = incrementalSearch.isRepaired();
+        if (lastNode == null) {
+            if (!cancelled) {
+                runBreadthFirst();
+            }
+            return;
+        }
+
+        // The walker looks up the teleports of the path on the start tile
+        config.refreshTeleports(start, 0);
+        bestLastNode = lastNode;
+        pathNeedsUpdate = true;
+    }
+
+    /**
+     * Plans the route over the regions first and then runs the breadth-first search only over the regions of that
+     * route. The region distances can be a little off, so the whole map is searched after all when the target turns
+     * out not to be reachable within the corridor.
+     */
+    private void runHierarchical() {
+        config.refreshTeleports(start, 0);
+
+        final AStarHeuristic heuristic = new AStarHeuristic(config, start, targets);
+        final int[] regions = config.getRegionGraph().findCorridor(config, start, targets, targetInWilderness,
+                heuristic, () -> cancelled);
+        if (cancelled) {
+            return;
+        }
+
+        if (regions != null) {
+            corridor = regions;
+            runBreadthFirst();
+            corridor = null;
+            if (cancelled || isTargetReached()) {
+                return;
+            }
+            clearSearch();
+            bestLastNode = null;
+            wildernessLevel = 31;
+        }
+        // Either there is no path, so walk towards the closest reachable tile, or the corridor was too narrow
+        runBreadthFirst();
+    }
+
+    // Transports grouped by destination, with teleports leading out of the tile they were registered on
+    private PrimitiveIntHashMap<List<IncomingTransport>> getIncomingTransports() {
+        PrimitiveIntHashMap<List<IncomingTransport>> incoming = new PrimitiveIntHashMap<>(config.getTransports().size());
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : config.getTransports().entrySet()) {
+            final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+            for (Transport transport : entry.getValue()) {
+                final int cost = AStarHeuristic.transportCost(config, transport);
+                if (transport.getDestination() == null || cost < 0) {
+                    continue;
+                }
+                List<IncomingTransport> transports = new ArrayList<>(1);
+                transports.add(new IncomingTransport(origin, cost));
+                // Appends to the existing list when the destination is already known
+                incoming.put(WorldPointUtil.packWorldPoint(transport.getDestination()), transports);
+            }
+        }
+        return incoming;
+    }
+
+    /**
+     * The best node found for each target while searching for all of them. Targets that are not reached keep the node
+     * closest to them, like the single target search does.
+     */
+    private class TargetProgress {
+        private final int[] bestNodes = new int[targetPositions.length];
+        private final int[] bestDistances = new int[targetPositions.length];
+        private final long[] bestHeuristics = new long[targetPositions.length];
+        private final boolean[] reached = new boolean[targetPositions.length];
+        private int reachedCount;
+
+        private TargetProgress() {
+            Arrays.fill(bestNodes, NodeStore.NO_PARENT);
+            Arrays.fill(bestDistances, Integer.MAX_VALUE);
+            Arrays.fill(bestHeuristics, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Records the node for the targets it reaches or gets closer to,
+         * and returns whether it did so for any target that has not been reached yet
+         */
+        private boolean visit(int node, int position) {
+            boolean improved = false;
+            for (int i = 0; i < targetPositions.length; i++) {
+                if (reached[i]) {
+                    continue;
+                }
+
+                final int target = targetPositions[i];
+                if (target == position) {
+                    reached[i] = true;
+                    ++reachedCount;
+                    bestNodes[i] = node;
+                    improved = true;
+                    continue;
+                }
+
+                int distance = WorldPointUtil.distanceBetween(position, target);
+                long heuristic = distance + (long) WorldPointUtil.distanceBetween(position, target, 2);
+                if (heuristic < bestHeuristics[i] || (heuristic <= bestHeuristics[i] && distance < bestDistances[i])) {
+                    bestNodes[i] = node;
+                    bestDistances[i] = distance;
+                    bestHeuristics[i] = heuristic;
+                    improved = true;
+                }
+            }
+            return improved;
+        }
+
+        private boolean isComplete() {
+            return reachedCount == targetPositions.length;
+        }
+
+        private Node[] toNodes() {
+            Node[] result = new Node[targetPositions.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = bestNodes[i] == NodeStore.NO_PARENT ? null : nodes.toNode(bestNodes[i]);
+            }
+            return result;
+        }
+    }
+
+    private static class SearchNode implements Comparable<SearchNode> {
+        private final Node node;
+        private final long key;
+
+        private SearchNode(Node node, long key) {
+            this.node = node;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(SearchNode other) {
+            return Long.compare(key, other.key);
+        }
     }
 
     public static class PathfinderStats {
         @Getter
         private int nodesChecked = 0, transportsChecked = 0;
+        // Whether the search repaired the search of a previous pathfinder
+        @Getter
+        private boolean replan = false;
         private long startNanos, endNanos;
         private volatile boolean started = false, ended = false;
 
@@ -224,10 +695,18 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
+        /**
+         * The time it took to repair the previous search, or -1 if this search started over
+         */
+        public long getReplanLatencyNanos() {
+            return replan ? getElapsedTimeNanos() : -1;
+        }
+
         private void start() {
             started = true;
             nodesChecked = 0;
             transportsChecked = 0;
+            replan = false;
             startNanos = System.nanoTime();
         }
 
@@ -238,7 +717,7 @@ public class Pathfinder implements Runnable {
 
         @Override
         public String toString() {
-            return String.format("PathfinderStats(nodes=%d,transports=%d,time=%dms)", nodesChecked, transportsChecked, getElapsedTimeNanos() / 1_000_000);
+            return String.format("PathfinderStats(nodes=%d,transports=%d,time=%dms,replan=%s)", nodesChecked, transportsChecked, getElapsedTimeNanos() / 1_000_000, replan);
         }
     }
 }
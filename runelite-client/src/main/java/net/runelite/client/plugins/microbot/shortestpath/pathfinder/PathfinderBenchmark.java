@@ -0,0 +1,123 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs every {@link PathfinderAlgorithm} over a fixed set of routes and compares their path costs and timings.
+ * Most routes are long, the last one is a short walk like the reachability checks scripts run all the time.
+ * The routes use whatever transports the current {@link PathfinderConfig} allows, so the config should be refreshed
+ * while logged in before running the benchmark.
+ * <p>
+ * Besides the timings it reports the throughput in nodes per second and the bytes allocated per search, which is
+ * what the allocation free neighbour expansion in {@link CollisionMap} is meant to keep low. The allocated bytes are
+ * only known on JVMs that support thread allocation accounting and are -1 otherwise.
+ */
+@Slf4j
+public class PathfinderBenchmark {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint PRIFDDINAS = new WorldPoint(3263, 6065, 0);
+    private static final WorldPoint VARROCK = new WorldPoint(3213, 3424, 0);
+    private static final WorldPoint EAST_ARDOUGNE = new WorldPoint(2662, 3305, 0);
+    private static final WorldPoint FALADOR = new WorldPoint(2964, 3378, 0);
+    private static final WorldPoint CATHERBY = new WorldPoint(2809, 3435, 0);
+    private static final WorldPoint EDGEVILLE = new WorldPoint(3094, 3491, 0);
+    private static final WorldPoint YANILLE = new WorldPoint(2606, 3093, 0);
+    private static final WorldPoint DRAYNOR_VILLAGE = new WorldPoint(3093, 3244, 0);
+    private static final WorldPoint RELLEKKA = new WorldPoint(2643, 3676, 0);
+    private static final WorldPoint HOSIDIUS = new WorldPoint(1744, 3517, 0);
+    private static final WorldPoint LUMBRIDGE_CASTLE_GATE = new WorldPoint(3235, 3218, 0);
+
+    private static final WorldPoint[][] ROUTES = {
+            {LUMBRIDGE, PRIFDDINAS},
+            {VARROCK, EAST_ARDOUGNE},
+            {FALADOR, CATHERBY},
+            {EDGEVILLE, YANILLE},
+            {DRAYNOR_VILLAGE, RELLEKKA},
+            {LUMBRIDGE, HOSIDIUS},
+            {LUMBRIDGE, LUMBRIDGE_CASTLE_GATE},
+    };
+
+    @Value
+    public static class Result {
+        WorldPoint start;
+        WorldPoint target;
+        PathfinderAlgorithm algorithm;
+        int pathCost;
+        boolean targetReached;
+        int nodesChecked;
+        double averageMillis;
+        double nodesPerSecond;
+        long averageAllocatedBytes;
+    }
+
+    /**
+     * Runs each route {@code iterations} times per algorithm on the calling thread and logs a comparison.
+     * This blocks for as long as the searches take and must not be called on the client thread.
+     */
+    public static List<Result> run(PathfinderConfig config, int iterations) {
+        List<Result> results = new ArrayList<>(ROUTES.length * PathfinderAlgorithm.values().length);
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final boolean measureAllocations = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+        for (WorldPoint[] route : ROUTES) {
+            final int start = WorldPointUtil.packWorldPoint(route[0]);
+            final Set<Integer> targets = Set.of(WorldPointUtil.packWorldPoint(route[1]));
+
+            Result baseline = null;
+            for (PathfinderAlgorithm algorithm : PathfinderAlgorithm.values()) {
+                Pathfinder pathfinder = null;
+                long totalNanos = 0;
+                long totalAllocatedBytes = 0;
+                for (int i = 0; i < iterations; i++) {
+                    final long allocatedBefore = measureAllocations ? allocatedBytes(threads) : 0;
+                    pathfinder = new Pathfinder(config, start, targets, algorithm);
+                    pathfinder.run();
+                    totalNanos += pathfinder.getStats().getElapsedTimeNanos();
+                    if (measureAllocations) {
+                        totalAllocatedBytes += allocatedBytes(threads) - allocatedBefore;
+                    }
+                }
+
+                if (pathfinder == null) {
+                    continue;
+                }
+
+                final int nodesChecked = pathfinder.getStats().getTotalNodesChecked();
+                final double averageNanos = (double) totalNanos / iterations;
+                Result result = new Result(route[0], route[1], algorithm, pathfinder.getPathCost(),
+                        pathfinder.isTargetReached(), nodesChecked, averageNanos / 1_000_000.0,
+                        averageNanos > 0 ? nodesChecked / (averageNanos / 1_000_000_000.0) : 0,
+                        measureAllocations ? totalAllocatedBytes / iterations : -1);
+                results.add(result);
+
+                if (baseline == null) {
+                    baseline = result;
+                } else if (baseline.isTargetReached() && result.isTargetReached() && baseline.getPathCost() != result.getPathCost()) {
+                    log.warn("Path cost mismatch {} -> {}: {}={} {}={}", route[0], route[1],
+                            baseline.getAlgorithm(), baseline.getPathCost(), algorithm, result.getPathCost());
+                }
+
+                log.info("{} -> {} {}: cost={} reached={} nodes={} time={}ms nodes/s={} allocated={}KB", route[0], route[1],
+                        algorithm, result.getPathCost(), result.isTargetReached(), result.getNodesChecked(),
+                        String.format("%.2f", result.getAverageMillis()), String.format("%.0f", result.getNodesPerSecond()),
+                        result.getAverageAllocatedBytes() / 1024);
+            }
+        }
+        return results;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -65,6 +65,7 @@ public class PathfinderConfig {
     /** All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player. */
 	@Getter
     private final Map<WorldPoint, Set<Transport>> allTransports;
+    @Getter
     @Setter
     private volatile Set<Transport> usableTeleports;
     private final List<WorldPoint> filteredTargets = new CopyOnWriteArrayList<>();
@@ -88,6 +89,14 @@ public class PathfinderConfig {
     private volatile long calculationCutoffMillis;
     @Getter
     private volatile boolean avoidWilderness;
+    @Getter
+    private volatile PathfinderAlgorithm algorithm = PathfinderAlgorithm.BREADTH_FIRST;
+    /** Landmark distances for the A* heuristic, or null until they are loaded */
+    @Getter
+    private volatile LandmarkTable landmarkTable;
+    // Region level graph for the hierarchical search, shared with the configs copied from this one
+    private RegionGraph regionGraph;
+    private volatile boolean regionGraphPrecomputed;
     private volatile boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -115,6 +124,8 @@ public class PathfinderConfig {
     @Getter
     private final Set<Integer> restrictedPointsPacked;
     private final Set<Integer> internalRestrictedPointsPacked;
+    // Sorted copy of the restricted points for lookups in the hotpath without boxing
+    private volatile int[] restrictedPointsSorted = new int[0];
     private volatile boolean useNpcs;
     //END microbot variables
     private volatile TeleportationItem useTeleportationItems;
@@ -146,14 +157,69 @@ public class PathfinderConfig {
         this.internalRestrictedPointsPacked = ConcurrentHashMap.newKeySet();
         this.restrictedPointsPacked = Collections.unmodifiableSet(internalRestrictedPointsPacked);
         //END microbot variables
+        this.regionGraph = new RegionGraph(mapData, allTransports);
+    }
+
+    /**
+     * Creates a config for a {@link PathQueryService} worker. It shares the map, transports, restrictions and landmarks
+     * of the given config but keeps its own usable transports, so refreshing it never changes a search running on
+     * another thread.
+     */
+    PathfinderConfig(PathfinderConfig base) {
+        this(base.mapData, base.allTransports, base.resourceRestrictions, base.client, base.config);
+        this.customRestrictions = base.customRestrictions;
+        this.landmarkTable = base.landmarkTable;
+        this.regionGraph = base.regionGraph;
     }
 
     public CollisionMap getMap() {
         return map.get();
     }
 
+    /**
+     * Loads the landmark table in the background, since it has to be rebuilt when the transports have changed.
+     * Searches started before it is loaded use the plain A* heuristic.
+     */
+    public void loadLandmarkTable() {
+        Thread thread = new Thread(() -> {
+            try {
+                landmarkTable = LandmarkTable.load(mapData, allTransports);
+            } catch (Exception e) {
+                log.warn("Unable to load the landmark table", e);
+            }
+        }, "ShortestPath-Landmarks");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Builds the region graph in the background when the hierarchical search is selected. Searches started before it
+     * is done build the regions they reach themselves.
+     */
+    public void precomputeRegionGraph() {
+        if (regionGraphPrecomputed || config.pathfinderAlgorithm() != PathfinderAlgorithm.HIERARCHICAL) {
+            return;
+        }
+        regionGraphPrecomputed = true;
+
+        Thread thread = new Thread(() -> {
+            try {
+                long startNanos = System.nanoTime();
+                int clusters = regionGraph.precompute();
+                log.debug("Built {} region graph clusters in {}ms", clusters, (System.nanoTime() - startNanos) / 1_000_000);
+            } catch (Exception e) {
+                log.warn("Unable to build the region graph", e);
+            }
+        }, "ShortestPath-RegionGraph");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
     public void refresh(WorldPoint target) {
         calculationCutoffMillis = (long) config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
+        algorithm = config.pathfinderAlgorithm();
         avoidWilderness = ShortestPathPlugin.override("avoidWilderness", config.avoidWilderness());
         useAgilityShortcuts = ShortestPathPlugin.override("useAgilityShortcuts", config.useAgilityShortcuts());
         useGrappleShortcuts = ShortestPathPlugin.override("useGrappleShortcuts", config.useGrappleShortcuts());
@@ -250,7 +316,7 @@ public class PathfinderConfig {
         useFairyRings &= !QuestState.NOT_STARTED.equals(Rs2Player.getQuestState(Quest.FAIRYTALE_II__CURE_A_QUEEN))
                 && (Rs2Inventory.contains(ItemID.DRAMEN_STAFF, ItemID.LUNAR_MOONCLAN_LIMINAL_STAFF)
                 || Rs2Equipment.isWearing(ItemID.DRAMEN_STAFF, ItemID.LUNAR_MOONCLAN_LIMINAL_STAFF)
-                || (ShortestPathPlugin.getPathfinderConfig().useBankItems && (Rs2Bank.hasItem(ItemID.DRAMEN_STAFF)|| Rs2Bank.hasItem(ItemID.LUNAR_MOONCLAN_LIMINAL_STAFF)))
+                || (useBankItems && (Rs2Bank.hasItem(ItemID.DRAMEN_STAFF)|| Rs2Bank.hasItem(ItemID.LUNAR_MOONCLAN_LIMINAL_STAFF)))
                 || Microbot.getVarbitValue(VarbitID.LUMBRIDGE_DIARY_ELITE_COMPLETE) == 1);
         useGnomeGliders &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.THE_GRAND_TREE));
         useSpiritTrees &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TREE_GNOME_VILLAGE));
@@ -338,6 +404,20 @@ public class PathfinderConfig {
                 return false;
             })
             .forEach(entry -> internalRestrictedPointsPacked.add(entry.getPackedWorldPoint()));
+        restrictedPointsSorted = internalRestrictedPointsPacked.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    // Sorted copy of the restricted points, which is replaced rather than changed when the restrictions are refreshed
+    int[] getRestrictedPointsSorted() {
+        return restrictedPointsSorted;
+    }
+
+    RegionGraph getRegionGraph() {
+        return regionGraph;
+    }
+
+    public boolean isRestricted(int packedPoint) {
+        return Arrays.binarySearch(restrictedPointsSorted, packedPoint) >= 0;
     }
 
     public static boolean isInWilderness(WorldPoint p) {
@@ -0,0 +1,462 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * The region level abstraction of the map used for hierarchical pathfinding (HPA*).
+ * <p>
+ * Every region plane is a cluster. The tiles on either side of a cluster border where the player can walk across are
+ * grouped into entrances, each with one crossing tile in the middle. The walking distances between the entrances of a
+ * cluster and the transport origins and destinations inside it are found with a search that stays in the cluster.
+ * A search over this graph finds the clusters a path runs through, and the tile search then only has to look at those
+ * clusters rather than everything in reach.
+ * <p>
+ * Clusters are built the first time a search reaches them and are kept for later searches. The steps and transports
+ * are a superset of what the tile search may use, apart from the restricted tiles, so a cluster is built again when a
+ * restriction on or next to it changes.
+ */
+@Slf4j
+class RegionGraph {
+    static final int UNREACHABLE = -1;
+
+    // Wide entrances get a crossing every this many tiles, so that the distances through them stay close to the truth
+    private static final int ENTRANCE_WIDTH = 16;
+    private static final int REGION_TILES = REGION_SIZE * REGION_SIZE;
+    // Same order as the directions in CollisionMap
+    private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+    private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+    private static final int WEST = 0, EAST = 1, SOUTH = 2, NORTH = 3;
+
+    private final CollisionMap map;
+    // Sorted packed origins of the transports with a fixed origin
+    private final int[] transportOrigins;
+    // Sorted packed origins and destinations of all transports, by cluster
+    private final Map<Integer, int[]> transportEnds = new HashMap<>();
+    private final Map<Integer, Cluster> clusters = new ConcurrentHashMap<>();
+    // The restrictions the clusters were built with, replaced by sync
+    private volatile int[] restrictedPoints = new int[0];
+
+    RegionGraph(SplitFlagMap mapData, Map<WorldPoint, Set<Transport>> transports) {
+        this.map = new CollisionMap(mapData);
+
+        Set<Integer> origins = new HashSet<>();
+        Map<Integer, Set<Integer>> ends = new HashMap<>();
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+            if (entry.getKey() != null) {
+                final int origin = WorldPointUtil.packWorldPoint(entry.getKey());
+                origins.add(origin);
+                ends.computeIfAbsent(clusterOf(origin), k -> new HashSet<>()).add(origin);
+            }
+            // Teleports have no fixed origin, but the player still arrives on their destination
+            for (Transport transport : entry.getValue()) {
+                if (transport.getDestination() != null) {
+                    final int destination = WorldPointUtil.packWorldPoint(transport.getDestination());
+                    ends.computeIfAbsent(clusterOf(destination), k -> new HashSet<>()).add(destination);
+                }
+            }
+        }
+        transportOrigins = origins.stream().mapToInt(Integer::intValue).sorted().toArray();
+        ends.forEach((cluster, points) -> transportEnds.put(cluster, points.stream().mapToInt(Integer::intValue).sorted().toArray()));
+    }
+
+    /**
+     * Builds the clusters of every region plane on the map ahead of the first searches, which would otherwise build
+     * them as they go. Returns the number of clusters built.
+     */
+    int precompute() {
+        final SplitFlagMap.RegionExtent extents = SplitFlagMap.getRegionExtents();
+        final byte[] planes = map.getPlanes();
+        final int widthInclusive = extents.getWidth() + 1;
+        int built = 0;
+        for (int region = 0; region < planes.length; region++) {
+            final int x = (region % widthInclusive + extents.getMinX()) * REGION_SIZE;
+            final int y = (region / widthInclusive + extents.getMinY()) * REGION_SIZE;
+            for (int plane = 0; plane < planes[region]; plane++) {
+                getCluster(clusterOf(WorldPointUtil.packWorldPoint(x, y, plane)));
+                built++;
+            }
+        }
+        return built;
+    }
+
+    /** The cluster of the packed point, which is its region and plane */
+    static int clusterOf(int packedPoint) {
+        return (WorldPointUtil.unpackWorldX(packedPoint) / REGION_SIZE)
+                | (WorldPointUtil.unpackWorldY(packedPoint) / REGION_SIZE) << 9
+                | WorldPointUtil.unpackWorldPlane(packedPoint) << 18;
+    }
+
+    /** Whether the packed point lies in one of the sorted clusters */
+    static boolean inCorridor(int[] corridor, int packedPoint) {
+        return Arrays.binarySearch(corridor, clusterOf(packedPoint)) >= 0;
+    }
+
+    /**
+     * Drops the clusters on and next to the tiles whose restriction changed since the clusters were built.
+     * Clusters that were being built with the previous restrictions meanwhile are not kept.
+     */
+    synchronized void sync(int[] restrictions) {
+        final int[] previous = restrictedPoints;
+        if (previous == restrictions) {
+            return;
+        }
+        restrictedPoints = restrictions;
+
+        int i = 0, j = 0;
+        while (i < previous.length || j < restrictions.length) {
+            final int changed;
+            if (j == restrictions.length || (i < previous.length && previous[i] < restrictions[j])) {
+                changed = previous[i++];
+            } else if (i == previous.length || restrictions[j] < previous[i]) {
+                changed = restrictions[j++];
+            } else {
+                i++;
+                j++;
+                continue;
+            }
+
+            final int x = WorldPointUtil.unpackWorldX(changed);
+            final int y = WorldPointUtil.unpackWorldY(changed);
+            final int z = WorldPointUtil.unpackWorldPlane(changed);
+            clusters.remove(clusterOf(changed));
+            // The entrances of the neighbouring clusters depend on the tiles along the shared border
+            for (int direction = WEST; direction <= NORTH; direction++) {
+                clusters.remove(clusterOf(WorldPointUtil.packWorldPoint(
+                        x + DX[direction] * REGION_SIZE, y + DY[direction] * REGION_SIZE, z)));
+            }
+        }
+    }
+
+    /**
+     * Searches the clusters with A* from the start to the closest target and returns the clusters of the path found,
+     * sorted for {@link #inCorridor}. Returns null when none of the targets can be reached or the search was cancelled.
+     * The usable transports, including the teleports registered on the start, are taken from the config.
+     */
+    int[] findCorridor(PathfinderConfig config, int start, Set<Integer> targets, boolean targetInWilderness,
+                       AStarHeuristic heuristic, BooleanSupplier cancelled) {
+        sync(config.getRestrictedPointsSorted());
+
+        final Cluster startCluster = getCluster(clusterOf(start));
+        final int[] startDistances = distances(startCluster, start, false);
+        // The distance from every point of the target cluster to the target, by target
+        final PrimitiveIntHashMap<int[]> targetDistances = new PrimitiveIntHashMap<>(targets.size());
+        final Set<Integer> targetClusters = new HashSet<>();
+        for (int target : targets) {
+            final int cluster = clusterOf(target);
+            targetClusters.add(cluster);
+            targetDistances.put(target, distances(getCluster(cluster), target, true));
+        }
+
+        final PrimitiveIntHashMap<Node> nodes = new PrimitiveIntHashMap<>(1024);
+        final Queue<SearchNode> open = new PriorityQueue<>(1024);
+        final Node startNode = new Node(start, null, 0);
+        nodes.put(start, startNode);
+        open.add(new SearchNode(startNode, heuristic.toTarget(start)));
+
+        while (!open.isEmpty() && !cancelled.getAsBoolean()) {
+            final Node node = open.poll().node;
+            final int position = node.packedPosition;
+            if (nodes.get(position) != node) {
+                continue; // A cheaper way to this point was found after it was queued
+            }
+            if (targets.contains(position)) {
+                return toCorridor(node);
+            }
+
+            final int clusterKey = clusterOf(position);
+            final Cluster cluster = getCluster(clusterKey);
+            final int index = Arrays.binarySearch(cluster.points, position);
+            // The distances from the point to the other points of its cluster start at this offset of the row
+            final int[] row = position == start ? startDistances : index >= 0 ? cluster.distances : null;
+            final int offset = position == start ? 0 : index * cluster.points.length;
+
+            if (row != null) {
+                for (int i = 0; i < cluster.points.length; i++) {
+                    final int cost = row[offset + i];
+                    if (cost != UNREACHABLE) {
+                        relax(node, cluster.points[i], cost, config, targetInWilderness, heuristic, nodes, open);
+                    }
+                }
+            }
+            if (index >= 0) {
+                for (int i = cluster.crossingOffsets[index]; i < cluster.crossingOffsets[index + 1]; i++) {
+                    relax(node, cluster.crossings[i], 1, config, targetInWilderness, heuristic, nodes, open);
+                }
+            }
+
+            if (targetClusters.contains(clusterKey)) {
+                for (int target : targets) {
+                    if (clusterOf(target) != clusterKey) {
+                        continue;
+                    }
+                    final int cost;
+                    if (position == start) {
+                        cost = distance(startCluster, start, target);
+                    } else {
+                        cost = index >= 0 ? targetDistances.get(target)[index] : UNREACHABLE;
+                    }
+                    if (cost != UNREACHABLE) {
+                        relax(node, target, cost, config, targetInWilderness, heuristic, nodes, open);
+                    }
+                }
+            }
+
+            for (Transport transport : config.getTransportsPacked().getOrDefault(position, Collections.emptySet())) {
+                final int cost = AStarHeuristic.transportCost(config, transport);
+                if (transport.getDestination() != null && cost >= 0) {
+                    relax(node, WorldPointUtil.packWorldPoint(transport.getDestination()), cost,
+                            config, targetInWilderness, heuristic, nodes, open);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void relax(Node node, int position, int cost, PathfinderConfig config, boolean targetInWilderness,
+                              AStarHeuristic heuristic, PrimitiveIntHashMap<Node> nodes, Queue<SearchNode> open) {
+        if (config.avoidWilderness(node.packedPosition, position, targetInWilderness)) {
+            return;
+        }
+        final Node known = nodes.get(position);
+        final int total = node.cost + cost;
+        if (known != null && known.cost <= total) {
+            return;
+        }
+        final Node next = new Node(position, node, total);
+        nodes.put(position, next);
+        open.add(new SearchNode(next, (long) total + heuristic.toTarget(position)));
+    }
+
+    private static int[] toCorridor(Node last) {
+        Set<Integer> corridor = new HashSet<>();
+        for (Node node = last; node != null; node = node.previous) {
+            corridor.add(clusterOf(node.packedPosition));
+        }
+        return corridor.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private Cluster getCluster(int key) {
+        Cluster cluster = clusters.get(key);
+        if (cluster == null) {
+            // Built outside of computeIfAbsent, which must not take long; two threads may build the same cluster
+            final int[] restrictions = restrictedPoints;
+            cluster = buildCluster(key, restrictions);
+            synchronized (this) {
+                if (restrictions == restrictedPoints) {
+                    clusters.putIfAbsent(key, cluster);
+                }
+            }
+        }
+        return cluster;
+    }
+
+    private Cluster buildCluster(int key, int[] restrictions) {
+        final int minX = (key & 0x1FF) * REGION_SIZE;
+        final int minY = (key >>> 9 & 0x1FF) * REGION_SIZE;
+        final int z = key >>> 18;
+
+        // Packed crossing tiles of the neighbouring clusters, by packed point of this cluster
+        final Map<Integer, List<Integer>> crossings = new TreeMap<>();
+        for (int i : findEntrances(minX + REGION_SIZE - 1, minY, z, EAST, restrictions)) {
+            addCrossing(crossings, minX + REGION_SIZE - 1, minY + i, z, EAST, restrictions);
+        }
+        for (int i : findEntrances(minX - 1, minY, z, EAST, restrictions)) {
+            addCrossing(crossings, minX, minY + i, z, WEST, restrictions);
+        }
+        for (int i : findEntrances(minX, minY + REGION_SIZE - 1, z, NORTH, restrictions)) {
+            addCrossing(crossings, minX + i, minY + REGION_SIZE - 1, z, NORTH, restrictions);
+        }
+        for (int i : findEntrances(minX, minY - 1, z, NORTH, restrictions)) {
+            addCrossing(crossings, minX + i, minY, z, SOUTH, restrictions);
+        }
+
+        final Set<Integer> points = new TreeSet<>(crossings.keySet());
+        for (int end : transportEnds.getOrDefault(key, new int[0])) {
+            points.add(end);
+        }
+
+        final Cluster cluster = new Cluster(points.stream().mapToInt(Integer::intValue).toArray());
+        for (int i = 0; i < cluster.points.length; i++) {
+            final List<Integer> outside = crossings.getOrDefault(cluster.points[i], Collections.emptyList());
+            cluster.crossingOffsets[i + 1] = cluster.crossingOffsets[i] + outside.size();
+        }
+        cluster.crossings = new int[cluster.crossingOffsets[cluster.points.length]];
+        for (int i = 0, c = 0; i < cluster.points.length; i++) {
+            for (int outside : crossings.getOrDefault(cluster.points[i], Collections.emptyList())) {
+                cluster.crossings[c++] = outside;
+            }
+        }
+
+        final int count = cluster.points.length;
+        cluster.distances = new int[count * count];
+        final int[] tileDistances = new int[REGION_TILES];
+        final int[] queue = new int[REGION_TILES];
+        for (int i = 0; i < count; i++) {
+            search(minX, minY, z, cluster.points[i], false, restrictions, tileDistances, queue);
+            for (int j = 0; j < count; j++) {
+                cluster.distances[i * count + j] = tileDistances[localIndex(cluster.points[j], minX, minY)];
+            }
+        }
+        return cluster;
+    }
+
+    /**
+     * Finds the entrances along the border between the tiles starting at the given tile and the tiles next to them in
+     * the given direction, which is either east or north. Walking across in either direction counts, so that both
+     * clusters find the same entrances. Returns the offsets along the border of the crossing tiles.
+     */
+    private List<Integer> findEntrances(int x, int y, int z, int direction, int[] restrictions) {
+        final List<Integer> entrances = new ArrayList<>();
+        final int alongX = direction == NORTH ? 1 : 0;
+        final int alongY = direction == EAST ? 1 : 0;
+        final int opposite = direction == EAST ? WEST : SOUTH;
+
+        int runStart = -1;
+        for (int i = 0; i <= REGION_SIZE; i++) {
+            boolean open = false;
+            if (i < REGION_SIZE) {
+                final int ax = x + alongX * i;
+                final int ay = y + alongY * i;
+                open = canStep(ax, ay, z, direction, restrictions)
+                        || canStep(ax + DX[direction], ay + DY[direction], z, opposite, restrictions);
+            }
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                // Split wide entrances into parts and cross each part in its middle
+                for (int part = runStart; part < i; part += ENTRANCE_WIDTH) {
+                    entrances.add((part + Math.min(part + ENTRANCE_WIDTH, i) - 1) / 2);
+                }
+                runStart = -1;
+            }
+        }
+        return entrances;
+    }
+
+    private void addCrossing(Map<Integer, List<Integer>> crossings, int x, int y, int z, int direction, int[] restrictions) {
+        final List<Integer> outside = crossings.computeIfAbsent(WorldPointUtil.packWorldPoint(x, y, z), k -> new ArrayList<>(1));
+        // The entrance may only be walkable the other way, in which case the tile is still a point of the cluster
+        if (canStep(x, y, z, direction, restrictions)) {
+            outside.add(WorldPointUtil.packWorldPoint(x + DX[direction], y + DY[direction], z));
+        }
+    }
+
+    /** Distances between the packed point and the points of the cluster, from the point or to it when reversed */
+    private int[] distances(Cluster cluster, int packedPoint, boolean reverse) {
+        final int minX = WorldPointUtil.unpackWorldX(packedPoint) / REGION_SIZE * REGION_SIZE;
+        final int minY = WorldPointUtil.unpackWorldY(packedPoint) / REGION_SIZE * REGION_SIZE;
+        final int[] tileDistances = new int[REGION_TILES];
+        search(minX, minY, WorldPointUtil.unpackWorldPlane(packedPoint), packedPoint, reverse, restrictedPoints,
+                tileDistances, new int[REGION_TILES]);
+
+        final int[] distances = new int[cluster.points.length];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = tileDistances[localIndex(cluster.points[i], minX, minY)];
+        }
+        return distances;
+    }
+
+    // Walking distance between two points of the same cluster
+    private int distance(Cluster cluster, int from, int to) {
+        final int minX = WorldPointUtil.unpackWorldX(from) / REGION_SIZE * REGION_SIZE;
+        final int minY = WorldPointUtil.unpackWorldY(from) / REGION_SIZE * REGION_SIZE;
+        final int[] tileDistances = new int[REGION_TILES];
+        search(minX, minY, WorldPointUtil.unpackWorldPlane(from), from, false, restrictedPoints,
+                tileDistances, new int[REGION_TILES]);
+        return tileDistances[localIndex(to, minX, minY)];
+    }
+
+    /** Breadth-first search over the walking steps that stay inside the region, following them backwards when reversed */
+    private void search(int minX, int minY, int z, int packedPoint, boolean reverse, int[] restrictions,
+                        int[] tileDistances, int[] queue) {
+        Arrays.fill(tileDistances, UNREACHABLE);
+        int head = 0, tail = 0;
+        final int first = localIndex(packedPoint, minX, minY);
+        tileDistances[first] = 0;
+        queue[tail++] = first;
+
+        while (head < tail) {
+            final int tile = queue[head++];
+            final int x = minX + tile % REGION_SIZE;
+            final int y = minY + tile / REGION_SIZE;
+            for (int direction = 0; direction < DX.length; direction++) {
+                final int nx = reverse ? x - DX[direction] : x + DX[direction];
+                final int ny = reverse ? y - DY[direction] : y + DY[direction];
+                if (nx < minX || ny < minY || nx >= minX + REGION_SIZE || ny >= minY + REGION_SIZE) {
+                    continue;
+                }
+                final int neighbor = (ny - minY) * REGION_SIZE + (nx - minX);
+                if (tileDistances[neighbor] != UNREACHABLE) {
+                    continue;
+                }
+                if (reverse ? canStep(nx, ny, z, direction, restrictions) : canStep(x, y, z, direction, restrictions)) {
+                    tileDistances[neighbor] = tileDistances[tile] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    // The walking steps of CollisionMap.getNeighbors, apart from the ToA puzzle room
+    private boolean canStep(int x, int y, int z, int direction, int[] restrictions) {
+        final int nx = x + DX[direction];
+        final int ny = y + DY[direction];
+        final int neighbor = WorldPointUtil.packWorldPoint(nx, ny, z);
+        if (Arrays.binarySearch(restrictions, neighbor) >= 0) {
+            return false;
+        }
+        if (CollisionMap.isCollisionIgnored(WorldPointUtil.packWorldPoint(x, y, z)) || map.isTraversable(x, y, z, direction)) {
+            return true;
+        }
+        // The transport starts from a blocked adjacent tile, e.g. fairy ring
+        return direction <= NORTH && map.isBlocked(nx, ny, z) && Arrays.binarySearch(transportOrigins, neighbor) >= 0;
+    }
+
+    private static int localIndex(int packedPoint, int minX, int minY) {
+        return (WorldPointUtil.unpackWorldY(packedPoint) - minY) * REGION_SIZE + WorldPointUtil.unpackWorldX(packedPoint) - minX;
+    }
+
+    /**
+     * The entrances and transport ends of one region plane, with the walking distances between them and the tiles
+     * across the border that each entrance leads to
+     */
+    private static class Cluster {
+        // Sorted packed points
+        private final int[] points;
+        // Distance from point i to point j at [i * points.length + j], or UNREACHABLE
+        private int[] distances;
+        // The tiles across the border of point i are crossings[crossingOffsets[i]] up to crossings[crossingOffsets[i + 1]]
+        private final int[] crossingOffsets;
+        private int[] crossings;
+
+        private Cluster(int[] points) {
+            this.points = points;
+            this.crossingOffsets = new int[points.length + 1];
+        }
+    }
+
+    private static class SearchNode implements Comparable<SearchNode> {
+        private final Node node;
+        private final long key;
+
+        private SearchNode(Node node, long key) {
+            this.node = node;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(SearchNode other) {
+            return Long.compare(key, other.key);
+        }
+    }
+}
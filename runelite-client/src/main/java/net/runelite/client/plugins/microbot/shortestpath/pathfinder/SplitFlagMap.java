@@ -2,71 +2,126 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Util;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static net.runelite.api.Constants.REGION_SIZE;
 
+/**
+ * The collision flags of the whole map, stored as one flat buffer with the {@link FlagMap} bits of every region.
+ * <p>
+ * Inflating {@code collision-map.zip} region by region is slow and keeps all regions on the heap, so the first start
+ * writes the inflated regions to a flat file in the cache directory. Later starts memory map that file and read the
+ * flags straight from it. The file records a checksum of the zip it was made from, and the zip is used again when
+ * the file is missing, outdated or cannot be mapped.
+ */
+@Slf4j
 public class SplitFlagMap {
+    private static final int MAGIC = 0x434D4631; // CMF1
+    private static final File CACHE_FILE = new File(RuneLite.CACHE_DIR, "shortest-path-collision-map.dat");
+    private static final int FLAG_COUNT = 2;
+    private static final int PLANE_BYTES = REGION_SIZE * REGION_SIZE * FLAG_COUNT / 8;
+    // Magic, checksum, region extents and region count
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + 4 * Integer.BYTES + Integer.BYTES;
+
     @Getter
     private static RegionExtent regionExtents;
 
     @Getter
     private final byte[] regionMapPlaneCounts;
-    // Size is automatically chosen based on the max extents of the collision data
-    private final FlagMap[] regionMaps;
+    // Offset of each region in the flag data, or -1 when there is no collision data for the region
+    private final int[] regionOffsets;
+    // Either a memory mapped file or a heap buffer when the file could not be used
+    private final ByteBuffer flags;
     private final int widthInclusive;
 
+    private SplitFlagMap(byte[] regionMapPlaneCounts, int[] regionOffsets, ByteBuffer flags) {
+        this.widthInclusive = regionExtents.getWidth() + 1;
+        this.regionMapPlaneCounts = regionMapPlaneCounts;
+        this.regionOffsets = regionOffsets;
+        this.flags = flags;
+    }
+
     public SplitFlagMap(Map<Integer, byte[]> compressedRegions) {
         widthInclusive = regionExtents.getWidth() + 1;
         final int heightInclusive = regionExtents.getHeight() + 1;
-        regionMaps = new FlagMap[widthInclusive * heightInclusive];
-        regionMapPlaneCounts = new byte[regionMaps.length];
+        regionMapPlaneCounts = new byte[widthInclusive * heightInclusive];
+        regionOffsets = new int[regionMapPlaneCounts.length];
+        Arrays.fill(regionOffsets, -1);
 
+        int size = 0;
         for (Map.Entry<Integer, byte[]> entry : compressedRegions.entrySet()) {
             final int pos = entry.getKey();
             final int x = unpackX(pos);
             final int y = unpackY(pos);
             final int index = getIndex(x, y);
-            FlagMap flagMap = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, entry.getValue());
-            regionMaps[index] = flagMap;
-            regionMapPlaneCounts[index] = flagMap.getPlaneCount();
+            // The plane count follows from the length of the bits, which FlagMap already works out
+            regionMapPlaneCounts[index] = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, entry.getValue()).getPlaneCount();
+            regionOffsets[index] = size;
+            size += regionMapPlaneCounts[index] * PLANE_BYTES;
+        }
+
+        final byte[] data = new byte[size];
+        for (Map.Entry<Integer, byte[]> entry : compressedRegions.entrySet()) {
+            final int pos = entry.getKey();
+            final int index = getIndex(unpackX(pos), unpackY(pos));
+            final byte[] bytes = entry.getValue();
+            System.arraycopy(bytes, 0, data, regionOffsets[index], Math.min(bytes.length, regionMapPlaneCounts[index] * PLANE_BYTES));
         }
+        flags = ByteBuffer.wrap(data);
     }
 
     public boolean get(int x, int y, int z, int flag) {
-        final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
-        if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
+        final int regionX = x / REGION_SIZE;
+        final int regionY = y / REGION_SIZE;
+        final int index = getIndex(regionX, regionY);
+        if (index < 0 || index >= regionOffsets.length || regionOffsets[index] < 0) {
             return false;
         }
 
-   /*     try {
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(new WorldPoint(x, y, z));
-                if (globalWorldPoint == null) {
-                    Microbot.log("Something went wrong.");
-                } else {
-                    TileObject go = Rs2GameObject.findGroundObjectByLocation(globalWorldPoint);
-                    if (go != null && go.getId() == 45340) {
-                        //System.out.println("found a tile " + globalWorldPoint);
-                        return false;
-                    }
-                }
-            }
-        } catch(Exception ex) {
-            Microbot.log("oops something went wrong");
-        }*/
-
+        final int localX = x - regionX * REGION_SIZE;
+        final int localY = y - regionY * REGION_SIZE;
+        if (localX < 0 || localY < 0 || z < 0 || z >= regionMapPlaneCounts[index]) {
+            return false;
+        }
 
+        // Same bit order as the BitSet in FlagMap
+        final int bit = (z * REGION_SIZE * REGION_SIZE + localY * REGION_SIZE + localX) * FLAG_COUNT + flag;
+        return (flags.get(regionOffsets[index] + (bit >>> 3)) & (1 << (bit & 7))) != 0;
+    }
 
-        return regionMaps[index].get(x, y, z, flag);
+    /**
+     * A checksum of the collision flags of every region, in region order, so it does not depend on where the flags
+     * are stored
+     */
+    public long flagsChecksum() {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer data = flags.duplicate();
+        for (int index = 0; index < regionOffsets.length; index++) {
+            if (regionOffsets[index] < 0) {
+                continue;
+            }
+            data.limit(regionOffsets[index] + regionMapPlaneCounts[index] * PLANE_BYTES).position(regionOffsets[index]);
+            crc.update(index);
+            crc.update(data);
+        }
+        return crc.getValue();
     }
 
     private int getIndex(int regionX, int regionY) {
@@ -86,8 +141,35 @@ public class SplitFlagMap {
     }
 
     public static SplitFlagMap fromResources() {
+        final byte[] zip;
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream("collision-map.zip")) {
+            zip = Util.readAllBytes(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final long checksum = checksum(zip);
+        SplitFlagMap map = map(CACHE_FILE, checksum);
+        if (map != null) {
+            return map;
+        }
+
+        map = fromZip(zip);
+        try {
+            map.write(CACHE_FILE, checksum);
+            SplitFlagMap mapped = map(CACHE_FILE, checksum);
+            if (mapped != null) {
+                return mapped;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write the collision map cache", e);
+        }
+        return map;
+    }
+
+    private static SplitFlagMap fromZip(byte[] zip) {
         Map<Integer, byte[]> compressedRegions = new HashMap<>();
-        try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
             int minX = Integer.MAX_VALUE;
             int minY = Integer.MAX_VALUE;
             int maxX = 0;
@@ -114,6 +196,121 @@ public class SplitFlagMap {
         return new SplitFlagMap(compressedRegions);
     }
 
+    /**
+     * Memory maps the flat collision file, or returns null if it is missing, was made from another zip or does not
+     * hold all the regions its header lists
+     */
+    private static SplitFlagMap map(File file, long checksum) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Check the header before mapping, an outdated file stays mapped until the buffer is collected
+            final long length = channel.size();
+            final ByteBuffer header = read(channel, HEADER_BYTES);
+            if (header == null || header.getInt() != MAGIC || header.getLong() != checksum) {
+                log.info("Collision map cache is outdated");
+                return null;
+            }
+
+            final RegionExtent extents = new RegionExtent(header.getInt(), header.getInt(), header.getInt(), header.getInt());
+            final int regionCount = header.getInt();
+            if (extents.getWidth() < 0 || extents.getHeight() < 0
+                    || regionCount != (extents.getWidth() + 1) * (extents.getHeight() + 1)
+                    || HEADER_BYTES + (long) regionCount * (1 + Integer.BYTES) > length) {
+                log.warn("Collision map cache is truncated");
+                return null;
+            }
+
+            final ByteBuffer regions = read(channel, regionCount * (1 + Integer.BYTES));
+            final byte[] planeCounts = new byte[regionCount];
+            regions.get(planeCounts);
+            final int[] offsets = new int[regionCount];
+            regions.asIntBuffer().get(offsets);
+
+            final long flagsStart = HEADER_BYTES + (long) regionCount * (1 + Integer.BYTES);
+            if (!fitsFlags(planeCounts, offsets, length - flagsStart)) {
+                log.warn("Collision map cache is truncated");
+                return null;
+            }
+
+            // The mapping stays valid after the channel is closed
+            final ByteBuffer flags = channel.map(FileChannel.MapMode.READ_ONLY, flagsStart, length - flagsStart);
+            regionExtents = extents;
+            return new SplitFlagMap(planeCounts, offsets, flags);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to map the collision map cache", e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the next bytes of the channel, or returns null if it ends before
+     */
+    private static ByteBuffer read(FileChannel channel, int bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Checks that the flags of every region lie within the flag data, so that a truncated file is not used
+     */
+    private static boolean fitsFlags(byte[] planeCounts, int[] offsets, long flagBytes) {
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] < 0) {
+                continue;
+            }
+            if (planeCounts[i] < 0 || offsets[i] + (long) planeCounts[i] * PLANE_BYTES > flagBytes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(File file, long checksum) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+
+        // Write to a temporary file of our own first, so that a partially written map is never loaded and clients
+        // starting at the same time do not write into each other's file
+        final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                data.writeInt(MAGIC);
+                data.writeLong(checksum);
+                data.writeInt(regionExtents.getMinX());
+                data.writeInt(regionExtents.getMinY());
+                data.writeInt(regionExtents.getMaxX());
+                data.writeInt(regionExtents.getMaxY());
+                data.writeInt(regionMapPlaneCounts.length);
+                data.write(regionMapPlaneCounts);
+                for (int offset : regionOffsets) {
+                    data.writeInt(offset);
+                }
+                data.write(flags.array(), flags.arrayOffset(), flags.limit());
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static long checksum(byte[] zip) {
+        CRC32 crc = new CRC32();
+        crc.update(zip, 0, zip.length);
+        return ((long) zip.length << 32) | crc.getValue();
+    }
+
     @RequiredArgsConstructor
     @Getter
     public static class RegionExtent {
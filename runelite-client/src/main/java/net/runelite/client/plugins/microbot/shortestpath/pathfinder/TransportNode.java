@@ -1,10 +1,16 @@
 package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
 public class TransportNode extends Node implements Comparable<TransportNode> {
     public TransportNode(WorldPoint point, Node previous, int travelTime) {
-        super(point, previous, cost(previous, travelTime));
+        // The cost is already the total, the WorldPoint constructor would add the previous cost a second time
+        super(WorldPointUtil.packWorldPoint(point), previous, cost(previous, travelTime));
+    }
+
+    public TransportNode(int packedPosition, Node previous, int travelTime) {
+        super(packedPosition, previous, cost(previous, travelTime));
     }
 
     private static int cost(Node previous, int travelTime) {
@@ -18,6 +18,7 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 import org.jetbrains.annotations.Nullable;
 
 @Getter
@@ -27,6 +28,19 @@ public class ActorModel implements Actor
 
 	private final Actor actor;
 
+	/**
+	 * The state of the actor on the last tick, or null to read the live actor. The client thread always reads the
+	 * live actor, so every getter of a model reads the same source.
+	 */
+	protected WorldSnapshot.ActorSnapshot snapshot()
+	{
+		if (Microbot.getClient().isClientThread())
+		{
+			return null;
+		}
+		return WorldSnapshot.current().find(actor);
+	}
+
 	@Override
 	public WorldView getWorldView()
 	{
@@ -36,36 +50,66 @@ public class ActorModel implements Actor
 	@Override
 	public int getCombatLevel()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getCombatLevel();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getCombatLevel).orElse(0);
 	}
 
 	@Override
 	public @Nullable String getName()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getName();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getName).orElse(null);
 	}
 
 	@Override
 	public boolean isInteracting()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getInteracting() != null;
+		}
 		return actor.isInteracting();
 	}
 
 	@Override
 	public Actor getInteracting()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getInteracting();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getInteracting).orElse(null);
 	}
 
 	@Override
 	public int getHealthRatio()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getHealthRatio();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getHealthRatio).orElse(0);
 	}
 
 	@Override
 	public int getHealthScale()
 	{
+		WorldSnapshot.ActorSnapshot snapshot = snapshot();
+		if (snapshot != null)
+		{
+			return snapshot.getHealthScale();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getHealthScale).orElse(0);
 	}
 
@@ -0,0 +1,143 @@
+package net.runelite.client.plugins.microbot.util;
+
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.events.*;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes up the script threads waiting in {@link Global#sleepUntil} when the game state they are likely waiting on
+ * changes, so that a condition is checked as soon as the event that makes it true was handled instead of on the next
+ * poll.
+ * <p>
+ * Every event bumps a generation counter. A waiter reads the generation before checking its condition and then waits
+ * for the generation to move on, which cannot miss an event that fired while the condition was being checked. The
+ * subscribers run last, after the caches updated by the same events.
+ * <p>
+ * Animation and interaction changes only signal for the local player and the actor it interacts with, since the
+ * scene is full of other actors changing theirs. Varbits often change many at a time, so they signal at most once per
+ * client tick, after all of them were handled.
+ */
+@Singleton
+public class GameEventSignal {
+    private static final int PRIORITY = -100;
+
+    private static final Object lock = new Object();
+    private static volatile long generation;
+    private static int waiters;
+
+    private final Client client;
+    // Set by varbit changes and signalled on the next client tick, only touched on the client thread
+    private boolean varbitsChanged;
+
+    @Inject
+    GameEventSignal(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * The current generation, to be read before checking a condition and passed to {@link #await}
+     */
+    public static long generation() {
+        return generation;
+    }
+
+    /**
+     * Wakes up every waiting thread
+     */
+    public static void signal() {
+        synchronized (lock) {
+            generation++;
+            if (waiters > 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until an event fired after {@code since} was read, or until the timeout passed
+     *
+     * @param since         The generation read before the condition was checked.
+     * @param timeoutMillis The longest time to wait.
+     * @return {@code true} if an event fired, {@code false} if the wait timed out.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    public static boolean await(long since, long timeoutMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            waiters++;
+            try {
+                long remaining;
+                while (generation == since && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+                return generation != since;
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onGameTick(GameTick event) {
+        signal();
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        signal();
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onClientTick(ClientTick event) {
+        if (varbitsChanged) {
+            varbitsChanged = false;
+            signal();
+        }
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onVarbitChanged(VarbitChanged event) {
+        varbitsChanged = true;
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onAnimationChanged(AnimationChanged event) {
+        if (isLocalPlayerOrTarget(event.getActor())) {
+            signal();
+        }
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onWidgetLoaded(WidgetLoaded event) {
+        signal();
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onWidgetClosed(WidgetClosed event) {
+        signal();
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onGameStateChanged(GameStateChanged event) {
+        signal();
+    }
+
+    @Subscribe(priority = PRIORITY)
+    public void onInteractingChanged(InteractingChanged event) {
+        // Includes other actors starting to interact with the local player
+        if (isLocalPlayerOrTarget(event.getSource()) || (event.getTarget() != null && event.getTarget() == client.getLocalPlayer())) {
+            signal();
+        }
+    }
+
+    private boolean isLocalPlayerOrTarget(Actor actor) {
+        final Player local = client.getLocalPlayer();
+        return actor != null && local != null && (actor == local || actor == local.getInteracting());
+    }
+}
@@ -2,13 +2,20 @@ package net.runelite.client.plugins.microbot.util;
 
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptExecutor;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    /**
+     * How often a condition is checked when no {@link GameEventSignal} event fires, for conditions on state that
+     * changes without an event
+     */
+    private static final int POLL_INTERVAL_MILLIS = 100;
+
+    static ScheduledExecutorService scheduledExecutorService = new ScriptExecutor("Global");
     static ScheduledFuture<?> scheduledFuture;
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
@@ -41,41 +48,48 @@ public class Global {
         sleep(randomSleep);
     }
 
+    /**
+     * Waits for the next {@link GameEventSignal} event after {@code generation}, for at most {@code pollMillis} and
+     * never past the deadline
+     */
+    private static void awaitEvent(long generation, int pollMillis, long deadlineMillis) {
+        long wait = Math.min(pollMillis, deadlineMillis - System.currentTimeMillis());
+        if (wait <= 0) return;
+        try {
+            GameEventSignal.await(generation, wait);
+        } catch (InterruptedException ignored) {
+            // ignore interrupted, like sleep
+        }
+    }
+
     @SneakyThrows
     public static <T> T sleepUntilNotNull(Callable<T> method, int timeoutMillis, int sleepMillis) {
         if (Microbot.getClient().isClientThread()) return null;
-        boolean done;
         T methodResponse;
         final long endTime = System.currentTimeMillis()+timeoutMillis;
         do {
+            long generation = GameEventSignal.generation();
             methodResponse = method.call();
-            done = methodResponse != null;
-            sleep(sleepMillis);
-        } while (!done && System.currentTimeMillis() < endTime);
+            if (methodResponse != null) break;
+            awaitEvent(generation, sleepMillis, endTime);
+        } while (System.currentTimeMillis() < endTime);
         return methodResponse;
     }
 
     public static <T> T sleepUntilNotNull(Callable<T> method, int timeoutMillis) {
-        return sleepUntilNotNull(method, timeoutMillis, 100);
+        return sleepUntilNotNull(method, timeoutMillis, POLL_INTERVAL_MILLIS);
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition) {
         return sleepUntil(awaitedCondition, 5000);
     }
 
+    /**
+     * Waits until the condition is true or the time runs out. The condition is checked again as soon as a
+     * {@link GameEventSignal} event fires, and at least every 100 ms.
+     */
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
-        if (Microbot.getClient().isClientThread()) return false;
-        boolean done = false;
-        long startTime = System.currentTimeMillis();
-        try {
-            do {
-                done = awaitedCondition.getAsBoolean();
-                sleep(100);
-            } while (!done && System.currentTimeMillis() - startTime < time);
-        } catch (Exception e) {
-            Microbot.logStackTrace("Global Sleep: ", e);
-        }
-        return done;
+        return sleepUntilTrue(awaitedCondition, POLL_INTERVAL_MILLIS, time);
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, Runnable action, long timeoutMillis, int sleepMillis) {
@@ -97,31 +111,24 @@ public class Global {
     }
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition) {
-        if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
-        try {
-            do {
-                if (awaitedCondition.getAsBoolean()) {
-                    return true;
-                }
-                sleep(100);
-            } while (System.currentTimeMillis() - startTime < 5000);
-        } catch (Exception e) {
-            Microbot.logStackTrace("Global Sleep: ", e);
-        }
-        return false;
+        return sleepUntilTrue(awaitedCondition, POLL_INTERVAL_MILLIS, 5000);
     }
 
+    /**
+     * Waits until the condition is true or the timeout runs out. The condition is checked again as soon as a
+     * {@link GameEventSignal} event fires, and at least every {@code time} ms.
+     */
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
+        long endTime = System.currentTimeMillis() + timeout;
         try {
             do {
+                long generation = GameEventSignal.generation();
                 if (awaitedCondition.getAsBoolean()) {
                     return true;
                 }
-                sleep(time);
-            } while (System.currentTimeMillis() - startTime < timeout);
+                awaitEvent(generation, time, endTime);
+            } while (System.currentTimeMillis() < endTime);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
@@ -130,17 +137,18 @@ public class Global {
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, BooleanSupplier resetCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
+        long endTime = System.currentTimeMillis() + timeout;
         try {
             do {
+                long generation = GameEventSignal.generation();
                 if (resetCondition.getAsBoolean()) {
-                    startTime = System.currentTimeMillis();
+                    endTime = System.currentTimeMillis() + timeout;
                 }
                 if (awaitedCondition.getAsBoolean()) {
                     return true;
                 }
-                sleep(time);
-            } while (System.currentTimeMillis() - startTime < timeout);
+                awaitEvent(generation, time, endTime);
+            } while (System.currentTimeMillis() < endTime);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
@@ -153,12 +161,15 @@ public class Global {
 
     public static void sleepUntilOnClientThread(BooleanSupplier awaitedCondition, int time) {
         if (Microbot.getClient().isClientThread()) return;
-        boolean done;
-        long startTime = System.currentTimeMillis();
+        long endTime = System.currentTimeMillis() + time;
         try {
             do {
-                done = Microbot.getClientThread().runOnClientThreadOptional(awaitedCondition::getAsBoolean).orElse(false);
-            } while (!done && System.currentTimeMillis() - startTime < time);
+                long generation = GameEventSignal.generation();
+                if (Microbot.getClientThread().runOnClientThreadOptional(awaitedCondition::getAsBoolean).orElse(false)) {
+                    return;
+                }
+                awaitEvent(generation, POLL_INTERVAL_MILLIS, endTime);
+            } while (System.currentTimeMillis() < endTime);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
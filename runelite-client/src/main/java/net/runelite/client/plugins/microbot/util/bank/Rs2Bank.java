@@ -35,6 +35,7 @@ import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerStore;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
 import net.runelite.client.plugins.microbot.util.keyboard.Rs2Keyboard;
@@ -62,7 +63,6 @@ import java.util.stream.Stream;
 
 import static net.runelite.api.widgets.ComponentID.BANK_INVENTORY_ITEM_CONTAINER;
 import static net.runelite.api.widgets.ComponentID.BANK_ITEM_CONTAINER;
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.*;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.hoverOverObject;
 import static net.runelite.client.plugins.microbot.util.npc.Rs2Npc.hoverOverActor;
@@ -188,7 +188,7 @@ public class Rs2Bank {
      * @return boolean
      */
     public static boolean hasItem(int id) {
-        return findBankItem(id) != null;
+        return rs2BankData.view().contains(id);
     }
 
     /**
@@ -278,8 +278,7 @@ public class Rs2Bank {
      * @return True if the bank contains at least one of the specified items, false otherwise.
      */
     public static boolean hasItem(int[] ids) {
-        return Arrays.stream(ids)
-                .anyMatch(id -> findBankItem(id) != null);
+        return rs2BankData.view().containsAny(ids);
     }
 
     /**
@@ -289,8 +288,8 @@ public class Rs2Bank {
      * @return True if the bank contains all the specified items, false otherwise.
      */
     public static boolean hasAllItems(int[] ids) {
-        return Arrays.stream(ids)
-                .allMatch(id -> findBankItem(id) != null);
+        final ItemContainerStore.View bank = rs2BankData.view();
+        return Arrays.stream(ids).allMatch(bank::contains);
     }
 
     /**
@@ -1436,8 +1435,7 @@ public class Rs2Bank {
     }
 
     public static Stream<Rs2ItemModel> getAll() {
-        final List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-        return bankItems == null ? Stream.empty() : bankItems.stream();
+        return rs2BankData.view().stream();
     }
 
     public static Stream<Rs2ItemModel> getAll(Predicate<Rs2ItemModel> filter) {
@@ -1456,7 +1454,7 @@ public class Rs2Bank {
      * @return bankItem
      */
     private static Rs2ItemModel findBankItem(int id) {
-        return get(x -> x.getId() == id);
+        return rs2BankData.view().first(id);
     }
 
     /**
@@ -1796,31 +1794,29 @@ public class Rs2Bank {
      */
     public static void updateLocalBank(ItemContainerChanged e) {
         synchronized (lock) {
-            List<Rs2ItemModel> list = updateItemContainer(InventoryID.BANK.getId(), e);
-            if (list != null) {
-                // Update the centralized bank data (Rs2BankData.set() is already synchronized)                
-                updateCache(list);
-            } else {
+            if (e.getContainerId() != InventoryID.BANK.getId() || e.getItemContainer() == null) {
                 log.debug("Bank data update skipped - no items received");
+                return;
             }
+            // Only the slots that changed are looked up again, placeholders are left out
+            rs2BankData.update(e.getItemContainer().getItems(), (item, slot) -> {
+                ItemComposition composition = Microbot.getItemManager().getItemComposition(item.getId());
+                return composition.getPlaceholderTemplateId() > 0 ? null : new Rs2ItemModel(item, composition, slot);
+            });
+            onCacheUpdated();
         }
     }
 
 
     /**
-     * Updates the cached bank data with the latest bank items and saves to config.
-     *
-     * @param items The current bank items
+     * Saves the cached bank data to config after it was updated with the latest bank items.
      */
-    private static void updateCache(List<Rs2ItemModel> items) {
-        if (items != null ) {
-            rs2BankData.set(items);
-            if (Rs2Bank.rsProfileKey  == null){
-                Rs2Bank.rsProfileKey = Microbot.getConfigManager().getRSProfileKey();
-            }
-            saveCacheToConfig(Rs2Bank.rsProfileKey);
-            vaildLoadedCache = true;
+    private static void onCacheUpdated() {
+        if (Rs2Bank.rsProfileKey  == null){
+            Rs2Bank.rsProfileKey = Microbot.getConfigManager().getRSProfileKey();
         }
+        saveCacheToConfig(Rs2Bank.rsProfileKey);
+        vaildLoadedCache = true;
     }
     public static void loadInitialCacheFromCurrentConfig() {
         Rs2Bank.rsProfileKey = Microbot.getConfigManager().getRSProfileKey();
@@ -2314,10 +2310,7 @@ public class Rs2Bank {
      * @return the Rs2Item matching the item ID, or null if not found.
      */
     public static Rs2ItemModel getBankItem(int itemId) {
-        return bankItems().stream()
-                .filter(item -> item.getId() == itemId)
-                .findFirst()
-                .orElse(null);
+        return rs2BankData.view().first(itemId);
     }
 
     /**
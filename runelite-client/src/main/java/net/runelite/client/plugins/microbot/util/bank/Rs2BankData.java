@@ -1,7 +1,8 @@
 package net.runelite.client.plugins.microbot.util.bank;
 
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Item;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerStore;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -12,10 +13,9 @@ import java.util.List;
  * 
  * <p><strong>Thread Safety:</strong></p>
  * <ul>
- *   <li>All public methods are synchronized to ensure thread-safe access</li>
- *   <li>The {@code needsRebuild} flag is volatile for cross-thread visibility</li>
+ *   <li>The items are kept in an {@link ItemContainerStore}, which publishes an immutable view on every update</li>
+ *   <li>Reads never lock and always see a consistent bank, even while it is being updated</li>
  *   <li>Defensive copying is used in {@code getBankItems()} to prevent external modification</li>
- *   <li>Atomic updates ensure consistent state during concurrent access</li>
  * </ul>
  * 
  * <p><strong>Usage Context:</strong></p>
@@ -25,33 +25,23 @@ import java.util.List;
  *   <li>Configuration loading/saving happens during login/logout events</li>
  * </ul>
  * 
- * <p>Enhanced for Rs2Bank ecosystem with optimized caching and rebuilding strategies.</p>
+ * <p>Live updates only create item models for the slots that changed. Items loaded from config are created
+ * lazily when they are first read.</p>
  */
-@Data
 @Slf4j
 public class Rs2BankData {
+    private final ItemContainerStore store = new ItemContainerStore();
+
     /**
-     * Array storing bank item data in triplets: [id, quantity, slot, id, quantity, slot, ...]
-     * Each item uses 3 consecutive array positions for complete bank state tracking.
-     */
-    int[] idQuantityAndSlot;
-    
-    /**
-     * Cached live list of bank items. Only rebuilt when idQuantityAndSlot changes.
-     * This prevents unnecessary rebuilding on every access.
-     */
-    private List<Rs2ItemModel> bankItems;
-    
-    /**
-     * Flag to track if the cached bankItems list needs to be rebuilt.
-     * Made volatile to ensure visibility across threads.
+     * Updates the bank data from the items of the bank container, indexed by slot.
+     * Must be called from the client thread. Only the slots that changed are looked up again.
+     *
+     * @param items   The items of the bank container
+     * @param factory Creates the model of a changed slot, or returns null for placeholders
      */
-    private volatile boolean needsRebuild = true;
-
-    public Rs2BankData() {
-        idQuantityAndSlot = new int[0];
-        bankItems = new ArrayList<>();
-        needsRebuild = true;
+    synchronized void update(Item[] items, ItemContainerStore.ModelFactory factory) {
+        store.update(items, factory);
+        log.trace("Bank data updated with {} items", store.view().size());
     }
 
     /**
@@ -65,22 +55,19 @@ public class Rs2BankData {
             setEmpty();
             return;
         }
-        
-        int[] newIdQuantityAndSlot = new int[items.size() * 3];
-        for (int i = 0; i < items.size(); i++) {
-            Rs2ItemModel item = items.get(i);
-            int baseIndex = i * 3;
-            newIdQuantityAndSlot[baseIndex] = item.getId();
-            newIdQuantityAndSlot[baseIndex + 1] = item.getQuantity();
-            newIdQuantityAndSlot[baseIndex + 2] = item.getSlot();
+
+        int length = 0;
+        for (Rs2ItemModel item : items) {
+            length = Math.max(length, item.getSlot() + 1);
+        }
+        Item[] slots = new Item[length];
+        Rs2ItemModel[] models = new Rs2ItemModel[length];
+        for (Rs2ItemModel item : items) {
+            slots[item.getSlot()] = new Item(item.getId(), item.getQuantity());
+            models[item.getSlot()] = item;
         }
-        
-        // Atomic update of all state
-        idQuantityAndSlot = newIdQuantityAndSlot;
-        bankItems.clear();
-        bankItems.addAll(items);
-        needsRebuild = false;
-        
+        store.update(slots, (item, slot) -> models[slot]);
+
         log.trace("Bank data updated with {} items", items.size());
     }
 
@@ -103,82 +90,45 @@ public class Rs2BankData {
      * Thread-safe method that atomically clears all state.
      */
     synchronized void setEmpty() {
-        idQuantityAndSlot = new int[0];
-        bankItems.clear();
-        needsRebuild = false;
+        store.clear();
         log.trace("Bank data cleared");
     }
 
     /**
      * Sets the raw array data directly. Used for loading from config.
-     * Thread-safe method that atomically updates the data and marks for rebuild.
+     * The items are created lazily when they are first read.
      * 
      * @param data Raw array data in format [id, quantity, slot, ...]
      */
     synchronized void setIdQuantityAndSlot(int[] data) {
-        this.idQuantityAndSlot = data != null ? data : new int[0];
-        needsRebuild = true;  // Mark for rebuild since we're loading from config
-        log.trace("Bank raw data set with {} entries, marked for rebuild", 
-                this.idQuantityAndSlot.length / 3);
+        store.set(data != null ? data : new int[0]);
+        log.trace("Bank raw data set with {} entries", store.view().size());
     }
 
     /**
      * Gets the raw array data. Used for saving to config.
-     * Thread-safe method that returns a defensive copy.
      * 
-     * @return Defensive copy of raw array data in format [id, quantity, slot, ...]
+     * @return Raw array data in format [id, quantity, slot, ...]
      */
-    synchronized int[] getIdQuantityAndSlot() {
-        return idQuantityAndSlot != null ? idQuantityAndSlot.clone() : new int[0];
+    int[] getIdQuantityAndSlot() {
+        return store.view().toIdQuantityAndSlot();
     }
 
     /**
-     * Gets the live bank items list. This is the primary access method that avoids rebuilding.
-     * Thread-safe method that returns a defensive copy to prevent external modification.
-     * Only rebuilds the list if the cache data has changed since last access.
-     * 
-     * @return Defensive copy of bank items list
+     * The current bank contents, for lookups by id that do not need any item model
      */
-    public synchronized List<Rs2ItemModel> getBankItems() {
-        if (needsRebuild) {
-            rebuildBankItemsList();
-        }
-        // Return defensive copy to prevent external modification
-        return new ArrayList<>(bankItems);
+    ItemContainerStore.View view() {
+        return store.view();
     }
 
     /**
-     * Rebuilds the bankItems list from the cached array data.
-     * Called only when needsRebuild is true to minimize performance impact.
-     * Must be called from synchronized context.
+     * Gets the live bank items list.
+     * Returns a defensive copy to prevent external modification.
+     * 
+     * @return Defensive copy of bank items list
      */
-    private void rebuildBankItemsList() {
-        bankItems.clear();
-
-        if (idQuantityAndSlot == null || idQuantityAndSlot.length < 3) {
-            needsRebuild = false;
-            return;
-        }        
-        log.debug("Rebuilding bank items list from cached data, size: {}", idQuantityAndSlot.length / 3);
-        // Process items in triplets: [id, quantity, slot]
-        for (int i = 0; i < idQuantityAndSlot.length - 2; i += 3) {
-            int id = idQuantityAndSlot[i];
-            int quantity = idQuantityAndSlot[i + 1];
-            int slot = idQuantityAndSlot[i + 2];
-            
-            // Create Rs2ItemModel from cached data
-            try {               
-                //back to use lazy loading with Rs2ItemModel.createFromCache(id, quantity, slot)...
-                Rs2ItemModel item  =  Rs2ItemModel.createFromCache(id, quantity, slot);// new Rs2ItemModel(id, quantity, slot); // lazy loading with Rs2ItemModel.createFromCache(id, quantity, slot);                                       
-                bankItems.add(item);
-            } catch (Exception e) {
-                log.warn("Failed to recreate bank item from cache: id={}, qty={}, slot={}", id, quantity, slot, e);
-                // Skip invalid items that can't be recreated
-                continue;
-            }
-        }
-        needsRebuild = false;
-        log.debug("finished Rebuilt bank items list with {} items", bankItems.size());
+    public List<Rs2ItemModel> getBankItems() {
+        return new ArrayList<>(store.view().list());
     }
 
     /**
@@ -194,21 +144,19 @@ public class Rs2BankData {
 
     /**
      * Gets the number of cached bank items.
-     * Thread-safe method.
      * 
      * @return Number of items stored in the cache
      */
-    public synchronized int size() {
-        return idQuantityAndSlot != null ? idQuantityAndSlot.length / 3 : 0;
+    public int size() {
+        return store.view().size();
     }
 
     /**
      * Checks if the cache is empty.
-     * Thread-safe method.
      * 
      * @return true if no items are cached, false otherwise
      */
-    public synchronized boolean isEmpty() {
-        return size() == 0;
+    public boolean isEmpty() {
+        return store.view().isEmpty();
     }
 }
@@ -22,6 +22,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,6 +41,10 @@ import java.util.stream.Stream;
  * - Configurable eviction policies
  * - Event-driven invalidation support
  * 
+ * Each key maps to a single entry holding the value and its timestamps, so reads are one lock-free
+ * map lookup. Iteration works on the weakly consistent view of the map and never takes the cache
+ * monitor, so a slow stream consumer does not block other readers or writers.
+ * 
  * @param <K> The type of keys used in the cache
  * @param <V> The type of values stored in the cache
  */
@@ -61,7 +66,8 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * @return Current UTC timestamp in milliseconds
      */
     private static long getCurrentUtcTimestamp() {
-        return Instant.now().toEpochMilli();
+        // same value as Instant.now().toEpochMilli(), without creating an Instant
+        return System.currentTimeMillis();
     }
     
     /**
@@ -123,13 +129,34 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
     private final CacheMode cacheMode;
     
     // Core cache storage
-    private final ConcurrentHashMap<K, Object> cache; // Object to support wrapped values
-    private final ConcurrentHashMap<K, Long> cacheTimestamps;
+    private final ConcurrentHashMap<K, CacheEntry> entries;
     private final AtomicLong lastGlobalInvalidation;
     private final AtomicBoolean isShutdown;
-    private final AtomicLong cacheHits;
-    private final AtomicLong cacheMisses;
-    private final AtomicLong totalInvalidations;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
+    private final LongAdder totalInvalidations;
+    
+    // Optional eviction on top of the cache mode
+    private volatile EvictionPolicy evictionPolicy;
+    private final AtomicLong estimatedEntryBytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    
+    /**
+     * A cached value, wrapped if the cache has a value wrapper, with its timestamps.
+     */
+    private static final class CacheEntry {
+        private final Object value;
+        private final long timestamp;
+        private final long estimatedBytes;
+        private volatile long lastAccess;
+        
+        private CacheEntry(Object value, long timestamp, long estimatedBytes) {
+            this.value = value;
+            this.timestamp = timestamp;
+            this.estimatedBytes = estimatedBytes;
+            this.lastAccess = timestamp;
+        }
+    }
     
     // Cache configuration
     private final long ttlMillis;
@@ -141,6 +168,7 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
     private final List<QueryStrategy<K, V>> queryStrategies;
     @SuppressWarnings("rawtypes")
     private volatile ValueWrapper valueWrapper; // Optional value wrapping
+    private volatile SpatialIndex<K, V> spatialIndex; // Optional location and id index
     
     // Periodic cleanup system
     private final ScheduledExecutorService cleanupExecutor;
@@ -316,6 +344,51 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
     public boolean isPersistenceEnabled() {
         return persistenceEnabled;
     }
+
+    private final Object pendingLoadLock = new Object();
+    private volatile Runnable pendingLoad;
+    private boolean runningPendingLoad;
+
+    /**
+     * Defers loading persisted entries until the cache is first used.
+     * The load runs once, on the thread that first reads or writes the cache, while other threads wait for it.
+     * 
+     * @param load Fills the cache with the persisted entries
+     */
+    public void setPendingLoad(Runnable load) {
+        this.pendingLoad = load;
+    }
+
+    /**
+     * Checks if persisted entries are still waiting to be loaded.
+     * 
+     * @return true if a deferred load has not run yet
+     */
+    public boolean hasPendingLoad() {
+        return pendingLoad != null;
+    }
+
+    private void awaitPendingLoad() {
+        if (pendingLoad == null) {
+            return;
+        }
+        synchronized (pendingLoadLock) {
+            Runnable load = pendingLoad;
+            if (load == null || runningPendingLoad) {
+                // already loaded, or called by the load itself
+                return;
+            }
+            runningPendingLoad = true;
+            try {
+                load.run();
+            } catch (Exception e) {
+                log.error("Failed to load persisted entries of cache {}", cacheName, e);
+            } finally {
+                pendingLoad = null;
+                runningPendingLoad = false;
+            }
+        }
+    }
     // ============================================
     // custom invalidation  Support
     // ============================================
@@ -369,13 +442,12 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
             return thread;
         });
         
-        this.cache = new ConcurrentHashMap<>();
-        this.cacheTimestamps = new ConcurrentHashMap<>();
+        this.entries = new ConcurrentHashMap<>();
         this.lastGlobalInvalidation = new AtomicLong(getCurrentUtcTimestamp());
         this.isShutdown = new AtomicBoolean(false);
-        this.cacheHits = new AtomicLong(0);
-        this.cacheMisses = new AtomicLong(0);
-        this.totalInvalidations = new AtomicLong(0);
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
+        this.totalInvalidations = new LongAdder();
         
         // Initialize strategy collections - thread-safe
         this.updateStrategies = new CopyOnWriteArrayList<>();
@@ -434,6 +506,49 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         return this;
     }
     
+    /**
+     * Maintains a location and id index over the entries of this cache.
+     * The index is updated on every put, remove and invalidation.
+     * 
+     * @param index The index to maintain, should be empty
+     * @return This cache for method chaining
+     */
+    public Rs2Cache<K, V> withIndex(SpatialIndex<K, V> index) {
+        this.spatialIndex = index;
+        log.debug("Added spatial index to cache {}", cacheName);
+        return this;
+    }
+    
+    /**
+     * Sets the eviction policy of this cache, applied in addition to its cache mode.
+     * 
+     * @param policy The eviction policy, or null for none
+     * @return This cache for method chaining
+     */
+    public Rs2Cache<K, V> withEviction(EvictionPolicy policy) {
+        this.evictionPolicy = policy;
+        if (policy != null && policy.getMaxEstimatedBytes() != Long.MAX_VALUE) {
+            // entries stored before the policy have no estimate yet
+            long total = 0;
+            for (Map.Entry<K, CacheEntry> entry : entries.entrySet()) {
+                total += estimateSize(entry.getKey(), entry.getValue().value);
+            }
+            estimatedEntryBytes.set(total);
+        }
+        log.debug("Set eviction policy for cache {}", cacheName);
+        evictIfOverCapacity();
+        return this;
+    }
+    
+    /**
+     * Gets the location and id index of this cache.
+     * 
+     * @return The index, or null if the cache is not indexed
+     */
+    public SpatialIndex<K, V> getSpatialIndex() {
+        return spatialIndex;
+    }
+    
     // ============================================
     // Core Cache Operations - Thread-Safe
     // ============================================
@@ -451,26 +566,21 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         if (isShutdown.get()) {
             return null;
         }
+        awaitPendingLoad();
         
         // No longer need checkGlobalInvalidation() - handled by periodic cleanup
         
-        Object cachedValue = cache.get(key);
-        Long timestamp = cacheTimestamps.get(key);
+        CacheEntry entry = entries.get(key);
         
         // Check if value exists and is not expired (respect cache mode)
-        if (cachedValue != null && timestamp != null && !isExpired(key)) {
-            cacheHits.incrementAndGet();
+        if (entry != null && !isExpired(key, entry)) {
+            cacheHits.increment();
+            touch(entry);
             log.trace("Cache hit for key {} in cache {}", key, cacheName);
-            
-            // Unwrap value if wrapper is present
-            if (valueWrapper != null) {
-                return (V) valueWrapper.unwrap(cachedValue);
-            } else {
-                return (V) cachedValue;
-            }
+            return unwrap(entry.value);
         }
         
-        cacheMisses.incrementAndGet();
+        cacheMisses.increment();
         log.trace("Cache miss for key {} in cache {}", key, cacheName);
         return null;
     }
@@ -532,6 +642,7 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         if (isShutdown.get() || value == null) {
             return;
         }
+        awaitPendingLoad();
         
         // Wrap value if wrapper is present
         Object valueToStore = value;
@@ -541,10 +652,19 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
             valueToStore = wrapped;
         }
         
-        cache.put(key, valueToStore);
-        cacheTimestamps.put(key, getCurrentUtcTimestamp());
+        EvictionPolicy policy = evictionPolicy;
+        boolean tracksMemory = policy != null && policy.getMaxEstimatedBytes() != Long.MAX_VALUE;
+        CacheEntry entry = new CacheEntry(valueToStore, getCurrentUtcTimestamp(), tracksMemory ? estimateSize(key, valueToStore) : 0);
+        CacheEntry previous = entries.put(key, entry);
+        estimatedEntryBytes.addAndGet(entry.estimatedBytes - (previous != null ? previous.estimatedBytes : 0));
+        if (spatialIndex != null) {
+            spatialIndex.put(key, value);
+        }
         
         log.trace("Put value for key {} in cache {}", key, cacheName);
+        if (policy != null) {
+            evictIfOverCapacity();
+        }
     }
     
     /**
@@ -554,22 +674,31 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      */
     @Override
     public void remove(K key) {
-        cache.remove(key);
-        cacheTimestamps.remove(key);
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            estimatedEntryBytes.addAndGet(-removed.estimatedBytes);
+        }
+        if (spatialIndex != null) {
+            spatialIndex.remove(key);
+        }
         log.trace("Removed key {} from cache {}", key, cacheName);
     }
     
     /**
      * Invalidates all cached data in a thread-safe manner.
-     * Uses synchronization to ensure atomicity of cache and timestamp clearing.
+     * Values and timestamps live in the same entry, so no lock is needed to clear them together.
      */
     @Override
-    public synchronized void invalidateAll() {
-        int sizeBefore = cache.size();
-        cache.clear();
-        cacheTimestamps.clear();
+    public void invalidateAll() {
+        pendingLoad = null;
+        int sizeBefore = entries.size();
+        entries.clear();
+        estimatedEntryBytes.set(0);
+        if (spatialIndex != null) {
+            spatialIndex.clear();
+        }
         lastGlobalInvalidation.set(getCurrentUtcTimestamp());
-        totalInvalidations.incrementAndGet();
+        totalInvalidations.increment();
         log.debug("Invalidated all {} entries in cache {}", sizeBefore, cacheName);    
     }
 
@@ -580,7 +709,8 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * @return The timestamp when the key was cached, or null if not found
      */
     public Long getCacheTimestamp(K key) {
-        return cacheTimestamps.get(key);
+        CacheEntry entry = entries.get(key);
+        return entry != null ? entry.timestamp : null;
     }
     
     // ============================================
@@ -593,7 +723,8 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * @param criteria The query criteria
      * @return Stream of matching values
      */
-    public synchronized Stream<V> query(QueryCriteria criteria) {
+    public Stream<V> query(QueryCriteria criteria) {
+        awaitPendingLoad();
         for (QueryStrategy<K, V> strategy : queryStrategies) {
             for (Class<? extends QueryCriteria> supportedType : strategy.getSupportedQueryTypes()) {
                 if (supportedType.isInstance(criteria)) {
@@ -612,28 +743,21 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * 
      * @return Collection of cached values
      */
-    @SuppressWarnings("unchecked")
-    public synchronized Collection<V> values() {        
+    public Collection<V> values() {        
         if (isShutdown.get()) {
             return Collections.emptyList();
         }
+        awaitPendingLoad();
         
         // No longer need checkGlobalInvalidation() - handled by periodic cleanup
         
-        return cache.entrySet().stream()
-                .filter(entry -> {
-                    Long timestamp = cacheTimestamps.get(entry.getKey());
-                    return timestamp != null && !isExpired(entry.getKey());
-                })
-                .map(entry -> {
-                    if (valueWrapper != null) {
-                        return (V) valueWrapper.unwrap(entry.getValue());
-                    } else {
-                        return (V) entry.getValue();
-                    }
-                })
-                .collect(Collectors.toList());
-    
+        List<V> values = new ArrayList<>(entries.size());
+        for (Map.Entry<K, CacheEntry> entry : entries.entrySet()) {
+            if (!isExpired(entry.getKey(), entry.getValue())) {
+                values.add(unwrap(entry.getValue().value));
+            }
+        }
+        return values;
     }
     
     // ============================================
@@ -647,30 +771,18 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * @return Stream of all cached values
      */
 
-    public synchronized Stream<V> stream() {
+    public Stream<V> stream() {
         if (isShutdown.get()) {
             return Stream.empty();
         }
+        awaitPendingLoad();
         // No longer need checkGlobalInvalidation() - handled by periodic cleanup
         
-        // Defensive copy for strong consistency, but less efficient:
-        List<Map.Entry<K, Object>> entries = new ArrayList<>(cache.entrySet());
-        return entries.stream()
-            .filter(entry -> {
-            Long timestamp = cacheTimestamps.get(entry.getKey());
-            return timestamp != null && !isExpired(entry.getKey());
-            })
-            .map(entry -> {
-            if (valueWrapper != null) {
-                @SuppressWarnings("unchecked")
-                V unwrapped = (V) valueWrapper.unwrap(entry.getValue());
-                return unwrapped;
-            } else {
-                @SuppressWarnings("unchecked")
-                V value = (V) entry.getValue();
-                return value;
-            }
-            })
+        // Snapshot of the entries, so the stream is not affected by later writes
+        List<Map.Entry<K, CacheEntry>> snapshot = new ArrayList<>(entries.entrySet());
+        return snapshot.stream()
+            .filter(entry -> !isExpired(entry.getKey(), entry.getValue()))
+            .map(entry -> unwrap(entry.getValue().value))
             .filter(Objects::nonNull);
     }
 
@@ -725,12 +837,14 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
     
     @Override
     public boolean containsKey(K key) {
-        return cache.containsKey(key) && !isExpired(key);
+        awaitPendingLoad();
+        return !isExpired(key);
     }
     
     @Override
     public int size() {
-        return cache.size();
+        awaitPendingLoad();
+        return entries.size();
     }
     
     @Override
@@ -818,19 +932,12 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         sb.append(String.format("%-20s %-30s %-19s\n", "KEY", "VALUE", "TIMESTAMP"));
         sb.append("-".repeat(80)).append("\n");
         
-        cache.entrySet().stream()
-                .sorted((e1, e2) -> {
-                    Long t1 = cacheTimestamps.get(e1.getKey());
-                    Long t2 = cacheTimestamps.get(e2.getKey());
-                    if (t1 == null || t2 == null) return 0;
-                    return Long.compare(t2, t1); // Most recent first
-                })
+        new ArrayList<>(entries.entrySet()).stream()
+                .sorted((e1, e2) -> Long.compare(e2.getValue().timestamp, e1.getValue().timestamp)) // Most recent first
                 .forEach(entry -> {
                     String key = String.valueOf(entry.getKey());
-                    String value = String.valueOf(entry.getValue());
-                    Long timestamp = cacheTimestamps.get(entry.getKey());
-                    String timestampStr = timestamp != null ? 
-                            formatter.format(Instant.ofEpochMilli(timestamp)) : "Unknown";
+                    String value = String.valueOf(entry.getValue().value);
+                    String timestampStr = formatter.format(Instant.ofEpochMilli(entry.getValue().timestamp));
                     
                     // Truncate long values
                     if (key.length() > 20) key = key.substring(0, 17) + "...";
@@ -839,7 +946,7 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
                     sb.append(String.format("%-20s %-30s %-19s\n", key, value, timestampStr));
                 });
         
-        if (cache.isEmpty()) {
+        if (entries.isEmpty()) {
             sb.append("No entries in cache\n");
         }
         
@@ -914,23 +1021,13 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         if (isShutdown.get()) {
             return Stream.empty();
         }
+        awaitPendingLoad();
         
         // No longer need checkGlobalInvalidation() - handled by periodic cleanup
         
-        return cache.entrySet().stream()
-                .filter(entry -> {
-                    Long timestamp = cacheTimestamps.get(entry.getKey());
-                    return timestamp != null && !isExpired(entry.getKey());
-                })
-                .map(entry -> {
-                    V value;
-                    if (valueWrapper != null) {
-                        value = (V) valueWrapper.unwrap(entry.getValue());
-                    } else {
-                        value = (V) entry.getValue();
-                    }
-                    return new AbstractMap.SimpleEntry<>(entry.getKey(), value);
-                });
+        return entries.entrySet().stream()
+                .filter(entry -> !isExpired(entry.getKey(), entry.getValue()))
+                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), unwrap(entry.getValue().value)));
     }
     
     /**
@@ -945,30 +1042,16 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         if (isShutdown.get()) {
             return result;
         }
+        awaitPendingLoad();
         
         // No longer need checkGlobalInvalidation() - handled by periodic cleanup
         
-        for (Map.Entry<K, Object> entry : cache.entrySet()) {
+        for (Map.Entry<K, CacheEntry> entry : entries.entrySet()) {
             K key = entry.getKey();
-            Long timestamp = cacheTimestamps.get(key);
             
             // Only include non-expired entries
-            if (timestamp != null && !isExpired(key)) {
-                Object cachedValue = entry.getValue();
-                
-                // Unwrap value if wrapper is present
-                V value;
-                if (valueWrapper != null) {
-                    @SuppressWarnings("unchecked")
-                    V unwrappedValue = (V) valueWrapper.unwrap(cachedValue);
-                    value = unwrappedValue;
-                } else {
-                    @SuppressWarnings("unchecked")
-                    V castedValue = (V) cachedValue;
-                    value = castedValue;
-                }
-                
-                result.put(key, value);
+            if (!isExpired(key, entry.getValue())) {
+                result.put(key, unwrap(entry.getValue().value));
             }
         }
         
@@ -994,18 +1077,63 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
     // ============================================
     
     /**
-     * Checks if a cache entry is expired.
-     * This method can be overridden by subclasses to implement custom expiration logic.
+     * Checks if a cache entry is expired or missing.
      * 
      * @param key The cache key to check for expiration
      * @return true if the entry should be considered expired
      */
     protected boolean isExpired(K key) {
-        Long timestamp = cacheTimestamps.get(key);
-        if (timestamp == null) {
+        return isExpired(key, entries.get(key));
+    }
+    
+    /**
+     * Checks an entry that was already looked up, so a read only looks up its key once.
+     * Expired entries are removed from the cache.
+     */
+    private boolean isExpired(K key, CacheEntry entry) {
+        if (entry == null) {
             return true;
         }
         
+        if (!isEntryExpired(entry, 0) && !isValueExpired(key, unwrap(entry.value))) {
+            return false;
+        }
+        
+        // Item has expired - remove it immediately from cache, unless it was replaced meanwhile
+        if (removeEntry(key, entry)) {
+            log.debug("Removed expired entry during TTL check: key={} in cache {}", key, cacheName);
+        }
+        return true;
+    }
+    
+    /**
+     * Checks if a value has expired by the logic of a specialized cache, like a ground item that despawned.
+     * Called on every read after the cache mode and eviction policy, so it must be cheap.
+     * 
+     * @param key The cache key of the value
+     * @param value The cached value
+     * @return true if the entry should be considered expired
+     */
+    protected boolean isValueExpired(K key, V value) {
+        return false;
+    }
+    
+    /**
+     * Checks the cache mode and eviction policy for an entry.
+     * 
+     * @param now The current timestamp, or 0 to read the clock only if the check needs it
+     */
+    private boolean isEntryExpired(CacheEntry entry, long now) {
+        EvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            if (now == 0) {
+                now = getCurrentUtcTimestamp();
+            }
+            if (policy.isExpired(entry.timestamp, entry.lastAccess, now)) {
+                return true;
+            }
+        }
+        
         // EVENT_DRIVEN_ONLY mode: entries never expire by time (unless custom logic overrides)
         if (cacheMode == CacheMode.EVENT_DRIVEN_ONLY && !enableCustomTTLInvalidation) {
             return false;
@@ -1016,19 +1144,88 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
             return false;
         }
         
-        // AUTOMATIC_INVALIDATION mode: check TTL and remove if expired
-        long currentTime = getCurrentUtcTimestamp();
-        if (currentTime - timestamp > ttlMillis) {
-            // Item has expired - remove it immediately from cache
-            Object removedValue = cache.remove(key);
-            cacheTimestamps.remove(key);
-            if (removedValue != null) {
-                log.debug("Removed expired entry during TTL check: key={} in cache {}", key, cacheName);
+        // AUTOMATIC_INVALIDATION mode: check TTL
+        return (now == 0 ? getCurrentUtcTimestamp() : now) - entry.timestamp > ttlMillis;
+    }
+    
+    /**
+     * Removes an entry if the key still maps to it.
+     * 
+     * @return true if the entry was removed
+     */
+    private boolean removeEntry(K key, CacheEntry entry) {
+        if (!entries.remove(key, entry)) {
+            return false;
+        }
+        estimatedEntryBytes.addAndGet(-entry.estimatedBytes);
+        if (spatialIndex != null) {
+            spatialIndex.remove(key);
+        }
+        return true;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object cachedValue) {
+        return valueWrapper != null ? (V) valueWrapper.unwrap(cachedValue) : (V) cachedValue;
+    }
+    
+    /**
+     * Records a read of an entry, only when the eviction policy needs it.
+     */
+    private void touch(CacheEntry entry) {
+        EvictionPolicy policy = evictionPolicy;
+        if (policy != null && policy.tracksAccess()) {
+            entry.lastAccess = getCurrentUtcTimestamp();
+        }
+    }
+    
+    private static long estimateSize(Object key, Object value) {
+        // key, value and the entry itself with its map node
+        return MemorySizeCalculator.calculateKeySize(key) + MemorySizeCalculator.calculateValueSize(value) + 64;
+    }
+    
+    /**
+     * Evicts the least recently used entries when the cache is over the limits of its eviction policy.
+     * Evicts down to 90% of the limits, so that a full cache does not sort its entries on every put.
+     * Only one thread evicts at a time; others return right away.
+     */
+    private void evictIfOverCapacity() {
+        EvictionPolicy policy = evictionPolicy;
+        if (policy == null || !isOverCapacity(policy, policy.getMaxEntries(), policy.getMaxEstimatedBytes())) {
+            return;
+        }
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int targetEntries = policy.getMaxEntries() == Integer.MAX_VALUE
+                    ? Integer.MAX_VALUE : (int) (policy.getMaxEntries() * 0.9);
+            long targetBytes = policy.getMaxEstimatedBytes() == Long.MAX_VALUE
+                    ? Long.MAX_VALUE : (long) (policy.getMaxEstimatedBytes() * 0.9);
+            
+            List<Map.Entry<K, CacheEntry>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            int evicted = 0;
+            for (Map.Entry<K, CacheEntry> candidate : candidates) {
+                if (!isOverCapacity(policy, targetEntries, targetBytes)) {
+                    break;
+                }
+                if (removeEntry(candidate.getKey(), candidate.getValue())) {
+                    evicted++;
+                }
             }
-            return true;
+            if (evicted > 0) {
+                totalInvalidations.add(evicted);
+                log.debug("Evicted {} least recently used entries from cache {}", evicted, cacheName);
+            }
+        } finally {
+            evicting.set(false);
         }
-        
-        return false;
+    }
+    
+    private boolean isOverCapacity(EvictionPolicy policy, int maxEntries, long maxBytes) {
+        return entries.size() > maxEntries
+                || (policy.getMaxEstimatedBytes() != Long.MAX_VALUE && estimatedEntryBytes.get() > maxBytes);
     }
     
     /**
@@ -1040,17 +1237,9 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      */
     @SuppressWarnings("unchecked")
     protected V getRawCachedValue(K key) {
-        Object cachedValue = cache.get(key);
-        if (cachedValue == null) {
-            return null;
-        }
-        
-        // Unwrap value if wrapper is present
-        if (valueWrapper != null) {
-            return (V) valueWrapper.unwrap(cachedValue);
-        } else {
-            return (V) cachedValue;
-        }
+        awaitPendingLoad();
+        CacheEntry entry = entries.get(key);
+        return entry != null ? unwrap(entry.value) : null;
     }
     
     /**
@@ -1096,47 +1285,35 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
             return;
         }
         
-        if (cacheMode == CacheMode.AUTOMATIC_INVALIDATION) {
+        if (cacheMode == CacheMode.AUTOMATIC_INVALIDATION || evictionPolicy != null) {
             performTtlCleanup();
         }
         // For other modes, subclasses can override this method for custom cleanup
     }
     
     /**
-     * Removes expired entries based on TTL for AUTOMATIC_INVALIDATION mode.
+     * Removes expired entries based on TTL for AUTOMATIC_INVALIDATION mode, and entries expired
+     * or over capacity by the eviction policy.
      * This replaces the global invalidation approach with per-entry checking.
      */
     private void performTtlCleanup() {
-        if (cache.isEmpty()) {
+        if (entries.isEmpty()) {
             return;
         }
         
         long currentTime = getCurrentUtcTimestamp();
-        List<K> expiredKeys = new ArrayList<>();
-        
-        // Collect expired keys
-        for (Map.Entry<K, Object> entry : cache.entrySet()) {
-            K key = entry.getKey();
-            Long timestamp = cacheTimestamps.get(key);
-            
-            if (timestamp == null || (currentTime - timestamp) > ttlMillis) {
-                expiredKeys.add(key);
-            }
-        }
-        
-        // Remove expired entries
         int removedCount = 0;
-        for (K key : expiredKeys) {
-            if (cache.remove(key) != null) {
-                cacheTimestamps.remove(key);
+        for (Map.Entry<K, CacheEntry> entry : entries.entrySet()) {
+            if (isEntryExpired(entry.getValue(), currentTime) && removeEntry(entry.getKey(), entry.getValue())) {
                 removedCount++;
             }
         }
         
         if (removedCount > 0) {
-            totalInvalidations.addAndGet(removedCount);
+            totalInvalidations.add(removedCount);
             log.debug("Removed {} expired entries from cache {}", removedCount, cacheName);
         }
+        evictIfOverCapacity();
     }
     
     /**
@@ -1146,7 +1323,7 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
      * @return Estimated memory usage in bytes
      */
     public long getEstimatedMemorySize() {
-        if (cache.isEmpty()) {
+        if (entries.isEmpty()) {
             return getEmptyCacheMemorySize();
         }
         
@@ -1161,14 +1338,15 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         long timestampSize = 0;
         
         // Sample a few entries to estimate average sizes
-        int sampleSize = Math.min(5, cache.size());
+        int size = entries.size();
+        int sampleSize = Math.min(5, size);
         int sampledEntries = 0;
         
-        for (Map.Entry<K, Object> entry : cache.entrySet()) {
+        for (Map.Entry<K, CacheEntry> entry : entries.entrySet()) {
             if (sampledEntries >= sampleSize) break;
             
             keySize += MemorySizeCalculator.calculateKeySize(entry.getKey());
-            valueSize += MemorySizeCalculator.calculateValueSize(entry.getValue());
+            valueSize += MemorySizeCalculator.calculateValueSize(entry.getValue().value);
             timestampSize += Long.BYTES; // Long timestamp
             
             sampledEntries++;
@@ -1180,10 +1358,10 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
             long avgValueSize = valueSize / sampledEntries;
             long avgTimestampSize = timestampSize / sampledEntries;
             
-            totalSize += (avgKeySize + avgValueSize + avgTimestampSize) * cache.size();
+            totalSize += (avgKeySize + avgValueSize + avgTimestampSize) * size;
             
-            // Add ConcurrentHashMap overhead per entry (Node objects, buckets)
-            totalSize += cache.size() * 64; // Estimated overhead per map entry
+            // Add ConcurrentHashMap overhead per entry (Node and CacheEntry objects, buckets)
+            totalSize += size * 64L; // Estimated overhead per map entry
         }
         
         return totalSize;
@@ -1197,20 +1375,23 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
         
         // Object header + all instance fields
         size += 12; // Object header (64-bit JVM with compressed OOPs)
-        size += 4 * 8; // 8 reference fields (String, CacheMode, 2 ConcurrentHashMaps, 4 AtomicLong, AtomicBoolean)
+        size += 4 * 10; // 10 reference fields (String, CacheMode, ConcurrentHashMap, 3 LongAdder, 2 AtomicLong, 2 AtomicBoolean)
         size += 8 * 4; // 4 long fields
         size += 4 * 2; // 2 int fields (if any)
         size += 4 * 2; // 2 CopyOnWriteArrayList references
-        size += 4; // ValueWrapper reference
+        size += 4 * 2; // ValueWrapper and EvictionPolicy references
         
-        // Empty ConcurrentHashMap overhead (x2 for cache and timestamps)
-        size += 2 * (12 + 4 + 4*3 + 16 + 16*4); // Object + fields + empty bucket array
+        // Empty ConcurrentHashMap overhead for the entries
+        size += 12 + 4 + 4*3 + 16 + 16*4; // Object + fields + empty bucket array
         
-        // AtomicLong objects (6 total)
-        size += 6 * (12 + 8); // Object header + long value
+        // LongAdder objects (3 total, uncontended so without cells)
+        size += 3 * (12 + 8 + 4 + 4); // Object header + base + cells reference + busy flag
         
-        // AtomicBoolean object
-        size += 12 + 1; // Object header + boolean value
+        // AtomicLong objects (2 total)
+        size += 2 * (12 + 8); // Object header + long value
+        
+        // AtomicBoolean objects (2 total)
+        size += 2 * (12 + 4); // Object header + int value
         
         // CopyOnWriteArrayList objects (2 total)
         size += 2 * (12 + 4*3 + 16); // Object + fields + empty array
@@ -1256,9 +1437,9 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
                 cacheName,
                 cacheMode,
                 size(),
-                cacheHits.get(),
-                cacheMisses.get(),
-                totalInvalidations.get(),
+                cacheHits.sum(),
+                cacheMisses.sum(),
+                totalInvalidations.sum(),
                 getCurrentUtcTimestamp() - creationTime,
                 ttlMillis,                
                 getEstimatedMemorySize()
@@ -1346,8 +1527,11 @@ public abstract class Rs2Cache<K, V> implements AutoCloseable, CacheOperations<K
                 }
             }
             
-            cache.clear();
-            cacheTimestamps.clear();
+            entries.clear();
+            estimatedEntryBytes.set(0);
+            if (spatialIndex != null) {
+                spatialIndex.clear();
+            }
             log.debug("Closed cache: {}", cacheName);
         }
     }
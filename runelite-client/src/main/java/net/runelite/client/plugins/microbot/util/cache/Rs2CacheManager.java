@@ -5,6 +5,7 @@ import net.runelite.api.Player;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
+import net.runelite.client.plugins.microbot.util.cache.serialization.BinaryCacheStore;
 import net.runelite.client.plugins.microbot.util.cache.serialization.CacheSerializationManager;
 import net.runelite.client.plugins.microbot.util.cache.util.LogOutputMode;
 
@@ -420,8 +421,8 @@ public class Rs2CacheManager implements AutoCloseable {
             // Load Skills cache
             if (Rs2SkillCache.getCache().isPersistenceEnabled()) {
                 CacheSerializationManager.loadCache(Rs2SkillCache.getCache(), Rs2SkillCache.getCache().getConfigKey(), profileKey,false);
-                log.info("Loaded Skills cache from configuration, new cache size: {}", 
-                          Rs2SkillCache.getCache().size());
+                log.info("Loaded Skills cache from configuration, pending load: {}", 
+                          Rs2SkillCache.getCache().hasPendingLoad());
             }
             
             // Load Quest cache  
@@ -429,22 +430,22 @@ public class Rs2CacheManager implements AutoCloseable {
                 CacheSerializationManager.loadCache(Rs2QuestCache.getCache(), Rs2QuestCache.getCache().getConfigKey(), profileKey,false);
                 // Schedule an async update to populate quest states from client without blocking initialization
                 //Rs2QuestCache.updateAllFromClientAsync();
-                log.debug ("Loaded Quest cache from configuration, new cache size: {}", 
-                          Rs2QuestCache.getCache().size());
+                log.debug ("Loaded Quest cache from configuration, pending load: {}", 
+                          Rs2QuestCache.getCache().hasPendingLoad());
             }
             
             // Load Varbit cache
             if (Rs2VarbitCache.getCache().isPersistenceEnabled()) {
                 CacheSerializationManager.loadCache(Rs2VarbitCache.getCache(), Rs2VarbitCache.getCache().getConfigKey(), profileKey,false);
-                log.debug ("Loaded Varbit cache from configuration, new cache size: {}", 
-                          Rs2VarbitCache.getCache().size());
+                log.debug ("Loaded Varbit cache from configuration, pending load: {}", 
+                          Rs2VarbitCache.getCache().hasPendingLoad());
             }
             
             // Load VarPlayer cache
             if (Rs2VarPlayerCache.getCache().isPersistenceEnabled()) {
                 CacheSerializationManager.loadCache(Rs2VarPlayerCache.getCache(), Rs2VarPlayerCache.getCache().getConfigKey(), profileKey, false);
-                log.debug ("Loaded VarPlayer cache from configuration, new cache size: {}", 
-                          Rs2VarPlayerCache.getCache().size());
+                log.debug ("Loaded VarPlayer cache from configuration, pending load: {}", 
+                          Rs2VarPlayerCache.getCache().hasPendingLoad());
             }
             if (Rs2SpiritTreeCache.getCache().isPersistenceEnabled()) {
                 CacheSerializationManager.loadCache(Rs2SpiritTreeCache.getCache(), Rs2SpiritTreeCache.getCache().getConfigKey(), profileKey,false);
@@ -738,6 +739,9 @@ public class Rs2CacheManager implements AutoCloseable {
             sb.append("\n=== MEMORY BREAKDOWN ===\n");
             appendMemoryBreakdown(sb);
             
+            sb.append("\n=== PERSISTENT STORE ===\n");
+            appendStoreStats(sb);
+            
         } catch (Exception e) {
             log.error("Error getting cache statistics: {}", e.getMessage(), e);
             return "Error retrieving cache statistics: " + e.getMessage();
@@ -762,6 +766,22 @@ public class Rs2CacheManager implements AutoCloseable {
         }
     }
     
+    /**
+     * Appends the save and load statistics of the cache files.
+     */
+    private static void appendStoreStats(StringBuilder sb) {
+        for (BinaryCacheStore.StoreStatistics stats : BinaryCacheStore.getStatistics()) {
+            sb.append(String.format("%-14s: Entries=%-5d | Disk=%s | Last Save=%s %.1fms (%d bytes) | Load=%.1fms\n",
+                    stats.getConfigKey(),
+                    stats.getEntries(),
+                    MemorySizeCalculator.formatMemorySize(stats.getFileBytes()),
+                    stats.getLastSaveMode() != null ? stats.getLastSaveMode() : "-",
+                    stats.getLastSaveNanos() / 1_000_000.0,
+                    stats.getLastWrittenBytes(),
+                    stats.getLastLoadNanos() / 1_000_000.0));
+        }
+    }
+    
     /**
      * Appends memory usage breakdown by cache type.
      */
@@ -17,8 +17,10 @@ import net.runelite.client.plugins.microbot.util.grounditem.Rs2GroundItemModel;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +47,7 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
         super("GroundItemCache", CacheMode.EVENT_DRIVEN_ONLY);
         this.updateStrategy = new GroundItemUpdateStrategy();
         this.withUpdateStrategy(this.updateStrategy);
+        this.withIndex(new SpatialIndex<>(Rs2GroundItemModel::getLocation, Rs2GroundItemModel::getId, Rs2GroundItemModel::getName));
     }
     
     /**
@@ -133,8 +136,8 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
      * @return Stream of matching Rs2GroundItemModel objects
      */
     public static Stream<Rs2GroundItemModel> getGroundItemsById(int itemId) {
-        return getInstance().stream()
-                .filter(item -> item.getId() == itemId);
+        return getInstance().getSpatialIndex().getById(itemId).stream()
+                .filter(item -> !item.isDespawned());
     }
     
     /**
@@ -144,9 +147,8 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
      * @return Stream of matching Rs2GroundItemModel objects
      */
     public static Stream<Rs2GroundItemModel> getGroundItemsByName(String name) {
-        return getInstance().stream()
-                .filter(item -> item.getName() != null && 
-                               item.getName().toLowerCase().contains(name.toLowerCase()));
+        return getInstance().getSpatialIndex().getByName(name).stream()
+                .filter(item -> !item.isDespawned());
     }
     
     /**
@@ -157,9 +159,21 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
      * @return Stream of ground items within the specified distance
      */
     public static Stream<Rs2GroundItemModel> getGroundItemsWithinDistance(WorldPoint location, int maxDistance) {
-        return getInstance().stream()
-                .filter(item -> item.getLocation() != null &&
-                               item.getLocation().distanceTo(location) <= maxDistance);
+        return getInstance().getSpatialIndex().getWithinDistance(location, maxDistance).stream()
+                .filter(item -> !item.isDespawned());
+    }
+    
+    /**
+     * Gets the ground items closest to a location, closest first.
+     * 
+     * @param location The center location
+     * @param count The maximum number of ground items to return
+     * @param filter Only ground items matching the filter are returned, may be null
+     * @return List of at most count ground items on the plane of the location
+     */
+    public static List<Rs2GroundItemModel> getNearestGroundItems(WorldPoint location, int count, Predicate<Rs2GroundItemModel> filter) {
+        Predicate<Rs2GroundItemModel> notDespawned = item -> !item.isDespawned();
+        return getInstance().getSpatialIndex().getNearest(location, count, filter != null ? notDespawned.and(filter) : notDespawned);
     }
     
     /**
@@ -292,10 +306,7 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
      */
     public static Optional<Rs2GroundItemModel> getClosestGroundItemById(int itemId, WorldPoint anchorPoint) {
         return getGroundItemsById(itemId)
-                .min((a, b) -> Integer.compare(
-                    a.getLocation().distanceTo(anchorPoint), 
-                    b.getLocation().distanceTo(anchorPoint)
-                ));
+                .min(Comparator.comparingInt(item -> item.getLocation().distanceTo(anchorPoint)));
     }
     
     /**
@@ -440,8 +451,7 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
      * @return Stream of matching ground items
      */
     public static Stream<Rs2GroundItemModel> getItemsByGameId(int itemId) {
-        return getInstance().stream()
-                .filter(item -> item.getId() == itemId);
+        return getGroundItemsById(itemId);
     }
     
     /**
@@ -752,35 +762,29 @@ public class Rs2GroundItemCache extends Rs2Cache<String, Rs2GroundItemModel> {
     }
     
     /**
-     * Override isExpired to use ground item despawn timing instead of generic TTL.
+     * Uses the ground item despawn timing in addition to the generic expiration.
      * This integrates the despawn logic directly with the cache's expiration system.
      * 
      * @param key The cache key to check for expiration
+     * @param groundItem The cached ground item
      * @return true if the ground item should be considered expired (despawned)
      */
     @Override
-    protected boolean isExpired(String key) {
-        // For EVENT_DRIVEN_ONLY mode with ground items, check despawn status directly
-        if (getCacheMode() == CacheMode.EVENT_DRIVEN_ONLY) {
-            // Access the cached value directly using the protected method to avoid recursion
-            Rs2GroundItemModel groundItem = getRawCachedValue(key);
-            if (groundItem != null && groundItem.isDespawned()) {
-                // Item has despawned - remove it immediately from cache
-                remove(key);
-                log.debug("Removed despawned ground item during expiration check: {} (ID: {}) at {}", 
-                    groundItem.getName(), groundItem.getId(), groundItem.getLocation());
-                return true;
-            }
-            // If item is not in cache, consider it expired
-            if (groundItem == null) {
-                return true;
-            }
-            // Item exists and is not despawned
+    protected boolean isValueExpired(String key, Rs2GroundItemModel groundItem) {
+        // Only EVENT_DRIVEN_ONLY mode checks the despawn status, other modes use the default TTL behavior
+        if (getCacheMode() != CacheMode.EVENT_DRIVEN_ONLY) {
             return false;
         }
-        
-        // For other modes, fall back to the default TTL behavior
-        return super.isExpired(key);
+        // If item is not in cache, consider it expired
+        if (groundItem == null) {
+            return true;
+        }
+        if (groundItem.isDespawned()) {
+            log.debug("Removing despawned ground item during expiration check: {} (ID: {}) at {}", 
+                groundItem.getName(), groundItem.getId(), groundItem.getLocation());
+            return true;
+        }
+        return false;
     }
     
    
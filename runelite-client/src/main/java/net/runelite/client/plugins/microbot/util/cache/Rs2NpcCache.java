@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Constants;
 import net.runelite.api.NPC;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
 import net.runelite.client.eventbus.Subscribe;
@@ -13,7 +14,9 @@ import net.runelite.client.plugins.microbot.util.cache.util.LogOutputMode;
 import net.runelite.client.plugins.microbot.util.cache.util.Rs2CacheLoggingUtils;
 import net.runelite.client.plugins.microbot.util.npc.Rs2NpcModel;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -39,6 +42,7 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
         super("NpcCache", CacheMode.EVENT_DRIVEN_ONLY);
         this.updateStrategy = new NpcUpdateStrategy();
         this.withUpdateStrategy(this.updateStrategy);
+        this.withIndex(new SpatialIndex<>(Rs2NpcModel::getWorldLocation, Rs2NpcModel::getId, Rs2NpcModel::getName));
     }
     
     /**
@@ -132,8 +136,7 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
      * @return Stream of matching NPCs
      */
     public static Stream<Rs2NpcModel> getNpcsById(int npcId) {
-        return getInstance().stream()
-                .filter(npc -> npc.getId() == npcId);
+        return getInstance().getSpatialIndex().getById(npcId).stream();
     }
     
     /**
@@ -162,9 +165,7 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
      * @return Stream of matching Rs2NpcModel objects
      */
     public static Stream<Rs2NpcModel> getNpcsByName(String name) {
-        return getInstance().stream()
-                .filter(npc -> npc.getName() != null && 
-                              npc.getName().toLowerCase().contains(name.toLowerCase()));
+        return getInstance().getSpatialIndex().getByName(name).stream();
     }
     
     /**
@@ -175,9 +176,19 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
      * @return Stream of NPCs within the specified distance
      */
     public static Stream<Rs2NpcModel> getNpcsWithinDistance(net.runelite.api.coords.WorldPoint location, int maxDistance) {
-        return getInstance().stream()
-                .filter(npc -> npc.getWorldLocation() != null &&
-                              npc.getWorldLocation().distanceTo(location) <= maxDistance);
+        return getInstance().getSpatialIndex().getWithinDistance(location, maxDistance).stream();
+    }
+    
+    /**
+     * Gets the NPCs closest to a location, closest first.
+     * 
+     * @param location The center location
+     * @param count The maximum number of NPCs to return
+     * @param filter Only NPCs matching the filter are returned, may be null
+     * @return List of at most count NPCs on the plane of the location
+     */
+    public static List<Rs2NpcModel> getNearestNpcs(net.runelite.api.coords.WorldPoint location, int count, Predicate<Rs2NpcModel> filter) {
+        return getInstance().getSpatialIndex().getNearest(location, count, filter);
     }
     
     /**
@@ -241,11 +252,7 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
      * @return Optional containing the closest NPC
      */
     public static Optional<Rs2NpcModel> getClosestNpcByGameId(int npcId, net.runelite.api.coords.WorldPoint anchorPoint) {
-        return getNpcsById(npcId)
-                .min((a, b) -> Integer.compare(
-                    a.getWorldLocation().distanceTo(anchorPoint), 
-                    b.getWorldLocation().distanceTo(anchorPoint)
-                ));
+        return getInstance().getSpatialIndex().getClosestById(npcId, anchorPoint);
     }
     
     /**
@@ -318,6 +325,12 @@ public class Rs2NpcCache extends Rs2Cache<Integer, Rs2NpcModel> {
     public void onNpcDespawned(final NpcDespawned event) {        
         getInstance().handleEvent(event);
     }
+    @Subscribe(priority = 10)
+    public void onGameTick(final GameTick event) {
+        // NPCs move and transform without despawning, so their location and id are indexed again once per tick
+        getInstance().getSpatialIndex().refresh();
+    }
+    
     @Subscribe(priority = 40)
     public void onGameStateChanged(final GameStateChanged event) {      
         // Also let the strategy handle the event, region changes and loading of a map trigger despawn events for NPCs correctly
@@ -13,6 +13,7 @@ import net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectModel;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectModel.ObjectType;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,12 +27,13 @@ import java.util.stream.Stream;
  * with proper EventBus integration for @Subscribe methods.
  * 
  * Key Changes:
- * - Uses String-based keys for better tracking across region changes
+ * - Uses packed long keys of the object type, id and location, see {@link ObjectUpdateStrategy#generateCacheId}
  * - Implements region change detection to clear stale objects
  * - Handles the fact that RuneLite doesn't fire despawn events on region changes
+ * - Indexes objects by chunk and id, so location and id queries only visit the objects they return
  */
 @Slf4j
-public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
+public class Rs2ObjectCache extends Rs2Cache<Long, Rs2ObjectModel> {
     
     private static Rs2ObjectCache instance;
     
@@ -45,8 +47,9 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
         super("ObjectCache", CacheMode.EVENT_DRIVEN_ONLY);
         this.updateStrategy = new ObjectUpdateStrategy();
         this.withUpdateStrategy(this.updateStrategy);
+        this.withIndex(new SpatialIndex<>(Rs2ObjectModel::getWorldLocation, Rs2ObjectModel::getId, Rs2ObjectModel::getName));
         
-        log.debug("Rs2ObjectCache initialized with String-based keys, region change detection, and scene scanning");
+        log.debug("Rs2ObjectCache initialized with packed keys, spatial index, region change detection, and scene scanning");
     }
     
     /**
@@ -94,11 +97,11 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
      * Overrides the get method to provide fallback scene scanning when cache is empty or key not found.
      * This ensures that even if events are missed, we can still retrieve objects from the scene.
      * 
-     * @param key The unique String key for the object
+     * @param key The unique key for the object
      * @return The object model if found in cache or scene, null otherwise
      */
     @Override
-    public Rs2ObjectModel get(String key) {
+    public Rs2ObjectModel get(Long key) {
         // First try the regular cache lookup
         Rs2ObjectModel cachedResult = super.get(key);
         if (cachedResult != null) {
@@ -122,15 +125,46 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
     }
     
     /**
-     * Gets an object by its unique String-based key.
+     * Gets an object by its unique key.
      * 
-     * @param key The unique String key for the object
+     * @param key The unique key for the object
      * @return Optional containing the object model if found
      */
-    public static Optional<Rs2ObjectModel> getObjectByKey(String key) {
+    public static Optional<Rs2ObjectModel> getObjectByKey(long key) {
         return Optional.ofNullable(getInstance().get(key));
     }
     
+    /**
+     * Gets an object by the String key the cache used before its keys were packed into a long,
+     * {@code <type>_<id>_<x>_<y>_<plane>} like {@code GameObject_1276_3200_3200_0}.
+     * 
+     * @param key The String key for the object
+     * @return Optional containing the object model if found, or empty if the key is not in that format
+     * @deprecated Use {@link #getObjectByKey(long)} with {@link ObjectUpdateStrategy#generateCacheIdForObject}
+     */
+    @Deprecated
+    public static Optional<Rs2ObjectModel> getObjectByKey(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        String[] parts = key.split("_");
+        if (parts.length != 5) {
+            return Optional.empty();
+        }
+        for (ObjectType type : ObjectType.values()) {
+            if (!type.getTypeName().equals(parts[0])) {
+                continue;
+            }
+            try {
+                WorldPoint location = new WorldPoint(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]));
+                return getObjectByKey(ObjectUpdateStrategy.generateCacheId(type, Integer.parseInt(parts[1]), location));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+    
     /**
      * Gets all objects matching a specific ID.
      * 
@@ -138,8 +172,7 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
      * @return Stream of matching Rs2ObjectModel objects
      */
     public static Stream<Rs2ObjectModel> getObjectsById(int objectId) {
-        return getInstance().stream()
-                .filter(obj -> obj.getId() == objectId);
+        return getInstance().getSpatialIndex().getById(objectId).stream();
     }
     
     /**
@@ -149,9 +182,7 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
      * @return Stream of matching Rs2ObjectModel objects
      */
     public static Stream<Rs2ObjectModel> getObjectsByName(String name) {
-        return getInstance().stream()
-                .filter(obj -> obj.getName() != null && 
-                              obj.getName().toLowerCase().contains(name.toLowerCase()));
+        return getInstance().getSpatialIndex().getByName(name).stream();
     }
     
     /**
@@ -173,9 +204,19 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
      * @return Stream of objects within the specified distance
      */
     public static Stream<Rs2ObjectModel> getObjectsWithinDistance(WorldPoint location, int maxDistance) {
-        return getInstance().stream()
-                .filter(obj -> obj.getWorldLocation() != null &&
-                              obj.getWorldLocation().distanceTo(location) <= maxDistance);
+        return getInstance().getSpatialIndex().getWithinDistance(location, maxDistance).stream();
+    }
+    
+    /**
+     * Gets the objects closest to a location, closest first.
+     * 
+     * @param location The center location
+     * @param count The maximum number of objects to return
+     * @param filter Only objects matching the filter are returned, may be null
+     * @return List of at most count objects on the plane of the location
+     */
+    public static List<Rs2ObjectModel> getNearestObjects(WorldPoint location, int count, Predicate<Rs2ObjectModel> filter) {
+        return getInstance().getSpatialIndex().getNearest(location, count, filter);
     }
     
     /**
@@ -273,11 +314,7 @@ public class Rs2ObjectCache extends Rs2Cache<String, Rs2ObjectModel> {
      * @return Optional containing the closest object
      */
     public static Optional<Rs2ObjectModel> getClosestObjectById(int objectId, WorldPoint anchorPoint) {
-        return getObjectsById(objectId)
-            .min((o1, o2) -> Integer.compare(
-                o1.getWorldLocation().distanceTo(anchorPoint),
-                o2.getWorldLocation().distanceTo(anchorPoint)
-            ));
+        return getInstance().getSpatialIndex().getClosestById(objectId, anchorPoint);
     }
     
     /**
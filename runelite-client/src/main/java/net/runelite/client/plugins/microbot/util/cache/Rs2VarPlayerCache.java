@@ -7,6 +7,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.cache.model.VarbitData;
 import net.runelite.client.plugins.microbot.util.cache.serialization.CacheSerializable;
+import net.runelite.client.plugins.microbot.util.cache.strategy.EvictionPolicy;
 import net.runelite.client.plugins.microbot.util.cache.strategy.simple.VarPlayerUpdateStrategy;
 import net.runelite.client.plugins.microbot.util.cache.util.LogOutputMode;
 import net.runelite.client.plugins.microbot.util.cache.util.Rs2CacheLoggingUtils;
@@ -27,6 +28,10 @@ public class Rs2VarPlayerCache extends Rs2Cache<Integer, VarbitData> implements
     
     private static volatile Rs2VarPlayerCache instance;
     
+    // Every varplayer seen since login stays cached along with where it changed, so the least recently used ones are
+    // dropped past this size and reloaded from the client when read again
+    private static final long MAX_ESTIMATED_BYTES = 4L * 1024 * 1024;
+    
     /**
      * Private constructor for singleton pattern.
      */
@@ -35,7 +40,8 @@ public class Rs2VarPlayerCache extends Rs2Cache<Integer, VarbitData> implements
         
         // Set up update strategy to handle VarbitChanged events for varplayer values
         this.withUpdateStrategy(new VarPlayerUpdateStrategy())
-            .withPersistence("varplayers");
+            .withPersistence("varplayers")
+            .withEviction(EvictionPolicy.maxMemory(MAX_ESTIMATED_BYTES));
         
         log.debug("Rs2VarPlayerCache initialized with EVENT_DRIVEN_ONLY mode");
     }
@@ -7,6 +7,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.cache.strategy.simple.VarbitUpdateStrategy;
 import net.runelite.client.plugins.microbot.util.cache.serialization.CacheSerializable;
+import net.runelite.client.plugins.microbot.util.cache.strategy.EvictionPolicy;
 import net.runelite.client.plugins.microbot.util.cache.model.VarbitData;
 import net.runelite.client.plugins.microbot.util.cache.util.LogOutputMode;
 import net.runelite.client.plugins.microbot.util.cache.util.Rs2CacheLoggingUtils;
@@ -28,13 +29,18 @@ public class Rs2VarbitCache extends Rs2Cache<Integer, VarbitData> implements Cac
     
     private static Rs2VarbitCache instance;
     
+    // Every varbit seen since login stays cached along with where it changed, so the least recently used ones are
+    // dropped past this size and reloaded from the client when read again
+    private static final long MAX_ESTIMATED_BYTES = 4L * 1024 * 1024;
+    
     /**
      * Private constructor for singleton pattern.
      */
     private Rs2VarbitCache() {
         super("VarbitCache", CacheMode.EVENT_DRIVEN_ONLY);
         this.withUpdateStrategy(new VarbitUpdateStrategy())
-                .withPersistence("varbits");
+                .withPersistence("varbits")
+                .withEviction(EvictionPolicy.maxMemory(MAX_ESTIMATED_BYTES));
     }
     
     /**
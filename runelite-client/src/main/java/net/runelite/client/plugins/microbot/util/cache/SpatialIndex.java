@@ -0,0 +1,391 @@
+package net.runelite.client.plugins.microbot.util.cache;
+
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Secondary indexes over the entries of an entity cache, so that location and id queries only look at the entries
+ * they return instead of every entry in the cache.
+ * <p>
+ * Entries are bucketed by 8x8 tile chunk and by id, both keyed by packed ints. The owning cache keeps the index up to
+ * date from its put, remove and invalidate calls. Entities that move, like NPCs, are moved between chunks by
+ * {@link #refresh()}.
+ * <p>
+ * Names are looked up once per id and only when a name query runs, since resolving a name can need the object
+ * definition. The lookup happens outside the lock of the index, so that it can wait for the client thread while the
+ * client thread updates the index.
+ *
+ * @param <K> The key type of the cache
+ * @param <V> The entity type of the cache
+ */
+public class SpatialIndex<K, V> {
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int PLANES = 4;
+
+    private final Function<V, WorldPoint> locationFunction;
+    private final ToIntFunction<V> idFunction;
+    private final Function<V, String> nameFunction;
+
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final Map<Integer, List<Entry<K, V>>> chunks = new HashMap<>();
+    private final Map<Integer, List<Entry<K, V>>> ids = new HashMap<>();
+    private final int[] chunksPerPlane = new int[PLANES];
+    /** Lower case name of every id a name query has seen */
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    public SpatialIndex(Function<V, WorldPoint> locationFunction, ToIntFunction<V> idFunction, Function<V, String> nameFunction) {
+        this.locationFunction = locationFunction;
+        this.idFunction = idFunction;
+        this.nameFunction = nameFunction;
+    }
+
+    /**
+     * Packs a world location into the key of its chunk, in the layout of a Jagex coordinate
+     */
+    static int chunkKey(int x, int y, int plane) {
+        return (plane << 28) | ((x >> CHUNK_SHIFT) << 14) | (y >> CHUNK_SHIFT);
+    }
+
+    public synchronized void put(K key, V value) {
+        Entry<K, V> previous = entries.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+
+        Entry<K, V> entry = new Entry<>(key, value);
+        entries.put(key, entry);
+        entry.id = idFunction.applyAsInt(value);
+        link(ids, entry.id, entry, true);
+        place(entry, locationFunction.apply(value));
+    }
+
+    public synchronized void remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        chunks.clear();
+        ids.clear();
+        Arrays.fill(chunksPerPlane, 0);
+        // resolved again after a reset, since transformed NPCs and objects can have another name by then
+        names.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Reads the id and location of every entry again and moves the entries that changed, for entities that move or
+     * transform without despawning
+     */
+    public synchronized void refresh() {
+        for (Entry<K, V> entry : entries.values()) {
+            int id = idFunction.applyAsInt(entry.value);
+            if (id != entry.id) {
+                unlink(ids, entry.id, entry, true);
+                entry.id = id;
+                link(ids, id, entry, true);
+            }
+
+            WorldPoint location = locationFunction.apply(entry.value);
+            if (location == null) {
+                if (entry.located) {
+                    unplace(entry);
+                }
+            } else if (!entry.located || location.getX() != entry.x || location.getY() != entry.y
+                    || location.getPlane() != entry.plane) {
+                if (entry.located) {
+                    unplace(entry);
+                }
+                place(entry, location);
+            }
+        }
+    }
+
+    /**
+     * Entries with this id, in no particular order
+     */
+    public synchronized List<V> getById(int id) {
+        List<Entry<K, V>> bucket = ids.get(id);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        List<V> result = new ArrayList<>(bucket.size());
+        for (Entry<K, V> entry : bucket) {
+            result.add(entry.value);
+        }
+        return result;
+    }
+
+    /**
+     * Entries whose name contains the text, ignoring case. The name of each id is only resolved once.
+     */
+    public List<V> getByName(String name) {
+        final String needle = name.toLowerCase();
+        final List<V> result = new ArrayList<>();
+        for (Map.Entry<Integer, V> representative : representatives().entrySet()) {
+            // A name that could not be resolved, like when the client thread was busy, is not stored and tried again
+            String entryName = names.computeIfAbsent(representative.getKey(), id -> {
+                String resolved = nameFunction.apply(representative.getValue());
+                return resolved != null ? resolved.toLowerCase() : null;
+            });
+            if (entryName != null && entryName.contains(needle)) {
+                result.addAll(getById(representative.getKey()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Entries on the same plane within a Chebyshev distance, like {@link WorldPoint#distanceTo}
+     */
+    public synchronized List<V> getWithinDistance(WorldPoint center, int maxDistance) {
+        final List<V> result = new ArrayList<>();
+        if (center == null || maxDistance < 0) {
+            return result;
+        }
+
+        final int plane = center.getPlane();
+        final int minChunkX = Math.max(0, center.getX() - maxDistance) >> CHUNK_SHIFT;
+        final int maxChunkX = Math.min(0x3FFF, center.getX() + maxDistance) >> CHUNK_SHIFT;
+        final int minChunkY = Math.max(0, center.getY() - maxDistance) >> CHUNK_SHIFT;
+        final int maxChunkY = Math.min(0x3FFF, center.getY() + maxDistance) >> CHUNK_SHIFT;
+
+        if ((long) (maxChunkX - minChunkX + 1) * (maxChunkY - minChunkY + 1) > chunks.size()) {
+            // The range covers more chunks than there are, so visit the chunks that exist instead
+            for (List<Entry<K, V>> chunk : chunks.values()) {
+                collectWithin(chunk, center, maxDistance, result);
+            }
+            return result;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+                List<Entry<K, V>> chunk = chunks.get((plane << 28) | (chunkX << 14) | chunkY);
+                if (chunk != null) {
+                    collectWithin(chunk, center, maxDistance, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The entry with this id closest to the anchor, or empty if there is none on the plane of the anchor
+     */
+    public synchronized Optional<V> getClosestById(int id, WorldPoint anchor) {
+        List<Entry<K, V>> bucket = ids.get(id);
+        if (bucket == null || anchor == null) {
+            return Optional.empty();
+        }
+
+        Entry<K, V> closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (Entry<K, V> entry : bucket) {
+            int distance = entry.distanceTo(anchor);
+            if (distance < closestDistance) {
+                closest = entry;
+                closestDistance = distance;
+            }
+        }
+        return closest != null ? Optional.of(closest.value) : Optional.empty();
+    }
+
+    /**
+     * Up to {@code count} entries closest to the anchor that match the filter, closest first. Chunks are visited in
+     * rings around the anchor, and the search stops as soon as no further ring can hold a closer entry.
+     */
+    public synchronized List<V> getNearest(WorldPoint anchor, int count, Predicate<? super V> filter) {
+        if (anchor == null || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        final int plane = anchor.getPlane();
+        final int centerX = anchor.getX() >> CHUNK_SHIFT;
+        final int centerY = anchor.getY() >> CHUNK_SHIFT;
+        final List<Entry<K, V>> found = new ArrayList<>();
+        final Comparator<Entry<K, V>> byDistance = Comparator.comparingInt(entry -> entry.distanceTo(anchor));
+
+        int visited = 0;
+        for (int ring = 0; visited < chunksPerPlane[plane]; ring++) {
+            if ((long) (2 * ring + 1) * (2 * ring + 1) > 4L * chunks.size()) {
+                // The chunks left are far apart, so visiting them directly is cheaper than walking the rings
+                found.clear();
+                for (List<Entry<K, V>> chunk : chunks.values()) {
+                    for (Entry<K, V> entry : chunk) {
+                        if (entry.plane == plane && (filter == null || filter.test(entry.value))) {
+                            found.add(entry);
+                        }
+                    }
+                }
+                break;
+            }
+
+            for (int chunkX = centerX - ring; chunkX <= centerX + ring; chunkX++) {
+                // Only the border of the ring, the inside was visited by the previous rings
+                int step = chunkX == centerX - ring || chunkX == centerX + ring ? 1 : Math.max(1, 2 * ring);
+                for (int chunkY = centerY - ring; chunkY <= centerY + ring; chunkY += step) {
+                    if (chunkX < 0 || chunkY < 0) {
+                        continue;
+                    }
+                    List<Entry<K, V>> chunk = chunks.get((plane << 28) | (chunkX << 14) | chunkY);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    visited++;
+                    for (Entry<K, V> entry : chunk) {
+                        if (filter == null || filter.test(entry.value)) {
+                            found.add(entry);
+                        }
+                    }
+                }
+            }
+
+            // Every tile in the next ring is at least this far from the anchor
+            int nextRingDistance = ring * CHUNK_SIZE + 1;
+            if (found.size() >= count) {
+                found.sort(byDistance);
+                if (found.get(count - 1).distanceTo(anchor) <= nextRingDistance) {
+                    break;
+                }
+            }
+        }
+
+        found.sort(byDistance);
+        List<V> result = new ArrayList<>(Math.min(count, found.size()));
+        for (int i = 0; i < found.size() && i < count; i++) {
+            result.add(found.get(i).value);
+        }
+        return result;
+    }
+
+    private synchronized Map<Integer, V> representatives() {
+        Map<Integer, V> representatives = new HashMap<>(ids.size());
+        for (Map.Entry<Integer, List<Entry<K, V>>> bucket : ids.entrySet()) {
+            representatives.put(bucket.getKey(), bucket.getValue().get(0).value);
+        }
+        return representatives;
+    }
+
+    private void collectWithin(List<Entry<K, V>> chunk, WorldPoint center, int maxDistance, List<V> result) {
+        for (Entry<K, V> entry : chunk) {
+            if (entry.distanceTo(center) <= maxDistance) {
+                result.add(entry.value);
+            }
+        }
+    }
+
+    private void place(Entry<K, V> entry, WorldPoint location) {
+        if (location == null) {
+            return;
+        }
+        entry.x = location.getX();
+        entry.y = location.getY();
+        entry.plane = location.getPlane();
+        entry.located = true;
+        if (link(chunks, chunkKey(entry.x, entry.y, entry.plane), entry, false)) {
+            chunksPerPlane[entry.plane & (PLANES - 1)]++;
+        }
+    }
+
+    private void unplace(Entry<K, V> entry) {
+        if (unlink(chunks, chunkKey(entry.x, entry.y, entry.plane), entry, false)) {
+            chunksPerPlane[entry.plane & (PLANES - 1)]--;
+        }
+        entry.located = false;
+    }
+
+    private void unlink(Entry<K, V> entry) {
+        unlink(ids, entry.id, entry, true);
+        if (entry.located) {
+            unplace(entry);
+        }
+    }
+
+    /**
+     * Adds the entry to a bucket and remembers its slot, so that it can be removed without a search
+     *
+     * @return true if the bucket was created
+     */
+    private static <K, V> boolean link(Map<Integer, List<Entry<K, V>>> buckets, int bucketKey, Entry<K, V> entry, boolean idBucket) {
+        List<Entry<K, V>> bucket = buckets.get(bucketKey);
+        boolean created = bucket == null;
+        if (created) {
+            bucket = new ArrayList<>(4);
+            buckets.put(bucketKey, bucket);
+        }
+        entry.setSlot(idBucket, bucket.size());
+        bucket.add(entry);
+        return created;
+    }
+
+    /**
+     * Removes the entry from a bucket by moving the last entry of the bucket into its slot
+     *
+     * @return true if the bucket is now empty and was dropped
+     */
+    private static <K, V> boolean unlink(Map<Integer, List<Entry<K, V>>> buckets, int bucketKey, Entry<K, V> entry, boolean idBucket) {
+        List<Entry<K, V>> bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            return false;
+        }
+        int slot = entry.getSlot(idBucket);
+        Entry<K, V> last = bucket.remove(bucket.size() - 1);
+        if (last != entry) {
+            bucket.set(slot, last);
+            last.setSlot(idBucket, slot);
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(bucketKey);
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private int id;
+        private int x;
+        private int y;
+        private int plane;
+        private boolean located;
+        private int idSlot;
+        private int chunkSlot;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        private int getSlot(boolean idBucket) {
+            return idBucket ? idSlot : chunkSlot;
+        }
+
+        private void setSlot(boolean idBucket, int slot) {
+            if (idBucket) {
+                idSlot = slot;
+            } else {
+                chunkSlot = slot;
+            }
+        }
+
+        private int distanceTo(WorldPoint point) {
+            if (!located || plane != point.getPlane()) {
+                return Integer.MAX_VALUE;
+            }
+            return Math.max(Math.abs(x - point.getX()), Math.abs(y - point.getY()));
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package net.runelite.client.plugins.microbot.util.cache.serialization;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import net.runelite.client.plugins.microbot.util.cache.Rs2Cache;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary store of the persistent caches, with one file per cache and profile in the Microbot cache directory.
+ * <p>
+ * A file starts with a versioned header, followed by compressed blocks. The first block is a snapshot of the whole
+ * cache; every save after that appends a block with only the entries that changed or were removed since the last save.
+ * Once the appended blocks outgrow the snapshot, the next save rewrites the file as a single snapshot. A block that was
+ * cut short, e.g. by a crash while appending, is ignored together with everything after it.
+ * <p>
+ * The time taken by the last save and load, and the size of the file, are kept per cache and reported by
+ * {@link #getStatistics()}.
+ */
+@Slf4j
+public final class BinaryCacheStore {
+    private static final int MAGIC = 0x4D424353; // "MBCS"
+    private static final int FORMAT_VERSION = 1;
+    private static final byte SNAPSHOT = 1;
+    private static final byte DELTA = 2;
+    private static final int MAX_DELTAS = 64;
+    private static final String EXTENSION = ".bin";
+
+    public static final File DIRECTORY = new File(RuneLite.CACHE_DIR, "microbot");
+
+    private static final Map<String, FileState> states = new ConcurrentHashMap<>();
+
+    public enum SaveMode {
+        SNAPSHOT,
+        APPEND,
+        UNCHANGED
+    }
+
+    @Value
+    public static class StoreStatistics {
+        String configKey;
+        String profileKey;
+        int entries;
+        long fileBytes;
+        SaveMode lastSaveMode;
+        long lastWrittenBytes;
+        long lastSaveNanos;
+        long lastLoadNanos;
+    }
+
+    private BinaryCacheStore() {
+    }
+
+    /**
+     * Gets the file a cache is stored in.
+     *
+     * @param configKey The config key of the cache
+     * @param rsProfileKey The profile the cache belongs to
+     * @return The cache file
+     */
+    public static File getFile(String configKey, String rsProfileKey) {
+        String profile = rsProfileKey.replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(new File(DIRECTORY, profile), configKey + EXTENSION);
+    }
+
+    /**
+     * Checks if a cache can be stored in binary form and has a saved file.
+     */
+    public static boolean exists(String configKey, String rsProfileKey) {
+        return CacheEntryCodecs.forConfigKey(configKey) != null && getFile(configKey, rsProfileKey).isFile();
+    }
+
+    /**
+     * Writes the changes of a cache since the last save or load, or a new snapshot when appending is not possible.
+     *
+     * @param cache The cache to save
+     * @param configKey The config key of the cache
+     * @param rsProfileKey The profile the cache belongs to
+     * @return true if the cache is stored, false if it has no binary format or writing failed
+     */
+    public static <K, V> boolean save(Rs2Cache<K, V> cache, String configKey, String rsProfileKey) {
+        CacheEntryCodec<K, V> codec = CacheEntryCodecs.forConfigKey(configKey);
+        if (codec == null) {
+            return false;
+        }
+        // read before locking, as this may run a pending load which locks the state as well
+        Map<K, V> entries = cache.getEntriesForSerialization();
+        File file = getFile(configKey, rsProfileKey);
+        FileState state = state(configKey, rsProfileKey);
+
+        synchronized (state) {
+            long start = System.nanoTime();
+            try {
+                SaveMode mode;
+                long written;
+                if (!state.canAppend(file)) {
+                    written = writeSnapshot(file, configKey, codec, entries);
+                    mode = SaveMode.SNAPSHOT;
+                    state.deltas = 0;
+                    state.snapshotBytes = written;
+                    state.appendedBytes = 0;
+                } else {
+                    Map<K, V> changed = new HashMap<>();
+                    for (Map.Entry<K, V> entry : entries.entrySet()) {
+                        if (!Objects.equals(state.persisted.get(entry.getKey()), entry.getValue())) {
+                            changed.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    List<K> removed = new ArrayList<>();
+                    for (Object key : state.persisted.keySet()) {
+                        @SuppressWarnings("unchecked")
+                        K typedKey = (K) key;
+                        if (!entries.containsKey(typedKey)) {
+                            removed.add(typedKey);
+                        }
+                    }
+
+                    if (changed.isEmpty() && removed.isEmpty()) {
+                        mode = SaveMode.UNCHANGED;
+                        written = 0;
+                    } else {
+                        written = appendDelta(file, codec, changed, removed);
+                        mode = SaveMode.APPEND;
+                        state.deltas++;
+                        state.appendedBytes += written;
+                    }
+                }
+
+                state.persisted = new HashMap<Object, Object>(entries);
+                state.remember(file);
+                state.lastSaveMode = mode;
+                state.lastWrittenBytes = written;
+                state.lastSaveNanos = System.nanoTime() - start;
+                log.info("Saved cache \"{}\" to {} as {}: {} entries, {} bytes written, {} bytes on disk, {}ms",
+                        configKey, file.getName(), mode, entries.size(), written, state.fileBytes,
+                        state.lastSaveNanos / 1_000_000);
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to write cache {} to {}", configKey, file, e);
+                state.persisted = null;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the saved entries into a cache. Entries already in the cache are newer and are kept.
+     *
+     * @param cache The cache to load into
+     * @param configKey The config key of the cache
+     * @param rsProfileKey The profile the cache belongs to
+     */
+    public static <K, V> void load(Rs2Cache<K, V> cache, String configKey, String rsProfileKey) {
+        CacheEntryCodec<K, V> codec = CacheEntryCodecs.forConfigKey(configKey);
+        if (codec == null) {
+            return;
+        }
+        File file = getFile(configKey, rsProfileKey);
+        FileState state = state(configKey, rsProfileKey);
+
+        synchronized (state) {
+            long start = System.nanoTime();
+            Map<K, V> entries = new LinkedHashMap<>();
+            try {
+                read(file, configKey, codec, entries, state);
+            } catch (IOException e) {
+                log.warn("Failed to read cache {} from {}, starting fresh", configKey, file, e);
+                state.persisted = null;
+                return;
+            }
+
+            int loaded = 0;
+            for (Map.Entry<K, V> entry : entries.entrySet()) {
+                if (!cache.containsKey(entry.getKey())) {
+                    cache.put(entry.getKey(), entry.getValue());
+                    loaded++;
+                }
+            }
+
+            state.persisted = new HashMap<Object, Object>(entries);
+            state.lastLoadNanos = System.nanoTime() - start;
+            log.info("Loaded cache \"{}\" from {}: {} entries ({} kept from cache), {} bytes on disk, {}ms",
+                    configKey, file.getName(), loaded, entries.size() - loaded, state.fileBytes,
+                    state.lastLoadNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Forgets what was saved for a cache, so that its next save writes a new snapshot.
+     */
+    public static void forget(String configKey, String rsProfileKey) {
+        FileState state = states.get(key(configKey, rsProfileKey));
+        if (state != null) {
+            synchronized (state) {
+                state.persisted = null;
+            }
+        }
+    }
+
+    /**
+     * Deletes the file of a cache.
+     */
+    public static void delete(String configKey, String rsProfileKey) {
+        forget(configKey, rsProfileKey);
+        File file = getFile(configKey, rsProfileKey);
+        if (file.exists() && !file.delete()) {
+            log.warn("Failed to delete cache file {}", file);
+        }
+    }
+
+    /**
+     * Gets the save and load statistics of every cache stored or loaded in this session.
+     */
+    public static List<StoreStatistics> getStatistics() {
+        List<StoreStatistics> statistics = new ArrayList<>();
+        for (FileState state : states.values()) {
+            synchronized (state) {
+                statistics.add(new StoreStatistics(state.configKey, state.profileKey,
+                        state.persisted != null ? state.persisted.size() : 0, state.fileBytes, state.lastSaveMode,
+                        state.lastWrittenBytes, state.lastSaveNanos, state.lastLoadNanos));
+            }
+        }
+        statistics.sort(Comparator.comparing(StoreStatistics::getProfileKey).thenComparing(StoreStatistics::getConfigKey));
+        return statistics;
+    }
+
+    private static String key(String configKey, String rsProfileKey) {
+        return rsProfileKey + "/" + configKey;
+    }
+
+    private static FileState state(String configKey, String rsProfileKey) {
+        return states.computeIfAbsent(key(configKey, rsProfileKey), k -> new FileState(configKey, rsProfileKey));
+    }
+
+    private static <K, V> long writeSnapshot(File file, String configKey, CacheEntryCodec<K, V> codec,
+                                             Map<K, V> entries) throws IOException {
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+
+        File temp = new File(directory, file.getName() + ".tmp");
+        long written;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeUTF(configKey);
+            written = out.size() + writeBlock(out, SNAPSHOT, encode(codec, entries, Collections.emptyList()));
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return written;
+    }
+
+    private static <K, V> long appendDelta(File file, CacheEntryCodec<K, V> codec, Map<K, V> changed,
+                                           Collection<K> removed) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            return writeBlock(out, DELTA, encode(codec, changed, removed));
+        }
+    }
+
+    private static <K, V> byte[] encode(CacheEntryCodec<K, V> codec, Map<K, V> entries,
+                                        Collection<K> removed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(entries.size());
+        for (Map.Entry<K, V> entry : entries.entrySet()) {
+            codec.writeKey(out, entry.getKey());
+            codec.writeValue(out, entry.getValue());
+        }
+        out.writeInt(removed.size());
+        for (K key : removed) {
+            codec.writeKey(out, key);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a block as its type, raw length, compressed length and checksum, followed by the compressed bytes.
+     *
+     * @return The number of bytes written
+     */
+    private static int writeBlock(DataOutputStream out, byte type, byte[] raw) throws IOException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        byte[] compressed;
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                bytes.write(buffer, 0, deflater.deflate(buffer));
+            }
+            compressed = bytes.toByteArray();
+        } finally {
+            deflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        out.writeByte(type);
+        out.writeInt(raw.length);
+        out.writeInt(compressed.length);
+        out.writeInt((int) crc.getValue());
+        out.write(compressed);
+        return 13 + compressed.length;
+    }
+
+    private static <K, V> void read(File file, String configKey, CacheEntryCodec<K, V> codec, Map<K, V> entries,
+                                    FileState state) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cache file");
+        }
+        int version = in.readUnsignedShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache file version " + version);
+        }
+        String storedKey = in.readUTF();
+        if (!configKey.equals(storedKey)) {
+            throw new IOException("Cache file holds " + storedKey);
+        }
+
+        int deltas = 0;
+        long snapshotBytes = 0;
+        long appendedBytes = 0;
+        boolean complete = true;
+        while (in.available() > 0) {
+            int blockStart = data.length - in.available();
+            byte[] raw;
+            byte type;
+            try {
+                type = in.readByte();
+                int rawLength = in.readInt();
+                int compressedLength = in.readInt();
+                int checksum = in.readInt();
+                if (rawLength < 0 || compressedLength < 0 || compressedLength > in.available()) {
+                    throw new EOFException();
+                }
+                byte[] compressed = new byte[compressedLength];
+                in.readFully(compressed);
+                raw = inflate(compressed, rawLength);
+                CRC32 crc = new CRC32();
+                crc.update(raw);
+                if ((int) crc.getValue() != checksum) {
+                    throw new IOException("Checksum mismatch");
+                }
+            } catch (IOException | DataFormatException e) {
+                log.warn("Cache file {} is damaged after {} bytes, ignoring the rest", file.getName(), blockStart);
+                complete = false;
+                break;
+            }
+
+            long blockBytes = data.length - in.available() - blockStart;
+            if (type == SNAPSHOT) {
+                entries.clear();
+                snapshotBytes = blockBytes;
+                appendedBytes = 0;
+                deltas = 0;
+            } else {
+                appendedBytes += blockBytes;
+                deltas++;
+            }
+            decode(codec, raw, entries);
+        }
+
+        state.snapshotBytes = snapshotBytes;
+        state.appendedBytes = appendedBytes;
+        // a damaged file is rewritten by the next save instead of being appended to
+        state.deltas = complete ? deltas : MAX_DELTAS;
+        state.remember(file);
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int offset = 0;
+            while (offset < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, offset, rawLength - offset);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated block");
+                }
+                offset += read;
+            }
+            if (offset != rawLength) {
+                throw new DataFormatException("Block is shorter than its length");
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static <K, V> void decode(CacheEntryCodec<K, V> codec, byte[] raw, Map<K, V> entries) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            K key = codec.readKey(in);
+            V value = codec.readValue(in);
+            if (key != null && value != null) {
+                entries.put(key, value);
+            }
+        }
+        int removed = in.readInt();
+        for (int i = 0; i < removed; i++) {
+            K key = codec.readKey(in);
+            if (key != null) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * What was last written to or read from a cache file, to find the entries that changed since
+     */
+    private static final class FileState {
+        private final String configKey;
+        private final String profileKey;
+        private Map<Object, Object> persisted;
+        private long fileBytes;
+        private long fileModified;
+        private int deltas;
+        private long snapshotBytes;
+        private long appendedBytes;
+        private SaveMode lastSaveMode;
+        private long lastWrittenBytes;
+        private long lastSaveNanos;
+        private long lastLoadNanos;
+
+        private FileState(String configKey, String profileKey) {
+            this.configKey = configKey;
+            this.profileKey = profileKey;
+        }
+
+        private void remember(File file) {
+            fileBytes = file.length();
+            fileModified = file.lastModified();
+        }
+
+        /**
+         * Whether the file still holds what was last written or read, and has room for another delta
+         */
+        private boolean canAppend(File file) {
+            return persisted != null
+                    && file.isFile()
+                    && file.length() == fileBytes
+                    && file.lastModified() == fileModified
+                    && deltas < MAX_DELTAS
+                    && appendedBytes <= snapshotBytes;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package net.runelite.client.plugins.microbot.util.cache.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes the keys and values of a persistent cache in the binary format of {@link BinaryCacheStore}.
+ * Enums are written by name so that reordering their constants does not corrupt saved caches.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public interface CacheEntryCodec<K, V> {
+
+    void writeKey(DataOutput out, K key) throws IOException;
+
+    /**
+     * Reads a key.
+     *
+     * @return The key, or null if it no longer exists (e.g. a removed enum constant) and the entry must be skipped
+     */
+    K readKey(DataInput in) throws IOException;
+
+    void writeValue(DataOutput out, V value) throws IOException;
+
+    /**
+     * Reads a value. Always reads the whole value, even when it cannot be restored.
+     *
+     * @return The value, or null if it cannot be restored and the entry must be skipped
+     */
+    V readValue(DataInput in) throws IOException;
+}
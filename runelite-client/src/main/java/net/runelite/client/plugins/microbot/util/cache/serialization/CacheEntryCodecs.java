@@ -0,0 +1,226 @@
+package net.runelite.client.plugins.microbot.util.cache.serialization;
+
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.questhelper.helpers.mischelpers.farmruns.CropState;
+import net.runelite.client.plugins.microbot.util.cache.model.SkillData;
+import net.runelite.client.plugins.microbot.util.cache.model.SpiritTreeData;
+import net.runelite.client.plugins.microbot.util.cache.model.VarbitData;
+import net.runelite.client.plugins.microbot.util.farming.SpiritTree;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary codecs of the persistent caches, by config key.
+ */
+public final class CacheEntryCodecs {
+
+    public static final CacheEntryCodec<Skill, SkillData> SKILLS = new CacheEntryCodec<Skill, SkillData>() {
+        @Override
+        public void writeKey(DataOutput out, Skill key) throws IOException {
+            out.writeUTF(key.name());
+        }
+
+        @Override
+        public Skill readKey(DataInput in) throws IOException {
+            return readEnum(in, Skill.class);
+        }
+
+        @Override
+        public void writeValue(DataOutput out, SkillData value) throws IOException {
+            out.writeInt(value.getLevel());
+            out.writeInt(value.getBoostedLevel());
+            out.writeInt(value.getExperience());
+            out.writeLong(value.getLastUpdated());
+            writeNullableInt(out, value.getPreviousLevel());
+            writeNullableInt(out, value.getPreviousExperience());
+        }
+
+        @Override
+        public SkillData readValue(DataInput in) throws IOException {
+            return new SkillData(in.readInt(), in.readInt(), in.readInt(), in.readLong(),
+                    readNullableInt(in), readNullableInt(in));
+        }
+    };
+
+    public static final CacheEntryCodec<Quest, QuestState> QUESTS = new CacheEntryCodec<Quest, QuestState>() {
+        @Override
+        public void writeKey(DataOutput out, Quest key) throws IOException {
+            out.writeUTF(key.name());
+        }
+
+        @Override
+        public Quest readKey(DataInput in) throws IOException {
+            return readEnum(in, Quest.class);
+        }
+
+        @Override
+        public void writeValue(DataOutput out, QuestState value) throws IOException {
+            out.writeUTF(value.name());
+        }
+
+        @Override
+        public QuestState readValue(DataInput in) throws IOException {
+            return readEnum(in, QuestState.class);
+        }
+    };
+
+    /**
+     * Used by both the varbit and the varplayer cache
+     */
+    public static final CacheEntryCodec<Integer, VarbitData> VARS = new CacheEntryCodec<Integer, VarbitData>() {
+        @Override
+        public void writeKey(DataOutput out, Integer key) throws IOException {
+            out.writeInt(key);
+        }
+
+        @Override
+        public Integer readKey(DataInput in) throws IOException {
+            return in.readInt();
+        }
+
+        @Override
+        public void writeValue(DataOutput out, VarbitData value) throws IOException {
+            out.writeInt(value.getValue());
+            out.writeLong(value.getLastUpdated());
+            writeNullableInt(out, value.getPreviousValue());
+            writeWorldPoint(out, value.getPlayerLocation());
+            writeIntList(out, value.getNearbyNpcIds());
+            writeIntList(out, value.getNearbyObjectIds());
+        }
+
+        @Override
+        public VarbitData readValue(DataInput in) throws IOException {
+            return new VarbitData(in.readInt(), in.readLong(), readNullableInt(in), readWorldPoint(in),
+                    readIntList(in), readIntList(in));
+        }
+    };
+
+    public static final CacheEntryCodec<SpiritTree, SpiritTreeData> SPIRIT_TREES = new CacheEntryCodec<SpiritTree, SpiritTreeData>() {
+        @Override
+        public void writeKey(DataOutput out, SpiritTree key) throws IOException {
+            out.writeUTF(key.name());
+        }
+
+        @Override
+        public SpiritTree readKey(DataInput in) throws IOException {
+            return readEnum(in, SpiritTree.class);
+        }
+
+        @Override
+        public void writeValue(DataOutput out, SpiritTreeData value) throws IOException {
+            out.writeUTF(value.getSpiritTree().name());
+            out.writeUTF(value.getCropState() != null ? value.getCropState().name() : "");
+            out.writeBoolean(value.isAvailableForTravel());
+            out.writeLong(value.getLastUpdated());
+            writeWorldPoint(out, value.getPlayerLocation());
+            out.writeBoolean(value.isDetectedViaWidget());
+            out.writeBoolean(value.isDetectedViaNearBy());
+        }
+
+        @Override
+        public SpiritTreeData readValue(DataInput in) throws IOException {
+            SpiritTree spiritTree = readEnum(in, SpiritTree.class);
+            CropState cropState = readEnum(in, CropState.class);
+            boolean availableForTravel = in.readBoolean();
+            long lastUpdated = in.readLong();
+            WorldPoint playerLocation = readWorldPoint(in);
+            boolean detectedViaWidget = in.readBoolean();
+            boolean detectedViaNearBy = in.readBoolean();
+            if (spiritTree == null) {
+                return null;
+            }
+            return new SpiritTreeData(spiritTree, cropState, availableForTravel, lastUpdated, playerLocation,
+                    detectedViaWidget, detectedViaNearBy);
+        }
+    };
+
+    private CacheEntryCodecs() {
+    }
+
+    /**
+     * Gets the codec of a persistent cache.
+     *
+     * @param configKey The config key of the cache
+     * @return The codec, or null if the cache has no binary format
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CacheEntryCodec<K, V> forConfigKey(String configKey) {
+        switch (configKey) {
+            case "skills":
+                return (CacheEntryCodec<K, V>) SKILLS;
+            case "quests":
+                return (CacheEntryCodec<K, V>) QUESTS;
+            case "varbits":
+            case "varPlayerCache":
+                return (CacheEntryCodec<K, V>) VARS;
+            case "spiritTrees":
+                return (CacheEntryCodec<K, V>) SPIRIT_TREES;
+            default:
+                return null;
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        String name = in.readUTF();
+        if (name.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeWorldPoint(DataOutput out, WorldPoint point) throws IOException {
+        out.writeBoolean(point != null);
+        if (point != null) {
+            out.writeInt(point.getX());
+            out.writeInt(point.getY());
+            out.writeByte(point.getPlane());
+        }
+    }
+
+    private static WorldPoint readWorldPoint(DataInput in) throws IOException {
+        return in.readBoolean() ? new WorldPoint(in.readInt(), in.readInt(), in.readByte()) : null;
+    }
+
+    private static void writeIntList(DataOutput out, List<Integer> values) throws IOException {
+        int size = Math.min(values.size(), 0xFFFF);
+        out.writeShort(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(values.get(i));
+        }
+    }
+
+    private static List<Integer> readIntList(DataInput in) throws IOException {
+        int size = in.readUnsignedShort();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readInt());
+        }
+        return values;
+    }
+}
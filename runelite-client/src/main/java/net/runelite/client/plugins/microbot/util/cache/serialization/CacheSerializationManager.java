@@ -33,6 +33,10 @@ import java.util.UUID;
  * Cache freshness is determined by whether data was saved after being loaded,
  * not by session ID or time limits (unless explicitly specified).
  * This ensures we only load cache data that was properly persisted after modifications.
+ * 
+ * Cache data is stored in binary files by {@link BinaryCacheStore} and loaded on first use;
+ * only the metadata stays in the profile configuration. JSON data saved by older versions
+ * is still loaded and moved to the binary store by the next save.
  */
 @Slf4j
 public class CacheSerializationManager {
@@ -169,20 +173,22 @@ public class CacheSerializationManager {
                 return;
             }
             
+            if (BinaryCacheStore.save(cache, configKey, rsProfileKey)) {
+                // The JSON of older versions is replaced by the binary file
+                if (Microbot.getConfigManager().getConfiguration(CONFIG_GROUP, rsProfileKey, configKey) != null) {
+                    Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, configKey, null);
+                }
+                saveMetadata(configKey, rsProfileKey);
+                return;
+            }
+            
             // Serialize the cache data
             String json = serializeCacheData(cache, configKey);
             
             if (json != null && !json.isEmpty()) {
                 log.debug(configKey + " JSON length: " + json.length());                
                 Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, configKey, json);
-                
-                // Store metadata to track cache freshness
-                // Mark as stale=false since we're actively saving cache data
-                CacheMetadata metadata = CacheMetadata.createWithCurrentUtcTime(VERSION, SESSION_ID, false);
-                String metadataJson = gson.toJson(metadata, CacheMetadata.class);
-                String metadataKey = configKey + METADATA_SUFFIX;
-                Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, metadataKey, metadataJson);                
-                log.info("Saved cache \"{}\" with updated metadata for session {} at {}", configKey, SESSION_ID, metadata.getSaveTimeFormatted());
+                saveMetadata(configKey, rsProfileKey);
             } else {
                 log.warn("No data to save for cache {}", configKey);
             }
@@ -192,6 +198,18 @@ public class CacheSerializationManager {
         }
     }
     
+    /**
+     * Stores metadata to track cache freshness.
+     * Marked as stale=false since we're actively saving cache data.
+     */
+    private static void saveMetadata(String configKey, String rsProfileKey) {
+        CacheMetadata metadata = CacheMetadata.createWithCurrentUtcTime(VERSION, SESSION_ID, false);
+        String metadataJson = gson.toJson(metadata, CacheMetadata.class);
+        String metadataKey = configKey + METADATA_SUFFIX;
+        Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, metadataKey, metadataJson);
+        log.info("Saved cache \"{}\" with updated metadata for session {} at {}", configKey, SESSION_ID, metadata.getSaveTimeFormatted());
+    }
+    
     /**
      * Loads a cache from RuneLite profile configuration.
      * Checks cache freshness metadata before loading to prevent loading stale data.
@@ -266,6 +284,12 @@ public class CacheSerializationManager {
             if (!shouldLoadFromConfig) {
                 // Invalidate cache and start fresh instead of loading potentially stale data
                 if (forceInvalidate) cache.invalidateAll();                                
+                // The binary file no longer matches the cache, so the next save rewrites it
+                BinaryCacheStore.forget(configKey, rsProfileKey);
+            } else if (BinaryCacheStore.exists(configKey, rsProfileKey)) {
+                // Proceed with loading since metadata indicates fresh data, deferred until the cache is first used
+                cache.setPendingLoad(() -> BinaryCacheStore.load(cache, configKey, rsProfileKey));
+                log.debug("Cache {} will be loaded from {} on first use", configKey, BinaryCacheStore.getFile(configKey, rsProfileKey));
             }else{            
                 // Proceed with loading since metadata indicates fresh data
                 String json = Microbot.getConfigManager().getConfiguration(CONFIG_GROUP, rsProfileKey, configKey);
@@ -320,6 +344,7 @@ public class CacheSerializationManager {
                 // Clear the metadata
                 String metadataKey = configKey + METADATA_SUFFIX;
                 Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, metadataKey, null);
+                BinaryCacheStore.delete(configKey, rsProfileKey);
                 log.debug("Cleared cache {} and metadata from profile config for profile: {}", configKey, rsProfileKey);
             }
         } catch (Exception e) {
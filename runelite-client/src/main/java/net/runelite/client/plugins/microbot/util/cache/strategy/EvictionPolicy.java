@@ -0,0 +1,143 @@
+package net.runelite.client.plugins.microbot.util.cache.strategy;
+
+/**
+ * Strategy interface for evicting entries from a cache, on top of the invalidation of its cache mode.
+ * Entries can expire by age or idle time, and the least recently used entries are evicted
+ * once the cache holds too many entries or its estimated memory size grows too large.
+ *
+ * Policies can be combined with {@link #and(EvictionPolicy)}.
+ */
+public interface EvictionPolicy {
+
+    /**
+     * Checks if an entry has expired.
+     *
+     * @param writeTime Timestamp when the entry was stored
+     * @param accessTime Timestamp when the entry was last read or stored
+     * @param now Current timestamp
+     * @return true if the entry must be removed
+     */
+    default boolean isExpired(long writeTime, long accessTime, long now) {
+        return false;
+    }
+
+    /**
+     * Gets the number of entries above which the least recently used entries are evicted.
+     *
+     * @return The entry limit, or {@link Integer#MAX_VALUE} for no limit
+     */
+    default int getMaxEntries() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the estimated memory size above which the least recently used entries are evicted.
+     * Entry sizes are estimated with MemorySizeCalculator when they are stored.
+     *
+     * @return The size limit in bytes, or {@link Long#MAX_VALUE} for no limit
+     */
+    default long getMaxEstimatedBytes() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Checks if the cache must record when entries are read.
+     *
+     * @return true if the policy depends on the access time of entries
+     */
+    default boolean tracksAccess() {
+        return getMaxEntries() != Integer.MAX_VALUE || getMaxEstimatedBytes() != Long.MAX_VALUE;
+    }
+
+    /**
+     * Combines this policy with another one. An entry is evicted if either policy evicts it.
+     *
+     * @param other The policy to combine with
+     * @return The combined policy
+     */
+    default EvictionPolicy and(EvictionPolicy other) {
+        EvictionPolicy first = this;
+        return new EvictionPolicy() {
+            @Override
+            public boolean isExpired(long writeTime, long accessTime, long now) {
+                return first.isExpired(writeTime, accessTime, now) || other.isExpired(writeTime, accessTime, now);
+            }
+
+            @Override
+            public int getMaxEntries() {
+                return Math.min(first.getMaxEntries(), other.getMaxEntries());
+            }
+
+            @Override
+            public long getMaxEstimatedBytes() {
+                return Math.min(first.getMaxEstimatedBytes(), other.getMaxEstimatedBytes());
+            }
+
+            @Override
+            public boolean tracksAccess() {
+                return first.tracksAccess() || other.tracksAccess();
+            }
+        };
+    }
+
+    /**
+     * Expires entries a fixed time after they were stored, regardless of the cache mode.
+     *
+     * @param ttlMillis Time to live in milliseconds
+     */
+    static EvictionPolicy ttl(long ttlMillis) {
+        return new EvictionPolicy() {
+            @Override
+            public boolean isExpired(long writeTime, long accessTime, long now) {
+                return now - writeTime > ttlMillis;
+            }
+        };
+    }
+
+    /**
+     * Expires entries that were not read or stored for some time.
+     *
+     * @param idleMillis Idle time in milliseconds
+     */
+    static EvictionPolicy expireAfterAccess(long idleMillis) {
+        return new EvictionPolicy() {
+            @Override
+            public boolean isExpired(long writeTime, long accessTime, long now) {
+                return now - accessTime > idleMillis;
+            }
+
+            @Override
+            public boolean tracksAccess() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Evicts the least recently used entries once the cache holds more than the given number of entries.
+     *
+     * @param maxEntries The entry limit
+     */
+    static EvictionPolicy lru(int maxEntries) {
+        return new EvictionPolicy() {
+            @Override
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Evicts the least recently used entries once the estimated memory size of the entries exceeds the limit.
+     *
+     * @param maxBytes The size limit in bytes
+     */
+    static EvictionPolicy maxMemory(long maxBytes) {
+        return new EvictionPolicy() {
+            @Override
+            public long getMaxEstimatedBytes() {
+                return maxBytes;
+            }
+        };
+    }
+}
@@ -19,14 +19,15 @@ import net.runelite.client.plugins.microbot.util.cache.Rs2Cache;
 import net.runelite.client.plugins.microbot.util.cache.strategy.CacheOperations;
 import net.runelite.client.plugins.microbot.util.cache.strategy.CacheUpdateStrategy;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectModel;
+import net.runelite.client.plugins.microbot.util.gameobject.Rs2ObjectModel.ObjectType;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 /**
  * Enhanced cache update strategy for game object data.
  * Handles all types of object spawn/despawn events and provides scene scanning.
- * Uses String-based cache keys for better tracking and region change handling.
+ * Uses packed long cache keys of the object type, id and location, see {@link #generateCacheId}.
  */
 @Slf4j
-public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2ObjectModel> {
+public class ObjectUpdateStrategy implements CacheUpdateStrategy<Long, Rs2ObjectModel> {
     GameState lastGameState = null;
     
     // ScheduledExecutorService for non-blocking operations
@@ -54,32 +55,30 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      *
      * @param object The TileObject (GameObject, WallObject, etc.)
      * @param tile The tile containing the object
-     * @return The cache key string
+     * @return The cache key
      */
-    public static String generateCacheIdForObject(TileObject object, Tile tile) {
+    public static long generateCacheIdForObject(TileObject object, Tile tile) {
         if (object instanceof GameObject) {
             // Use canonical location logic for GameObjects            
             return ObjectUpdateStrategy.generateCacheIdForGameObject((GameObject) object, tile);
         } else if (object instanceof WallObject) {
             WallObject wallObject = (WallObject) object;            
-            return ObjectUpdateStrategy.generateCacheId("WallObject", wallObject.getId(), wallObject.getWorldLocation());
+            return ObjectUpdateStrategy.generateCacheId(ObjectType.WALL_OBJECT, wallObject.getId(), wallObject.getWorldLocation());
         } else if (object instanceof GroundObject) {
             GroundObject groundObject = (GroundObject) object;
-            return ObjectUpdateStrategy.generateCacheId("GroundObject", groundObject.getId(), groundObject.getWorldLocation());
+            return ObjectUpdateStrategy.generateCacheId(ObjectType.GROUND_OBJECT, groundObject.getId(), groundObject.getWorldLocation());
         } else if (object instanceof DecorativeObject) {
             DecorativeObject decorativeObject = (DecorativeObject) object;
-            return ObjectUpdateStrategy.generateCacheId("DecorativeObject", decorativeObject.getId(), decorativeObject.getWorldLocation());
+            return ObjectUpdateStrategy.generateCacheId(ObjectType.DECORATIVE_OBJECT, decorativeObject.getId(), decorativeObject.getWorldLocation());
         }
-        // Fallback: use type name and world location if available
-        String type = object != null ? object.getClass().getSimpleName() : "Unknown";
+        // Fallback: use the generic type and world location if available
         WorldPoint location = object != null ? object.getWorldLocation() : null;
-        int objectId = object != null ? object.getId() : -1;
-        return location != null ? String.format("%s_%d_%d_%d_%d", type, objectId, location.getX(), location.getY(), location.getPlane()) : type + "_null";
+        return location != null ? generateCacheId(ObjectType.TILE_OBJECT, object.getId(), location) : -1L;
     }
         
    
     @Override
-    public void handleEvent(final Object event, final CacheOperations<String, Rs2ObjectModel> cache) {
+    public void handleEvent(final Object event, final CacheOperations<Long, Rs2ObjectModel> cache) {
         if (executorService == null || executorService.isShutdown()) {
             log.warn("ObjectUpdateStrategy is shut down, ignoring event: {}", event.getClass().getSimpleName());
             return; // Don't process events if shut down
@@ -100,7 +99,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      * Internal method to process events - runs on client thread after coalescing.
      * This is the renamed version of the original processEvent method.
      */
-    private void processEventInternal(final Object event, final CacheOperations<String, Rs2ObjectModel> cache) {
+    private void processEventInternal(final Object event, final CacheOperations<Long, Rs2ObjectModel> cache) {
         try {       
             if (event instanceof GameObjectSpawned) {
                 if(lastGameState == GameState.LOGGED_IN) handleGameObjectSpawned((GameObjectSpawned) event, cache);
@@ -136,7 +135,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      * @param cache The cache to populate
      * @param force Whether to force a scan regardless of conditions
      */
-    public void performSceneScan(CacheOperations<String, Rs2ObjectModel> cache, long delayMs) {
+    public void performSceneScan(CacheOperations<Long, Rs2ObjectModel> cache, long delayMs) {
         if (executorService == null || executorService.isShutdown()) {
             log.debug("Skipping scene scan - is executor service shutdown: {} or null {}, scan active: {}", 
                       executorService.isShutdown() ,executorService == null  , scanActive.get());
@@ -177,7 +176,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      * @param cache The cache to scan
      * @param intervalSeconds The interval between scans in seconds
      */
-    public void schedulePeriodicSceneScan(CacheOperations<String, Rs2ObjectModel> cache, long intervalSeconds) {
+    public void schedulePeriodicSceneScan(CacheOperations<Long, Rs2ObjectModel> cache, long intervalSeconds) {
         if (executorService == null || executorService.isShutdown()) {
             log.debug("Cannot schedule periodic scan - strategy is shut down");
             return;
@@ -209,7 +208,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      * Internal implementation of scene scanning that runs on background thread.
      */
 
-    private void performSceneScanInternal(CacheOperations<String, Rs2ObjectModel> cache) {
+    private void performSceneScanInternal(CacheOperations<Long, Rs2ObjectModel> cache) {
         
         try {
             long currentTime = System.currentTimeMillis();               
@@ -261,8 +260,8 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
             }
             
             // Build a set of all currently existing object keys from the scene
-            java.util.Set<String> currentSceneKeys = new java.util.HashSet<>();
-            java.util.Map<String, Rs2ObjectModel> objectsToAdd = new java.util.HashMap<>();
+            java.util.Set<Long> currentSceneKeys = new java.util.HashSet<>();
+            java.util.Map<Long, Rs2ObjectModel> objectsToAdd = new java.util.HashMap<>();
             int z = worldView.getPlane();
             
             log.debug("Starting object scene synchronization (cache size: {})", cache.size());
@@ -281,7 +280,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
                             
                             // Only add if it's the primary location for multi-tile objects
                             if (gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
-                                String cacheId = generateCacheIdForGameObject(gameObject, tile);
+                                long cacheId = generateCacheIdForGameObject(gameObject, tile);
                                 currentSceneKeys.add(cacheId); // Track all scene objects
                                 if (!objectsToAdd.containsKey(cacheId)) {
                                     Rs2ObjectModel objectModel = new Rs2ObjectModel(gameObject, tile);
@@ -294,7 +293,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
                     // Check GroundObject
                     GroundObject groundObject = tile.getGroundObject();
                     if (groundObject != null) {
-                        String cacheId = generateCacheId("GroundObject", groundObject.getId(), groundObject.getWorldLocation());
+                        long cacheId = generateCacheId(ObjectType.GROUND_OBJECT, groundObject.getId(), groundObject.getWorldLocation());
                         currentSceneKeys.add(cacheId); // Track all scene objects
                         if (!objectsToAdd.containsKey(cacheId)) {
                             Rs2ObjectModel objectModel = new Rs2ObjectModel(groundObject, tile);
@@ -305,7 +304,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
                     // Check WallObject
                     WallObject wallObject = tile.getWallObject();
                     if (wallObject != null) {
-                        String cacheId = generateCacheId("WallObject", wallObject.getId(), wallObject.getWorldLocation());
+                        long cacheId = generateCacheId(ObjectType.WALL_OBJECT, wallObject.getId(), wallObject.getWorldLocation());
                         currentSceneKeys.add(cacheId); // Track all scene objects
                         if (!objectsToAdd.containsKey(cacheId)) {
                             Rs2ObjectModel objectModel = new Rs2ObjectModel(wallObject, tile);
@@ -316,7 +315,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
                     // Check DecorativeObject
                     DecorativeObject decorativeObject = tile.getDecorativeObject();
                     if (decorativeObject != null) {
-                        String cacheId = generateCacheId("DecorativeObject", decorativeObject.getId(), decorativeObject.getWorldLocation());
+                        long cacheId = generateCacheId(ObjectType.DECORATIVE_OBJECT, decorativeObject.getId(), decorativeObject.getWorldLocation());
                         currentSceneKeys.add(cacheId); // Track all scene objects
                         if (!objectsToAdd.containsKey(cacheId)) {
                             Rs2ObjectModel objectModel = new Rs2ObjectModel(decorativeObject, tile);
@@ -328,8 +327,8 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
             
             // Phase 2: Add new objects to cache
             int addedObjects = 0;
-            for (java.util.Map.Entry<String, Rs2ObjectModel> entry : objectsToAdd.entrySet()) {
-                String cacheId = entry.getKey();
+            for (java.util.Map.Entry<Long, Rs2ObjectModel> entry : objectsToAdd.entrySet()) {
+                long cacheId = entry.getKey();
                 Rs2ObjectModel objectModel = entry.getValue();
                 
                 // Only add if not already in cache (avoid recursive get calls by checking internally)
@@ -343,13 +342,13 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
             int removedObjects = 0;
             if (!currentSceneKeys.isEmpty()) {
                 // Find cached objects that are no longer in the scene using CacheOperations streaming
-                java.util.List<String> keysToRemove = cache.entryStream()
+                java.util.List<Long> keysToRemove = cache.entryStream()
                     .map(java.util.Map.Entry::getKey)
                     .filter(key -> !currentSceneKeys.contains(key))
                     .collect(java.util.stream.Collectors.toList());
                 
                 // Remove the objects that are no longer in scene
-                for (String key : keysToRemove) {
+                for (Long key : keysToRemove) {
                     Rs2ObjectModel object = cache.getRawValue(key); // Use raw value to avoid triggering recursive scene scans
                     cache.remove(key);
                     if (object != null) {
@@ -406,7 +405,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
      * @param cache The cache to check
      * @return true if a scan would be beneficial
      */    
-    public boolean requestSceneScan(CacheOperations<String, Rs2ObjectModel> cache) {
+    public boolean requestSceneScan(CacheOperations<Long, Rs2ObjectModel> cache) {
         if (scanActive.get()) {
             log.debug("Skipping scene scan request - already active");
             return false; // Don't request scan if already active
@@ -420,12 +419,12 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }        
         return !scanRequest.get(); // Return true if scan was requested,reseted               
     }
-    private void handleGameObjectSpawned(GameObjectSpawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleGameObjectSpawned(GameObjectSpawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         GameObject gameObject = event.getGameObject();
         Tile tile = event.getTile();
         if (gameObject != null && tile != null) {
             // Only add multi-tile objects from their primary (southwest) tile to prevent duplicates
-            String cacheId = generateCacheIdForGameObject(gameObject, tile);
+            long cacheId = generateCacheIdForGameObject(gameObject, tile);
             if (cache.containsKey(cacheId)) {
                 log.debug("GameObject {} already in cache, skipping spawn event", gameObject.getId());
                 return; // Already cached, skip
@@ -441,13 +440,13 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }
     }
     
-    private void handleGameObjectDespawned(GameObjectDespawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleGameObjectDespawned(GameObjectDespawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         GameObject gameObject = event.getGameObject();
         Tile tile = event.getTile();
         if (gameObject != null && tile != null) {
             // Only process despawn events from the primary tile to prevent multiple removal attempts
             if (isPrimaryTile(gameObject, tile)) {
-                String cacheId = generateCacheIdForGameObject(gameObject, tile);
+                long cacheId = generateCacheIdForGameObject(gameObject, tile);
                 cache.remove(cacheId);
                 log.debug("Removed GameObject {} (id: {}) from cache via despawn event from primary tile", 
                          gameObject.getId(), cacheId);
@@ -457,10 +456,10 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }
     }
     
-    private void handleGroundObjectSpawned(GroundObjectSpawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleGroundObjectSpawned(GroundObjectSpawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         GroundObject groundObject = event.getGroundObject();
         Tile tile = event.getTile();
-        String cacheId = generateCacheId("GroundObject", groundObject.getId(), groundObject.getWorldLocation());
+        long cacheId = generateCacheId(ObjectType.GROUND_OBJECT, groundObject.getId(), groundObject.getWorldLocation());
         if (cache.containsKey(cacheId)) {
             log.trace("GroundObject {} already in cache, skipping spawn event", groundObject.getId());
             return; // Already cached, skip
@@ -472,21 +471,21 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }
     }
     
-    private void handleGroundObjectDespawned(GroundObjectDespawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleGroundObjectDespawned(GroundObjectDespawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         GroundObject groundObject = event.getGroundObject();
         if (groundObject != null) {            
-            String cacheId = generateCacheId("GroundObject", groundObject.getId(), groundObject.getWorldLocation());
+            long cacheId = generateCacheId(ObjectType.GROUND_OBJECT, groundObject.getId(), groundObject.getWorldLocation());
             cache.remove(cacheId);
             log.debug("Removed GroundObject {} (id: {}) from cache via despawn event", groundObject.getId(), cacheId);
         }
     }
     
-    private void handleWallObjectSpawned(WallObjectSpawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleWallObjectSpawned(WallObjectSpawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         WallObject wallObject = event.getWallObject();
         Tile tile = event.getTile();
       
         if (wallObject != null && tile != null) {
-            String cacheId = generateCacheId("WallObject", wallObject.getId(), wallObject.getWorldLocation());
+            long cacheId = generateCacheId(ObjectType.WALL_OBJECT, wallObject.getId(), wallObject.getWorldLocation());
             if (cache.containsKey(cacheId)) {
                 log.trace("WallObject {} already in cache, skipping spawn event", wallObject.getId());
                 return; // Already cached, skip
@@ -498,20 +497,20 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }
     }
     
-    private void handleWallObjectDespawned(WallObjectDespawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleWallObjectDespawned(WallObjectDespawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         WallObject wallObject = event.getWallObject();
         if (wallObject != null) {
-            String cacheId = generateCacheId("WallObject", wallObject.getId(), wallObject.getWorldLocation());
+            long cacheId = generateCacheId(ObjectType.WALL_OBJECT, wallObject.getId(), wallObject.getWorldLocation());
             cache.remove(cacheId);
             log.debug("Removed WallObject {} (id: {}) from cache via despawn event", wallObject.getId(), cacheId);
         }
     }
     
-    private void handleDecorativeObjectSpawned(DecorativeObjectSpawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleDecorativeObjectSpawned(DecorativeObjectSpawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         DecorativeObject decorativeObject = event.getDecorativeObject();
         Tile tile = event.getTile();
         if (decorativeObject != null && tile != null) {
-            String cacheId = generateCacheId("DecorativeObject", decorativeObject.getId(), decorativeObject.getWorldLocation());
+            long cacheId = generateCacheId(ObjectType.DECORATIVE_OBJECT, decorativeObject.getId(), decorativeObject.getWorldLocation());
             if (cache.containsKey(cacheId)) {
                 log.trace("DecorativeObject {} already in cache, skipping spawn event", decorativeObject.getId());
                 return; // Already cached, skip
@@ -522,16 +521,16 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
         }
     }
     
-    private void handleDecorativeObjectDespawned(DecorativeObjectDespawned event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleDecorativeObjectDespawned(DecorativeObjectDespawned event, CacheOperations<Long, Rs2ObjectModel> cache) {
         DecorativeObject decorativeObject = event.getDecorativeObject();
         if (decorativeObject != null) {
-            String cacheId = generateCacheId("DecorativeObject", decorativeObject.getId(), decorativeObject.getWorldLocation());
+            long cacheId = generateCacheId(ObjectType.DECORATIVE_OBJECT, decorativeObject.getId(), decorativeObject.getWorldLocation());
             cache.remove(cacheId);
             log.debug("Removed DecorativeObject {} (id: {}) from cache via despawn event", decorativeObject.getId(), cacheId);
         }
     }
     
-    private void handleGameStateChanged(GameStateChanged event, CacheOperations<String, Rs2ObjectModel> cache) {
+    private void handleGameStateChanged(GameStateChanged event, CacheOperations<Long, Rs2ObjectModel> cache) {
         switch (event.getGameState()) {
             case LOGGED_IN:
                 // Check for region changes and perform scene scan to synchronize
@@ -627,18 +626,23 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
     /**
      * Generates a unique object ID for tracking.
      * For GameObjects, uses the canonical (southwest) location to ensure consistent caching.
+     * The key packs the location like a Jagex coordinate into the low 30 bits, the object id into the
+     * next 31 bits and the object type into the top 3 bits, so no string is built per spawn or despawn.
      */
-    private static String generateCacheId(String type, int objectID, net.runelite.api.coords.WorldPoint location) {
-        return String.format("%s_%d_%d_%d_%d", type, objectID, location.getX(), location.getY(), location.getPlane());
+    public static long generateCacheId(ObjectType type, int objectID, net.runelite.api.coords.WorldPoint location) {
+        long coordinate = ((long) (location.getPlane() & 0x3) << 28)
+                | ((location.getX() & 0x3FFF) << 14)
+                | (location.getY() & 0x3FFF);
+        return ((long) type.ordinal() << 61) | ((objectID & 0x7FFFFFFFL) << 30) | coordinate;
     }
     
     /**
      * Generates a unique object ID for tracking GameObjects using their canonical location.
      * This ensures that multi-tile GameObjects have consistent cache keys.
      */
-    private static String generateCacheIdForGameObject(GameObject gameObject, Tile tile) {
+    private static long generateCacheIdForGameObject(GameObject gameObject, Tile tile) {
         WorldPoint canonicalLocation = getCanonicalLocation(gameObject, tile);
-        return generateCacheId("GameObject", gameObject.getId(), canonicalLocation);
+        return generateCacheId(ObjectType.GAME_OBJECT, gameObject.getId(), canonicalLocation);
     }
     
     @Override
@@ -653,7 +657,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
     }
     
     @Override
-    public void onAttach(CacheOperations<String, Rs2ObjectModel> cache) {
+    public void onAttach(CacheOperations<Long, Rs2ObjectModel> cache) {
         log.debug("ObjectUpdateStrategy attached to cache");
         // Start periodic scene scanning if logged in
         if (Microbot.loggedIn && lastGameState == GameState.LOGGED_IN) {
@@ -662,7 +666,7 @@ public class ObjectUpdateStrategy implements CacheUpdateStrategy<String, Rs2Obje
     }
     
     @Override
-    public void onDetach(CacheOperations<String, Rs2ObjectModel> cache) {
+    public void onDetach(CacheOperations<Long, Rs2ObjectModel> cache) {
         log.debug("ObjectUpdateStrategy detached from cache");
         // Cancel periodic scanning when detaching
         if (periodicSceneScanTask != null && !periodicSceneScanTask.isDone()) {
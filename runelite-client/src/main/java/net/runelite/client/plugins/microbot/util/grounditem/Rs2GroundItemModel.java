@@ -16,6 +16,7 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 import net.runelite.client.util.RSTimeUnit;
 
 import java.awt.Rectangle;
@@ -205,7 +206,8 @@ public class Rs2GroundItemModel {
         // Convert despawnDuration back to ticks using RSTimeUnit pattern
         long despawnTicks = despawnDuration.toMillis() / Constants.GAME_TICK_LENGTH;
         
-        int currentTick = Microbot.getClientThread().runOnClientThreadOptional(
+        WorldSnapshot snapshot = WorldSnapshot.current();
+        int currentTick = !snapshot.isEmpty() ? snapshot.getTickCount() : Microbot.getClientThread().runOnClientThreadOptional(
             () -> Microbot.getClient().getTickCount()
         ).orElse((int)(creationTick + despawnTicks + 1)); // Fallback assumes despawned
         
@@ -513,6 +515,10 @@ public class Rs2GroundItemModel {
      * @return The distance in tiles
      */
     public int getDistanceFromPlayer() {
+        WorldSnapshot snapshot = WorldSnapshot.current();
+        if (!snapshot.isEmpty()) {
+            return snapshot.getPlayerWorldLocation().distanceTo(location);
+        }
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
             WorldPoint playerLocation = 
             Rs2Player.getWorldLocation();
@@ -0,0 +1,333 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import net.runelite.api.Item;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * The items of an item container, kept as arrays of ids, quantities and slots with an index from item id to slots.
+ * <p>
+ * {@link #update} is called with the items of every {@code ItemContainerChanged} event and only creates
+ * {@link Rs2ItemModel}s for the slots whose item or quantity changed; the models of the other slots are reused. Every
+ * update publishes a new immutable {@link View}, so readers on any thread never lock and see a consistent container.
+ * Counting and looking up items by id go through the index and do not create any model; the models of a view are only
+ * created when they are asked for.
+ * <p>
+ * {@link #update} and {@link #set} must be called from a single thread at a time, normally the client thread.
+ */
+public class ItemContainerStore {
+    /**
+     * Creates the model of an item, or returns null when the slot should be left out, like bank placeholders
+     */
+    @FunctionalInterface
+    public interface ModelFactory {
+        Rs2ItemModel create(Item item, int slot);
+    }
+
+    private volatile View view = View.EMPTY;
+
+    // Contents by slot of the last update, to find the slots that changed
+    private int[] slotIds = new int[0];
+    private int[] slotQuantities = new int[0];
+    private boolean[] slotSkipped = new boolean[0];
+    private Rs2ItemModel[] slotModels = new Rs2ItemModel[0];
+
+    /**
+     * The current contents of the container
+     */
+    public View view() {
+        return view;
+    }
+
+    /**
+     * Replaces the contents with the items of the container, creating models only for the slots that changed
+     *
+     * @param items   The items of the container, indexed by slot.
+     * @param factory Creates the model of a changed slot.
+     */
+    public void update(Item[] items, ModelFactory factory) {
+        final int length = items.length;
+        final int[] ids = new int[length];
+        final int[] quantities = new int[length];
+        final boolean[] skipped = new boolean[length];
+        final Rs2ItemModel[] models = new Rs2ItemModel[length];
+
+        for (int slot = 0; slot < length; slot++) {
+            final Item item = items[slot];
+            final int id = item == null ? -1 : item.getId();
+            final int quantity = item == null ? 0 : item.getQuantity();
+            ids[slot] = id;
+            quantities[slot] = quantity;
+            if (id == -1) {
+                skipped[slot] = true;
+                continue;
+            }
+            if (slot < slotIds.length && slotIds[slot] == id && slotQuantities[slot] == quantity) {
+                skipped[slot] = slotSkipped[slot];
+                models[slot] = slotModels[slot];
+                if (skipped[slot] || models[slot] != null) {
+                    continue;
+                }
+            }
+            models[slot] = factory.create(item, slot);
+            skipped[slot] = models[slot] == null;
+        }
+
+        publish(ids, quantities, skipped, models);
+    }
+
+    /**
+     * Replaces the contents with saved data, whose models are created with {@link Rs2ItemModel#createFromCache} when
+     * they are first needed
+     *
+     * @param idQuantityAndSlot The items as triplets of id, quantity and slot.
+     */
+    public void set(int[] idQuantityAndSlot) {
+        int length = 0;
+        for (int i = 2; i < idQuantityAndSlot.length; i += 3) {
+            length = Math.max(length, idQuantityAndSlot[i] + 1);
+        }
+        final int[] ids = new int[length];
+        final int[] quantities = new int[length];
+        final boolean[] skipped = new boolean[length];
+        Arrays.fill(ids, -1);
+        Arrays.fill(skipped, true);
+        for (int i = 0; i + 2 < idQuantityAndSlot.length; i += 3) {
+            final int slot = idQuantityAndSlot[i + 2];
+            if (slot < 0) {
+                continue;
+            }
+            ids[slot] = idQuantityAndSlot[i];
+            quantities[slot] = idQuantityAndSlot[i + 1];
+            skipped[slot] = false;
+        }
+        publish(ids, quantities, skipped, new Rs2ItemModel[length]);
+    }
+
+    public void clear() {
+        publish(new int[0], new int[0], new boolean[0], new Rs2ItemModel[0]);
+    }
+
+    private void publish(int[] ids, int[] quantities, boolean[] skipped, Rs2ItemModel[] models) {
+        slotIds = ids;
+        slotQuantities = quantities;
+        slotSkipped = skipped;
+        slotModels = models;
+        view = new View(ids, quantities, skipped, models);
+    }
+
+    /**
+     * An immutable view of the container. Items are ordered by slot.
+     */
+    public static final class View {
+        static final View EMPTY = new View(new int[0], new int[0], new boolean[0], new Rs2ItemModel[0]);
+
+        private final int size;
+        private final int[] ids;
+        private final int[] quantities;
+        private final int[] slots;
+        private final AtomicReferenceArray<Rs2ItemModel> models;
+        private final IdIndex index;
+        private volatile List<Rs2ItemModel> list;
+
+        private View(int[] slotIds, int[] slotQuantities, boolean[] slotSkipped, Rs2ItemModel[] slotModels) {
+            int count = 0;
+            for (boolean skipped : slotSkipped) {
+                if (!skipped) {
+                    count++;
+                }
+            }
+            size = count;
+            ids = new int[count];
+            quantities = new int[count];
+            slots = new int[count];
+            models = new AtomicReferenceArray<>(count);
+            index = new IdIndex(count);
+
+            int entry = 0;
+            for (int slot = 0; slot < slotIds.length; slot++) {
+                if (slotSkipped[slot]) {
+                    continue;
+                }
+                ids[entry] = slotIds[slot];
+                quantities[entry] = slotQuantities[slot];
+                slots[entry] = slot;
+                models.lazySet(entry, slotModels[slot]);
+                index.add(slotIds[slot], slotQuantities[slot], entry);
+                entry++;
+            }
+        }
+
+        /**
+         * Number of occupied slots
+         */
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public boolean contains(int id) {
+            return index.find(id) >= 0;
+        }
+
+        /**
+         * Whether the container holds any of the ids
+         */
+        public boolean containsAny(int... ids) {
+            for (int id : ids) {
+                if (contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Number of slots holding the item
+         */
+        public int stacks(int id) {
+            int position = index.find(id);
+            return position < 0 ? 0 : index.stacks[position];
+        }
+
+        /**
+         * Total quantity of the item over all its slots, capped at {@link Integer#MAX_VALUE}
+         */
+        public int quantity(int id) {
+            int position = index.find(id);
+            return position < 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, index.quantities[position]);
+        }
+
+        /**
+         * The item in the lowest slot holding one of the ids, or null when there is none
+         */
+        public Rs2ItemModel first(int... ids) {
+            int first = -1;
+            for (int id : ids) {
+                int position = index.find(id);
+                if (position >= 0 && (first == -1 || index.firstEntries[position] < first)) {
+                    first = index.firstEntries[position];
+                }
+            }
+            return first == -1 ? null : model(first);
+        }
+
+        /**
+         * The item in the slot, or null when the slot is empty
+         */
+        public Rs2ItemModel atSlot(int slot) {
+            int entry = Arrays.binarySearch(slots, slot);
+            return entry < 0 ? null : model(entry);
+        }
+
+        /**
+         * The id of the item in the slot, or -1 when the slot is empty
+         */
+        public int idAtSlot(int slot) {
+            int entry = Arrays.binarySearch(slots, slot);
+            return entry < 0 ? -1 : ids[entry];
+        }
+
+        /**
+         * The items ordered by slot
+         */
+        public List<Rs2ItemModel> list() {
+            List<Rs2ItemModel> list = this.list;
+            if (list == null) {
+                Rs2ItemModel[] items = new Rs2ItemModel[size];
+                for (int entry = 0; entry < size; entry++) {
+                    items[entry] = model(entry);
+                }
+                list = Collections.unmodifiableList(Arrays.asList(items));
+                this.list = list;
+            }
+            return list;
+        }
+
+        public Stream<Rs2ItemModel> stream() {
+            return list().stream();
+        }
+
+        /**
+         * The items as triplets of id, quantity and slot, in the format of {@link ItemContainerStore#set}
+         */
+        public int[] toIdQuantityAndSlot() {
+            int[] data = new int[size * 3];
+            for (int entry = 0; entry < size; entry++) {
+                data[entry * 3] = ids[entry];
+                data[entry * 3 + 1] = quantities[entry];
+                data[entry * 3 + 2] = slots[entry];
+            }
+            return data;
+        }
+
+        private Rs2ItemModel model(int entry) {
+            Rs2ItemModel model = models.get(entry);
+            if (model == null) {
+                model = Rs2ItemModel.createFromCache(ids[entry], quantities[entry], slots[entry]);
+                if (!models.compareAndSet(entry, null, model)) {
+                    model = models.get(entry);
+                }
+            }
+            return model;
+        }
+    }
+
+    /**
+     * Open addressing map from item id to the first entry, number of entries and total quantity of the item
+     */
+    private static final class IdIndex {
+        private final int[] keys;
+        private final int[] firstEntries;
+        private final int[] stacks;
+        private final long[] quantities;
+        private final int mask;
+
+        IdIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            firstEntries = new int[capacity];
+            stacks = new int[capacity];
+            quantities = new long[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1);
+        }
+
+        void add(int id, int quantity, int entry) {
+            int position = mix(id) & mask;
+            while (keys[position] != -1 && keys[position] != id) {
+                position = (position + 1) & mask;
+            }
+            if (keys[position] == -1) {
+                keys[position] = id;
+                firstEntries[position] = entry;
+            }
+            stacks[position]++;
+            quantities[position] += quantity;
+        }
+
+        int find(int id) {
+            if (id == -1) {
+                return -1;
+            }
+            int position = mix(id) & mask;
+            while (keys[position] != -1) {
+                if (keys[position] == id) {
+                    return position;
+                }
+                position = (position + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int mix(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -64,7 +64,7 @@ public class Rs2Inventory {
     private static final int CAPACITY = COLUMNS * ROWS;
     private static final String[] EMPTY_ARRAY = new String[0];
 
-    private static List<Rs2ItemModel> inventoryItems = Collections.emptyList();
+    private static final ItemContainerStore inventoryItems = new ItemContainerStore();
 
     public static ItemContainer inventory() {
         return Microbot.getClient().getItemContainer(InventoryID.INV);
@@ -77,18 +77,13 @@ public class Rs2Inventory {
         final ItemContainer itemContainer = e.getItemContainer();
         if (itemContainer == null) return;
 
-        List<Rs2ItemModel> _inventoryItems = new ArrayList<>();
-        for (int i = 0; i < itemContainer.getItems().length; i++) {
-            final Item item = itemContainer.getItems()[i];
-            if (item.getId() == -1) continue;
-            final ItemComposition itemComposition = Microbot.getClient().getItemDefinition(item.getId());
-            _inventoryItems.add(new Rs2ItemModel(item, itemComposition, i));
-        }
-        inventoryItems = Collections.unmodifiableList(_inventoryItems);
+        // Only the slots that changed get a new model
+        inventoryItems.update(itemContainer.getItems(), (item, slot) ->
+                new Rs2ItemModel(item, Microbot.getClient().getItemDefinition(item.getId()), slot));
     }
 
     public static Stream<Rs2ItemModel> items() {
-        return inventoryItems.stream();
+        return inventoryItems.view().stream();
     }
 
     public static Stream<Rs2ItemModel> items(Predicate<Rs2ItemModel> predicate) {
@@ -285,7 +280,7 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean contains(int... ids) {
-        return contains(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        return inventoryItems.view().containsAny(ids);
     }
 
     /**
@@ -327,7 +322,7 @@ public class Rs2Inventory {
      * @return The count of items
      */
     public static int count() {
-        return (int) items().count();
+        return inventoryItems.view().size();
     }
 
     /**
@@ -349,7 +344,7 @@ public class Rs2Inventory {
      * @return The count of items that match the ID.
      */
     public static int count(int id) {
-        return count(item -> item.getId() == id);
+        return inventoryItems.view().stacks(id);
     }
 
     /**
@@ -607,7 +602,7 @@ public class Rs2Inventory {
      * @return The number of full slots.
      */
     public static int fullSlotCount() {
-        return (int) items().count();
+        return inventoryItems.view().size();
     }
 
     /**
@@ -641,7 +636,7 @@ public class Rs2Inventory {
      * @return The first item that matches one of the IDs, or null if not found.
      */
     public static Rs2ItemModel get(int... ids) {
-        return get(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        return inventoryItems.view().first(ids);
     }
 
     /**
@@ -737,7 +732,7 @@ public class Rs2Inventory {
      * @return The quantity of the item if found, otherwise 0.
      */
     public static int itemQuantity(int id) {
-        return itemQuantity(item -> item.getId() == id);
+        return inventoryItems.view().quantity(id);
     }
 
     /**
@@ -979,7 +974,7 @@ public class Rs2Inventory {
      * @return The item in the specified slot, or null if the slot is empty.
      */
     public static Rs2ItemModel getItemInSlot(int slot) {
-        return get(x -> x.getSlot() == slot);
+        return inventoryItems.view().atSlot(slot);
     }
 
     /**
@@ -991,8 +986,7 @@ public class Rs2Inventory {
      * @return The ID of the item in the slot, or -1 if the slot is empty.
      */
     public static int getIdForSlot(int slot) {
-        final Rs2ItemModel item = getItemInSlot(slot);
-        return item == null ? -1 : item.getId();
+        return inventoryItems.view().idAtSlot(slot);
     }
 
     /**
@@ -1231,7 +1225,7 @@ public class Rs2Inventory {
      * @return True if the inventory is empty, false otherwise.
      */
     public static boolean isEmpty() {
-        return items().findAny().isEmpty();
+        return inventoryItems.view().isEmpty();
     }
 
     /**
@@ -1966,7 +1960,7 @@ public class Rs2Inventory {
      * @return True if the inventory changes within the specified timeout, false otherwise.
      */
     public static boolean waitForInventoryChanges(Runnable actionWhileWaiting, int time, int timeout) {
-        final List<Rs2ItemModel> initialInventory = inventoryItems;
+        final ItemContainerStore.View initialInventory = inventoryItems.view();
 
         return sleepUntilTrue(() -> {
             actionWhileWaiting.run();
@@ -1978,13 +1972,13 @@ public class Rs2Inventory {
      * Checks whether the inventory has changed.
      *
      * @param initialInventory The snapshot of the inventory to compare against
-     *                         initially initialInventory == inventoryItems must be true, otherwise this check won't work
+     *                         initially initialInventory == inventoryItems.view() must be true, otherwise this check won't work
      *                         additionally two inventories which are identical can still count as changed i.e.
      *                         adding and removing a log
      * @return True if the inventory is unchanged, false otherwise.
      */
-    private static boolean hasInventoryChanged(List<Rs2ItemModel> initialInventory) {
-        return inventoryItems != initialInventory; // TODO: && !inventoryItems.equals(initialInventory);
+    private static boolean hasInventoryChanged(ItemContainerStore.View initialInventory) {
+        return inventoryItems.view() != initialInventory; // TODO: && !inventoryItems.equals(initialInventory);
     }
 
     /**
@@ -126,15 +126,7 @@ public class Rs2Npc {
             return Stream.empty();
         }
         
-        LocalPoint playerLocation = localPlayer.getLocalLocation();
-        
-        List<Rs2NpcModel> npcs = getNpcs(x -> Objects.equals(x.getInteracting(), localPlayer))
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(playerLocation)))
-                .collect(Collectors.toList());
-
-        return npcs.stream();
+        return query().interactingWithPlayer().filter(predicate).stream();
     }
 
     /**
@@ -216,88 +208,26 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
         try {
-            // Defensive null checks for client and world view
-            if (Microbot.getClient() == null) {
-                log.warn("Client is null, returning empty NPC stream");
-                return Stream.empty();
-            }
-            
-            if (Microbot.getClient().getTopLevelWorldView() == null) {
-                log.warn("TopLevelWorldView is null, returning empty NPC stream");
-                return Stream.empty();
-            }
-            
-            if (Microbot.getClient().getTopLevelWorldView().npcs() == null) {
-                log.warn("NPCs collection is null, returning empty NPC stream");
-                return Stream.empty();
-            }
-            
-            if (Microbot.getClient().getLocalPlayer() == null) {
-                log.warn("Local player is null, returning empty NPC stream");
-                return Stream.empty();
-            }
-            
-            if (Microbot.getClient().getLocalPlayer().getLocalLocation() == null) {
-                log.warn("Local player location is null, returning empty NPC stream");
-                return Stream.empty();
-            }
-            
-            // Make local copies to avoid null issues during stream processing
-            final Stream<? extends NPC> npcStream = Microbot.getClient().getTopLevelWorldView().npcs().stream();
-            final LocalPoint playerLocation = Microbot.getClient().getLocalPlayer().getLocalLocation();
-            
-            // Safe predicate wrapper to prevent null issues
-            Predicate<Rs2NpcModel> safePredicate = predicate != null ? predicate : (npc -> true);            
-            List<Rs2NpcModel> npcList = npcStream
-                    .filter(Objects::nonNull) // Filter out null NPCs                  
-                    .map(npc -> {
-                        try {
-                            return new Rs2NpcModel(npc);
-                        } catch (Exception e) {
-                            log.debug("Error creating Rs2NpcModel: {}", e.getMessage());
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull) // Filter out failed model creations
-                    .filter(npcModel -> {
-                        try {
-                            // Additional safety checks for Rs2NpcModel
-                            return npcModel.getName() != null && 
-                                   npcModel.getLocalLocation() != null;
-                        } catch (Exception e) {
-                            log.debug("Error accessing Rs2NpcModel properties: {}", e.getMessage());
-                            return false;
-                        }
-                    })
-                    .filter(npcModel -> {
-                        try {
-                            return safePredicate.test(npcModel);
-                        } catch (Exception e) {
-                            log.debug("Error in predicate test: {}", e.getMessage());
-                            return false;
-                        }
-                    })
-                    .sorted(Comparator.comparingInt(value -> {
-                        try {
-                            if (value != null && value.getLocalLocation() != null && playerLocation != null) {
-                                return value.getLocalLocation().distanceTo(playerLocation);
-                            }
-                            return Integer.MAX_VALUE; // Put problematic NPCs at the end
-                        } catch (Exception e) {
-                            log.debug("Error calculating distance: {}", e.getMessage());
-                            return Integer.MAX_VALUE;
-                        }
-                    }))
-                    .collect(Collectors.toList());
-            
-            return npcList.stream();
-            
+            return query().filter(predicate).stream();
         } catch (Exception e) {
             log.debug("Unexpected error in getNpcs: {}", e.getMessage(), e);
             return Stream.empty();
         }
     }
 
+    /**
+     * Starts a query over the NPCs in the scene.
+     *
+     * <p>Unlike {@link #getNpcs(Predicate)}, the query filters NPCs by id, name and distance before building any
+     * {@link Rs2NpcModel}, and only orders as many NPCs by distance as it needs to return, which makes
+     * {@link Rs2NpcQuery#nearest()} much cheaper than sorting every NPC to take the first one.</p>
+     *
+     * @return A new {@link Rs2NpcQuery} matching every NPC.
+     */
+    public static Rs2NpcQuery query() {
+        return new Rs2NpcQuery();
+    }
+
     /**
      * Retrieves a stream of all NPCs in the game world.
      *
@@ -328,11 +258,7 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
-        return getNpcs(npc -> {
-            String npcName = npc.getName();
-            if (npcName == null || npcName.isEmpty()) return false;
-            return exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase());
-        });
+        return query().withName(name, exact).stream();
     }
 
     /**
@@ -354,7 +280,7 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
-        return getNpcs().filter(x -> x.getId() == id);
+        return query().withId(id).stream();
     }
 
     /**
@@ -482,9 +408,8 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given criteria, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(String name, boolean exact) {
-        return getNpcs(name, exact)
-                .findFirst()
-                .orElse(null);
+        if (name == null || name.isEmpty()) return null;
+        return query().withName(name, exact).nearest().orElse(null);
     }
 
     /**
@@ -496,9 +421,7 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given ID, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(int id) {
-        return getNpcs(x -> x.getId() == id)
-                .findFirst()
-                .orElse(null);
+        return query().withId(id).nearest().orElse(null);
     }
 
     /**
@@ -517,8 +440,7 @@ public class Rs2Npc {
      * @return An {@link Optional} containing the closest matching {@link Rs2NpcModel}, or empty if no match is found.
      */
     public static Optional<Rs2NpcModel> getNpc(int id, List<Integer> excludedIndexes) {
-        return getNpcs(x -> x.getId() == id && !excludedIndexes.contains(x.getIndex()))
-                .min(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())));
+        return query().withId(id).excludingIndexes(excludedIndexes).nearest();
     }
 
     /**
@@ -1254,15 +1176,7 @@ public class Rs2Npc {
      * @return The first {@link NPC} that has the specified action, or {@code null} if none are found.
      */
     public static Rs2NpcModel getNpcWithAction(String action) {
-        return getNpcs()
-                .filter(value -> (value.getComposition() != null
-                        && value.getComposition().getActions() != null
-                        && Arrays.asList(value.getComposition().getActions()).contains(action))
-                        || (value.getComposition().transform() != null
-                        && value.getComposition().transform().getActions() != null
-                        && Arrays.asList(value.getComposition().transform().getActions()).contains(action)))
-                .findFirst()
-                .orElse(null);
+        return query().withAction(action).nearest().orElse(null);
     }
 
     /**
@@ -8,6 +8,7 @@ import net.runelite.api.NpcOverrides;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.ActorModel;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 import org.jetbrains.annotations.Nullable;
 
 @Getter
@@ -81,6 +82,11 @@ public class Rs2NpcModel extends ActorModel implements NPC
 	 * @return true if within distance, false otherwise
 	 */
 	public boolean isWithinDistanceFromPlayer(int maxDistance) {
+		WorldSnapshot snapshot = WorldSnapshot.current();
+		WorldSnapshot.ActorSnapshot npc = snapshot.find(runeliteNpc);
+		if (npc != null) {
+			return npc.distanceTo(snapshot.getLocalPlayer().getLocalLocation()) <= maxDistance;
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(() -> {
 			return this.getLocalLocation().distanceTo(
 					Microbot.getClient().getLocalPlayer().getLocalLocation()) <= maxDistance;
@@ -94,6 +100,11 @@ public class Rs2NpcModel extends ActorModel implements NPC
 	 * @return Distance in tiles
 	 */
 	public int getDistanceFromPlayer() {
+		WorldSnapshot snapshot = WorldSnapshot.current();
+		WorldSnapshot.ActorSnapshot npc = snapshot.find(runeliteNpc);
+		if (npc != null) {
+			return npc.distanceTo(snapshot.getLocalPlayer().getLocalLocation());
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(() -> {
 			return this.getLocalLocation().distanceTo(
 					Microbot.getClient().getLocalPlayer().getLocalLocation());
@@ -119,6 +130,10 @@ public class Rs2NpcModel extends ActorModel implements NPC
 	 * @return true if interacting with player, false otherwise
 	 */
 	public boolean isInteractingWithPlayer() {
+		WorldSnapshot.ActorSnapshot npc = snapshot();
+		if (npc != null) {
+			return npc.isInteractingWithPlayer();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(() -> {
 			return this.getInteracting() == Microbot.getClient().getLocalPlayer();
 		}).orElse(false);
@@ -130,7 +145,10 @@ public class Rs2NpcModel extends ActorModel implements NPC
 	 * @return true if moving, false if idle
 	 */
 	public boolean isMoving() {
-	
+		WorldSnapshot.ActorSnapshot npc = snapshot();
+		if (npc != null) {
+			return npc.isMoving();
+		}
 		return Microbot.getClientThread().runOnClientThreadOptional(() ->
 				this.getPoseAnimation() != this.getIdlePoseAnimation()
 		).orElse(false);
@@ -0,0 +1,357 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.NPC;
+import net.runelite.api.NPCComposition;
+import net.runelite.api.Perspective;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A lazily evaluated query over the NPCs in the scene, ordered by distance to the local player.
+ * <p>
+ * Filters on ids, names, indexes, combat level, distance and interaction are checked against the state of each NPC
+ * before an {@link Rs2NpcModel} is built. The remaining filters run on models in order of distance and stop as soon
+ * as enough NPCs matched, so {@link #nearest()} and {@link #limit(int)} only select as many NPCs as they return,
+ * rather than sorting or testing the whole scene.
+ * <p>
+ * The NPC state is read from the {@link WorldSnapshot} of the last tick, or from the client when there is none.
+ * Results are ordered like {@link Rs2Npc#getNpcs(Predicate)}, by local distance with ties in scene order.
+ *
+ * <pre>
+ * Rs2NpcModel cow = Rs2Npc.query().withName("cow").attackable().reachable().nearest().orElse(null);
+ * </pre>
+ */
+@Slf4j
+public class Rs2NpcQuery {
+    private int[] ids;
+    private String name;
+    private boolean exactName;
+    private Collection<Integer> excludedIndexes;
+    private int minCombatLevel = Integer.MIN_VALUE;
+    private int maxCombatLevel = Integer.MAX_VALUE;
+    private int maxLocalDistance = Integer.MAX_VALUE;
+    private boolean interactingWithPlayer;
+    private final List<Predicate<Rs2NpcModel>> filters = new ArrayList<>();
+
+    /**
+     * Only NPCs with one of these ids
+     */
+    public Rs2NpcQuery withId(int... ids) {
+        this.ids = ids;
+        return this;
+    }
+
+    /**
+     * Only NPCs whose name contains this name, ignoring case
+     */
+    public Rs2NpcQuery withName(String name) {
+        return withName(name, false);
+    }
+
+    /**
+     * Only NPCs with this name, ignoring case
+     *
+     * @param exact {@code true} to match the whole name, {@code false} to match a part of it
+     */
+    public Rs2NpcQuery withName(String name, boolean exact) {
+        this.name = name != null ? name.toLowerCase() : null;
+        this.exactName = exact;
+        return this;
+    }
+
+    /**
+     * Only NPCs with this action, on their base or transformed composition
+     */
+    public Rs2NpcQuery withAction(String action) {
+        return filter(npc -> hasAction(npc.getComposition(), action) || hasAction(npc.getTransformedComposition(), action));
+    }
+
+    /**
+     * Only NPCs with a combat level in this range, inclusive
+     */
+    public Rs2NpcQuery withCombatLevel(int min, int max) {
+        this.minCombatLevel = min;
+        this.maxCombatLevel = max;
+        return this;
+    }
+
+    /**
+     * Only NPCs that can be attacked, like {@link Rs2Npc#getAttackableNpcs()}: they have a combat level, are not
+     * dead and are not fighting something else outside of multi combat
+     */
+    public Rs2NpcQuery attackable() {
+        if (minCombatLevel < 1) {
+            minCombatLevel = 1;
+        }
+        return filter(npc -> !npc.isDead() && (Rs2Player.isInMulti() || !npc.isInteracting()));
+    }
+
+    /**
+     * Only NPCs the local player can walk to, none while there is no local player
+     */
+    public Rs2NpcQuery reachable() {
+        final Player player = Microbot.getClient() != null ? Microbot.getClient().getLocalPlayer() : null;
+        if (player == null) {
+            return filter(npc -> false);
+        }
+        final Rs2WorldPoint playerLocation = new Rs2WorldPoint(player.getWorldLocation());
+        return filter(npc -> playerLocation.distanceToPath(npc.getWorldLocation()) < Integer.MAX_VALUE);
+    }
+
+    /**
+     * Only NPCs that are interacting with the local player
+     */
+    public Rs2NpcQuery interactingWithPlayer() {
+        this.interactingWithPlayer = true;
+        return this;
+    }
+
+    /**
+     * Only NPCs within this many tiles of the local player, measured like the ordering of the query
+     */
+    public Rs2NpcQuery within(int tiles) {
+        this.maxLocalDistance = tiles * Perspective.LOCAL_TILE_SIZE;
+        return this;
+    }
+
+    /**
+     * Skips the NPCs with these indexes
+     */
+    public Rs2NpcQuery excludingIndexes(Collection<Integer> indexes) {
+        this.excludedIndexes = indexes;
+        return this;
+    }
+
+    /**
+     * Only NPCs matching the predicate. The predicate only runs for NPCs that passed every other filter, closest
+     * first, and an exception thrown by it is treated as no match.
+     */
+    public Rs2NpcQuery filter(Predicate<Rs2NpcModel> predicate) {
+        if (predicate != null) {
+            filters.add(predicate);
+        }
+        return this;
+    }
+
+    /**
+     * The NPC closest to the local player
+     */
+    public Optional<Rs2NpcModel> nearest() {
+        List<Rs2NpcModel> nearest = limit(1);
+        return nearest.isEmpty() ? Optional.empty() : Optional.of(nearest.get(0));
+    }
+
+    /**
+     * The first matching NPC in scene order, without ordering by distance. This stops at the first match, for when any
+     * matching NPC will do.
+     */
+    public Optional<Rs2NpcModel> first() {
+        for (Candidate candidate : candidates()) {
+            Rs2NpcModel model = candidate.matches(filters);
+            if (model != null) {
+                return Optional.of(model);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Up to {@code count} NPCs, closest first. Only the {@code count} closest candidates are selected, with a heap of
+     * that size, and turned into models and tested. When the model filters reject some of them, the next batch of
+     * twice the size is selected from the candidates further away.
+     */
+    public List<Rs2NpcModel> limit(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<Candidate> candidates = candidates();
+        final List<Rs2NpcModel> result = new ArrayList<>(Math.min(count, candidates.size()));
+        Candidate last = null;
+        int batch = count;
+        while (result.size() < count) {
+            final List<Candidate> nearest = nearest(candidates, batch, last);
+            for (Candidate candidate : nearest) {
+                Rs2NpcModel model = candidate.matches(filters);
+                if (model != null) {
+                    result.add(model);
+                    if (result.size() == count) {
+                        break;
+                    }
+                }
+            }
+            if (nearest.size() < batch) {
+                break;
+            }
+            last = nearest.get(nearest.size() - 1);
+            batch = (int) Math.min(Integer.MAX_VALUE, batch * 2L);
+        }
+        return result;
+    }
+
+    /**
+     * The {@code count} closest candidates after the given one, closest first, selected with a heap of that size
+     */
+    private static List<Candidate> nearest(List<Candidate> candidates, int count, Candidate after) {
+        final PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(count, candidates.size()) + 1, Comparator.reverseOrder());
+        for (Candidate candidate : candidates) {
+            if (after != null && candidate.compareTo(after) <= 0) {
+                continue;
+            }
+            if (heap.size() < count) {
+                heap.add(candidate);
+            } else if (candidate.compareTo(heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        final List<Candidate> nearest = new ArrayList<>(heap);
+        Collections.sort(nearest);
+        return nearest;
+    }
+
+    /**
+     * Every matching NPC, closest first
+     */
+    public List<Rs2NpcModel> list() {
+        return limit(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Every matching NPC, closest first, like {@link Rs2Npc#getNpcs(Predicate)}
+     */
+    public Stream<Rs2NpcModel> stream() {
+        return list().stream();
+    }
+
+    /**
+     * Collects the NPCs that pass the filters that do not need a model, with their distance to the local player
+     */
+    private List<Candidate> candidates() {
+        final List<Candidate> candidates = new ArrayList<>();
+
+        final WorldSnapshot snapshot = WorldSnapshot.current();
+        if (!snapshot.isEmpty()) {
+            final LocalPoint playerLocation = snapshot.getLocalPlayer().getLocalLocation();
+            if (playerLocation == null) {
+                return candidates;
+            }
+            for (WorldSnapshot.ActorSnapshot npc : snapshot.getNpcs()) {
+                if (matches(npc.getId(), npc.getIndex(), npc.getName(), npc.getCombatLevel(), npc.isInteractingWithPlayer())) {
+                    add(candidates, (NPC) npc.getActor(), npc.getLocalLocation(), playerLocation);
+                }
+            }
+            return candidates;
+        }
+
+        if (Microbot.getClient() == null) {
+            return candidates;
+        }
+        // Without a snapshot the NPC state has to be read on the client thread
+        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
+            final List<Candidate> found = new ArrayList<>();
+            final WorldView worldView = Microbot.getClient().getTopLevelWorldView();
+            final Player player = Microbot.getClient().getLocalPlayer();
+            if (worldView == null || player == null || player.getLocalLocation() == null) {
+                return found;
+            }
+            final LocalPoint playerLocation = player.getLocalLocation();
+            for (NPC npc : worldView.npcs()) {
+                if (npc != null && matches(npc.getId(), npc.getIndex(), npc.getName(), npc.getCombatLevel(), npc.getInteracting() == player)) {
+                    add(found, npc, npc.getLocalLocation(), playerLocation);
+                }
+            }
+            return found;
+        }).orElse(candidates);
+    }
+
+    private void add(List<Candidate> candidates, NPC npc, LocalPoint location, LocalPoint playerLocation) {
+        if (location == null) {
+            return;
+        }
+        int distance = location.distanceTo(playerLocation);
+        if (distance <= maxLocalDistance) {
+            candidates.add(new Candidate(npc, distance, candidates.size()));
+        }
+    }
+
+    private boolean matches(int id, int index, String npcName, int combatLevel, boolean interactingWithPlayer) {
+        if (npcName == null) {
+            return false;
+        }
+        if (ids != null && !containsId(id)) {
+            return false;
+        }
+        if (name != null) {
+            String lowerName = npcName.toLowerCase();
+            if (exactName ? !lowerName.equals(name) : !lowerName.contains(name)) {
+                return false;
+            }
+        }
+        if (combatLevel < minCombatLevel || combatLevel > maxCombatLevel) {
+            return false;
+        }
+        if (this.interactingWithPlayer && !interactingWithPlayer) {
+            return false;
+        }
+        return excludedIndexes == null || !excludedIndexes.contains(index);
+    }
+
+    private boolean containsId(int id) {
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAction(NPCComposition composition, String action) {
+        return composition != null && composition.getActions() != null
+                && Arrays.asList(composition.getActions()).contains(action);
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final NPC npc;
+        private final int distance;
+        /** Position in the scene, so that NPCs at the same distance keep the order of a stable sort */
+        private final int order;
+
+        private Candidate(NPC npc, int distance, int order) {
+            this.npc = npc;
+            this.distance = distance;
+            this.order = order;
+        }
+
+        private Rs2NpcModel matches(List<Predicate<Rs2NpcModel>> filters) {
+            Rs2NpcModel model = new Rs2NpcModel(npc);
+            for (Predicate<Rs2NpcModel> filter : filters) {
+                try {
+                    if (!filter.test(model)) {
+                        return null;
+                    }
+                } catch (Exception e) {
+                    log.debug("Error in predicate test: {}", e.getMessage());
+                    return null;
+                }
+            }
+            return model;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int compare = Integer.compare(distance, other.distance);
+            return compare != 0 ? compare : Integer.compare(order, other.order);
+        }
+    }
+}
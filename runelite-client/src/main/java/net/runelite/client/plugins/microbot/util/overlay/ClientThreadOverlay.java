@@ -0,0 +1,85 @@
+package net.runelite.client.plugins.microbot.util.overlay;
+
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.ClientThreadMetrics;
+import net.runelite.client.plugins.microbot.MicrobotConfig;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Shows how busy the client thread is with the tasks queued by scripts, and which classes queue the most work
+ */
+public class ClientThreadOverlay extends OverlayPanel {
+    private static final int MAX_CALLERS = 8;
+
+    private final ClientThread clientThread;
+    private final MicrobotConfig config;
+
+    @Inject
+    ClientThreadOverlay(ClientThread clientThread, MicrobotConfig config) {
+        this.clientThread = clientThread;
+        this.config = config;
+        setPosition(OverlayPosition.TOP_LEFT);
+        setNaughty();
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!config.showClientThreadMetrics()) {
+            return null;
+        }
+
+        final ClientThreadMetrics metrics = clientThread.getMetrics();
+        panelComponent.setPreferredSize(new Dimension(260, 0));
+        panelComponent.getChildren().add(TitleComponent.builder()
+                .text("Client thread")
+                .color(Color.CYAN)
+                .build());
+
+        addLine("Queued", String.valueOf(metrics.getQueueDepth()));
+        addLine("Last frame", metrics.getLastFrameTasks() + " tasks, " + formatNanos(metrics.getLastFrameNanos()));
+        long budget = clientThread.getFrameBudget().toNanos();
+        addLine("Budget", budget == 0 ? "none" : formatNanos(budget));
+        addLine("Deferred frames", String.valueOf(metrics.getDeferredFrames()));
+
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left("Caller")
+                .right("count wait/run")
+                .leftColor(Color.LIGHT_GRAY)
+                .rightColor(Color.LIGHT_GRAY)
+                .build());
+
+        List<ClientThreadMetrics.CallerStats> callers = metrics.getCallers();
+        for (int i = 0; i < Math.min(MAX_CALLERS, callers.size()); i++) {
+            ClientThreadMetrics.CallerStats caller = callers.get(i);
+            addLine(simpleName(caller.getCaller()), caller.getCount() + " "
+                    + formatNanos(caller.getAverageWaitNanos()) + "/" + formatNanos(caller.getAverageExecutionNanos()));
+        }
+
+        return super.render(graphics);
+    }
+
+    private void addLine(String left, String right) {
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left(left)
+                .right(right)
+                .build());
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%dus", nanos / 1_000);
+    }
+}
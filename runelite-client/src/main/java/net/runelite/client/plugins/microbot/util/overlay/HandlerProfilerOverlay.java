@@ -0,0 +1,99 @@
+package net.runelite.client.plugins.microbot.util.overlay;
+
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.microbot.MicrobotConfig;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayRenderer;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+import net.runelite.client.util.HandlerStats;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shows the event subscribers and overlays which took the most time since profiling was turned on
+ */
+public class HandlerProfilerOverlay extends OverlayPanel {
+    private static final int MAX_HANDLERS = 10;
+
+    private final EventBus eventBus;
+    private final OverlayRenderer overlayRenderer;
+    private final MicrobotConfig config;
+
+    @Inject
+    HandlerProfilerOverlay(EventBus eventBus, OverlayRenderer overlayRenderer, MicrobotConfig config) {
+        this.eventBus = eventBus;
+        this.overlayRenderer = overlayRenderer;
+        this.config = config;
+        setPosition(OverlayPosition.TOP_LEFT);
+        setNaughty();
+    }
+
+    /**
+     * The profile of every subscriber and overlay, with the most total time first
+     */
+    public List<HandlerStats.Snapshot> getHandlerStats() {
+        List<HandlerStats.Snapshot> stats = new ArrayList<>(eventBus.getSubscriberStats());
+        stats.addAll(overlayRenderer.getOverlayStats());
+        stats.sort(Comparator.comparingLong(HandlerStats.Snapshot::getEstimatedTotalNanos).reversed());
+        return stats;
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!config.profileHandlers()) {
+            return null;
+        }
+
+        panelComponent.setPreferredSize(new Dimension(320, 0));
+        panelComponent.getChildren().add(TitleComponent.builder()
+                .text("Event handlers")
+                .color(Color.CYAN)
+                .build());
+
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left("Handler")
+                .right("count p50/p99 alloc")
+                .leftColor(Color.LIGHT_GRAY)
+                .rightColor(Color.LIGHT_GRAY)
+                .build());
+
+        List<HandlerStats.Snapshot> stats = getHandlerStats();
+        for (int i = 0; i < Math.min(MAX_HANDLERS, stats.size()); i++) {
+            HandlerStats.Snapshot handler = stats.get(i);
+            panelComponent.getChildren().add(LineComponent.builder()
+                    .left(simpleName(handler.getName()) + " (" + handler.getKind() + ")")
+                    .right(handler.getCount() + " " + formatNanos(handler.getP50Nanos()) + "/"
+                            + formatNanos(handler.getP99Nanos()) + " " + formatBytes(handler.getMeanAllocatedBytes()))
+                    .build());
+        }
+
+        return super.render(graphics);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.', className.lastIndexOf('.') - 1) + 1);
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%dus", nanos / 1_000);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "-";
+        }
+        if (bytes >= 1024) {
+            return String.format("%.1fkB", bytes / 1024.0);
+        }
+        return bytes + "B";
+    }
+}
@@ -0,0 +1,77 @@
+package net.runelite.client.plugins.microbot.util.overlay;
+
+import net.runelite.client.plugins.microbot.MicrobotConfig;
+import net.runelite.client.plugins.microbot.ScriptExecutor;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Shows how many threads the scripts use, and how late, how long and how CPU heavy the loops of every script are
+ */
+public class ScriptMetricsOverlay extends OverlayPanel {
+    private static final int MAX_SCRIPTS = 8;
+
+    private final MicrobotConfig config;
+
+    @Inject
+    ScriptMetricsOverlay(MicrobotConfig config) {
+        this.config = config;
+        setPosition(OverlayPosition.TOP_LEFT);
+        setNaughty();
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!config.showScriptMetrics()) {
+            return null;
+        }
+
+        panelComponent.setPreferredSize(new Dimension(260, 0));
+        panelComponent.getChildren().add(TitleComponent.builder()
+                .text("Scripts")
+                .color(Color.CYAN)
+                .build());
+
+        addLine("Mode", ScriptExecutor.isShared() ? "shared pool" : "pool per script");
+        addLine("Threads", ScriptExecutor.getScriptThreadCount() + " scripts, " + ScriptExecutor.getThreadCount() + " total");
+
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left("Script")
+                .right("lag/run cpu")
+                .leftColor(Color.LIGHT_GRAY)
+                .rightColor(Color.LIGHT_GRAY)
+                .build());
+
+        List<ScriptExecutor.ScriptStats> scripts = ScriptExecutor.getStats();
+        for (int i = 0; i < Math.min(MAX_SCRIPTS, scripts.size()); i++) {
+            ScriptExecutor.ScriptStats script = scripts.get(i);
+            addLine(script.getName(), formatNanos(script.getAverageLagNanos()) + "/" + formatNanos(script.getAverageRunNanos())
+                    + " " + formatNanos(script.getCpuNanos()));
+        }
+
+        return super.render(graphics);
+    }
+
+    private void addLine(String left, String right) {
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left(left)
+                .right(right)
+                .build());
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000_000L) {
+            return String.format("%.1fs", nanos / 1_000_000_000.0);
+        }
+        if (nanos >= 1_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%dus", nanos / 1_000);
+    }
+}
@@ -0,0 +1,265 @@
+package net.runelite.client.plugins.microbot.util.snapshot;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.widgets.Widget;
+
+import java.awt.Rectangle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of the world at the end of one game tick, captured once on the client thread.
+ * <p>
+ * Scripts read {@link #current()} from their own thread without taking a lock or waiting for the client thread, and
+ * every query against the same snapshot sees the same tick. The NPC, player and local player state is captured every
+ * tick. Objects and ground items are not copied, scripts already read them from {@code Rs2ObjectCache} and
+ * {@code Rs2GroundItemCache} without the client thread. Widgets can change between ticks without the server, so only the
+ * widgets passed to {@link #watchWidget} are captured. {@code Rs2Widget} watches the widgets scripts poll, and a watch
+ * is dropped once the widget was not read for {@value #WIDGET_WATCH_TICKS} ticks.
+ * <p>
+ * Actors in the snapshot still reference the live client objects, which are only safe to use for interaction; their
+ * state should be read from the snapshot.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class WorldSnapshot {
+    public static final WorldSnapshot EMPTY = new WorldSnapshot(-1, GameState.UNKNOWN, 0L, null, null, 0,
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap());
+
+    static final int WIDGET_WATCH_TICKS = 100;
+    private static final int MAX_WATCHED_WIDGETS = 64;
+
+    private static volatile WorldSnapshot current = EMPTY;
+    // Watched component ids with the tick they were last read on
+    private static final Map<Integer, Integer> watchedWidgets = new ConcurrentHashMap<>();
+
+    /** Client tick count when the snapshot was captured, or -1 for the empty snapshot */
+    private final int tickCount;
+    private final GameState gameState;
+    /** {@link System#nanoTime()} when the snapshot was captured */
+    private final long capturedAtNanos;
+    /** The local player, or null when not logged in */
+    private final ActorSnapshot localPlayer;
+    /** The world location of the local player, converted out of instances like {@code Rs2Player.getWorldLocation()} */
+    private final WorldPoint playerWorldLocation;
+    private final int runEnergy;
+    private final List<ActorSnapshot> npcs;
+    private final List<ActorSnapshot> players;
+    @Getter(AccessLevel.NONE)
+    private final Map<Actor, ActorSnapshot> actors;
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, WidgetSnapshot> widgets;
+
+    /**
+     * The snapshot of the last game tick, or {@link #EMPTY} when not logged in
+     */
+    public static WorldSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Captures the widget with this component id in every snapshot from the next tick on, until it is not read for
+     * {@value #WIDGET_WATCH_TICKS} ticks
+     *
+     * @return false if too many widgets are watched already
+     */
+    public static boolean watchWidget(int componentId) {
+        if (watchedWidgets.size() >= MAX_WATCHED_WIDGETS && !watchedWidgets.containsKey(componentId)) {
+            return false;
+        }
+        watchedWidgets.putIfAbsent(componentId, current.tickCount);
+        return true;
+    }
+
+    public static void unwatchWidget(int componentId) {
+        watchedWidgets.remove(componentId);
+    }
+
+    public static void clear() {
+        current = EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return localPlayer == null;
+    }
+
+    /**
+     * Finds the state of an NPC or player in this snapshot by the client object
+     *
+     * @return the state, or null if the actor was not in the scene when the snapshot was captured
+     */
+    public ActorSnapshot find(Actor actor) {
+        return actor != null ? actors.get(actor) : null;
+    }
+
+    /**
+     * @return the watched widget, or null if the widget is not watched or was only watched after this snapshot
+     */
+    public WidgetSnapshot getWidget(int componentId) {
+        final WidgetSnapshot widget = widgets.get(componentId);
+        if (widget != null) {
+            watchedWidgets.replace(componentId, tickCount);
+        }
+        return widget;
+    }
+
+    public Optional<ActorSnapshot> findNpc(int index) {
+        for (ActorSnapshot npc : npcs) {
+            if (npc.getIndex() == index) {
+                return Optional.of(npc);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Number of ticks between this snapshot and a tick count, such as the tick a ground item spawned on
+     */
+    public int ticksSince(int tickCount) {
+        return this.tickCount - tickCount;
+    }
+
+    /**
+     * Captures the current tick, must be called on the client thread
+     */
+    public static void capture(Client client) {
+        assert client.isClientThread();
+
+        final Player local = client.getLocalPlayer();
+        if (client.getGameState() != GameState.LOGGED_IN || local == null) {
+            current = EMPTY;
+            return;
+        }
+
+        final WorldView worldView = client.getTopLevelWorldView();
+        final ActorSnapshot localPlayer = ActorSnapshot.of(local, local, -1, -1);
+        final WorldPoint playerWorldLocation = worldView.getScene().isInstance()
+                ? WorldPoint.fromLocalInstance(client, local.getLocalLocation())
+                : local.getWorldLocation();
+
+        final Map<Actor, ActorSnapshot> actors = new IdentityHashMap<>();
+        actors.put(local, localPlayer);
+
+        final List<ActorSnapshot> npcs = new ArrayList<>();
+        for (NPC npc : worldView.npcs()) {
+            ActorSnapshot snapshot = ActorSnapshot.of(npc, local, npc.getIndex(), npc.getId());
+            npcs.add(snapshot);
+            actors.put(npc, snapshot);
+        }
+
+        final List<ActorSnapshot> players = new ArrayList<>();
+        for (Player player : worldView.players()) {
+            if (player == local) {
+                continue;
+            }
+            ActorSnapshot snapshot = ActorSnapshot.of(player, local, player.getId(), -1);
+            players.add(snapshot);
+            actors.put(player, snapshot);
+        }
+
+        final int tickCount = client.getTickCount();
+        final Map<Integer, WidgetSnapshot> widgets = new HashMap<>();
+        for (Iterator<Map.Entry<Integer, Integer>> it = watchedWidgets.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<Integer, Integer> watched = it.next();
+            final int lastRead = watched.getValue();
+            if (lastRead < 0) {
+                // watched while logged out
+                watched.setValue(tickCount);
+            } else if (tickCount - lastRead > WIDGET_WATCH_TICKS || tickCount < lastRead) {
+                // not read for a while, or the tick count restarted on login
+                it.remove();
+                continue;
+            }
+            widgets.put(watched.getKey(), WidgetSnapshot.of(watched.getKey(), client.getWidget(watched.getKey())));
+        }
+
+        current = new WorldSnapshot(tickCount, client.getGameState(), System.nanoTime(),
+                localPlayer, playerWorldLocation, client.getEnergy(),
+                Collections.unmodifiableList(npcs), Collections.unmodifiableList(players), Collections.unmodifiableMap(actors),
+                Collections.unmodifiableMap(widgets));
+    }
+
+    /**
+     * The state of an NPC or player on the tick of the snapshot
+     */
+    @Value
+    public static class ActorSnapshot {
+        /** The client object, for interacting with the actor */
+        Actor actor;
+        /** Index of an NPC or id of a player in the world view */
+        int index;
+        /** NPC id, or -1 for players */
+        int id;
+        String name;
+        int combatLevel;
+        WorldPoint worldLocation;
+        LocalPoint localLocation;
+        int animation;
+        int poseAnimation;
+        int idlePoseAnimation;
+        Actor interacting;
+        boolean interactingWithPlayer;
+        int healthRatio;
+        int healthScale;
+
+        private static ActorSnapshot of(Actor actor, Player local, int index, int id) {
+            Actor interacting = actor.getInteracting();
+            return new ActorSnapshot(actor, index, id, actor.getName(), actor.getCombatLevel(),
+                    actor.getWorldLocation(), actor.getLocalLocation(),
+                    actor.getAnimation(), actor.getPoseAnimation(), actor.getIdlePoseAnimation(),
+                    interacting, interacting != null && interacting == local,
+                    actor.getHealthRatio(), actor.getHealthScale());
+        }
+
+        public boolean isMoving() {
+            return poseAnimation != idlePoseAnimation;
+        }
+
+        public boolean isAnimating() {
+            return animation != -1;
+        }
+
+        /**
+         * Distance to another local point in local units, like {@link LocalPoint#distanceTo}
+         */
+        public int distanceTo(LocalPoint other) {
+            return localLocation != null && other != null ? localLocation.distanceTo(other) : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * The state of a watched widget on the tick of the snapshot
+     */
+    @Value
+    public static class WidgetSnapshot {
+        int componentId;
+        /** Whether the widget was loaded */
+        boolean present;
+        /** Whether the widget or one of its parents was hidden, also true when the widget was not loaded */
+        boolean hidden;
+        String text;
+        int spriteId;
+        int itemId;
+        int itemQuantity;
+        Rectangle bounds;
+
+        private static WidgetSnapshot of(int componentId, Widget widget) {
+            if (widget == null) {
+                return new WidgetSnapshot(componentId, false, true, null, -1, -1, 0, null);
+            }
+            return new WidgetSnapshot(componentId, true, widget.isHidden(), widget.getText(), widget.getSpriteId(),
+                    widget.getItemId(), widget.getItemQuantity(), widget.getBounds());
+        }
+    }
+}
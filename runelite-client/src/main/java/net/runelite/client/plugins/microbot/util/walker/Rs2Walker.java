@@ -36,6 +36,7 @@ import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathQueryService;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
@@ -69,6 +70,7 @@ import javax.inject.Named;
 import java.awt.*;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
@@ -592,12 +594,8 @@ public class Rs2Walker {
      * @return total amount of tiles
      */
     public static int getTotalTiles(WorldPoint start, WorldPoint destination) {
-        if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {            
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-        }      
-        Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, destination);
-        pathfinder.run();        
-        List<WorldPoint> path = pathfinder.getPath();       
+        boolean useBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
+        List<WorldPoint> path = ShortestPathPlugin.getPathQueryService().findPath(start, destination, useBankItems).getPath();
         if (path.isEmpty() || path.get(path.size() - 1).getPlane() != destination.getPlane()) return Integer.MAX_VALUE;
         // Create a WorldArea centered on the worldPoint by calculating the south-west corner
         WorldPoint pathPoint_SW = new WorldPoint(
@@ -667,7 +665,6 @@ public class Rs2Walker {
     // takes an avg 200-300 ms
     // Used mainly for agility, might have to tweak this for other stuff
     public static boolean canReach(WorldPoint worldPoint, int sizeX, int sizeY, int pathSizeX, int pathSizeY,boolean useBankedItems) {
-        boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
         WorldArea pathArea = null;
         
         // Create centered WorldArea for the object instead of corner-based
@@ -678,17 +675,12 @@ public class Rs2Walker {
         );
         WorldArea objectArea = new WorldArea(objectSouthWest, sizeX + 2, sizeY + 2);
         
-        try {                            
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankedItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh(worldPoint);
-            if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-                ShortestPathPlugin.getPathfinderConfig().refresh(worldPoint);
-            }
-            Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
-            pathfinder.run();            
+        try {
+            // The query service refreshes its own config, so the plugin config is left as it is
+            List<WorldPoint> path = ShortestPathPlugin.getPathQueryService().findPath(Rs2Player.getWorldLocation(), worldPoint, useBankedItems).getPath();
             
             // Create centered WorldArea for the path endpoint instead of corner-based
-            WorldPoint pathEndpoint = pathfinder.getPath().get(pathfinder.getPath().size() - 1);
+            WorldPoint pathEndpoint = path.get(path.size() - 1);
             WorldPoint pathSouthWest = new WorldPoint(
                 pathEndpoint.getX() - pathSizeX / 2, 
                 pathEndpoint.getY() - pathSizeY / 2, 
@@ -698,9 +690,6 @@ public class Rs2Walker {
         } catch (Exception e) {
             log.trace("Exception in canReach: {} - ", e.getMessage(), e);
             return false;
-        } finally {
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh(worldPoint);
         }
         return pathArea != null ? pathArea.intersectsWith2D(objectArea) : false;
     }
@@ -1265,7 +1254,12 @@ public class Rs2Walker {
      */
     public static void recalculatePath() {
 		WorldPoint _currentTarget = currentTarget;
-        Rs2Walker.setTarget(null);
+        if (_currentTarget == null) {
+            Rs2Walker.setTarget(null);
+            return;
+        }
+        // Keep the current pathfinder so that an incremental search can be repaired rather than started over
+        ShortestPathPlugin.setStartPointSet(false);
         Rs2Walker.setTarget(_currentTarget);
     }
 
@@ -1357,7 +1351,9 @@ public class Rs2Walker {
             }
             ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(false);
         } else {
-            ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
+            ShortestPathPlugin.setPathfinder(pathfinder != null
+                    ? pathfinder.replan(ShortestPathPlugin.getPathfinderConfig(), start, ends)
+                    : new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
             ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(ShortestPathPlugin.getPathfinder()));
         }
         return true;
@@ -2647,47 +2643,29 @@ public class Rs2Walker {
             return -1;
         }
         
-        // Convert list to set for pathfinder
-        Set<WorldPoint> targetSet = new HashSet<>(targets);
+        // One search that stops at the closest target, with its own config for the bank item setting
+        List<WorldPoint> path = ShortestPathPlugin.getPathQueryService().findNearestPath(startPoint, targets, useBankItems).getPath();
+        if (path.isEmpty()) {
+            log.debug("Unable to find path to any target from starting point: " + startPoint);
+            return -1;
+        }
         
-        // Store original configuration to restore later
-        boolean originalUseBankItems =  ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
-        try {            
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankItems);
-            // Configure pathfinder            
-            ShortestPathPlugin.getPathfinderConfig().refresh();                                              
-            // Run pathfinder
-            Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startPoint, targetSet);
-            pf.run();
-            
-            List<WorldPoint> path = pf.getPath();
-            if (path.isEmpty()) {
-                log.debug("Unable to find path to any target from starting point: " + startPoint);
-                return -1;
-            }
-            
-            // Find which target corresponds to the end of the path
-            WorldPoint nearestTile = path.get(path.size() - 1);
-            WorldArea nearestTileArea = new WorldArea(nearestTile, tolerance, tolerance);
-            
-            // Find the target that matches the final path destination
-            for (int i = 0; i < targets.size(); i++) {
-                WorldPoint target = targets.get(i);
-                WorldArea targetArea = new WorldArea(target, tolerance, tolerance);
-                if (targetArea.intersectsWith2D(nearestTileArea)) {
-                    log.debug("Found nearest accessible target at index " + i + ": " + target + " (path ended at: " + nearestTile + ")");
-                    return i;
-                }
+        // Find which target corresponds to the end of the path
+        WorldPoint nearestTile = path.get(path.size() - 1);
+        WorldArea nearestTileArea = new WorldArea(nearestTile, tolerance, tolerance);
+        
+        // Find the target that matches the final path destination
+        for (int i = 0; i < targets.size(); i++) {
+            WorldPoint target = targets.get(i);
+            WorldArea targetArea = new WorldArea(target, tolerance, tolerance);
+            if (targetArea.intersectsWith2D(nearestTileArea)) {
+                log.debug("Found nearest accessible target at index " + i + ": " + target + " (path ended at: " + nearestTile + ")");
+                return i;
             }
-            
-            log.debug("Path found but no target matched the destination: " + nearestTile);
-            return -1;
-            
-        } finally {
-            // Always restore original configuration
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
         }
+        
+        log.debug("Path found but no target matched the destination: " + nearestTile);
+        return -1;
     }
     
     /**
@@ -3083,7 +3061,11 @@ public class Rs2Walker {
             // Get direct path distance with timing
             performanceLog.append("\tStart Point: ").append(startPoint).append(", Target: ").append(target).append("\n");            
             long directPathStartTime = System.nanoTime();
-            List<WorldPoint> directPath = getWalkPath(startPoint, target);
+            // Both routes to the target are searched at the same time by the query service
+            PathQueryService pathQueries = ShortestPathPlugin.getPathQueryService();
+            CompletableFuture<PathQueryService.Result> directQuery = pathQueries.query(startPoint, target, false);
+            CompletableFuture<PathQueryService.Result> bankedItemsQuery = pathQueries.query(startPoint, target, true);
+            List<WorldPoint> directPath = new ArrayList<>(directQuery.join().getPath());
             long directPathEndTime = System.nanoTime();
             double directPathTimeMs = (directPathEndTime - directPathStartTime) / 1_000_000.0;
             
@@ -3102,30 +3084,20 @@ public class Rs2Walker {
             
              
                 
-                boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
-                try {                            
-                    ShortestPathPlugin.getPathfinderConfig().setUseBankItems(true);
-                    ShortestPathPlugin.getPathfinderConfig().refresh(target);
-                    
-                    performanceLog.append("\t-Bank items available: ").append(Rs2Bank.bankItems().size()).append("\n");
-                    
-                    long pathWithBankedItemsStartTime = System.nanoTime();
-                    pathWithBankedItemsToTarget = getWalkPath(startPoint, target);
-                    long pathWithBankedItemsEndTime = System.nanoTime();
-                    double pathWithBankedItemsTimeMs = (pathWithBankedItemsEndTime - pathWithBankedItemsStartTime) / 1_000_000.0;
-                    
-                    int distanceWithBankedItemsToTarget = getTotalTilesFromPath(pathWithBankedItemsToTarget, target);
-                    bankingRouteDistance = distanceWithBankedItemsToTarget;
-                    
-                    performanceLog.append("\t-Path from start to target with banked items: ").append(String.format("%.2f ms", pathWithBankedItemsTimeMs))
-                            .append(" (").append(pathWithBankedItemsToTarget.size()).append(" waypoints, ").append(distanceWithBankedItemsToTarget).append(" tiles)\n");
-                    performanceLog.append("\t-Total banking route distance: ").append(bankingRouteDistance).append(" tiles\n");
-
-                } finally {
-                    // Always restore original configuration
-                    ShortestPathPlugin.getPathfinderConfig().setUseBankItems(false);
-                    ShortestPathPlugin.getPathfinderConfig().refresh();                        
-                }
+                performanceLog.append("\t-Bank items available: ").append(Rs2Bank.bankItems().size()).append("\n");
+                
+                long pathWithBankedItemsStartTime = System.nanoTime();
+                pathWithBankedItemsToTarget = new ArrayList<>(bankedItemsQuery.join().getPath());
+                long pathWithBankedItemsEndTime = System.nanoTime();
+                double pathWithBankedItemsTimeMs = (pathWithBankedItemsEndTime - pathWithBankedItemsStartTime) / 1_000_000.0;
+                
+                int distanceWithBankedItemsToTarget = getTotalTilesFromPath(pathWithBankedItemsToTarget, target);
+                bankingRouteDistance = distanceWithBankedItemsToTarget;
+                
+                performanceLog.append("\t-Path from start to target with banked items: ").append(String.format("%.2f ms", pathWithBankedItemsTimeMs))
+                        .append(" (").append(pathWithBankedItemsToTarget.size()).append(" waypoints, ").append(distanceWithBankedItemsToTarget).append(" tiles)\n");
+                performanceLog.append("\t-Total banking route distance: ").append(bankingRouteDistance).append(" tiles\n");
+
                 if (bankingRouteDistance<directDistance){
                     long bankSearchStartTime = System.nanoTime();
                     nearestBank = Rs2Bank.getNearestBank(startPoint);
@@ -3138,7 +3110,7 @@ public class Rs2Walker {
                     
                         // Calculate distance from start point to bank
                         long pathToBankStartTime = System.nanoTime();
-                        pathToBank = getWalkPath(startPoint, bankLocation);
+                        pathToBank = new ArrayList<>(pathQueries.findPath(startPoint, bankLocation, false).getPath());
                         long pathToBankEndTime = System.nanoTime();
                         double pathToBankTimeMs = (pathToBankEndTime - pathToBankStartTime) / 1_000_000.0;
                         
@@ -8,6 +8,7 @@ import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -77,7 +78,24 @@ public class Rs2Widget {
         return clickWidget(widget);
     }
 
+    /**
+     * The widget in the snapshot of the last tick, or null to read it from the client. A widget that is not in the
+     * snapshot is watched from then on, so a script polling it only waits on the client thread the first time.
+     */
+    private static WorldSnapshot.WidgetSnapshot snapshotWidget(int componentId) {
+        if (Microbot.getClient().isClientThread()) {
+            return null;
+        }
+        WorldSnapshot.WidgetSnapshot snapshot = WorldSnapshot.current().getWidget(componentId);
+        if (snapshot == null) {
+            WorldSnapshot.watchWidget(componentId);
+        }
+        return snapshot;
+    }
+
     public static boolean isWidgetVisible(@Component int id) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(id);
+        if (snapshot != null) return !snapshot.isHidden();
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
             Widget widget = getWidget(id);
             if (widget == null) return false;
@@ -86,6 +104,8 @@ public class Rs2Widget {
     }
 
     public static boolean isWidgetVisible(int widgetId, int childId) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(widgetId << 16 | childId);
+        if (snapshot != null) return !snapshot.isHidden();
        return  Microbot.getClientThread().runOnClientThreadOptional(() -> {
             Widget widget = getWidget(widgetId, childId);
             if (widget == null) return false;
@@ -98,6 +118,8 @@ public class Rs2Widget {
     }
 
     public static boolean isHidden(int parentId, int childId) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(parentId << 16 | childId);
+        if (snapshot != null) return snapshot.isHidden();
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
             Widget widget = Microbot.getClient().getWidget(parentId, childId);
             if (widget == null) return true;
@@ -106,6 +128,8 @@ public class Rs2Widget {
     }
 
     public static boolean isHidden(@Component int id) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(id);
+        if (snapshot != null) return snapshot.isHidden();
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
             Widget widget = Microbot.getClient().getWidget(id);
             if (widget == null) return true;
@@ -119,11 +143,15 @@ public class Rs2Widget {
     }
 
     public static int getChildWidgetSpriteID(int id, int childId) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(id << 16 | childId);
+        if (snapshot != null) return snapshot.isPresent() ? snapshot.getSpriteId() : 0;
         return Microbot.getClientThread().runOnClientThreadOptional(() -> Microbot.getClient().getWidget(id, childId).getSpriteId())
                 .orElse(0);
     }
 
     public static String getChildWidgetText(int id, int childId) {
+        WorldSnapshot.WidgetSnapshot snapshot = snapshotWidget(id << 16 | childId);
+        if (snapshot != null) return snapshot.isPresent() ? snapshot.getText() : "";
         Widget widget = getWidget(id, childId);
         if (widget != null) {
             return widget.getText();
@@ -194,27 +222,16 @@ public class Rs2Widget {
      */
     public static Widget findWidget(String text, List<Widget> children, boolean exact) {
         return Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            Widget foundWidget = null;
             if (children == null) {
                 // Search through root widgets if no specific children are provided
-                List<Widget> rootWidgets = Arrays.stream(Microbot.getClient().getWidgetRoots())
-                        .filter(x -> x != null && !x.isHidden()).collect(Collectors.toList());
-                for (Widget rootWidget : rootWidgets) {
-                    if (rootWidget == null) continue;
-                    if (matchesText(rootWidget, text, exact)) {
-                        return rootWidget;
-                    }
-                    foundWidget = searchChildren(text, rootWidget, exact);
-                    if (foundWidget != null) return foundWidget;
-                }
-            } else {
-                // Search within provided child widgets
-                for (Widget child : children) {
-                    foundWidget = searchChildren(text, child, exact);
-                    if (foundWidget != null) break;
-                }
+                return WidgetIndex.find(Microbot.getClient(), text, exact);
             }
-            return foundWidget;
+            // Search within provided child widgets
+            for (Widget child : children) {
+                Widget foundWidget = searchChildren(text, child, exact);
+                if (foundWidget != null) return foundWidget;
+            }
+            return null;
         }).orElse(null);
     }
 
@@ -227,53 +244,21 @@ public class Rs2Widget {
      * @return The widget containing the specified text, or null if no match is found.
      */
     public static Widget searchChildren(String text, Widget child, boolean exact) {
-        if (matchesText(child, text, exact)) return child;
-
-        List<Widget[]> childGroups = Stream.of(child.getChildren(), child.getNestedChildren(), child.getDynamicChildren(), child.getStaticChildren())
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        for (Widget[] childGroup : childGroups) {
-            if (childGroup != null) {
-                for (Widget nestedChild : Arrays.stream(childGroup).filter(w -> w != null && !w.isHidden()).collect(Collectors.toList())) {
-                    Widget found = searchChildren(text, nestedChild, exact);
-                    if (found != null) return found;
-                }
-            }
-        }
-        return null;
+        return searchChildren(child, text.toLowerCase(), exact);
     }
 
-    /**
-     * Checks if the text or any action in the widget matches the search criteria.
-     *
-     * @param widget The widget to check for the specified text or action.
-     * @param text   The text to match within the widget’s content.
-     * @param exact  Whether the match should be exact or allow partial matches.
-     * @return True if the widget's text or any action matches the search criteria, false otherwise.
-     */
-    private static boolean matchesText(Widget widget, String text, boolean exact) {
-        String cleanText = Rs2UiHelper.stripColTags(widget.getText());
-        String cleanName = Rs2UiHelper.stripColTags(widget.getName());
-
-        if (exact) {
-            if (cleanText.equalsIgnoreCase(text) || cleanName.equalsIgnoreCase(text)) return true;
-        } else {
-            if (cleanText.toLowerCase().contains(text.toLowerCase()) || cleanName.toLowerCase().contains(text.toLowerCase()))
-                return true;
-        }
+    private static Widget searchChildren(Widget child, String lowerCaseText, boolean exact) {
+        if (WidgetIndex.matches(child, lowerCaseText, exact)) return child;
 
-        if (widget.getActions() != null) {
-            for (String action : widget.getActions()) {
-                if (action != null) {
-                    String cleanAction = Rs2UiHelper.stripColTags(action);
-                    if (exact ? cleanAction.equalsIgnoreCase(text) : cleanAction.toLowerCase().contains(text.toLowerCase())) {
-                        return true;
-                    }
-                }
+        for (Widget[] childGroup : new Widget[][]{child.getChildren(), child.getNestedChildren(), child.getDynamicChildren(), child.getStaticChildren()}) {
+            if (childGroup == null) continue;
+            for (Widget nestedChild : childGroup) {
+                if (nestedChild == null || nestedChild.isHidden()) continue;
+                Widget found = searchChildren(nestedChild, lowerCaseText, exact);
+                if (found != null) return found;
             }
         }
-        return false;
+        return null;
     }
 
     /**
@@ -0,0 +1,403 @@
+package net.runelite.client.plugins.microbot.util.widget;
+
+import net.runelite.api.Client;
+import net.runelite.api.ScriptID;
+import net.runelite.api.WidgetNode;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetUtil;
+import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the text, names and actions of the visible widgets, used by {@link Rs2Widget#findWidget(String)} instead of
+ * walking the widget tree for every search.
+ * <p>
+ * The index is kept per interface, so that an interface opening or closing, or a script rebuilding its contents,
+ * only re-walks the widgets of that interface and the one it is mounted in. Text and visibility the server changes
+ * without such an event are picked up by checking the widget a search finds, and by re-walking the whole tree when a
+ * search finds nothing, at most once per game tick. Widgets are listed in the order the recursive search visits them,
+ * so a search returns the same widget it returned before. The text of every widget is stripped of tags and lower
+ * cased once and reused until the widget's text changes.
+ * <p>
+ * Searches and the change notifications must be made on the client thread; {@link #matches} may be called from any
+ * thread.
+ */
+public final class WidgetIndex {
+    /** Cached text is dropped past this many widgets, so that closed interfaces do not pile up */
+    private static final int MAX_NORMALIZED = 20_000;
+
+    /** Scripts that rebuild the contents of an open interface, by the interface they rebuild */
+    private static final Map<Integer, Integer> REBUILD_SCRIPTS = Map.ofEntries(
+            Map.entry(ScriptID.BANKMAIN_BUILD, InterfaceID.BANKMAIN),
+            Map.entry(ScriptID.BANKMAIN_FINISHBUILDING, InterfaceID.BANKMAIN),
+            Map.entry(ScriptID.POTIONSTORE_BUILD, InterfaceID.BANKMAIN),
+            Map.entry(ScriptID.BANK_DEPOSITBOX_INIT, InterfaceID.BANK_DEPOSITBOX),
+            Map.entry(ScriptID.GROUP_IRONMAN_STORAGE_BUILD, InterfaceID.SHARED_BANK),
+            Map.entry(ScriptID.SEED_VAULT_BUILD, InterfaceID.SEED_VAULT),
+            Map.entry(ScriptID.BUILD_CHATBOX, InterfaceID.CHATBOX),
+            Map.entry(ScriptID.CHAT_PROMPT_INIT, InterfaceID.CHATBOX),
+            Map.entry(ScriptID.CHAT_TEXT_INPUT_REBUILD, InterfaceID.CHATBOX),
+            Map.entry(ScriptID.GE_OFFERS_SETUP_BUILD, InterfaceID.GE_OFFERS),
+            Map.entry(ScriptID.QUESTLIST_INIT, InterfaceID.QUESTLIST),
+            Map.entry(ScriptID.MAGIC_SPELLBOOK_INITIALISESPELLS, InterfaceID.MAGIC_SPELLBOOK),
+            Map.entry(ScriptID.PRAYER_REDRAW, InterfaceID.PRAYERBOOK),
+            Map.entry(ScriptID.TRADE_MAIN_INIT, InterfaceID.TRADEMAIN),
+            Map.entry(ScriptID.FRIENDS_UPDATE, InterfaceID.FRIENDS),
+            Map.entry(ScriptID.IGNORE_UPDATE, InterfaceID.IGNORE),
+            Map.entry(ScriptID.FRIENDS_CHAT_CHANNEL_REBUILD, InterfaceID.CHATCHANNEL_CURRENT)
+    );
+
+    private static final Map<Long, Normalized> normalized = new ConcurrentHashMap<>();
+    private static final Map<Integer, Group> groups = new HashMap<>();
+    private static final Set<Integer> dirtyGroups = new HashSet<>();
+    private static final List<Entry> entries = new ArrayList<>();
+    private static final Map<String, Widget> exactMatches = new HashMap<>();
+    private static final Map<String, Optional<Widget>> partialMatches = new HashMap<>();
+
+    private static boolean allDirty = true;
+    private static int rootGroup = -1;
+    private static int tick;
+    private static int fullyWalkedTick = -1;
+
+    private WidgetIndex() {
+    }
+
+    /**
+     * Re-walks the interface and the interface it is mounted in before the next search, after it was opened
+     */
+    public static void groupLoaded(Client client, int groupId) {
+        dirtyGroups.add(groupId);
+        final int parent = mountParent(client, groupId);
+        if (parent == -1) {
+            allDirty = true;
+        } else {
+            dirtyGroups.add(parent);
+        }
+    }
+
+    /**
+     * Drops the interface from the index and re-walks the interface it was mounted in before the next search
+     */
+    public static void groupClosed(int groupId) {
+        final Group group = groups.remove(groupId);
+        if (group == null) {
+            return;
+        }
+        if (group.parent == -1) {
+            allDirty = true;
+        } else {
+            dirtyGroups.add(group.parent);
+        }
+    }
+
+    /**
+     * Re-walks the interface a script rebuilds before the next search, other scripts are ignored
+     */
+    public static void scriptFired(int scriptId) {
+        if (scriptId == ScriptID.TOPLEVEL_REDRAW) {
+            allDirty = true;
+            return;
+        }
+        final Integer groupId = REBUILD_SCRIPTS.get(scriptId);
+        if (groupId != null && groups.containsKey(groupId)) {
+            dirtyGroups.add(groupId);
+        }
+    }
+
+    /**
+     * Allows a search that finds nothing to re-walk the whole tree again, for text the server changed this tick
+     */
+    public static void tick() {
+        tick++;
+    }
+
+    /**
+     * Drops the index and the cached text, after a logout or world hop
+     */
+    public static void clear() {
+        allDirty = true;
+        normalized.clear();
+        groups.clear();
+        dirtyGroups.clear();
+        entries.clear();
+        exactMatches.clear();
+        partialMatches.clear();
+    }
+
+    /**
+     * Finds the first visible widget whose text, name or action matches, in the order of
+     * {@link Rs2Widget#searchChildren(String, Widget, boolean)} over the widget roots
+     *
+     * @param text  The text to search for, ignoring case and tags.
+     * @param exact Whether the whole text must match, or only a part of it.
+     * @return The matching widget, or null when there is none.
+     */
+    public static Widget find(Client client, String text, boolean exact) {
+        if (text == null) {
+            return null;
+        }
+        final String key = text.toLowerCase();
+        Widget widget = lookup(client, key, exact);
+        if (widget != null && (widget.isHidden() || !matches(widget, key, exact))) {
+            // Changed without an event we listen to, re-walk the interface it belongs to
+            dirtyGroups.add(WidgetUtil.componentToInterface(widget.getId()));
+            widget = lookup(client, key, exact);
+        }
+        if (widget == null && fullyWalkedTick != tick) {
+            allDirty = true;
+            widget = lookup(client, key, exact);
+        }
+        return widget;
+    }
+
+    /**
+     * Whether the text, name or one of the actions of the widget matches the lower cased text
+     */
+    static boolean matches(Widget widget, String lowerCaseText, boolean exact) {
+        return normalize(widget).matches(lowerCaseText, exact);
+    }
+
+    private static Widget lookup(Client client, String key, boolean exact) {
+        if (allDirty || !dirtyGroups.isEmpty()) {
+            rebuild(client);
+        }
+        if (exact) {
+            return exactMatches.get(key);
+        }
+        Optional<Widget> match = partialMatches.get(key);
+        if (match == null) {
+            match = Optional.ofNullable(scan(key));
+            partialMatches.put(key, match);
+        }
+        return match.orElse(null);
+    }
+
+    private static Widget scan(String key) {
+        for (Entry entry : entries) {
+            if (entry.text.matches(key, false)) {
+                return entry.widget;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-walks the dirty interfaces, or all of them, and lists the widgets of the interfaces that are still mounted
+     */
+    private static void rebuild(Client client) {
+        if (normalized.size() > MAX_NORMALIZED) {
+            normalized.clear();
+        }
+
+        final int topLevel = client.getTopLevelInterfaceId();
+        if (allDirty || topLevel != rootGroup) {
+            groups.clear();
+            rootGroup = topLevel;
+            fullyWalkedTick = tick;
+        }
+        allDirty = false;
+
+        final Set<Integer> walked = new HashSet<>();
+        Group root = groups.get(rootGroup);
+        if (root == null || dirtyGroups.contains(rootGroup)) {
+            root = new Group(rootGroup, -1, null);
+            walk(root, client.getWidgetRoots(), walked);
+        }
+        for (Integer groupId : dirtyGroups) {
+            final Group group = groups.get(groupId);
+            // Groups in a dirty parent are walked with it, from the widget they are mounted in now
+            if (group != null && group.mount != null && !walked.contains(groupId) && !dirtyGroups.contains(group.parent)) {
+                walk(group, group.mount.getNestedChildren(), walked);
+            }
+        }
+        dirtyGroups.clear();
+
+        entries.clear();
+        exactMatches.clear();
+        partialMatches.clear();
+        final Set<Integer> mounted = new HashSet<>();
+        flatten(root, mounted);
+        groups.keySet().retainAll(mounted);
+    }
+
+    private static void walk(Group group, Widget[] start, Set<Integer> walked) {
+        walked.add(group.id);
+        groups.put(group.id, group);
+        group.items.clear();
+        final Set<Widget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        addAll(group, start, visited, walked);
+    }
+
+    private static void add(Group group, Widget widget, Set<Widget> visited, Set<Integer> walked) {
+        if (!visited.add(widget)) {
+            return;
+        }
+        group.items.add(new Entry(widget, normalize(widget)));
+
+        addAll(group, widget.getChildren(), visited, walked);
+        mount(group, widget, walked);
+        addAll(group, widget.getDynamicChildren(), visited, walked);
+        addAll(group, widget.getStaticChildren(), visited, walked);
+    }
+
+    private static void addAll(Group group, Widget[] children, Set<Widget> visited, Set<Integer> walked) {
+        if (children == null) {
+            return;
+        }
+        for (Widget child : children) {
+            if (child != null && !child.isHidden()) {
+                add(group, child, visited, walked);
+            }
+        }
+    }
+
+    /**
+     * Lists the interface mounted in the widget by its id, walking it unless its entries are still up to date
+     */
+    private static void mount(Group parent, Widget widget, Set<Integer> walked) {
+        final Widget[] nested = widget.getNestedChildren();
+        if (nested == null) {
+            return;
+        }
+        for (Widget child : nested) {
+            if (child == null) {
+                continue;
+            }
+            final int groupId = WidgetUtil.componentToInterface(child.getId());
+            parent.items.add(groupId);
+            Group group = groups.get(groupId);
+            if (group == null || (dirtyGroups.contains(groupId) && !walked.contains(groupId))) {
+                walk(new Group(groupId, parent.id, widget), nested, walked);
+            } else {
+                group.mount = widget;
+            }
+            return;
+        }
+    }
+
+    private static void flatten(Group group, Set<Integer> mounted) {
+        if (group == null || !mounted.add(group.id)) {
+            return;
+        }
+        for (Object item : group.items) {
+            if (item instanceof Entry) {
+                final Entry entry = (Entry) item;
+                entries.add(entry);
+                exactMatches.putIfAbsent(entry.text.text, entry.widget);
+                exactMatches.putIfAbsent(entry.text.name, entry.widget);
+                for (String action : entry.text.actions) {
+                    exactMatches.putIfAbsent(action, entry.widget);
+                }
+            } else {
+                flatten(groups.get((Integer) item), mounted);
+            }
+        }
+    }
+
+    /**
+     * The interface a group is mounted in, or -1 if it is the top level interface or not mounted
+     */
+    private static int mountParent(Client client, int groupId) {
+        final Group group = groups.get(groupId);
+        if (group != null) {
+            return group.parent;
+        }
+        for (WidgetNode node : client.getComponentTable()) {
+            if (node.getId() == groupId) {
+                return WidgetUtil.componentToInterface((int) node.getHash());
+            }
+        }
+        return -1;
+    }
+
+    private static Normalized normalize(Widget widget) {
+        final long key = ((long) widget.getId() << 32) | (widget.getIndex() & 0xFFFFFFFFL);
+        final String text = widget.getText();
+        final String name = widget.getName();
+        final String[] actions = widget.getActions();
+
+        Normalized cached = normalized.get(key);
+        if (cached == null || cached.rawText != text || cached.rawName != name || cached.rawActions != actions) {
+            cached = new Normalized(text, name, actions);
+            normalized.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static String normalize(String text) {
+        return Rs2UiHelper.stripColTags(text).toLowerCase();
+    }
+
+    /**
+     * The widgets of one interface and the interfaces mounted in it, by their id, in search order
+     */
+    private static final class Group {
+        private final int id;
+        private final int parent;
+        private final List<Object> items = new ArrayList<>();
+        /** The widget the interface is mounted in, null for the top level interface */
+        private Widget mount;
+
+        private Group(int id, int parent, Widget mount) {
+            this.id = id;
+            this.parent = parent;
+            this.mount = mount;
+        }
+    }
+
+    private static final class Entry {
+        private final Widget widget;
+        private final Normalized text;
+
+        private Entry(Widget widget, Normalized text) {
+            this.widget = widget;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The text, name and actions of a widget without tags and in lower case, with the strings they were made from
+     */
+    private static final class Normalized {
+        private final String rawText;
+        private final String rawName;
+        private final String[] rawActions;
+        private final String text;
+        private final String name;
+        private final String[] actions;
+
+        private Normalized(String rawText, String rawName, String[] rawActions) {
+            this.rawText = rawText;
+            this.rawName = rawName;
+            this.rawActions = rawActions;
+            this.text = normalize(rawText);
+            this.name = normalize(rawName);
+            if (rawActions == null) {
+                this.actions = new String[0];
+            } else {
+                List<String> actions = new ArrayList<>(rawActions.length);
+                for (String action : rawActions) {
+                    if (action != null) {
+                        actions.add(normalize(action));
+                    }
+                }
+                this.actions = actions.toArray(new String[0]);
+            }
+        }
+
+        private boolean matches(String key, boolean exact) {
+            if (exact ? text.equals(key) || name.equals(key) : text.contains(key) || name.contains(key)) {
+                return true;
+            }
+            for (String action : actions) {
+                if (exact ? action.equals(key) : action.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
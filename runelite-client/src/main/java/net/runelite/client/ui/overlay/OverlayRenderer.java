@@ -38,12 +38,18 @@ import java.awt.RenderingHints;
 import java.awt.Stroke;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
@@ -68,6 +74,7 @@ import net.runelite.client.input.MouseManager;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.JagexColors;
 import net.runelite.client.util.ColorUtil;
+import net.runelite.client.util.HandlerStats;
 import net.runelite.client.util.HotkeyListener;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
@@ -117,6 +124,15 @@ public class OverlayRenderer extends MouseAdapter
 	private OverlayBounds emptySnapCorners, snapCorners;
 	private boolean dragWarn;
 
+	// Overlay profiling, keyed by class name so removed overlays are not kept alive
+	private final Map<String, HandlerStats> overlayStats = new ConcurrentHashMap<>();
+	/**
+	 * Whether the render calls of the overlays are profiled, see {@link #getOverlayStats()}
+	 */
+	@Getter
+	@Setter
+	private volatile boolean timingEnabled;
+
 	@Inject
 	private OverlayRenderer(
 		final Client client,
@@ -728,6 +744,9 @@ public class OverlayRenderer extends MouseAdapter
 		graphics.translate(point.x, point.y);
 		overlay.getBounds().setLocation(point);
 
+		final HandlerStats.Sample sample = timingEnabled
+			? overlayStats.computeIfAbsent(overlay.getClass().getName(), name -> new HandlerStats(name + ".render", "Overlay")).begin()
+			: null;
 		final Dimension overlayDimension;
 		try
 		{
@@ -738,11 +757,37 @@ public class OverlayRenderer extends MouseAdapter
 			log.warn(DEDUPLICATE, "Error during overlay rendering", ex);
 			return;
 		}
+		finally
+		{
+			if (sample != null)
+			{
+				sample.end();
+			}
+		}
 
 		final Dimension dimension = MoreObjects.firstNonNull(overlayDimension, new Dimension());
 		overlay.getBounds().setSize(dimension);
 	}
 
+	/**
+	 * The profile of every overlay which was rendered while timing was enabled, with the most total time first
+	 */
+	public List<HandlerStats.Snapshot> getOverlayStats()
+	{
+		final List<HandlerStats.Snapshot> stats = new ArrayList<>(overlayStats.size());
+		for (HandlerStats overlay : overlayStats.values())
+		{
+			stats.add(overlay.snapshot());
+		}
+		stats.sort(Comparator.comparingLong(HandlerStats.Snapshot::getEstimatedTotalNanos).reversed());
+		return stats;
+	}
+
+	public void resetOverlayStats()
+	{
+		overlayStats.clear();
+	}
+
 	private OverlayPosition getCorrectedOverlayPosition(final Overlay overlay)
 	{
 		OverlayPosition overlayPosition = overlay.getPosition();
@@ -0,0 +1,54 @@
+package net.runelite.client.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JFR event committed for every {@link HandlerStats} sample while a recording is running. Only loaded when the
+ * runtime has the jdk.jfr module, so the callers pass it around as an {@link Object}.
+ */
+@Name("net.runelite.Handler")
+@Label("Handler")
+@Category({"RuneLite", "Profiler"})
+class HandlerEvent extends Event
+{
+	@Label("Handler")
+	String handler;
+
+	@Label("Kind")
+	String kind;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocated;
+
+	/**
+	 * Starts an event, or returns null if no recording is interested in it
+	 */
+	static Object start()
+	{
+		final HandlerEvent event = new HandlerEvent();
+		if (!event.isEnabled())
+		{
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void finish(Object started, String handler, String kind, long allocated)
+	{
+		final HandlerEvent event = (HandlerEvent) started;
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.handler = handler;
+			event.kind = kind;
+			event.allocated = allocated;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,274 @@
+package net.runelite.client.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Invocation count, latency percentiles and allocation of one handler, like an event subscriber or an overlay.
+ * <p>
+ * Every invocation is counted, but only one in {@link #getSampleInterval()} is timed, so the profiler can stay
+ * enabled during normal play. Sampled latencies go into a log-scaled histogram with four buckets per power of two,
+ * which puts the reported percentiles within 25% of the real value. While a JFR recording is running, every sample
+ * is also committed as a {@code net.runelite.Handler} event.
+ */
+public class HandlerStats
+{
+	public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = 64 << SUB_BUCKET_BITS;
+
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+	private static final boolean ALLOCATION_SUPPORTED = allocationSupported();
+	private static final boolean JFR_AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+	@Getter
+	private static volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+	@Getter
+	private final String name;
+	@Getter
+	private final String kind;
+	private final AtomicLong count = new AtomicLong();
+	private final LongAdder samples = new LongAdder();
+	private final LongAdder sampledNanos = new LongAdder();
+	private final LongAdder sampledBytes = new LongAdder();
+	private volatile long maxNanos;
+	// only allocated once the handler is sampled, most handlers are never called while profiling
+	private volatile AtomicLongArray buckets;
+
+	public HandlerStats(String name, String kind)
+	{
+		this.name = name;
+		this.kind = kind;
+	}
+
+	/**
+	 * Sets how many invocations are counted for every one that is timed, 1 to time every invocation
+	 */
+	public static void setSampleInterval(int interval)
+	{
+		sampleInterval = Math.max(1, interval);
+	}
+
+	/**
+	 * Counts an invocation which is about to start
+	 *
+	 * @return the sample to {@link Sample#end() end} once the invocation returns, or null if it is not sampled
+	 */
+	public Sample begin()
+	{
+		if (count.incrementAndGet() % sampleInterval != 0)
+		{
+			return null;
+		}
+		return new Sample(this);
+	}
+
+	public void reset()
+	{
+		count.set(0);
+		samples.reset();
+		sampledNanos.reset();
+		sampledBytes.reset();
+		maxNanos = 0;
+		buckets = null;
+	}
+
+	public Snapshot snapshot()
+	{
+		final long sampleCount = samples.sum();
+		final AtomicLongArray histogram = buckets;
+		// the percentiles are the upper bounds of their buckets, which can be above the slowest sample
+		final long max = maxNanos;
+		return new Snapshot(name, kind, count.get(), sampleCount,
+			Math.min(max, percentile(histogram, sampleCount, 0.50)),
+			Math.min(max, percentile(histogram, sampleCount, 0.99)),
+			max,
+			sampleCount == 0 ? 0 : sampledNanos.sum() / sampleCount,
+			!ALLOCATION_SUPPORTED ? -1 : sampleCount == 0 ? 0 : sampledBytes.sum() / sampleCount);
+	}
+
+	private void record(long nanos, long bytes)
+	{
+		AtomicLongArray histogram = buckets;
+		if (histogram == null)
+		{
+			histogram = createBuckets();
+		}
+		histogram.incrementAndGet(bucket(nanos));
+		samples.increment();
+		sampledNanos.add(nanos);
+		if (bytes > 0)
+		{
+			sampledBytes.add(bytes);
+		}
+		if (nanos > maxNanos)
+		{
+			maxNanos = nanos;
+		}
+	}
+
+	private synchronized AtomicLongArray createBuckets()
+	{
+		if (buckets == null)
+		{
+			buckets = new AtomicLongArray(BUCKETS);
+		}
+		return buckets;
+	}
+
+	static int bucket(long nanos)
+	{
+		if (nanos < SUB_BUCKETS)
+		{
+			return (int) Math.max(0, nanos);
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+	}
+
+	/**
+	 * The highest value which falls into the bucket
+	 */
+	static long bucketUpperBound(int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+		final int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+		final long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+		return lower + (1L << shift) - 1;
+	}
+
+	private static long percentile(AtomicLongArray histogram, long sampleCount, double percentile)
+	{
+		if (histogram == null || sampleCount == 0)
+		{
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(sampleCount * percentile));
+		long seen = 0;
+		for (int i = 0; i < histogram.length(); i++)
+		{
+			seen += histogram.get(i);
+			if (seen >= rank)
+			{
+				return bucketUpperBound(i);
+			}
+		}
+		// samples recorded while the histogram was read
+		return bucketUpperBound(histogram.length() - 1);
+	}
+
+	private static boolean allocationSupported()
+	{
+		if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean))
+		{
+			return false;
+		}
+
+		final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+		try
+		{
+			return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+		}
+		catch (UnsupportedOperationException e)
+		{
+			return false;
+		}
+	}
+
+	private static long allocatedBytes()
+	{
+		return ALLOCATION_SUPPORTED
+			? ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId())
+			: 0;
+	}
+
+	/**
+	 * Writes the snapshots as CSV, with one row per handler
+	 */
+	public static void writeCsv(Writer writer, List<Snapshot> snapshots) throws IOException
+	{
+		writer.write("kind,handler,count,samples,p50_us,p99_us,max_us,mean_us,mean_alloc_bytes\n");
+		for (Snapshot snapshot : snapshots)
+		{
+			writer.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%d\n",
+				snapshot.getKind(), snapshot.getName(), snapshot.getCount(), snapshot.getSamples(),
+				snapshot.getP50Nanos() / 1000.0, snapshot.getP99Nanos() / 1000.0, snapshot.getMaxNanos() / 1000.0,
+				snapshot.getMeanNanos() / 1000.0, snapshot.getMeanAllocatedBytes()));
+		}
+	}
+
+	/**
+	 * One timed invocation
+	 */
+	public static final class Sample
+	{
+		private final HandlerStats stats;
+		private final Object jfrEvent;
+		private final long startBytes;
+		private final long startNanos;
+
+		private Sample(HandlerStats stats)
+		{
+			this.stats = stats;
+			this.jfrEvent = JFR_AVAILABLE ? HandlerEvent.start() : null;
+			this.startBytes = allocatedBytes();
+			this.startNanos = System.nanoTime();
+		}
+
+		public void end()
+		{
+			final long nanos = System.nanoTime() - startNanos;
+			final long bytes = allocatedBytes() - startBytes;
+			stats.record(nanos, bytes);
+			if (jfrEvent != null)
+			{
+				HandlerEvent.finish(jfrEvent, stats.name, stats.kind, bytes);
+			}
+		}
+	}
+
+	@Value
+	public static class Snapshot
+	{
+		String name;
+		/**
+		 * What the handler handles, like the simple name of the event class
+		 */
+		String kind;
+		long count;
+		long samples;
+		long p50Nanos;
+		long p99Nanos;
+		long maxNanos;
+		long meanNanos;
+		/**
+		 * Average bytes allocated by a sampled invocation, or -1 if the JVM can not measure it
+		 */
+		long meanAllocatedBytes;
+
+		/**
+		 * The total time spent in the handler, extrapolated from the samples
+		 */
+		public long getEstimatedTotalNanos()
+		{
+			return meanNanos * count;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Mockito.lenient;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	@Inject
+	private ClientThread clientThread;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	private boolean onClientThread;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+		lenient().when(client.isClientThread()).thenAnswer(invocation -> onClientThread);
+	}
+
+	private void runFrame()
+	{
+		onClientThread = true;
+		try
+		{
+			clientThread.invoke();
+		}
+		finally
+		{
+			onClientThread = false;
+		}
+	}
+
+	@Test
+	public void testBatch() throws Exception
+	{
+		AtomicInteger calls = new AtomicInteger();
+		List<Callable<Integer>> methods = Arrays.asList(calls::incrementAndGet, calls::incrementAndGet, () -> 42);
+		CompletableFuture<List<Integer>> batch = clientThread.invokeBatch(methods);
+
+		assertFalse(batch.isDone());
+		assertEquals(1, clientThread.getMetrics().getQueueDepth());
+
+		runFrame();
+
+		assertEquals(Arrays.asList(1, 2, 42), batch.get());
+		assertEquals(0, clientThread.getMetrics().getQueueDepth());
+		assertEquals(1, clientThread.getMetrics().getLastFrameTasks());
+	}
+
+	@Test
+	public void testBatchFailure() throws Exception
+	{
+		AtomicInteger calls = new AtomicInteger();
+		List<Callable<Integer>> methods = Arrays.asList(
+			() ->
+			{
+				throw new IllegalStateException();
+			},
+			calls::incrementAndGet);
+		CompletableFuture<List<Integer>> batch = clientThread.invokeBatch(methods);
+
+		runFrame();
+
+		assertEquals(1, calls.get());
+		try
+		{
+			batch.get();
+			fail();
+		}
+		catch (ExecutionException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void testFrameBudget()
+	{
+		clientThread.setFrameBudget(Duration.ofMillis(1));
+		AtomicInteger runs = new AtomicInteger();
+		for (int i = 0; i < 3; i++)
+		{
+			clientThread.invokeLater(() ->
+			{
+				runs.incrementAndGet();
+				long end = System.nanoTime() + Duration.ofMillis(2).toNanos();
+				while (System.nanoTime() < end)
+				{
+					Thread.onSpinWait();
+				}
+			});
+		}
+
+		runFrame();
+		assertEquals(1, runs.get());
+		assertEquals(2, clientThread.getMetrics().getQueueDepth());
+		assertEquals(1, clientThread.getMetrics().getDeferredFrames());
+
+		runFrame();
+		runFrame();
+		assertEquals(3, runs.get());
+		assertEquals(0, clientThread.getMetrics().getQueueDepth());
+	}
+
+	@Test
+	public void testCallerMetrics()
+	{
+		clientThread.invokeLater(() ->
+		{
+		});
+		runFrame();
+
+		List<ClientThreadMetrics.CallerStats> callers = clientThread.getMetrics().getCallers();
+		assertEquals(1, callers.size());
+		assertEquals(ClientThreadTest.class.getName(), callers.get(0).getCaller());
+		assertEquals(1, callers.get(0).getCount());
+	}
+}
@@ -0,0 +1,189 @@
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import net.runelite.client.util.HandlerStats;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	private static class TestEvent
+	{
+		private final int id;
+
+		TestEvent(int id)
+		{
+			this.id = id;
+		}
+	}
+
+	private static class Recorder
+	{
+		private final List<String> calls = new ArrayList<>();
+
+		@Subscribe(priority = 1)
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("high");
+		}
+	}
+
+	private static class LaneRecorder
+	{
+		private final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+		private volatile Thread thread;
+
+		@Subscribe(lane = "test")
+		public void onTestEvent(TestEvent event)
+		{
+			thread = Thread.currentThread();
+			events.add(event.id);
+		}
+	}
+
+	@Test
+	public void testPriorityOrder()
+	{
+		EventBus eventBus = new EventBus();
+		List<String> calls = new ArrayList<>();
+		eventBus.register(TestEvent.class, e -> calls.add("low"), -1);
+		eventBus.register(TestEvent.class, e -> calls.add("high"), 1);
+		eventBus.register(TestEvent.class, e -> calls.add("default"), 0);
+
+		eventBus.post(new TestEvent(0));
+
+		assertEquals(List.of("high", "default", "low"), calls);
+	}
+
+	@Test
+	public void testUnregister()
+	{
+		EventBus eventBus = new EventBus();
+		Recorder recorder = new Recorder();
+		List<String> calls = new ArrayList<>();
+		eventBus.register(recorder);
+		EventBus.Subscriber sub = eventBus.register(TestEvent.class, e -> calls.add("fn"), 0);
+
+		eventBus.post(new TestEvent(0));
+		eventBus.unregister(recorder);
+		eventBus.post(new TestEvent(1));
+		eventBus.unregister(sub);
+		eventBus.post(new TestEvent(2));
+
+		assertEquals(List.of("high"), recorder.calls);
+		assertEquals(List.of("fn", "fn"), calls);
+	}
+
+	@Test
+	public void testLaneOrder() throws InterruptedException
+	{
+		EventBus eventBus = new EventBus();
+		LaneRecorder recorder = new LaneRecorder();
+		eventBus.register(recorder);
+
+		List<Integer> posted = new ArrayList<>();
+		for (int i = 0; i < 1000; i++)
+		{
+			eventBus.post(new TestEvent(i));
+			posted.add(i);
+		}
+
+		assertTrue(eventBus.awaitLanes(5, TimeUnit.SECONDS));
+		assertEquals(posted, recorder.events);
+		assertNotEquals(Thread.currentThread(), recorder.thread);
+	}
+
+	@Test
+	public void testUnregisterLane() throws InterruptedException
+	{
+		EventBus eventBus = new EventBus();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+		Thread[] thread = new Thread[1];
+		EventBus.Subscriber sub = eventBus.register(TestEvent.class, e ->
+		{
+			thread[0] = Thread.currentThread();
+			events.add(e.id);
+			started.countDown();
+			try
+			{
+				release.await();
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}, 0, "test");
+
+		eventBus.post(new TestEvent(0));
+		eventBus.post(new TestEvent(1));
+		eventBus.post(new TestEvent(2));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		eventBus.unregister(sub);
+		release.countDown();
+
+		assertTrue(eventBus.awaitLanes(5, TimeUnit.SECONDS));
+		assertEquals(List.of(0), events);
+
+		// the lane stopped with its last subscriber
+		thread[0].join(5000);
+		assertFalse(thread[0].isAlive());
+	}
+
+	@Test
+	public void testTiming()
+	{
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Recorder());
+
+		eventBus.post(new TestEvent(0));
+		assertTrue(eventBus.getSubscriberStats().isEmpty());
+
+		HandlerStats.setSampleInterval(1);
+		try
+		{
+			eventBus.setTimingEnabled(true);
+			eventBus.post(new TestEvent(1));
+			eventBus.post(new TestEvent(2));
+		}
+		finally
+		{
+			HandlerStats.setSampleInterval(HandlerStats.DEFAULT_SAMPLE_INTERVAL);
+		}
+
+		List<HandlerStats.Snapshot> stats = eventBus.getSubscriberStats();
+		assertEquals(1, stats.size());
+		assertEquals(Recorder.class.getName() + ".onTestEvent", stats.get(0).getName());
+		assertEquals("TestEvent", stats.get(0).getKind());
+		assertEquals(2, stats.get(0).getCount());
+		assertEquals(2, stats.get(0).getSamples());
+
+		eventBus.resetSubscriberStats();
+		assertTrue(eventBus.getSubscriberStats().isEmpty());
+
+		eventBus.register(TestEvent.class, e ->
+		{
+		}, 0);
+		HandlerStats.setSampleInterval(1);
+		try
+		{
+			eventBus.post(new TestEvent(3));
+		}
+		finally
+		{
+			HandlerStats.setSampleInterval(HandlerStats.DEFAULT_SAMPLE_INTERVAL);
+		}
+
+		stats = eventBus.getSubscriberStats();
+		assertEquals(2, stats.size());
+		assertTrue(stats.stream().anyMatch(s -> s.getName().equals(EventBusTest.class.getName() + ".lambda")));
+	}
+}
@@ -0,0 +1,143 @@
+package net.runelite.client.plugins.microbot.pluginscheduler.simulation;
+
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.IntervalCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.condition.time.TimeWindowCondition;
+import net.runelite.client.plugins.microbot.pluginscheduler.simulation.ScheduleSimulator.Decision;
+import net.runelite.client.plugins.microbot.pluginscheduler.simulation.ScheduleSimulator.DecisionType;
+import net.runelite.client.plugins.microbot.pluginscheduler.simulation.ScheduleSimulator.Result;
+import net.runelite.client.plugins.microbot.pluginscheduler.simulation.ScheduleSimulator.SimulatedPlugin;
+import net.runelite.client.plugins.microbot.pluginscheduler.util.SchedulerClock;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduleSimulatorTest {
+    private static final ZonedDateTime START = LocalDate.of(2024, 1, 1).atStartOfDay(ZoneId.systemDefault());
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static void addPlugins(ScheduleSimulator simulator) {
+        simulator.prioritizeNonDefaultPlugins(true, 5);
+        simulator.add(new SimulatedPlugin("Default task", new IntervalCondition(Duration.ofSeconds(1))));
+        simulator.add(new SimulatedPlugin("Woodcutting", new IntervalCondition(Duration.ofHours(3)))
+                .finishesAfter(Duration.ofMinutes(40))
+                .priority(1));
+        simulator.add(new SimulatedPlugin("Evening questing", new TimeWindowCondition(LocalTime.of(18, 0), LocalTime.of(20, 0)))
+                .stopWhen(new IntervalCondition(Duration.ofMinutes(90)))
+                .priority(2));
+    }
+
+    private static List<String> format(List<Decision> timeline) {
+        return timeline.stream()
+                .map(d -> d.getTime().format(TIME) + " " + d.getType() + " " + d.getPlugin()
+                        + (d.getType() == DecisionType.STOP ? " (" + d.getReason() + ")" : ""))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTimeline() {
+        try (ScheduleSimulator simulator = new ScheduleSimulator(START)) {
+            addPlugins(simulator);
+            Result result = simulator.run(Duration.ofDays(1));
+
+            assertEquals(List.of(
+                    "00:00:00 START Woodcutting",
+                    "00:40:00 STOP Woodcutting (Plugin Finished)",
+                    "00:40:00 START Default task",
+                    "03:40:00 STOP Default task (Interrupted)",
+                    "03:40:00 START Woodcutting",
+                    "04:20:00 STOP Woodcutting (Plugin Finished)",
+                    "04:20:00 START Default task",
+                    "07:20:00 STOP Default task (Interrupted)",
+                    "07:20:00 START Woodcutting",
+                    "08:00:00 STOP Woodcutting (Plugin Finished)",
+                    "08:00:00 START Default task",
+                    "11:00:00 STOP Default task (Interrupted)",
+                    "11:00:00 START Woodcutting",
+                    "11:40:00 STOP Woodcutting (Plugin Finished)",
+                    "11:40:00 START Default task",
+                    "14:40:00 STOP Default task (Interrupted)",
+                    "14:40:00 START Woodcutting",
+                    "15:20:00 STOP Woodcutting (Plugin Finished)",
+                    "15:20:00 START Default task",
+                    // the time window opens while the default plugin runs
+                    "18:00:01 STOP Default task (Interrupted)",
+                    "18:00:01 START Evening questing",
+                    // woodcutting became due at 18:20 and waits for the window plugin to stop
+                    "19:30:01 STOP Evening questing (Scheduled Stop)",
+                    "19:30:01 START Woodcutting",
+                    "20:10:01 STOP Woodcutting (Plugin Finished)",
+                    "20:10:01 START Default task",
+                    "23:10:01 STOP Default task (Interrupted)",
+                    "23:10:01 START Woodcutting",
+                    "23:50:01 STOP Woodcutting (Plugin Finished)",
+                    "23:50:01 START Default task"
+            ), format(result.getTimeline()));
+            assertEquals(15, result.getStarts());
+            assertEquals(14, result.getStops());
+            assertEquals(START.plusDays(1).toInstant(), simulator.getNow().toInstant());
+        }
+    }
+
+    @Test
+    public void testRunContinues() {
+        List<Decision> whole;
+        try (ScheduleSimulator simulator = new ScheduleSimulator(START)) {
+            addPlugins(simulator);
+            whole = simulator.run(Duration.ofDays(1)).getTimeline();
+        }
+
+        try (ScheduleSimulator simulator = new ScheduleSimulator(START)) {
+            addPlugins(simulator);
+            List<Decision> halves = new ArrayList<>(simulator.run(Duration.ofHours(12)).getTimeline());
+            halves.addAll(simulator.run(Duration.ofHours(12)).getTimeline());
+            assertEquals(format(whole), format(halves));
+            assertEquals(whole.size(), simulator.getTimeline().size());
+        }
+    }
+
+    @Test
+    public void testClockRestoredOnClose() {
+        Clock clock;
+        try (ScheduleSimulator simulator = new ScheduleSimulator(START)) {
+            clock = SchedulerClock.getClock();
+            assertEquals(START.toInstant(), clock.instant());
+            simulator.run(Duration.ofHours(1));
+            assertEquals(START.plusHours(1).toInstant(), clock.instant());
+        }
+        assertNotSame(clock, SchedulerClock.getClock());
+    }
+
+    @Test
+    public void testWeek() {
+        Result result = ScheduleSimulator.run();
+
+        assertEquals(Duration.ofDays(7), result.getSimulatedDuration());
+        assertTrue(result.getStarts() > 0);
+        // only one plugin runs at a time, so starts and stops alternate
+        String running = null;
+        for (Decision decision : result.getTimeline()) {
+            if (decision.getType() == DecisionType.START) {
+                assertNull(running);
+                running = decision.getPlugin();
+            } else if (decision.getType() == DecisionType.STOP) {
+                assertEquals(running, decision.getPlugin());
+                running = null;
+            }
+        }
+        assertEquals(result.getStarts() - (running != null ? 1 : 0), result.getStops());
+    }
+}
@@ -0,0 +1,151 @@
+package net.runelite.client.plugins.microbot.util.cache;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how {@link Rs2Cache} holds up when many script threads use the same cache at once.
+ * <p>
+ * Every thread runs the mix a script loop typically does: mostly lookups by key, some puts from
+ * event handlers and an occasional stream over all values, one of which is consumed slowly. The
+ * benchmark reports the throughput per thread count, so a drop in throughput as threads are added
+ * shows contention. It runs on its own cache and does not need a logged in client.
+ */
+@Slf4j
+public class CacheContentionBenchmark {
+    private static final int KEYS = 2_000;
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+    private static final int READ_PERCENT = 90;
+    private static final int WRITE_PERCENT = 8;
+    private static final int SLOW_STREAM_MILLIS = 5;
+
+    @Value
+    public static class Result {
+        int threads;
+        long reads;
+        long writes;
+        long streams;
+        double opsPerSecond;
+        double averageStreamMillis;
+    }
+
+    private static final class BenchmarkCache extends Rs2Cache<Integer, String> {
+        private BenchmarkCache() {
+            super("ContentionBenchmark", CacheMode.MANUAL_ONLY, Long.MAX_VALUE / 4);
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+
+    /**
+     * Runs the benchmark for every thread count and logs the results.
+     * This blocks for {@code millisPerRun} per thread count and must not be called on the client thread.
+     *
+     * @param millisPerRun How long to run each thread count
+     * @return The results, one per thread count
+     */
+    public static List<Result> run(long millisPerRun) {
+        List<Result> results = new ArrayList<>(THREAD_COUNTS.length);
+        for (int threads : THREAD_COUNTS) {
+            try {
+                results.add(run(threads, millisPerRun));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder("Rs2Cache contention benchmark\n");
+        sb.append(String.format("%-8s %-12s %-10s %-8s %-14s %-12s\n", "Threads", "Reads", "Writes", "Streams", "Ops/s", "Stream ms"));
+        for (Result result : results) {
+            sb.append(String.format("%-8d %-12d %-10d %-8d %-14.0f %-12.2f\n",
+                    result.getThreads(), result.getReads(), result.getWrites(), result.getStreams(),
+                    result.getOpsPerSecond(), result.getAverageStreamMillis()));
+        }
+        log.info(sb.toString());
+        return results;
+    }
+
+    private static Result run(int threads, long millis) throws InterruptedException {
+        final BenchmarkCache cache = new BenchmarkCache();
+        try {
+            for (int key = 0; key < KEYS; key++) {
+                cache.put(key, "value" + key);
+            }
+
+            final LongAdder reads = new LongAdder();
+            final LongAdder writes = new LongAdder();
+            final LongAdder streams = new LongAdder();
+            final LongAdder streamNanos = new LongAdder();
+            final AtomicBoolean running = new AtomicBoolean(true);
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(threads);
+
+            for (int i = 0; i < threads; i++) {
+                final boolean slowConsumer = i == 0 && threads > 1;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (running.get()) {
+                            int roll = random.nextInt(100);
+                            int key = random.nextInt(KEYS);
+                            if (slowConsumer) {
+                                // holds a stream open the way a slow script loop does
+                                cache.stream().limit(10).forEach(value -> sleep(SLOW_STREAM_MILLIS / 10 + 1));
+                            } else if (roll < READ_PERCENT) {
+                                cache.get(key);
+                                reads.increment();
+                            } else if (roll < READ_PERCENT + WRITE_PERCENT) {
+                                cache.put(key, "value" + roll);
+                                writes.increment();
+                            } else {
+                                long streamStart = System.nanoTime();
+                                cache.stream().filter(value -> value.endsWith("7")).count();
+                                streamNanos.add(System.nanoTime() - streamStart);
+                                streams.increment();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }, "CacheBenchmark-Script-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            Thread.sleep(millis);
+            running.set(false);
+            done.await(10, TimeUnit.SECONDS);
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+            long ops = reads.sum() + writes.sum() + streams.sum();
+            return new Result(threads, reads.sum(), writes.sum(), streams.sum(), ops / seconds,
+                    streams.sum() == 0 ? 0 : streamNanos.sum() / 1_000_000.0 / streams.sum());
+        } finally {
+            cache.close();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
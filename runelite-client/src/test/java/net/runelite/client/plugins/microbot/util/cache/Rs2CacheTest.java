@@ -0,0 +1,96 @@
+package net.runelite.client.plugins.microbot.util.cache;
+
+import net.runelite.client.plugins.microbot.util.cache.strategy.EvictionPolicy;
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class Rs2CacheTest {
+    private TestCache cache;
+
+    private static final class TestCache extends Rs2Cache<Integer, String> {
+        private TestCache(CacheMode mode, long ttlMillis) {
+            super("TestCache", mode, ttlMillis);
+        }
+
+        @Override
+        protected boolean isValueExpired(Integer key, String value) {
+            return value.startsWith("expired");
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+
+    @After
+    public void after() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testExpiredValuesAreRemovedOnRead() {
+        cache = new TestCache(CacheMode.MANUAL_ONLY, Long.MAX_VALUE / 4);
+        cache.put(1, "value1");
+        cache.put(2, "expired2");
+        cache.put(3, "expired3");
+
+        assertEquals("value1", cache.get(1));
+        assertNull(cache.get(2));
+        assertFalse(cache.containsKey(3));
+        assertTrue(cache.containsKey(1));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testStreamsSkipExpiredValues() {
+        cache = new TestCache(CacheMode.MANUAL_ONLY, Long.MAX_VALUE / 4);
+        cache.put(1, "value1");
+        cache.put(2, "expired2");
+
+        assertEquals(List.of("value1"), new ArrayList<>(cache.values()));
+        assertEquals(List.of("value1"), cache.stream().collect(Collectors.toList()));
+        assertEquals(1, cache.entryStream().count());
+    }
+
+    @Test
+    public void testEvictionPolicyExpiresEntries() throws InterruptedException {
+        cache = new TestCache(CacheMode.MANUAL_ONLY, Long.MAX_VALUE / 4);
+        cache.withEviction(EvictionPolicy.ttl(1));
+        cache.put(1, "value1");
+        Thread.sleep(10);
+
+        assertNull(cache.get(1));
+        assertFalse(cache.containsKey(1));
+    }
+
+    @Test
+    public void testAutomaticInvalidationUsesTtl() throws InterruptedException {
+        cache = new TestCache(CacheMode.AUTOMATIC_INVALIDATION, 10);
+        cache.put(1, "value1");
+        Thread.sleep(20);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    @Ignore
+    public void benchmarkContention() {
+        List<CacheContentionBenchmark.Result> results = CacheContentionBenchmark.run(2_000);
+        assertEquals(4, results.size());
+        for (CacheContentionBenchmark.Result result : results) {
+            assertTrue(result.getReads() > 0);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.IndexedObjectSet;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.Scene;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.snapshot.WorldSnapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class Rs2NpcQueryTest {
+    private Player localPlayer;
+    private final List<NPC> npcs = new ArrayList<>();
+
+    @Before
+    public void before() throws Exception {
+        Client client = mock(Client.class);
+        ClientThread clientThread = mock(ClientThread.class);
+        when(client.isClientThread()).thenReturn(true);
+        when(clientThread.runOnClientThreadOptional(any())).thenAnswer(invocation ->
+                Optional.ofNullable(((Callable<?>) invocation.getArgument(0)).call()));
+
+        localPlayer = mock(Player.class);
+        when(localPlayer.getLocalLocation()).thenReturn(new LocalPoint(6400, 6400, -1));
+        when(localPlayer.getWorldLocation()).thenReturn(new WorldPoint(3200, 3200, 0));
+
+        // Names, combat levels, distances with ties and NPCs without a name, in scene order
+        npcs.add(npc(0, 3029, "Goblin", 2, 3, false));
+        npcs.add(npc(1, 2834, "Giant rat", 6, 1, false));
+        npcs.add(npc(2, 3030, "Goblin", 5, 3, true));
+        npcs.add(npc(3, 1, "Man", 2, 0, false));
+        npcs.add(npc(4, 9999, null, 1, 0, false));
+        npcs.add(npc(5, 3031, "Goblin chieftain", 8, 7, false));
+        npcs.add(npc(6, 2834, "Giant rat", 3, 1, true));
+        npcs.add(npc(7, 3029, "Goblin", 0, 3, false));
+        npcs.add(npc(8, 1, "Man", 12, 2, false));
+        npcs.add(npc(9, 3029, "Goblin", 2, 3, false));
+
+        IndexedObjectSet<NPC> npcSet = mock(IndexedObjectSet.class);
+        when(npcSet.iterator()).thenAnswer(invocation -> npcs.iterator());
+        Scene scene = mock(Scene.class);
+        WorldView worldView = mock(WorldView.class);
+        when(worldView.getScene()).thenReturn(scene);
+        when(worldView.npcs()).thenAnswer(invocation -> npcSet);
+        when(worldView.players()).thenAnswer(invocation -> {
+            IndexedObjectSet<Player> players = mock(IndexedObjectSet.class);
+            when(players.iterator()).thenReturn(List.of(localPlayer).iterator());
+            return players;
+        });
+        when(client.getTopLevelWorldView()).thenReturn(worldView);
+        when(client.getLocalPlayer()).thenReturn(localPlayer);
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+
+        setStatic("client", client);
+        setStatic("clientThread", clientThread);
+        WorldSnapshot.clear();
+    }
+
+    @After
+    public void after() throws Exception {
+        WorldSnapshot.clear();
+        setStatic("client", null);
+        setStatic("clientThread", null);
+    }
+
+    @Test
+    public void testSameResultsAsStreamWithoutSnapshot() {
+        assertSameResults();
+    }
+
+    @Test
+    public void testSameResultsAsStreamWithSnapshot() {
+        WorldSnapshot.capture(Microbot.getClient());
+        assertSameResults();
+    }
+
+    private void assertSameResults() {
+        assertEquals(legacy(npc -> true), indexes(new Rs2NpcQuery().list()));
+        assertEquals(legacy(npc -> npc.getName().toLowerCase().contains("goblin")),
+                indexes(new Rs2NpcQuery().withName("goblin").list()));
+        assertEquals(legacy(npc -> npc.getName().equalsIgnoreCase("goblin")),
+                indexes(new Rs2NpcQuery().withName("Goblin", true).list()));
+        assertEquals(legacy(npc -> npc.getId() == 3029 || npc.getId() == 1),
+                indexes(new Rs2NpcQuery().withId(3029, 1).list()));
+        assertEquals(legacy(npc -> npc.getCombatLevel() >= 2 && npc.getCombatLevel() <= 3),
+                indexes(new Rs2NpcQuery().withCombatLevel(2, 3).list()));
+        assertEquals(legacy(npc -> npc.getInteracting() == localPlayer),
+                indexes(new Rs2NpcQuery().interactingWithPlayer().list()));
+
+        // Model filters that reject the closest NPCs make the query select further batches
+        Predicate<Rs2NpcModel> oddIndex = npc -> npc.getIndex() % 2 == 1;
+        List<Integer> odd = legacy(oddIndex);
+        assertEquals(odd, indexes(new Rs2NpcQuery().filter(oddIndex).list()));
+        assertEquals(odd.subList(0, 1), indexes(new Rs2NpcQuery().filter(oddIndex).nearest().map(List::of).orElse(List.of())));
+        for (int count = 1; count <= npcs.size() + 1; count++) {
+            assertEquals(odd.subList(0, Math.min(count, odd.size())), indexes(new Rs2NpcQuery().filter(oddIndex).limit(count)));
+            List<Integer> all = legacy(npc -> true);
+            assertEquals(all.subList(0, Math.min(count, all.size())), indexes(new Rs2NpcQuery().limit(count)));
+        }
+    }
+
+    /**
+     * The NPCs the stream API returned before the query: every named NPC matching the predicate, stably sorted by
+     * local distance to the player
+     */
+    private List<Integer> legacy(Predicate<Rs2NpcModel> predicate) {
+        final LocalPoint playerLocation = localPlayer.getLocalLocation();
+        return npcs.stream()
+                .map(Rs2NpcModel::new)
+                .filter(npc -> npc.getName() != null && npc.getLocalLocation() != null)
+                .filter(predicate)
+                .sorted(Comparator.comparingInt(npc -> npc.getLocalLocation().distanceTo(playerLocation)))
+                .map(Rs2NpcModel::getIndex)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> indexes(List<Rs2NpcModel> npcs) {
+        return npcs.stream().map(Rs2NpcModel::getIndex).collect(Collectors.toList());
+    }
+
+    private NPC npc(int index, int id, String name, int tiles, int combatLevel, boolean interacting) {
+        NPC npc = mock(NPC.class);
+        when(npc.getIndex()).thenReturn(index);
+        when(npc.getId()).thenReturn(id);
+        when(npc.getName()).thenReturn(name);
+        when(npc.getCombatLevel()).thenReturn(combatLevel);
+        when(npc.getLocalLocation()).thenReturn(new LocalPoint(6400 + tiles * 128, 6400, -1));
+        when(npc.getWorldLocation()).thenReturn(new WorldPoint(3200 + tiles, 3200, 0));
+        when(npc.getInteracting()).thenAnswer(invocation -> interacting ? localPlayer : null);
+        return npc;
+    }
+
+    private static void setStatic(String name, Object value) throws Exception {
+        Field field = Microbot.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+}
@@ -0,0 +1,78 @@
+package net.runelite.client.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+public class HandlerStatsTest
+{
+	@After
+	public void after()
+	{
+		HandlerStats.setSampleInterval(HandlerStats.DEFAULT_SAMPLE_INTERVAL);
+	}
+
+	@Test
+	public void testBuckets()
+	{
+		for (long nanos : new long[]{0, 1, 3, 4, 7, 8, 9, 100, 1_000, 12_345, 1_000_000, 987_654_321, Long.MAX_VALUE})
+		{
+			int bucket = HandlerStats.bucket(nanos);
+			long upper = HandlerStats.bucketUpperBound(bucket);
+			assertTrue(nanos + " above " + upper, nanos <= upper);
+			assertTrue(nanos + " far below " + upper, upper - nanos <= nanos / 4);
+			if (bucket > 0)
+			{
+				assertTrue(HandlerStats.bucketUpperBound(bucket - 1) < nanos);
+			}
+		}
+	}
+
+	@Test
+	public void testSampling()
+	{
+		HandlerStats.setSampleInterval(4);
+		HandlerStats stats = new HandlerStats("handler", "kind");
+		int sampled = 0;
+		for (int i = 0; i < 16; i++)
+		{
+			HandlerStats.Sample sample = stats.begin();
+			if (sample != null)
+			{
+				sample.end();
+				sampled++;
+			}
+		}
+
+		assertEquals(4, sampled);
+		HandlerStats.Snapshot snapshot = stats.snapshot();
+		assertEquals(16, snapshot.getCount());
+		assertEquals(4, snapshot.getSamples());
+		assertTrue(snapshot.getP50Nanos() <= snapshot.getP99Nanos());
+		assertTrue(snapshot.getP99Nanos() <= HandlerStats.bucketUpperBound(HandlerStats.bucket(snapshot.getMaxNanos())));
+
+		stats.reset();
+		assertEquals(0, stats.snapshot().getCount());
+		assertEquals(0, new HandlerStats("idle", "kind").snapshot().getP50Nanos());
+	}
+
+	@Test
+	public void testCsv() throws IOException
+	{
+		HandlerStats.setSampleInterval(1);
+		HandlerStats stats = new HandlerStats("net.runelite.Handler.onGameTick", "GameTick");
+		stats.begin().end();
+
+		StringWriter writer = new StringWriter();
+		HandlerStats.writeCsv(writer, List.of(stats.snapshot()));
+
+		String[] lines = writer.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("kind,handler,count,samples,"));
+		assertTrue(lines[1].startsWith("GameTick,net.runelite.Handler.onGameTick,1,1,"));
+	}
+}